@@ -0,0 +1,214 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.entity.Presentation;
+import ai.bluefields.ppt2video.entity.Slide;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.imageio.ImageIO;
+
+/**
+ * Loads the sample inputs checked in under {@code src/jmh/resources/benchmark} (the sample deck and
+ * narratives) and the slide images from the repository's {@code assets} folder, and wires services
+ * without a Spring context.
+ */
+final class BenchmarkSamples {
+
+  private BenchmarkSamples() {}
+
+  /**
+   * Read a sample resource as bytes.
+   *
+   * @param name the file name within the benchmark resource folder
+   * @return the file contents
+   */
+  static byte[] bytes(String name) {
+    try (InputStream in = BenchmarkSamples.class.getResourceAsStream("/benchmark/" + name)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing benchmark sample: " + name);
+      }
+      return in.readAllBytes();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Read the sample slide narratives, one per line.
+   *
+   * @return the narratives
+   */
+  static List<String> narratives() {
+    return new String(bytes("narratives.txt"), StandardCharsets.UTF_8)
+        .lines()
+        .filter(line -> !line.isBlank())
+        .toList();
+  }
+
+  /**
+   * Decode one of the sample slide images into the RGB layout the rendering strategies produce.
+   *
+   * @param name the image file name in {@code assets}, e.g. {@code slide-1.png}
+   * @return the decoded image
+   */
+  static BufferedImage slideImage(String name) {
+    BufferedImage decoded;
+    try {
+      decoded = ImageIO.read(new ByteArrayInputStream(bytes("slides/" + name)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    if (decoded == null) {
+      throw new IllegalStateException("Unreadable benchmark image: " + name);
+    }
+
+    BufferedImage image =
+        new BufferedImage(decoded.getWidth(), decoded.getHeight(), BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    try {
+      graphics.drawImage(decoded, 0, 0, null);
+    } finally {
+      graphics.dispose();
+    }
+    return image;
+  }
+
+  /**
+   * Read the sample deck PDF, the kind of document MS Graph returns for a converted PPTX.
+   *
+   * @return the PDF bytes
+   */
+  static byte[] deckPdf() {
+    return bytes("sample-deck.pdf");
+  }
+
+  /**
+   * Build slides from the sample deck outline, repeating it until the requested size is reached.
+   * IDs are derived from the slide number so runs are reproducible.
+   *
+   * @param presentation the presentation the slides belong to
+   * @param slideCount number of slides to create
+   * @return the slides ordered by slide number
+   */
+  static List<Slide> deck(Presentation presentation, int slideCount) {
+    JsonNode outline;
+    try {
+      outline = new ObjectMapper().readTree(bytes("sample-deck.json"));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    List<Slide> slides = new ArrayList<>(slideCount);
+    for (int i = 0; i < slideCount; i++) {
+      JsonNode entry = outline.get(i % outline.size());
+      Slide slide = new Slide();
+      slide.setId(UUID.nameUUIDFromBytes(("slide-" + (i + 1)).getBytes(StandardCharsets.UTF_8)));
+      slide.setPresentation(presentation);
+      slide.setSlideNumber(i + 1);
+      slide.setTitle(entry.get("title").asText());
+      slide.setContent(entry.get("content").asText());
+      slide.setContentText(entry.get("content").asText());
+      slides.add(slide);
+    }
+    return slides;
+  }
+
+  /**
+   * Create a sample presentation.
+   *
+   * @return the presentation
+   */
+  static Presentation presentation() {
+    Presentation presentation = new Presentation();
+    presentation.setId(UUID.nameUUIDFromBytes("sample-deck".getBytes(StandardCharsets.UTF_8)));
+    presentation.setTitle("Scaling_Engineering_Without_Losing_Speed_v3.pptx");
+    return presentation;
+  }
+
+  /**
+   * Implement a repository interface with canned answers keyed by method name. Calls to any other
+   * repository method fail, so a benchmark cannot silently measure an unexpected path.
+   *
+   * @param type the repository interface
+   * @param answers method name to answer, given the call arguments
+   * @return the stub repository
+   */
+  static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+    Object stub =
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+              Function<Object[], Object> answer = answers.get(method.getName());
+              if (answer != null) {
+                return answer.apply(args);
+              }
+              return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + " stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default ->
+                    throw new UnsupportedOperationException(
+                        "Not stubbed: " + type.getSimpleName() + "." + method.getName());
+              };
+            });
+    return type.cast(stub);
+  }
+
+  /**
+   * Set a field that Spring would inject, such as an {@code @Value} property.
+   *
+   * @param target the object to modify
+   * @param name the field name
+   * @param value the value to set
+   */
+  static void inject(Object target, String name, Object value) {
+    try {
+      field(target, name).set(target, value);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot set " + name, e);
+    }
+  }
+
+  /**
+   * Read a private field, such as an internal cache to pre-populate.
+   *
+   * @param target the object to read from
+   * @param name the field name
+   * @return the field value
+   */
+  @SuppressWarnings("unchecked")
+  static <T> T read(Object target, String name) {
+    try {
+      return (T) field(target, name).get(target);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Cannot read " + name, e);
+    }
+  }
+
+  private static Field field(Object target, String name) {
+    for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+      try {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field;
+      } catch (NoSuchFieldException e) {
+        // Declared on a superclass
+      }
+    }
+    throw new IllegalArgumentException("No field " + name + " on " + target.getClass());
+  }
+}
@@ -0,0 +1,64 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.dto.ColorPaletteDto;
+import ai.bluefields.ppt2video.service.intro.ColorExtractionService;
+import ai.bluefields.ppt2video.service.intro.KMeansPaletteEngine;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the k-means palette extraction used for intro videos: pixel sampling, clustering of
+ * pre-sampled pixels on its own, and the full {@link ColorExtractionService#extractColors} path
+ * including palette statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ColorExtractionBenchmark {
+
+  private static final int SAMPLE_SIZE = 10000;
+  private static final int COLOR_COUNT = 5;
+
+  @Param({"slide-1.png", "slide-5.png"})
+  public String image;
+
+  private final KMeansPaletteEngine engine = new KMeansPaletteEngine(SAMPLE_SIZE);
+  private final ColorExtractionService service = new ColorExtractionService();
+  private BufferedImage slideImage;
+  private int[] samples;
+
+  @Setup
+  public void setUp() {
+    slideImage = BenchmarkSamples.slideImage(image);
+    samples = engine.samplePixels(slideImage);
+  }
+
+  @Benchmark
+  public int[] samplePixels() {
+    return engine.samplePixels(slideImage);
+  }
+
+  @Benchmark
+  public KMeansPaletteEngine.Clusters cluster() {
+    return engine.cluster(samples, COLOR_COUNT);
+  }
+
+  @Benchmark
+  public ColorPaletteDto extractColors() {
+    return service.extractColors(slideImage);
+  }
+}
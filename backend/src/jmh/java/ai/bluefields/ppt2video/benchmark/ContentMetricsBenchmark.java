@@ -0,0 +1,61 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.util.ContentMetrics;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link ContentMetrics} over the slide texts and narratives of the sample deck, the
+ * inputs it sees during slide analysis and narrative length calculation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ContentMetricsBenchmark {
+
+  private List<String> slideTexts;
+  private List<String> narratives;
+
+  @Setup
+  public void setUp() {
+    List<Slide> slides = BenchmarkSamples.deck(BenchmarkSamples.presentation(), 12);
+    slideTexts = slides.stream().map(Slide::getContentText).toList();
+    narratives = BenchmarkSamples.narratives();
+  }
+
+  @Benchmark
+  public void slideWordCounts(Blackhole blackhole) {
+    for (String text : slideTexts) {
+      blackhole.consume(ContentMetrics.calculateWordCount(text));
+    }
+  }
+
+  @Benchmark
+  public void slideContentDensity(Blackhole blackhole) {
+    for (String text : slideTexts) {
+      blackhole.consume(ContentMetrics.calculateContentDensity(text, true, false));
+    }
+  }
+
+  @Benchmark
+  public void narrativeReadingTimes(Blackhole blackhole) {
+    for (String narrative : narratives) {
+      blackhole.consume(ContentMetrics.calculateReadingTimeSeconds(narrative));
+    }
+  }
+}
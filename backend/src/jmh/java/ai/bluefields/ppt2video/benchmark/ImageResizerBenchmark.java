@@ -0,0 +1,50 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.service.rendering.utils.ImageResizer;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ImageResizer#resize} on a 1920x1080 slide: downscaling to 720p, upscaling to 4K,
+ * and letterboxing into a 4:3 frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class ImageResizerBenchmark {
+
+  @Param({"1280x720", "3840x2160", "1024x768"})
+  public String target;
+
+  private final ImageResizer resizer = new ImageResizer();
+  private BufferedImage original;
+  private int targetWidth;
+  private int targetHeight;
+
+  @Setup
+  public void setUp() {
+    original = BenchmarkSamples.slideImage("slide-1.png");
+    String[] size = target.split("x");
+    targetWidth = Integer.parseInt(size[0]);
+    targetHeight = Integer.parseInt(size[1]);
+  }
+
+  @Benchmark
+  public BufferedImage resize() {
+    return resizer.resize(original, targetWidth, targetHeight);
+  }
+}
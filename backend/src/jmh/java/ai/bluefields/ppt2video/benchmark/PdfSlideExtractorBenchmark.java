@@ -0,0 +1,48 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.exception.RenderingException;
+import ai.bluefields.ppt2video.service.rendering.msgraph.PdfSlideExtractor;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link PdfSlideExtractor#extractPage} on the sample deck PDF at 1920x1080. Every call
+ * parses the whole document before rendering one page, as the MS Graph strategy does per slide.
+ * Page 3 is a text-only section slide, page 4 has an embedded photo and page 5 a vector chart.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class PdfSlideExtractorBenchmark {
+
+  @Param({"3", "4", "5"})
+  public int page;
+
+  private final PdfSlideExtractor extractor = new PdfSlideExtractor();
+  private byte[] pdfData;
+
+  @Setup
+  public void setUp() {
+    pdfData = BenchmarkSamples.deckPdf();
+  }
+
+  @Benchmark
+  public BufferedImage extractPage() throws IOException, RenderingException {
+    return extractor.extractPage(pdfData, page, 1920, 1080);
+  }
+}
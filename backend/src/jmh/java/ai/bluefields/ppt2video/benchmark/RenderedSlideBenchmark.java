@@ -0,0 +1,63 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.service.rendering.RenderingStrategy.RenderedSlide;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures PNG encoding of a rendered 1920x1080 slide through {@link RenderedSlide#saveToPath},
+ * including the write to a temporary directory. The sample images range from flat diagrams to
+ * photo-heavy slides, which compress very differently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RenderedSlideBenchmark {
+
+  @Param({"slide-2.png", "slide-4.png"})
+  public String image;
+
+  private RenderedSlide slide;
+  private Path presentationDir;
+
+  @Setup
+  public void setUp() throws IOException {
+    BufferedImage rendered = BenchmarkSamples.slideImage(image);
+    slide = new RenderedSlide(rendered, rendered.getWidth(), rendered.getHeight());
+    presentationDir = Files.createTempDirectory("slide-render-benchmark");
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    try (Stream<Path> paths = Files.walk(presentationDir)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+        Files.deleteIfExists(path);
+      }
+    }
+  }
+
+  @Benchmark
+  public Path saveToPath() throws IOException {
+    return slide.saveToPath(presentationDir, 1);
+  }
+}
@@ -0,0 +1,47 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.entity.SlideType;
+import ai.bluefields.ppt2video.service.SlideTypeDetector;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SlideTypeDetector#detectSlideTypes} over the sample deck, which contains intro,
+ * section, content and thank-you slides, and over the deck repeated to a long presentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SlideTypeDetectorBenchmark {
+
+  @Param({"12", "120"})
+  public int slideCount;
+
+  private final SlideTypeDetector detector = new SlideTypeDetector();
+  private List<Slide> slides;
+
+  @Setup
+  public void setUp() {
+    slides = BenchmarkSamples.deck(BenchmarkSamples.presentation(), slideCount);
+  }
+
+  @Benchmark
+  public List<SlideType> detectSlideTypes() {
+    return detector.detectSlideTypes(slides);
+  }
+}
@@ -0,0 +1,183 @@
+package ai.bluefields.ppt2video.benchmark;
+
+import ai.bluefields.ppt2video.service.ai.narrative.TransitionRedundancyChecker;
+import ai.bluefields.ppt2video.util.TextStats;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the single-pass {@link TextStats} analysis with the regex-based word, sentence and
+ * key-concept extraction it replaced. Each operation processes the whole sample deck of narratives.
+ * Run with {@code -Djmh.args="TextStats -prof gc"} to compare allocation rates too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class TextStatsBenchmark {
+
+  private static final Pattern WORD_PATTERN = Pattern.compile("\\b\\w+\\b");
+  private static final Pattern SENTENCE_PATTERN = Pattern.compile("[.!?]+\\s+");
+
+  private static final Set<String> STOP_WORDS =
+      new HashSet<>(
+          Arrays.asList(
+              "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with",
+              "by", "from", "about", "as", "into", "through", "during", "before", "after", "above",
+              "below", "between", "under", "let's", "we'll", "here's", "now", "next", "then",
+              "first", "second", "third", "finally"));
+
+  private static final String TRANSITION = "Building on that foundation, let's examine the data.";
+
+  private List<String> narratives;
+  private List<TextStats> cachedStats;
+  private TransitionRedundancyChecker checker;
+
+  @Setup
+  public void setUp() {
+    narratives = BenchmarkSamples.narratives();
+    cachedStats = narratives.stream().map(TextStats::of).toList();
+    cachedStats.forEach(TextStats::getKeyConcepts);
+    checker = new TransitionRedundancyChecker();
+  }
+
+  @Benchmark
+  public void regexCounts(Blackhole blackhole) {
+    for (String narrative : narratives) {
+      blackhole.consume(legacyWordCount(narrative));
+      blackhole.consume(legacySentenceCount(narrative));
+    }
+  }
+
+  @Benchmark
+  public void textStatsCounts(Blackhole blackhole) {
+    for (String narrative : narratives) {
+      TextStats stats = TextStats.of(narrative);
+      blackhole.consume(stats.getWordCount());
+      blackhole.consume(stats.getSentenceCount());
+    }
+  }
+
+  @Benchmark
+  public void regexRedundancyCheck(Blackhole blackhole) {
+    for (String narrative : narratives) {
+      Set<String> transitionConcepts = legacyKeyConcepts(TRANSITION.toLowerCase());
+      Set<String> openingConcepts = legacyKeyConcepts(legacyOpening(narrative).toLowerCase());
+      Set<String> overlap = new HashSet<>(transitionConcepts);
+      overlap.retainAll(openingConcepts);
+      blackhole.consume(overlap.size());
+    }
+  }
+
+  @Benchmark
+  public void textStatsRedundancyCheck(Blackhole blackhole) {
+    for (String narrative : narratives) {
+      blackhole.consume(checker.isTransitionRedundant(TRANSITION, TextStats.of(narrative)));
+    }
+  }
+
+  @Benchmark
+  public void cachedTextStatsRedundancyCheck(Blackhole blackhole) {
+    for (TextStats stats : cachedStats) {
+      blackhole.consume(checker.isTransitionRedundant(TRANSITION, stats));
+    }
+  }
+
+  // Former implementations from ContentMetrics and TransitionRedundancyChecker, kept as baseline
+
+  private static int legacyWordCount(String text) {
+    var matcher = WORD_PATTERN.matcher(text);
+    int count = 0;
+    while (matcher.find()) {
+      count++;
+    }
+    return count;
+  }
+
+  private static int legacySentenceCount(String text) {
+    String[] sentences = SENTENCE_PATTERN.split(text.trim());
+    int count = sentences.length;
+    if (!text.trim().matches(".*[.!?]\\s*$") && !text.trim().isEmpty()) {
+      count = Math.max(1, count);
+    }
+    return count;
+  }
+
+  private static String legacyOpening(String text) {
+    int sentenceEnd = -1;
+    for (String delimiter : new String[] {".", "!", "?"}) {
+      int index = text.indexOf(delimiter);
+      if (index > 0 && (sentenceEnd == -1 || index < sentenceEnd)) {
+        sentenceEnd = index;
+      }
+    }
+    if (sentenceEnd > 20 && sentenceEnd < 250) {
+      return text.substring(0, sentenceEnd);
+    }
+    return text.length() > 200 ? text.substring(0, 200) : text;
+  }
+
+  private static Set<String> legacyKeyConcepts(String text) {
+    Set<String> concepts = new HashSet<>();
+    String[] words = text.replaceAll("[^a-z0-9\\s-]", " ").split("\\s+");
+    for (int i = 0; i < words.length; i++) {
+      String word = words[i].trim();
+      if (word.length() < 3 || STOP_WORDS.contains(word)) {
+        continue;
+      }
+      concepts.add(word);
+      if (i < words.length - 1) {
+        String nextWord = words[i + 1].trim();
+        if (nextWord.length() >= 3 && !STOP_WORDS.contains(nextWord)) {
+          String phrase = word + " " + nextWord;
+          if (legacyIsMeaningfulPhrase(phrase)) {
+            concepts.add(phrase);
+          }
+        }
+      }
+    }
+    return concepts;
+  }
+
+  private static boolean legacyIsMeaningfulPhrase(String phrase) {
+    String[] meaningfulPhrases = {
+      "inflection point",
+      "focus areas",
+      "three areas",
+      "four steps",
+      "engagement model",
+      "workshop phase",
+      "workstreams",
+      "investment view",
+      "technical setup",
+      "team scaling",
+      "product development",
+      "strategic guidance",
+      "technology review",
+      "data collection"
+    };
+    for (String meaningful : meaningfulPhrases) {
+      if (phrase.contains(meaningful)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,32 @@
+package ai.bluefields.ppt2video.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for post-processing generated slide speech: silence trimming, loudness
+ * normalization and the concatenated narration track.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "audio.post-processing")
+@Data
+public class AudioPostProcessingConfig {
+
+  // Process each speech right after generation in the slide pipeline
+  private boolean enabled = true;
+
+  // EBU R128 targets for the loudnorm filter
+  private double targetLoudness = -16.0;
+  private double truePeak = -1.5;
+  private double loudnessRange = 11.0;
+
+  // Silence kept before the first and after the last spoken character
+  private double silencePaddingSeconds = 0.15;
+
+  private int sampleRate = 44100;
+  private String bitrate = "128k";
+
+  // Speeches processed at once when processing a whole presentation
+  private int maxConcurrent = 4;
+}
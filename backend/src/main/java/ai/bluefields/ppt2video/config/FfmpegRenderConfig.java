@@ -0,0 +1,39 @@
+package ai.bluefields.ppt2video.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the local FFmpeg video provider. Controls the FFmpeg executable used
+ * in segment commands, how the timeline is split into segments and how the segments are encoded.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "video.render.ffmpeg")
+@Data
+public class FfmpegRenderConfig {
+
+  private String ffmpegPath = "/usr/local/bin/ffmpeg";
+  private String workDir = "./temp/renders";
+  // Downloaded sources and rendered segments, reused across renders
+  private String cacheDir = "./temp/render-cache";
+  private DataSize cacheMaxSize = DataSize.ofGigabytes(10);
+
+  // Segments start where a clip starts, e.g. each slide, and are split further beyond this length
+  private double segmentSeconds = 20.0;
+  private double minSegmentSeconds = 3.0;
+  // Segments encoded at once, 0 to use one per available processor
+  private int maxParallelSegments = 0;
+  private String preset = "veryfast";
+  private int crf = 23;
+  private String audioBitrate = "192k";
+  // Font for text overlays, empty to let fontconfig pick a sans-serif font
+  private String fontFile = "";
+
+  private Duration segmentTimeout = Duration.ofMinutes(15);
+  private Duration downloadTimeout = Duration.ofMinutes(5);
+  // How long finished renders are kept on disk for download
+  private Duration outputRetention = Duration.ofHours(24);
+}
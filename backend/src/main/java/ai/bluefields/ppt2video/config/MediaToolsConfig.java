@@ -0,0 +1,30 @@
+package ai.bluefields.ppt2video.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the shared FFmpeg and FFprobe tooling used by intro, avatar and
+ * story post-processing. Controls the tool locations, how many processes run at once and where
+ * probe results are cached.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "media.tools")
+@Data
+public class MediaToolsConfig {
+
+  private String ffmpegPath = "/usr/local/bin/ffmpeg";
+  private String ffprobePath = "/usr/local/bin/ffprobe";
+
+  // Processes run at once across the application, 0 to use one per available processor
+  private int maxConcurrentJobs = 0;
+  // Timeout for jobs that don't set their own
+  private Duration defaultTimeout = Duration.ofSeconds(60);
+  private Duration probeTimeout = Duration.ofSeconds(30);
+
+  // Probe results keyed by the content hash of the probed file
+  private String probeCacheDir = "./temp/probe-cache";
+  private int probeCacheMemoryEntries = 1000;
+}
@@ -21,6 +21,7 @@ public class R2Configuration {
   private String region = "auto";
   private Map<String, BucketConfig> buckets;
   private UrlConfig urls = new UrlConfig();
+  private VerificationConfig verification = new VerificationConfig();
 
   @Data
   public static class BucketConfig {
@@ -32,5 +33,39 @@ public class R2Configuration {
   public static class UrlConfig {
     private Duration defaultExpiration = Duration.ofHours(48);
     private Duration maxExpiration = Duration.ofDays(7);
+    private CacheConfig cache = new CacheConfig();
+    private MaintenanceConfig maintenance = new MaintenanceConfig();
+  }
+
+  @Data
+  public static class CacheConfig {
+    // Re-sign cached URLs once they are within this window of expiring
+    private Duration refreshAhead = Duration.ofHours(3);
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    private Duration flushInterval = Duration.ofSeconds(5);
+    private int writeBatchSize = 100;
+    // Least recently used entries are dropped beyond this many cached URLs
+    private int maxEntries = 10000;
+  }
+
+  @Data
+  public static class MaintenanceConfig {
+    private boolean enabled = true;
+    private Duration interval = Duration.ofMinutes(15);
+    // Inactive URLs are purged once they have been expired for this long
+    private Duration retention = Duration.ofDays(7);
+    private int batchSize = 1000;
+    private int maxBatchesPerRun = 50;
+  }
+
+  @Data
+  public static class VerificationConfig {
+    // Check that published objects actually exist in R2, not just their upload status
+    private boolean checkStorage = true;
+    private Duration cacheTtl = Duration.ofSeconds(30);
+    private int maxConcurrent = 32;
+    // Objects of one presentation are listed by prefix instead of HEAD requests from this count
+    private int listThreshold = 8;
+    private int maxListPages = 10;
   }
 }
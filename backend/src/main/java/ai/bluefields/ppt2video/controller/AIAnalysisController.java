@@ -4,7 +4,9 @@ import ai.bluefields.ppt2video.dto.AnalysisStatusDto;
 import ai.bluefields.ppt2video.dto.AnalysisStatusDto.AnalysisType;
 import ai.bluefields.ppt2video.dto.ApiResponse;
 import ai.bluefields.ppt2video.dto.GenerateNarrativeRequestDto;
+import ai.bluefields.ppt2video.dto.NarrativeStreamEvent;
 import ai.bluefields.ppt2video.dto.ShortenNarrativeResponse;
+import ai.bluefields.ppt2video.dto.SlidePipelineRequest;
 import ai.bluefields.ppt2video.dto.avatar.BatchAvatarVideoInitResponse;
 import ai.bluefields.ppt2video.dto.avatar.BatchAvatarVideoRequest;
 import ai.bluefields.ppt2video.entity.DeckAnalysis;
@@ -23,15 +25,23 @@ import ai.bluefields.ppt2video.service.ai.narrative.optimization.EmotionalEnhanc
 import ai.bluefields.ppt2video.service.ai.slideanalysis.BatchSlideAnalysisOrchestrator;
 import ai.bluefields.ppt2video.service.ai.slideanalysis.SlideAnalysisService;
 import ai.bluefields.ppt2video.service.avatar.AvatarVideoService;
+import ai.bluefields.ppt2video.service.pipeline.SlidePipelineOrchestrator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 
 /**
  * REST controller for AI analysis operations. Provides endpoints for deck analysis, slide analysis,
@@ -54,6 +64,7 @@ public class AIAnalysisController {
   private final ai.bluefields.ppt2video.service.avatar.BatchAvatarVideoOrchestrator
       batchAvatarVideoOrchestrator;
   private final AvatarVideoService avatarVideoService;
+  private final SlidePipelineOrchestrator slidePipelineOrchestrator;
   private final PresentationRepository presentationRepository;
   private final AnalysisStatusService analysisStatusService;
   private final SlideRepository slideRepository;
@@ -61,6 +72,9 @@ public class AIAnalysisController {
   private final ai.bluefields.ppt2video.service.ai.narrative.optimization.EmotionalEnhancerFactory
       emotionalEnhancerFactory;
 
+  @Value("${app.ai.narrative.stream.timeout-seconds:180}")
+  private long narrativeStreamTimeoutSeconds;
+
   /**
    * Trigger deck analysis for a presentation.
    *
@@ -266,6 +280,96 @@ public class AIAnalysisController {
     }
   }
 
+  /**
+   * Generate narrative for a slide and stream the text to the client as Server-Sent Events. Emits
+   * "delta" events with the narrative text as it is generated, then a "completed" event with the
+   * saved narrative, or an "error" event if generation fails.
+   *
+   * @param slideId The slide ID
+   * @param request The narrative generation request with style
+   * @return The event stream
+   */
+  @PostMapping(
+      value = "/slides/{id}/generate-narrative/stream",
+      produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamNarrative(
+      @PathVariable("id") UUID slideId,
+      @RequestBody(required = false) GenerateNarrativeRequestDto request) {
+
+    // Use default if no request body provided
+    if (request == null) {
+      request = new GenerateNarrativeRequestDto();
+    }
+
+    // Validate style
+    if (!request.isValidStyle()) {
+      return errorStream(
+          HttpStatus.BAD_REQUEST,
+          "Invalid narrative style. Supported values: business, funny, cynical");
+    }
+
+    log.info(
+        "Received request to stream {} style narrative for slide: {}", request.getStyle(), slideId);
+
+    Flux<NarrativeStreamEvent> events;
+    try {
+      events = narrativeGenerationService.streamNarrative(slideId, request.getStyle());
+    } catch (IllegalArgumentException e) {
+      return errorStream(HttpStatus.NOT_FOUND, e.getMessage());
+    } catch (IllegalStateException e) {
+      return errorStream(HttpStatus.BAD_REQUEST, e.getMessage());
+    } catch (Exception e) {
+      log.error("Failed to start narrative stream for slide: {}", slideId, e);
+      return errorStream(
+          HttpStatus.INTERNAL_SERVER_ERROR, "Failed to generate narrative: " + e.getMessage());
+    }
+
+    SseEmitter emitter = new SseEmitter(narrativeStreamTimeoutSeconds * 1000);
+    Disposable subscription =
+        events.subscribe(
+            event -> sendStreamEvent(emitter, event),
+            error -> {
+              try {
+                sendStreamEvent(
+                    emitter,
+                    NarrativeStreamEvent.error(
+                        "Failed to generate narrative: " + error.getMessage()));
+                emitter.complete();
+              } catch (UncheckedIOException e) {
+                // Client has gone away
+                emitter.completeWithError(e);
+              }
+            },
+            emitter::complete);
+
+    // Stop generating once the client disconnects or the stream times out
+    emitter.onTimeout(subscription::dispose);
+    emitter.onError(e -> subscription.dispose());
+
+    return ResponseEntity.ok(emitter);
+  }
+
+  /** Send one narrative event; failures cancel the stream. */
+  private static void sendStreamEvent(SseEmitter emitter, NarrativeStreamEvent event) {
+    try {
+      emitter.send(SseEmitter.event().name(event.getType().eventName()).data(event));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Build an event stream holding a single error event. */
+  private static ResponseEntity<SseEmitter> errorStream(HttpStatus status, String message) {
+    SseEmitter emitter = new SseEmitter();
+    try {
+      sendStreamEvent(emitter, NarrativeStreamEvent.error(message));
+      emitter.complete();
+    } catch (UncheckedIOException e) {
+      emitter.completeWithError(e);
+    }
+    return ResponseEntity.status(status).body(emitter);
+  }
+
   /**
    * Get narrative for a slide.
    *
@@ -463,6 +567,57 @@ public class AIAnalysisController {
             .build());
   }
 
+  /**
+   * Run analysis, narrative, speech and avatar video generation as a per-slide pipeline. Slides
+   * advance to their next stage individually instead of waiting for the whole deck. Progress is
+   * reported by the analysis status endpoint under the SLIDE_PIPELINE type.
+   *
+   * @param presentationId The presentation ID
+   * @param request The pipeline options
+   * @return Success response
+   */
+  @PostMapping("/presentations/{id}/run-slide-pipeline")
+  public ResponseEntity<ApiResponse<String>> runSlidePipeline(
+      @PathVariable("id") UUID presentationId,
+      @RequestBody(required = false) SlidePipelineRequest request) {
+
+    // Use defaults if no request body provided
+    if (request == null) {
+      request = new SlidePipelineRequest();
+    }
+
+    // Validate style
+    if (!request.isValidStyle()) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+          .body(
+              ApiResponse.<String>builder()
+                  .success(false)
+                  .message("Invalid narrative style. Supported values: business, funny, cynical")
+                  .build());
+    }
+
+    log.info("Received request to run slide pipeline for presentation: {}", presentationId);
+
+    if (!presentationRepository.existsById(presentationId)) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND)
+          .body(
+              ApiResponse.<String>builder()
+                  .success(false)
+                  .message("Presentation not found")
+                  .build());
+    }
+
+    slidePipelineOrchestrator.runPipeline(presentationId, request);
+
+    return ResponseEntity.ok(
+        ApiResponse.<String>builder()
+            .success(true)
+            .data("Slide pipeline started")
+            .message(
+                "Slide pipeline initiated successfully. Use the status endpoint to track progress.")
+            .build());
+  }
+
   /**
    * Get complete narrative for all slides in a presentation.
    *
@@ -1,6 +1,10 @@
 package ai.bluefields.ppt2video.controller;
 
+import ai.bluefields.ppt2video.service.ai.TtsAudioCache;
+import ai.bluefields.ppt2video.service.media.MediaProcessRunner;
+import ai.bluefields.ppt2video.service.media.MediaToolsMetrics;
 import java.util.Map;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,8 +18,12 @@ import org.springframework.web.bind.annotation.RestController;
  */
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 public class HealthController {
 
+  private final MediaProcessRunner mediaProcessRunner;
+  private final TtsAudioCache ttsAudioCache;
+
   @Value("${app.upload.max-file-size-bytes:262144000}")
   private long maxFileSizeBytes;
 
@@ -44,4 +52,24 @@ public class HealthController {
             "maxFileSizeMB",
             maxFileSizeBytes / (1024 * 1024)));
   }
+
+  /**
+   * Returns metrics of the FFmpeg and FFprobe jobs, such as queueing, process spawn and CPU time.
+   *
+   * @return ResponseEntity containing the current media tools metrics
+   */
+  @GetMapping("/health/media-tools")
+  public ResponseEntity<MediaToolsMetrics> getMediaToolsMetrics() {
+    return ResponseEntity.ok(mediaProcessRunner.getMetrics());
+  }
+
+  /**
+   * Returns hit and miss counts of the text-to-speech audio cache since startup.
+   *
+   * @return ResponseEntity containing local hits, R2 hits and misses
+   */
+  @GetMapping("/health/tts-cache")
+  public ResponseEntity<Map<String, Long>> getTtsCacheStatistics() {
+    return ResponseEntity.ok(ttsAudioCache.getStatistics());
+  }
 }
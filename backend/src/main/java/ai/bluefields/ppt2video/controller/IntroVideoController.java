@@ -6,7 +6,7 @@ import ai.bluefields.ppt2video.dto.IntroVideoRequest;
 import ai.bluefields.ppt2video.dto.IntroVideoResponse;
 import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.repository.SlideRepository;
-import ai.bluefields.ppt2video.service.intro.ColorExtractionService;
+import ai.bluefields.ppt2video.service.intro.DeckPaletteIndexService;
 import ai.bluefields.ppt2video.service.intro.IntroVideoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -32,7 +32,7 @@ import org.springframework.web.bind.annotation.*;
 public class IntroVideoController {
 
   private final IntroVideoService introVideoService;
-  private final ColorExtractionService colorExtractionService;
+  private final DeckPaletteIndexService deckPaletteIndexService;
   private final SlideRepository slideRepository;
 
   /**
@@ -203,7 +203,7 @@ public class IntroVideoController {
                     .build());
       }
 
-      ColorPaletteDto colorPalette = colorExtractionService.extractColors(firstSlide.get());
+      ColorPaletteDto colorPalette = deckPaletteIndexService.getSlidePalette(firstSlide.get());
 
       return ResponseEntity.ok(
           ApiResponse.<ColorPaletteDto>builder().success(true).data(colorPalette).build());
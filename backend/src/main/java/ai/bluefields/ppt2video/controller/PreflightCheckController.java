@@ -3,6 +3,7 @@ package ai.bluefields.ppt2video.controller;
 import ai.bluefields.ppt2video.dto.ApiResponse;
 import ai.bluefields.ppt2video.dto.PreflightCheckRequestDto;
 import ai.bluefields.ppt2video.dto.PreflightCheckResponseDto;
+import ai.bluefields.ppt2video.dto.PreflightSummary;
 import ai.bluefields.ppt2video.service.PreflightCheckService;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -118,4 +119,52 @@ public class PreflightCheckController {
                   .build());
     }
   }
+
+  /**
+   * Gets the readiness summary of a presentation. Once a presentation has been checked, the summary
+   * is read directly from the tracked readiness counters, so it is cheap enough to poll. Content
+   * changes, including added and removed slides, are re-counted from the database shortly after
+   * they are committed; R2 objects are only verified by preflight checks and status requests. A
+   * presentation without tracked readiness gets a full preflight check first.
+   *
+   * @param id the ID of the presentation
+   * @return the readiness summary
+   */
+  @GetMapping("/{id}/preflight-summary")
+  public ResponseEntity<ApiResponse<PreflightSummary>> getPreflightSummary(@PathVariable UUID id) {
+
+    log.debug("Fetching preflight summary for presentation: {}", id);
+
+    try {
+      PreflightSummary summary = preflightCheckService.getReadinessSummary(id);
+
+      if (summary != null) {
+        return ResponseEntity.ok(
+            ApiResponse.<PreflightSummary>builder()
+                .success(true)
+                .data(summary)
+                .message("Preflight summary retrieved successfully")
+                .build());
+      } else {
+        return ResponseEntity.ok(
+            ApiResponse.<PreflightSummary>builder()
+                .success(false)
+                .message("No preflight check available. Please run a new check.")
+                .build());
+      }
+    } catch (Exception e) {
+      log.error("Error fetching preflight summary for presentation: {}", id, e);
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body(
+              ApiResponse.<PreflightSummary>builder()
+                  .success(false)
+                  .message("Failed to fetch preflight summary")
+                  .error(
+                      ApiResponse.ErrorDetails.builder()
+                          .code("PREFLIGHT_SUMMARY_ERROR")
+                          .description(e.getMessage())
+                          .build())
+                  .build());
+    }
+  }
 }
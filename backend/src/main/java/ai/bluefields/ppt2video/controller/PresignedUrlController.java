@@ -1,6 +1,7 @@
 package ai.bluefields.ppt2video.controller;
 
 import ai.bluefields.ppt2video.dto.PresignedUrlDto;
+import ai.bluefields.ppt2video.service.PresignedUrlMaintenanceService;
 import ai.bluefields.ppt2video.service.R2AssetService;
 import java.util.List;
 import java.util.UUID;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class PresignedUrlController {
 
   private final R2AssetService r2AssetService;
+  private final PresignedUrlMaintenanceService presignedUrlMaintenanceService;
 
   /**
    * Generate new pre-signed URL for an asset.
@@ -60,4 +62,14 @@ public class PresignedUrlController {
     List<PresignedUrlDto> urls = r2AssetService.getAssetUrls(assetId);
     return ResponseEntity.ok(urls);
   }
+
+  /**
+   * Get growth statistics for the pre-signed URL table.
+   *
+   * @return table statistics from the most recent maintenance sweep
+   */
+  @GetMapping("/presigned-urls/stats")
+  public ResponseEntity<PresignedUrlMaintenanceService.TableStatistics> getUrlTableStatistics() {
+    return ResponseEntity.ok(presignedUrlMaintenanceService.getStatistics());
+  }
 }
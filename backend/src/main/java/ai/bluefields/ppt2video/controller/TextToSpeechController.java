@@ -2,11 +2,16 @@ package ai.bluefields.ppt2video.controller;
 
 import ai.bluefields.ppt2video.dto.GenerateSpeechRequest;
 import ai.bluefields.ppt2video.dto.SlideSpeechDto;
+import ai.bluefields.ppt2video.dto.audio.AudioPostProcessingResult;
+import ai.bluefields.ppt2video.dto.audio.BatchSpeechRequest;
 import ai.bluefields.ppt2video.entity.SlideNarrative;
 import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.model.SpeechAlignment;
 import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
 import ai.bluefields.ppt2video.repository.SlideSpeechRepository;
+import ai.bluefields.ppt2video.service.ai.BatchSpeechOrchestrator;
 import ai.bluefields.ppt2video.service.ai.TextToSpeechService;
+import ai.bluefields.ppt2video.service.audio.SpeechAudioPostProcessor;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
@@ -32,6 +37,8 @@ import org.springframework.web.bind.annotation.*;
 public class TextToSpeechController {
 
   private final TextToSpeechService textToSpeechService;
+  private final BatchSpeechOrchestrator batchSpeechOrchestrator;
+  private final SpeechAudioPostProcessor speechAudioPostProcessor;
   private final SlideSpeechRepository slideSpeechRepository;
   private final SlideNarrativeRepository slideNarrativeRepository;
   private final ObjectMapper objectMapper;
@@ -203,6 +210,125 @@ public class TextToSpeechController {
     }
   }
 
+  /**
+   * Starts speech generation for all slides of a presentation with an active narrative. Slides are
+   * generated in parallel; progress is reported by the analysis status endpoint under the
+   * ALL_SPEECHES_GENERATION type.
+   *
+   * @param presentationId the presentation ID
+   * @param request optional voice style, force flag and slide selection
+   * @return the number of slides that will be processed
+   */
+  @PostMapping("/presentations/{presentationId}/speeches/generate-all")
+  public ResponseEntity<?> generateAllSpeeches(
+      @PathVariable String presentationId,
+      @RequestBody(required = false) BatchSpeechRequest request) {
+    try {
+      UUID presId = UUID.fromString(presentationId);
+      if (request == null) {
+        request = new BatchSpeechRequest();
+      }
+
+      int slidesToProcess = batchSpeechOrchestrator.countSlidesWithNarratives(presId, request);
+      if (slidesToProcess == 0) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("error", "No slides with narratives found for presentation: " + presentationId);
+        return ResponseEntity.badRequest().body(error);
+      }
+
+      batchSpeechOrchestrator.generateAllSpeeches(presId, request);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", true);
+      response.put("data", Map.of("slidesToProcess", slidesToProcess));
+      response.put("message", "Speech generation started for " + slidesToProcess + " slides");
+      return ResponseEntity.ok(response);
+
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid presentation ID format: {}", presentationId);
+      return ResponseEntity.badRequest().body(Map.of("error", "Invalid presentation ID format"));
+    }
+  }
+
+  /**
+   * Trims silence from and normalizes the loudness of all active speeches of a presentation, and
+   * optionally joins them into one narration track.
+   *
+   * @param presentationId the presentation ID
+   * @param concatenate whether to build the narration track and its cue sheet
+   * @param force whether to process speeches again that were already processed
+   * @return the processing result
+   */
+  @PostMapping("/presentations/{presentationId}/speeches/post-process")
+  public ResponseEntity<?> postProcessSpeeches(
+      @PathVariable String presentationId,
+      @RequestParam(defaultValue = "true") boolean concatenate,
+      @RequestParam(defaultValue = "false") boolean force) {
+    try {
+      UUID presId = UUID.fromString(presentationId);
+      AudioPostProcessingResult result =
+          speechAudioPostProcessor.processPresentation(presId, concatenate, force);
+
+      Map<String, Object> response = new HashMap<>();
+      response.put("success", result.getSpeechesFailed() == 0);
+      response.put("data", result);
+      return ResponseEntity.ok(response);
+
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid presentation ID format: {}", presentationId);
+      return ResponseEntity.badRequest().body(Map.of("error", "Invalid presentation ID format"));
+    }
+  }
+
+  /**
+   * Gets the cue sheet of a presentation's narration track.
+   *
+   * @param presentationId the presentation ID
+   * @return the cue sheet if the track has been built
+   */
+  @GetMapping("/presentations/{presentationId}/narration")
+  public ResponseEntity<?> getNarration(@PathVariable String presentationId) {
+    try {
+      UUID presId = UUID.fromString(presentationId);
+      return speechAudioPostProcessor
+          .getNarration(presId)
+          .<ResponseEntity<?>>map(
+              cueSheet -> ResponseEntity.ok(Map.of("success", true, "data", cueSheet)))
+          .orElse(ResponseEntity.notFound().build());
+
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid presentation ID format: {}", presentationId);
+      return ResponseEntity.badRequest().body(Map.of("error", "Invalid presentation ID format"));
+    }
+  }
+
+  /**
+   * Serves a presentation's narration track.
+   *
+   * @param presentationId the presentation ID
+   * @return the audio file
+   */
+  @GetMapping("/presentations/{presentationId}/narration/audio")
+  public ResponseEntity<Resource> getNarrationAudio(@PathVariable String presentationId) {
+    try {
+      UUID presId = UUID.fromString(presentationId);
+      return speechAudioPostProcessor
+          .getNarrationAudio(presId)
+          .map(
+              audioPath ->
+                  ResponseEntity.ok()
+                      .contentType(MediaType.parseMediaType("audio/mpeg"))
+                      .header("Cache-Control", "no-cache")
+                      .<Resource>body(new FileSystemResource(audioPath)))
+          .orElse(ResponseEntity.notFound().build());
+
+    } catch (IllegalArgumentException e) {
+      log.warn("Invalid presentation ID format: {}", presentationId);
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   /** Converts a SlideSpeech entity to DTO. */
   private SlideSpeechDto convertToDto(SlideSpeech speech) {
     SlideSpeechDto.SlideSpeechDtoBuilder builder =
@@ -224,8 +350,34 @@ public class TextToSpeechController {
             .createdAt(speech.getCreatedAt())
             .updatedAt(speech.getUpdatedAt());
 
-    // Parse timing data
-    if (speech.getTimingData() != null) {
+    // Timing data: compact alignment for new speeches, legacy JSON for older ones
+    SpeechAlignment alignment = speech.getAlignment();
+    if (alignment != null) {
+      String characters = alignment.getCharacters();
+      List<SlideSpeechDto.TimestampDto> timestamps = new ArrayList<>(alignment.size());
+      // A surrogate pair takes two alignment entries but is one character
+      for (int i = 0; i < alignment.size(); i += Character.charCount(characters.codePointAt(i))) {
+        timestamps.add(
+            SlideSpeechDto.TimestampDto.builder()
+                .character(Character.toString(characters.codePointAt(i)))
+                .startTime((double) alignment.getStartTime(i))
+                .endTime((double) alignment.getEndTime(i))
+                .build());
+      }
+      builder.timestamps(timestamps);
+
+      SpeechAlignment.WordTimings words = alignment.getWords();
+      List<SlideSpeechDto.WordTimestampDto> wordTimestamps = new ArrayList<>(words.size());
+      for (int i = 0; i < words.size(); i++) {
+        wordTimestamps.add(
+            SlideSpeechDto.WordTimestampDto.builder()
+                .word(words.getWord(i))
+                .startTime((double) words.getStartTime(i))
+                .endTime((double) words.getEndTime(i))
+                .build());
+      }
+      builder.words(wordTimestamps);
+    } else if (speech.getTimingData() != null) {
       try {
         List<Map<String, Object>> timingMaps =
             objectMapper.readValue(
@@ -22,7 +22,9 @@ public record AnalysisStatusDto(
     DECK_ANALYSIS,
     ALL_SLIDES_ANALYSIS,
     ALL_NARRATIVES_GENERATION,
-    ALL_AVATAR_VIDEOS_GENERATION
+    ALL_AVATAR_VIDEOS_GENERATION,
+    ALL_SPEECHES_GENERATION,
+    SLIDE_PIPELINE
   }
 
   /** Current state of the analysis. */
@@ -39,6 +39,9 @@ public class AvatarVideoRequest {
   /** Custom audio URL (optional, used if usePublishedAudio is false) */
   private String customAudioUrl;
 
+  /** Whether a video with identical audio and settings may be reused (default: true) */
+  @Builder.Default private Boolean allowReuse = true;
+
   /** Additional metadata for the request */
   private String metadata;
 }
@@ -19,10 +19,12 @@ import lombok.NoArgsConstructor;
 public class ColorPaletteDto {
 
   private List<String> dominantColors; // Hex color codes
+  private List<Double> colorShares; // Share of sampled pixels per dominant color
   private String primaryColor;
   private String secondaryColor;
   private String accentColor;
   private Double brightness; // 0.0 to 1.0
   private Double saturation; // 0.0 to 1.0
   private String colorScheme; // e.g., "monochromatic", "complementary", "analogous"
+  private List<String> brandColors; // Deck-level only: saturated colors recurring across slides
 }
@@ -0,0 +1,26 @@
+package ai.bluefields.ppt2video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO representing the deck-level color palette index of a presentation. Aggregated from the slide
+ * palettes computed at render time and persisted on the presentation.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeckPaletteIndexDto {
+
+  private ColorPaletteDto deckPalette; // Aggregated palette including brand colors
+  private Map<Integer, ColorPaletteDto> slidePalettes; // Keyed by slide number
+  private Integer slideCount;
+  private LocalDateTime generatedAt;
+}
@@ -0,0 +1,76 @@
+package ai.bluefields.ppt2video.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Event sent to the client while a narrative is streamed. Delta events carry the narrative text
+ * generated since the previous event; the final event carries the saved narrative.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NarrativeStreamEvent {
+
+  /** Kind of event, also used as the SSE event name */
+  private EventType type;
+
+  /** Narrative text generated since the previous delta event */
+  private String text;
+
+  /** ID of the saved narrative (completed events only) */
+  private UUID narrativeId;
+
+  /** Full narrative text as saved (completed events only) */
+  private String narrativeText;
+
+  /** Estimated speaking duration in seconds (completed events only) */
+  private Integer durationSeconds;
+
+  /** Transition phrase to the next slide (completed events only) */
+  private String transitionPhrase;
+
+  /** Error message (error events only) */
+  private String message;
+
+  public enum EventType {
+    DELTA,
+    COMPLETED,
+    ERROR;
+
+    /**
+     * Get the SSE event name.
+     *
+     * @return the lower-case event name
+     */
+    public String eventName() {
+      return name().toLowerCase();
+    }
+  }
+
+  /**
+   * Create a delta event.
+   *
+   * @param text the newly generated narrative text
+   * @return the event
+   */
+  public static NarrativeStreamEvent delta(String text) {
+    return NarrativeStreamEvent.builder().type(EventType.DELTA).text(text).build();
+  }
+
+  /**
+   * Create an error event.
+   *
+   * @param message the error message
+   * @return the event
+   */
+  public static NarrativeStreamEvent error(String message) {
+    return NarrativeStreamEvent.builder().type(EventType.ERROR).message(message).build();
+  }
+}
@@ -0,0 +1,47 @@
+package ai.bluefields.ppt2video.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Request DTO for running the per-slide pipeline (analysis, narrative, speech, avatar video). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlidePipelineRequest {
+
+  /**
+   * The narrative style to use. Supported values: "business", "funny", "cynical". If null, the
+   * presentation's narrative style is used.
+   */
+  private String style;
+
+  /** Whether to regenerate analysis, narratives and avatar videos that already exist */
+  private boolean regenerateExisting;
+
+  /** Whether to finish each slide with an avatar video. If false, the pipeline stops at speech */
+  private boolean includeAvatarVideos = true;
+
+  /** Optional avatar ID to use for all videos. If null, selects based on narrative style */
+  private String avatarId;
+
+  /** Optional background color for avatar videos */
+  private String backgroundColor;
+
+  /** Optional list of specific slide IDs to process. If null, processes all slides */
+  private List<UUID> selectedSlideIds;
+
+  /**
+   * Validates that the style, if given, is one of the supported values.
+   *
+   * @return true if valid, false otherwise
+   */
+  public boolean isValidStyle() {
+    return style == null
+        || style.equals("business")
+        || style.equals("funny")
+        || style.equals("cynical");
+  }
+}
@@ -27,6 +27,7 @@ public class SlideSpeechDto {
   private String modelUsed;
   private Double durationSeconds;
   private List<TimestampDto> timestamps;
+  private List<WordTimestampDto> words;
   private String requestId;
   private String outputFormat;
   private Map<String, Object> generationMetadata;
@@ -46,4 +47,15 @@ public class SlideSpeechDto {
     private Double startTime;
     private Double endTime;
   }
+
+  /** DTO for word-level timestamps. */
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class WordTimestampDto {
+    private String word;
+    private Double startTime;
+    private Double endTime;
+  }
 }
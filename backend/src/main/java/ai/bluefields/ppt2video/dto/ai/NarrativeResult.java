@@ -0,0 +1,23 @@
+package ai.bluefields.ppt2video.dto.ai;
+
+import java.util.List;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Narrative as returned by the text model, read field by field from the response. Nested structures
+ * are kept as JSON text since they are stored as-is.
+ */
+@Data
+@NoArgsConstructor
+public class NarrativeResult {
+
+  private String narrativeText;
+  private String emotionIndicators; // JSON array
+  private String avatarInstructions; // JSON object
+  private String speechMarkers; // JSON object
+  private List<String> emphasisWords; // From speechMarkers.emphasis
+  private Integer durationSeconds;
+  private String transitionPhrase;
+  private boolean truncated; // Response ended before the JSON was complete
+}
@@ -0,0 +1,46 @@
+package ai.bluefields.ppt2video.dto.ai;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Slide analysis as returned by the vision model, read field by field from the response. */
+@Data
+@NoArgsConstructor
+public class SlideAnalysisResult {
+
+  private String generalMessage;
+  private List<VisualConcept> visualConcepts;
+  private List<String> keyPoints;
+  private String dataInsights;
+  private String transitionContext;
+  private String emphasisLevel;
+
+  private boolean truncated; // Response ended before the JSON was complete
+
+  /** A visual concept detected on the slide. */
+  @Data
+  @NoArgsConstructor
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  @JsonPropertyOrder({"type", "confidence", "position", "prominence", "details"})
+  public static class VisualConcept {
+    private String type;
+    private String confidence;
+    private Position position;
+    private String prominence;
+    @JsonRawValue private String details; // Concept-specific attributes, kept as JSON
+  }
+
+  /** Layout position of a visual concept. */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class Position {
+    private String vertical;
+    private String horizontal;
+  }
+}
@@ -0,0 +1,14 @@
+package ai.bluefields.ppt2video.dto.ai;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Improved transition phrase for one narrative, as returned by transition optimization. */
+@Data
+@NoArgsConstructor
+public class TransitionUpdate {
+
+  private String id;
+  private Integer slideNumber;
+  private String improvedTransition;
+}
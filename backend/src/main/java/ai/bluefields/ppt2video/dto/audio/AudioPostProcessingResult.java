@@ -0,0 +1,26 @@
+package ai.bluefields.ppt2video.dto.audio;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Result of post-processing the speeches of a presentation. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AudioPostProcessingResult {
+
+  private UUID presentationId;
+  private int speechesProcessed;
+  private int speechesSkipped;
+  private int speechesFailed;
+  private List<String> errors;
+  private NarrationCueSheet narration;
+  private long processingTimeMs;
+}
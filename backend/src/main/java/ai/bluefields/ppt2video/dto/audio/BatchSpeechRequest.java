@@ -0,0 +1,25 @@
+package ai.bluefields.ppt2video.dto.audio;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Request DTO for generating speech for all slides of a presentation. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSpeechRequest {
+
+  /** Narrative style selecting the voice. If null, uses the presentation's narrative style */
+  private String narrativeStyle;
+
+  /** Whether to regenerate speech even if the slide's text and voice are unchanged */
+  private boolean forceRegenerate;
+
+  /** Optional list of specific slide IDs to process. If null, processes all slides */
+  private List<UUID> selectedSlideIds;
+}
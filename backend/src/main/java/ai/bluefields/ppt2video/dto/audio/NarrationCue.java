@@ -0,0 +1,21 @@
+package ai.bluefields.ppt2video.dto.audio;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Position of one slide's speech in the concatenated narration track. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NarrationCue {
+
+  private UUID slideId;
+  private Integer slideNumber;
+  private UUID speechId;
+  private double startSeconds;
+  private double endSeconds;
+}
@@ -0,0 +1,23 @@
+package ai.bluefields.ppt2video.dto.audio;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Cue sheet of a presentation's concatenated narration track, one cue per slide. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NarrationCueSheet {
+
+  private UUID presentationId;
+  private String audioFileName;
+  private double durationSeconds;
+  private List<NarrationCue> cues;
+  private LocalDateTime createdAt;
+}
@@ -25,6 +25,9 @@ public class BatchAvatarVideoResponse {
   /** Number of successfully generated videos */
   private int successCount;
 
+  /** Number of successes that reused a completed video instead of rendering one */
+  private int reusedCount;
+
   /** Number of failed generations */
   private int failedCount;
 
@@ -1,5 +1,6 @@
 package ai.bluefields.ppt2video.entity;
 
+import ai.bluefields.ppt2video.event.PresentationContentListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -20,6 +21,7 @@ import org.hibernate.type.SqlTypes;
 @Table(
     name = "asset_metadata",
     uniqueConstraints = {@UniqueConstraint(columnNames = {"bucket_name", "object_key"})})
+@EntityListeners(PresentationContentListener.class)
 @Data
 @Builder
 @NoArgsConstructor
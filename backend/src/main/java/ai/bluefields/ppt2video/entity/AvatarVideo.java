@@ -1,5 +1,6 @@
 package ai.bluefields.ppt2video.entity;
 
+import ai.bluefields.ppt2video.event.PresentationContentListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,6 +17,7 @@ import org.hibernate.annotations.UpdateTimestamp;
  */
 @Entity
 @Table(name = "avatar_videos")
+@EntityListeners(PresentationContentListener.class)
 @Data
 @Builder
 @NoArgsConstructor
@@ -96,6 +98,16 @@ public class AvatarVideo {
   @Column(name = "created_by")
   private String createdBy;
 
+  // Reuse index: videos with the same key render identically, see AvatarVideoReuseService
+  @Column(name = "audio_hash")
+  private String audioHash;
+
+  @Column(name = "reuse_key")
+  private String reuseKey;
+
+  @Column(name = "reused_from_id")
+  private UUID reusedFromId;
+
   // Convenience methods for accessing foreign key IDs
   public UUID getSlideId() {
     return slide != null ? slide.getId() : null;
@@ -1,5 +1,6 @@
 package ai.bluefields.ppt2video.entity;
 
+import ai.bluefields.ppt2video.event.PresentationContentListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -18,6 +19,7 @@ import org.hibernate.type.SqlTypes;
  */
 @Entity
 @Table(name = "intro_videos")
+@EntityListeners(PresentationContentListener.class)
 @Data
 @Builder
 @NoArgsConstructor
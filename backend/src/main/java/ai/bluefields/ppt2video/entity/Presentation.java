@@ -10,7 +10,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 /**
  * JPA entity representing a PowerPoint presentation. This entity stores metadata about uploaded
@@ -20,7 +22,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Table(name = "presentations")
 @Data
 @EqualsAndHashCode(exclude = "slides")
-@ToString(exclude = "slides")
+@ToString(exclude = {"slides", "colorPaletteIndex"})
 public class Presentation {
 
   @Id
@@ -74,6 +76,10 @@ public class Presentation {
   @Column(name = "narrative_style")
   private String narrativeStyle;
 
+  @Column(name = "color_palette_index", columnDefinition = "JSONB")
+  @JdbcTypeCode(SqlTypes.JSON)
+  private String colorPaletteIndex;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -1,5 +1,6 @@
 package ai.bluefields.ppt2video.entity;
 
+import ai.bluefields.ppt2video.event.PresentationContentListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -10,7 +11,9 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
 
 /**
  * JPA entity representing an individual slide within a presentation. This entity stores slide
@@ -18,6 +21,7 @@ import org.hibernate.annotations.UpdateTimestamp;
  */
 @Entity
 @Table(name = "slides")
+@EntityListeners(PresentationContentListener.class)
 @Data
 @EqualsAndHashCode(exclude = "presentation")
 @ToString(exclude = "presentation")
@@ -69,6 +73,10 @@ public class Slide {
   @Column(name = "rendering_error_message", columnDefinition = "TEXT")
   private String renderingErrorMessage;
 
+  @Column(name = "color_palette", columnDefinition = "JSONB")
+  @JdbcTypeCode(SqlTypes.JSON)
+  private String colorPalette;
+
   @Column(name = "audio_path")
   private String audioPath;
 
@@ -1,11 +1,17 @@
 package ai.bluefields.ppt2video.entity;
 
+import ai.bluefields.ppt2video.event.PresentationContentListener;
+import ai.bluefields.ppt2video.util.TextStats;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -18,9 +24,10 @@ import org.hibernate.type.SqlTypes;
  */
 @Entity
 @Table(name = "slide_narratives")
+@EntityListeners(PresentationContentListener.class)
 @Data
-@EqualsAndHashCode(exclude = "slide")
-@ToString(exclude = "slide")
+@EqualsAndHashCode(exclude = {"slide", "narrativeTextStats"})
+@ToString(exclude = {"slide", "narrativeTextStats"})
 public class SlideNarrative {
 
   @Id
@@ -89,6 +96,12 @@ public class SlideNarrative {
   @Column(name = "prompt_version")
   private String promptVersion;
 
+  /** Statistics of the narrative text, computed on first use and cached until the text changes */
+  @Transient
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private TextStats narrativeTextStats;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -110,6 +123,23 @@ public class SlideNarrative {
         : narrativeText;
   }
 
+  /**
+   * Gets the word count, sentence count and opening phrase of the narrative text. Analyzed once and
+   * reused until the narrative text is replaced.
+   *
+   * @return The text statistics of the narrative
+   */
+  @Transient
+  @JsonIgnore
+  public TextStats getNarrativeTextStats() {
+    TextStats stats = narrativeTextStats;
+    if (stats == null || !stats.isFor(narrativeText)) {
+      stats = TextStats.of(narrativeText);
+      narrativeTextStats = stats;
+    }
+    return stats;
+  }
+
   /**
    * Checks if this narrative has been emotionally enhanced.
    *
@@ -1,11 +1,16 @@
 package ai.bluefields.ppt2video.entity;
 
+import ai.bluefields.ppt2video.event.PresentationContentListener;
+import ai.bluefields.ppt2video.model.SpeechAlignment;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -18,9 +23,10 @@ import org.hibernate.type.SqlTypes;
  */
 @Entity
 @Table(name = "slide_speeches")
+@EntityListeners(PresentationContentListener.class)
 @Data
-@EqualsAndHashCode(exclude = {"slide", "presentation", "slideNarrative"})
-@ToString(exclude = {"slide", "presentation", "slideNarrative"})
+@EqualsAndHashCode(exclude = {"slide", "presentation", "slideNarrative", "alignment"})
+@ToString(exclude = {"slide", "presentation", "slideNarrative", "alignmentData", "alignment"})
 public class SlideSpeech {
 
   @Id
@@ -57,10 +63,19 @@ public class SlideSpeech {
   @Column(name = "duration_seconds")
   private Double durationSeconds;
 
+  // Legacy per-character JSON timestamps; new speeches store alignmentData instead
   @Column(name = "timing_data", columnDefinition = "JSONB")
   @JdbcTypeCode(SqlTypes.JSON)
   private String timingData;
 
+  // Compact binary character alignment, see SpeechAlignment#encode()
+  @Column(name = "alignment_data")
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private byte[] alignmentData;
+
+  @Transient private SpeechAlignment alignment;
+
   @Column(name = "request_id")
   private String requestId;
 
@@ -80,6 +95,23 @@ public class SlideSpeech {
   @Column(name = "transition_skipped_reason")
   private String transitionSkippedReason;
 
+  // TTS cache key of the request sent to the provider, used to skip regenerating unchanged speech
+  @Column(name = "request_hash")
+  private String requestHash;
+
+  // Set by audio post-processing; audioFilePath then points to the processed file
+  @Column(name = "original_audio_file_path")
+  private String originalAudioFilePath;
+
+  @Column(name = "audio_processed_at")
+  private LocalDateTime audioProcessedAt;
+
+  @Column(name = "trimmed_lead_seconds")
+  private Double trimmedLeadSeconds;
+
+  @Column(name = "measured_loudness_lufs")
+  private Double measuredLoudnessLufs;
+
   @CreationTimestamp
   @Column(name = "created_at", nullable = false, updatable = false)
   private LocalDateTime createdAt;
@@ -96,4 +128,26 @@ public class SlideSpeech {
   public UUID getPresentationId() {
     return presentation != null ? presentation.getId() : null;
   }
+
+  /**
+   * Get the character alignment, decoding the stored binary data on first access.
+   *
+   * @return the alignment, or null if this speech has no compact alignment data
+   */
+  public SpeechAlignment getAlignment() {
+    if (alignment == null && alignmentData != null) {
+      alignment = SpeechAlignment.decode(alignmentData);
+    }
+    return alignment;
+  }
+
+  /**
+   * Set the character alignment and its binary storage form.
+   *
+   * @param alignment the alignment
+   */
+  public void setAlignment(SpeechAlignment alignment) {
+    this.alignment = alignment;
+    this.alignmentData = alignment != null ? alignment.encode() : null;
+  }
 }
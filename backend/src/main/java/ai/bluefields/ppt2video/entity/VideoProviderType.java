@@ -2,6 +2,7 @@ package ai.bluefields.ppt2video.entity;
 
 public enum VideoProviderType {
   SHOTSTACK,
+  FFMPEG,
   REMOTION,
   CUSTOM
 }
@@ -0,0 +1,34 @@
+package ai.bluefields.ppt2video.event;
+
+import java.util.UUID;
+
+/**
+ * Domain event published after a slide, its narrative, speech, avatar video or assets, or a
+ * presentation's intro video was created, updated or deleted. Consumers such as the preflight
+ * readiness tracker use it to refresh only what changed.
+ *
+ * @param presentationId the presentation the content belongs to
+ * @param slideId the slide the content belongs to, or null for presentation-level content
+ * @param contentType the kind of content that changed
+ * @param changeType how it changed
+ */
+public record PresentationContentChangedEvent(
+    UUID presentationId, UUID slideId, ContentType contentType, ChangeType changeType) {
+
+  /** Kind of content that changed. */
+  public enum ContentType {
+    SLIDE,
+    NARRATIVE,
+    SPEECH,
+    AVATAR_VIDEO,
+    ASSET,
+    INTRO_VIDEO
+  }
+
+  /** How the content changed. */
+  public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+  }
+}
@@ -0,0 +1,95 @@
+package ai.bluefields.ppt2video.event;
+
+import ai.bluefields.ppt2video.entity.AssetMetadata;
+import ai.bluefields.ppt2video.entity.AvatarVideo;
+import ai.bluefields.ppt2video.entity.IntroVideo;
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.entity.SlideNarrative;
+import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent.ChangeType;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent.ContentType;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns changes of presentation content into {@link
+ * PresentationContentChangedEvent}s. Registered on the content entities with
+ * {@code @EntityListeners}; Hibernate obtains it from the Spring context.
+ *
+ * <p>Only foreign key IDs are read, which lazy associations provide without initializing, so the
+ * listener is safe to run during a flush. Bulk JPQL updates and deletes bypass entity callbacks and
+ * have to publish their events explicitly.
+ */
+@Component
+@RequiredArgsConstructor
+public class PresentationContentListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PostPersist
+  public void created(Object entity) {
+    publish(entity, ChangeType.CREATED);
+  }
+
+  @PostUpdate
+  public void updated(Object entity) {
+    publish(entity, ChangeType.UPDATED);
+  }
+
+  @PostRemove
+  public void deleted(Object entity) {
+    publish(entity, ChangeType.DELETED);
+  }
+
+  private void publish(Object entity, ChangeType changeType) {
+    PresentationContentChangedEvent event =
+        switch (entity) {
+          case Slide slide ->
+              event(
+                  slide.getPresentation() != null ? slide.getPresentation().getId() : null,
+                  slide.getId(),
+                  ContentType.SLIDE,
+                  changeType);
+          case SlideNarrative narrative ->
+              narrative.getSlide() != null
+                  ? event(
+                      narrative.getSlide().getPresentation() != null
+                          ? narrative.getSlide().getPresentation().getId()
+                          : null,
+                      narrative.getSlide().getId(),
+                      ContentType.NARRATIVE,
+                      changeType)
+                  : null;
+          case SlideSpeech speech ->
+              event(
+                  speech.getPresentationId(), speech.getSlideId(), ContentType.SPEECH, changeType);
+          case AvatarVideo video ->
+              event(
+                  video.getPresentationId(),
+                  video.getSlideId(),
+                  ContentType.AVATAR_VIDEO,
+                  changeType);
+          case AssetMetadata asset ->
+              event(asset.getPresentationId(), asset.getSlideId(), ContentType.ASSET, changeType);
+          case IntroVideo video ->
+              event(video.getPresentationId(), null, ContentType.INTRO_VIDEO, changeType);
+          default -> null;
+        };
+
+    if (event != null) {
+      eventPublisher.publishEvent(event);
+    }
+  }
+
+  private static PresentationContentChangedEvent event(
+      UUID presentationId, UUID slideId, ContentType contentType, ChangeType changeType) {
+    return presentationId != null
+        ? new PresentationContentChangedEvent(presentationId, slideId, contentType, changeType)
+        : null;
+  }
+}
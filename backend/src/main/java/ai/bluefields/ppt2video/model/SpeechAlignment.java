@@ -0,0 +1,402 @@
+package ai.bluefields.ppt2video.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Character-level alignment of generated speech held in primitive form: one char per aligned
+ * character plus parallel start and end time arrays in seconds. Replaces a boxed map per character.
+ * A character outside the Basic Multilingual Plane takes two entries, its surrogate pair, which
+ * share its times, so the characters always form a valid string.
+ *
+ * <p>The binary form produced by {@link #encode()} stores times as millisecond deltas in varints,
+ * which takes a few bytes per character instead of a JSON object per character.
+ */
+public final class SpeechAlignment {
+
+  private static final SpeechAlignment EMPTY = new SpeechAlignment("", new float[0], new float[0]);
+  private static final byte FORMAT_VERSION = 1;
+
+  private final String characters;
+  private final float[] startTimes;
+  private final float[] endTimes;
+
+  // Word-level aggregation, computed on first use
+  private volatile WordTimings words;
+
+  private SpeechAlignment(String characters, float[] startTimes, float[] endTimes) {
+    this.characters = characters;
+    this.startTimes = startTimes;
+    this.endTimes = endTimes;
+  }
+
+  /**
+   * Get an alignment without characters.
+   *
+   * @return the empty alignment
+   */
+  public static SpeechAlignment empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Create a builder for incrementally appending aligned characters.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Get the number of aligned characters.
+   *
+   * @return character count
+   */
+  public int size() {
+    return characters.length();
+  }
+
+  /**
+   * Check whether the alignment contains any characters.
+   *
+   * @return true if there are no aligned characters
+   */
+  public boolean isEmpty() {
+    return characters.isEmpty();
+  }
+
+  /**
+   * Get the aligned characters as a single string.
+   *
+   * @return the characters, one per alignment entry
+   */
+  public String getCharacters() {
+    return characters;
+  }
+
+  /**
+   * Get the start time of a character.
+   *
+   * @param index the character index
+   * @return start time in seconds
+   */
+  public float getStartTime(int index) {
+    return startTimes[index];
+  }
+
+  /**
+   * Get the end time of a character.
+   *
+   * @param index the character index
+   * @return end time in seconds
+   */
+  public float getEndTime(int index) {
+    return endTimes[index];
+  }
+
+  /**
+   * Get the duration of the aligned speech, i.e. the end time of the last character.
+   *
+   * @return duration in seconds, or 0 if empty
+   */
+  public double getDurationSeconds() {
+    return endTimes.length == 0 ? 0 : endTimes[endTimes.length - 1];
+  }
+
+  /**
+   * Get the start time of the first spoken character, i.e. the leading silence.
+   *
+   * @return start time in seconds, or 0 if there are no spoken characters
+   */
+  public double getSpeechStartSeconds() {
+    for (int i = 0; i < size(); i++) {
+      if (!Character.isWhitespace(characters.charAt(i))) {
+        return startTimes[i];
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Get the end time of the last spoken character, ignoring trailing whitespace.
+   *
+   * @return end time in seconds, or 0 if there are no spoken characters
+   */
+  public double getSpeechEndSeconds() {
+    for (int i = size() - 1; i >= 0; i--) {
+      if (!Character.isWhitespace(characters.charAt(i))) {
+        return endTimes[i];
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Create a copy with all times moved earlier, e.g. after leading audio has been cut. Times are
+   * clamped at zero.
+   *
+   * @param seconds the amount to move times by
+   * @return the shifted alignment
+   */
+  public SpeechAlignment shiftedBy(double seconds) {
+    if (isEmpty() || seconds == 0) {
+      return this;
+    }
+    float offset = (float) seconds;
+    float[] starts = new float[size()];
+    float[] ends = new float[size()];
+    for (int i = 0; i < size(); i++) {
+      starts[i] = Math.max(0f, startTimes[i] - offset);
+      ends[i] = Math.max(0f, endTimes[i] - offset);
+    }
+    return new SpeechAlignment(characters, starts, ends);
+  }
+
+  /**
+   * Get word-level timings aggregated from the character alignment. Computed once and cached.
+   *
+   * @return word timings
+   */
+  public WordTimings getWords() {
+    WordTimings result = words;
+    if (result == null) {
+      result = WordTimings.aggregate(this);
+      words = result;
+    }
+    return result;
+  }
+
+  /**
+   * Encode to the compact binary storage format.
+   *
+   * @return encoded bytes
+   */
+  public byte[] encode() {
+    byte[] chars = characters.getBytes(StandardCharsets.UTF_8);
+    ByteArrayOutputStream out = new ByteArrayOutputStream(chars.length + size() * 3 + 16);
+    out.write(FORMAT_VERSION);
+    writeVarint(out, size());
+    writeVarint(out, chars.length);
+    out.write(chars, 0, chars.length);
+
+    int previousEndMs = 0;
+    for (int i = 0; i < size(); i++) {
+      int startMs = Math.round(startTimes[i] * 1000f);
+      int endMs = Math.round(endTimes[i] * 1000f);
+      writeVarint(out, zigZag(startMs - previousEndMs));
+      writeVarint(out, zigZag(endMs - startMs));
+      previousEndMs = endMs;
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Decode an alignment from the compact binary storage format.
+   *
+   * @param data encoded bytes, may be null
+   * @return the alignment, or the empty alignment if no data is given
+   * @throws IllegalArgumentException if the data is not in a supported format
+   */
+  public static SpeechAlignment decode(byte[] data) {
+    if (data == null || data.length == 0) {
+      return EMPTY;
+    }
+    ByteBuffer in = ByteBuffer.wrap(data);
+    byte version = in.get();
+    if (version != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unsupported alignment format version: " + version);
+    }
+    int size = readVarint(in);
+    byte[] chars = new byte[readVarint(in)];
+    in.get(chars);
+
+    float[] starts = new float[size];
+    float[] ends = new float[size];
+    int previousEndMs = 0;
+    for (int i = 0; i < size; i++) {
+      int startMs = previousEndMs + unZigZag(readVarint(in));
+      int endMs = startMs + unZigZag(readVarint(in));
+      starts[i] = startMs / 1000f;
+      ends[i] = endMs / 1000f;
+      previousEndMs = endMs;
+    }
+    return size == 0
+        ? EMPTY
+        : new SpeechAlignment(new String(chars, StandardCharsets.UTF_8), starts, ends);
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(ByteBuffer in) {
+    int value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = in.get();
+      value |= (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+
+  private static int zigZag(int value) {
+    return (value << 1) ^ (value >> 31);
+  }
+
+  private static int unZigZag(int value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /** Word-level timings in parallel primitive arrays, indexed by word. */
+  public static final class WordTimings {
+    private final String[] words;
+    private final float[] startTimes;
+    private final float[] endTimes;
+
+    private WordTimings(String[] words, float[] startTimes, float[] endTimes) {
+      this.words = words;
+      this.startTimes = startTimes;
+      this.endTimes = endTimes;
+    }
+
+    private static WordTimings aggregate(SpeechAlignment alignment) {
+      String chars = alignment.characters;
+      int capacity = 16;
+      String[] words = new String[capacity];
+      float[] starts = new float[capacity];
+      float[] ends = new float[capacity];
+      int count = 0;
+
+      int i = 0;
+      while (i < chars.length()) {
+        while (i < chars.length() && Character.isWhitespace(chars.charAt(i))) {
+          i++;
+        }
+        int wordStart = i;
+        while (i < chars.length() && !Character.isWhitespace(chars.charAt(i))) {
+          i++;
+        }
+        if (i > wordStart) {
+          if (count == capacity) {
+            capacity *= 2;
+            words = Arrays.copyOf(words, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+          }
+          words[count] = chars.substring(wordStart, i);
+          starts[count] = alignment.startTimes[wordStart];
+          ends[count] = alignment.endTimes[i - 1];
+          count++;
+        }
+      }
+      return new WordTimings(
+          Arrays.copyOf(words, count), Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    /**
+     * Get the number of words.
+     *
+     * @return word count
+     */
+    public int size() {
+      return words.length;
+    }
+
+    /**
+     * Get a word.
+     *
+     * @param index the word index
+     * @return the word text
+     */
+    public String getWord(int index) {
+      return words[index];
+    }
+
+    /**
+     * Get the start time of a word.
+     *
+     * @param index the word index
+     * @return start time in seconds
+     */
+    public float getStartTime(int index) {
+      return startTimes[index];
+    }
+
+    /**
+     * Get the end time of a word.
+     *
+     * @param index the word index
+     * @return end time in seconds
+     */
+    public float getEndTime(int index) {
+      return endTimes[index];
+    }
+  }
+
+  /** Growable builder backed by primitive arrays. */
+  public static final class Builder {
+    private final StringBuilder characters = new StringBuilder();
+    private float[] startTimes = new float[256];
+    private float[] endTimes = new float[256];
+
+    private Builder() {}
+
+    /**
+     * Append one aligned character.
+     *
+     * @param character the character as returned by the provider (first code point is used)
+     * @param startTime start time in seconds
+     * @param endTime end time in seconds
+     * @return this builder
+     */
+    public Builder add(String character, double startTime, double endTime) {
+      int codePoint = character == null || character.isEmpty() ? ' ' : character.codePointAt(0);
+      if (codePoint <= Character.MAX_VALUE && Character.isSurrogate((char) codePoint)) {
+        // A lone surrogate can't be encoded, see encode()
+        codePoint = '\uFFFD';
+      }
+      int index = characters.length();
+      int length = Character.charCount(codePoint);
+      if (index + length > startTimes.length) {
+        startTimes = Arrays.copyOf(startTimes, startTimes.length * 2);
+        endTimes = Arrays.copyOf(endTimes, endTimes.length * 2);
+      }
+      characters.appendCodePoint(codePoint);
+      Arrays.fill(startTimes, index, index + length, (float) startTime);
+      Arrays.fill(endTimes, index, index + length, (float) endTime);
+      return this;
+    }
+
+    /**
+     * Get the number of characters appended so far.
+     *
+     * @return character count
+     */
+    public int size() {
+      return characters.length();
+    }
+
+    /**
+     * Build the immutable alignment, trimming the backing arrays.
+     *
+     * @return the alignment
+     */
+    public SpeechAlignment build() {
+      int size = characters.length();
+      if (size == 0) {
+        return EMPTY;
+      }
+      return new SpeechAlignment(
+          characters.toString(), Arrays.copyOf(startTimes, size), Arrays.copyOf(endTimes, size));
+    }
+  }
+}
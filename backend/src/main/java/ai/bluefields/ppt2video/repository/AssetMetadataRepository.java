@@ -3,6 +3,7 @@ package ai.bluefields.ppt2video.repository;
 import ai.bluefields.ppt2video.entity.AssetMetadata;
 import ai.bluefields.ppt2video.entity.AssetType;
 import ai.bluefields.ppt2video.entity.UploadStatus;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,6 +12,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for AssetMetadata entity operations. Provides database access methods for
@@ -184,4 +186,23 @@ public interface AssetMetadataRepository extends JpaRepository<AssetMetadata, UU
   @Query(
       "UPDATE AssetMetadata a SET a.shotstackUrl = NULL, a.shotstackAssetId = NULL, a.shotstackUploadedAt = NULL WHERE a.shotstackUrl IS NOT NULL")
   int clearAllShotstackUrls();
+
+  /**
+   * Record the Shotstack URL of an ingested asset.
+   *
+   * @param id the asset ID
+   * @param shotstackUrl the Shotstack asset URL
+   * @param shotstackAssetId the Shotstack source ID
+   * @param uploadedAt when the asset was ingested
+   * @return number of assets updated
+   */
+  @Modifying
+  @Transactional
+  @Query(
+      "UPDATE AssetMetadata a SET a.shotstackUrl = :shotstackUrl, a.shotstackAssetId = :shotstackAssetId, a.shotstackUploadedAt = :uploadedAt WHERE a.id = :id")
+  int updateShotstackUrl(
+      @Param("id") UUID id,
+      @Param("shotstackUrl") String shotstackUrl,
+      @Param("shotstackAssetId") String shotstackAssetId,
+      @Param("uploadedAt") LocalDateTime uploadedAt);
 }
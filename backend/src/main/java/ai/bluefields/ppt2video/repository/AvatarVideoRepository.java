@@ -145,4 +145,16 @@ public interface AvatarVideoRepository extends JpaRepository<AvatarVideo, UUID>
           + "ORDER BY av.createdAt DESC")
   List<AvatarVideo> findBySlideIdInAndStatus(
       @Param("slideIds") List<UUID> slideIds, @Param("status") AvatarGenerationStatusType status);
+
+  /**
+   * Find the most recently completed, published avatar video with a reuse key.
+   *
+   * @param reuseKey the reuse key
+   * @return optional avatar video with its R2 asset
+   */
+  @Query(
+      "SELECT av FROM AvatarVideo av JOIN FETCH av.r2Asset "
+          + "WHERE av.reuseKey = :reuseKey AND av.status = 'COMPLETED' "
+          + "ORDER BY av.completedAt DESC LIMIT 1")
+  Optional<AvatarVideo> findReusableByReuseKey(@Param("reuseKey") String reuseKey);
 }
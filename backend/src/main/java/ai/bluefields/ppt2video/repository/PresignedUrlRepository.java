@@ -11,6 +11,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Repository interface for PresignedUrl entity operations. Manages pre-signed URL lifecycle and
@@ -62,6 +63,18 @@ public interface PresignedUrlRepository extends JpaRepository<PresignedUrl, UUID
       @Param("urlType") UrlType urlType,
       @Param("currentTime") LocalDateTime currentTime);
 
+  /**
+   * Find the active URL with the latest expiration that is still valid after the given time.
+   *
+   * @param assetMetadataId the asset metadata ID
+   * @param urlType the URL type
+   * @param validAfter the time the URL must remain valid beyond
+   * @return optional presigned URL
+   */
+  Optional<PresignedUrl>
+      findFirstByAssetMetadataIdAndUrlTypeAndIsActiveTrueAndExpiresAtAfterOrderByExpiresAtDesc(
+          UUID assetMetadataId, UrlType urlType, LocalDateTime validAfter);
+
   /**
    * Find expired URLs.
    *
@@ -78,9 +91,64 @@ public interface PresignedUrlRepository extends JpaRepository<PresignedUrl, UUID
    * @return number of deactivated URLs
    */
   @Modifying
-  @Query("UPDATE PresignedUrl p SET p.isActive = false WHERE p.expiresAt < :expirationTime")
+  @Query(
+      "UPDATE PresignedUrl p SET p.isActive = false "
+          + "WHERE p.expiresAt < :expirationTime AND p.isActive = true")
   int deactivateExpiredUrls(@Param("expirationTime") LocalDateTime expirationTime);
 
+  /**
+   * Deactivate a bounded batch of expired URLs. Runs in its own transaction so the sweeper never
+   * holds locks on more than one batch at a time.
+   *
+   * @param expirationTime the expiration threshold
+   * @param batchSize maximum number of rows to deactivate
+   * @return number of deactivated URLs
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "UPDATE presigned_urls SET is_active = false WHERE id IN ("
+              + "SELECT id FROM presigned_urls "
+              + "WHERE is_active = true AND expires_at < :expirationTime LIMIT :batchSize)",
+      nativeQuery = true)
+  int deactivateExpiredUrlsBatch(
+      @Param("expirationTime") LocalDateTime expirationTime, @Param("batchSize") int batchSize);
+
+  /**
+   * Delete a bounded batch of inactive URLs that expired before the given time.
+   *
+   * @param purgeBefore the expiration threshold for purging
+   * @param batchSize maximum number of rows to delete
+   * @return number of deleted URLs
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      value =
+          "DELETE FROM presigned_urls WHERE id IN ("
+              + "SELECT id FROM presigned_urls "
+              + "WHERE is_active = false AND expires_at < :purgeBefore LIMIT :batchSize)",
+      nativeQuery = true)
+  int purgeExpiredUrlsBatch(
+      @Param("purgeBefore") LocalDateTime purgeBefore, @Param("batchSize") int batchSize);
+
+  /**
+   * Count URLs by active status.
+   *
+   * @param isActive active status
+   * @return URL count
+   */
+  long countByIsActive(Boolean isActive);
+
+  /**
+   * Get the on-disk size of the presigned_urls table including indexes.
+   *
+   * @return size in bytes
+   */
+  @Query(value = "SELECT pg_total_relation_size('presigned_urls')", nativeQuery = true)
+  Long getTableSizeBytes();
+
   /**
    * Increment access count for a URL.
    *
@@ -116,6 +184,15 @@ public interface PresignedUrlRepository extends JpaRepository<PresignedUrl, UUID
    */
   Long countByAssetMetadataIdAndUrlType(UUID assetMetadataId, UrlType urlType);
 
+  /**
+   * Find the IDs of all URLs for an asset.
+   *
+   * @param assetMetadataId the asset metadata ID
+   * @return list of URL IDs
+   */
+  @Query("SELECT p.id FROM PresignedUrl p WHERE p.assetMetadata.id = :assetMetadataId")
+  List<UUID> findIdsByAssetId(@Param("assetMetadataId") UUID assetMetadataId);
+
   /**
    * Get total access count for an asset.
    *
@@ -123,6 +200,7 @@ public interface PresignedUrlRepository extends JpaRepository<PresignedUrl, UUID
    * @return total access count
    */
   @Query(
-      "SELECT COALESCE(SUM(p.accessCount), 0) FROM PresignedUrl p WHERE p.assetMetadata.id = :assetMetadataId")
+      "SELECT COALESCE(SUM(p.accessCount), 0) FROM PresignedUrl p WHERE p.assetMetadata.id ="
+          + " :assetMetadataId")
   Long getTotalAccessCount(@Param("assetMetadataId") UUID assetMetadataId);
 }
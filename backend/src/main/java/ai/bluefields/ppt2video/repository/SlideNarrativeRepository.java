@@ -1,6 +1,7 @@
 package ai.bluefields.ppt2video.repository;
 
 import ai.bluefields.ppt2video.entity.SlideNarrative;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -150,4 +151,15 @@ public interface SlideNarrativeRepository extends JpaRepository<SlideNarrative,
           + "AND n.isActive = true")
   List<SlideNarrative> findActiveNarrativesByPresentationId(
       @Param("presentationId") UUID presentationId);
+
+  /**
+   * Find the active narratives of the given slides. Used to refresh the preflight readiness of
+   * changed slides.
+   *
+   * @param slideIds The slide IDs
+   * @return List of active narratives
+   */
+  @Query("SELECT n FROM SlideNarrative n WHERE n.slide.id IN :slideIds AND n.isActive = true")
+  List<SlideNarrative> findActiveNarrativesBySlideIdIn(
+      @Param("slideIds") Collection<UUID> slideIds);
 }
@@ -1,6 +1,7 @@
 package ai.bluefields.ppt2video.repository;
 
 import ai.bluefields.ppt2video.entity.SlideSpeech;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -53,9 +54,20 @@ public interface SlideSpeechRepository extends JpaRepository<SlideSpeech, UUID>
   @Query("DELETE FROM SlideSpeech s WHERE s.presentation.id = :presentationId")
   void deleteByPresentationId(@Param("presentationId") UUID presentationId);
 
+  /** Find the active speeches of a presentation with their slides, in slide order. */
+  @Query(
+      "SELECT s FROM SlideSpeech s JOIN FETCH s.slide sl WHERE s.presentation.id = :presentationId"
+          + " AND s.isActive = true ORDER BY sl.slideNumber, s.createdAt DESC")
+  List<SlideSpeech> findActiveWithSlideByPresentationId(
+      @Param("presentationId") UUID presentationId);
+
   /** Find all active speeches for a presentation. */
   @Query(
       "SELECT s FROM SlideSpeech s WHERE s.presentation.id = :presentationId AND s.isActive = true")
   List<SlideSpeech> findActiveSpeechesByPresentationId(
       @Param("presentationId") UUID presentationId);
+
+  /** Find the active speeches of the given slides. */
+  @Query("SELECT s FROM SlideSpeech s WHERE s.slide.id IN :slideIds AND s.isActive = true")
+  List<SlideSpeech> findActiveSpeechesBySlideIdIn(@Param("slideIds") Collection<UUID> slideIds);
 }
@@ -1,15 +1,20 @@
 package ai.bluefields.ppt2video.service;
 
 import ai.bluefields.ppt2video.entity.*;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent.ChangeType;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent.ContentType;
 import ai.bluefields.ppt2video.exception.ProcessingException;
 import ai.bluefields.ppt2video.repository.AssetMetadataRepository;
 import ai.bluefields.ppt2video.repository.PresentationRepository;
 import ai.bluefields.ppt2video.repository.SlideRepository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,6 +30,7 @@ public class AssetMetadataService {
   private final AssetMetadataRepository assetMetadataRepository;
   private final PresentationRepository presentationRepository;
   private final SlideRepository slideRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   /**
    * Create a new asset metadata record.
@@ -136,6 +142,17 @@ public class AssetMetadataService {
     return assetMetadataRepository.findById(assetId);
   }
 
+  /**
+   * Get multiple assets by ID.
+   *
+   * @param assetIds the asset IDs
+   * @return the assets found, in no particular order
+   */
+  @Transactional(readOnly = true)
+  public List<AssetMetadata> getAssets(Collection<UUID> assetIds) {
+    return assetMetadataRepository.findAllById(assetIds);
+  }
+
   /**
    * Find asset by object key.
    *
@@ -199,6 +216,10 @@ public class AssetMetadataService {
    */
   public void deleteAssetsByPresentation(UUID presentationId) {
     assetMetadataRepository.deleteByPresentationId(presentationId);
+    // Bulk deletes bypass entity listeners
+    eventPublisher.publishEvent(
+        new PresentationContentChangedEvent(
+            presentationId, null, ContentType.ASSET, ChangeType.DELETED));
     log.info("Deleted all assets for presentation: {}", presentationId);
   }
 
@@ -5,6 +5,7 @@ import ai.bluefields.ppt2video.entity.SlideAnalysis;
 import ai.bluefields.ppt2video.entity.SlideType;
 import ai.bluefields.ppt2video.model.DurationRange;
 import ai.bluefields.ppt2video.util.ContentMetrics;
+import ai.bluefields.ppt2video.util.TextStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -116,15 +117,15 @@ public class NarrativeLengthCalculator {
    */
   private DurationRange adjustForContentDensity(Slide slide, DurationRange baseDuration) {
     // Calculate content metrics
-    String content = slide.getContentText() != null ? slide.getContentText() : "";
-    int wordCount = ContentMetrics.calculateWordCount(content);
+    TextStats contentStats = TextStats.of(slide.getContentText());
+    int wordCount = contentStats.getWordCount();
 
     // Check for visual elements and data
     boolean hasVisuals = hasVisualElements(slide);
     boolean hasData = hasDataElements(slide);
 
     // Calculate density
-    double density = ContentMetrics.calculateContentDensity(content, hasVisuals, hasData);
+    double density = ContentMetrics.calculateContentDensity(contentStats, hasVisuals, hasData);
 
     log.debug(
         "Content density for slide {}: {} (words: {}, visuals: {}, data: {})",
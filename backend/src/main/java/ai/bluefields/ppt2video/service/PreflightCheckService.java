@@ -2,20 +2,34 @@ package ai.bluefields.ppt2video.service;
 
 import ai.bluefields.ppt2video.dto.*;
 import ai.bluefields.ppt2video.entity.*;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent;
 import ai.bluefields.ppt2video.repository.*;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Service for performing comprehensive preflight checks on presentations. Validates that all slides
  * have required components and are ready for video generation.
+ *
+ * <p>All data is loaded in batch queries and the slides' R2 assets are verified in one concurrent
+ * batch before the slides are validated in parallel. The results are kept as per-slide readiness
+ * records that content change events mark as stale, so later checks only re-check changed slides.
+ * Each event also re-checks the changed slides against the database right away, so the summary read
+ * from the maintained counters follows content changes without touching R2.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,13 +45,17 @@ public class PreflightCheckService {
   private final R2AssetVerificationService r2AssetVerificationService;
   private final IntroVideoRepository introVideoRepository;
   private final R2AssetService r2AssetService;
+  private final PreflightReadinessTracker readinessTracker;
+  private final PlatformTransactionManager transactionManager;
 
-  // Simple in-memory cache for recent checks (could be replaced with Redis)
-  private final Map<UUID, PreflightCheckResponseDto> recentChecks = new ConcurrentHashMap<>();
-  private static final long CACHE_TTL_MINUTES = 5;
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
 
   /**
-   * Runs a comprehensive preflight check on a presentation.
+   * Runs a comprehensive preflight check on a presentation. Unless a refresh is forced, the
+   * readiness tracked since the last full check is reused and only slides changed since then are
+   * checked again.
    *
    * @param presentationId the ID of the presentation to check
    * @param request optional request parameters for the check
@@ -47,105 +65,298 @@ public class PreflightCheckService {
       UUID presentationId, PreflightCheckRequestDto request) {
     log.info("Starting preflight check for presentation: {}", presentationId);
 
-    // Check cache if not forcing refresh
-    if (request != null && !request.isForceRefresh()) {
-      PreflightCheckResponseDto cached = getCachedResult(presentationId);
-      if (cached != null) {
-        log.info("Returning cached preflight check result for presentation: {}", presentationId);
-        return cached;
-      }
-    }
-
     boolean checkEnhanced = request != null && request.isCheckEnhancedNarrative();
     boolean checkIntroVideo = request != null && request.isCheckIntroVideo();
 
     try {
-      // Fetch all slides for the presentation
-      List<Slide> slides = slideRepository.findByPresentationIdOrderBySlideNumber(presentationId);
-
-      if (slides.isEmpty()) {
-        log.warn("No slides found for presentation: {}", presentationId);
-        return buildEmptyResponse(presentationId);
-      }
-
-      log.info("Found {} slides for presentation: {}", slides.size(), presentationId);
-
-      // Fetch all related data in batch for performance
-      Map<UUID, SlideNarrative> narrativeMap = fetchNarratives(presentationId);
-      Map<UUID, SlideSpeech> speechMap = fetchSpeeches(presentationId);
-      Map<UUID, AvatarVideo> videoMap = fetchAvatarVideos(presentationId);
-      Map<UUID, List<AssetMetadata>> assetMap = fetchAssets(slides);
-
-      // Validate each slide
-      List<SlideCheckResult> slideResults = new ArrayList<>();
-      for (Slide slide : slides) {
-        SlideCheckResult result =
-            validateSlide(
-                slide,
-                narrativeMap.get(slide.getId()),
-                speechMap.get(slide.getId()),
-                videoMap.get(slide.getId()),
-                assetMap.get(slide.getId()),
-                checkEnhanced);
-        slideResults.add(result);
-      }
-
-      // Validate presentation-level assets
-      PresentationCheckResult presentationResult =
-          validatePresentationAssets(presentationId, checkIntroVideo);
-
-      // Build summary
-      PreflightSummary summary = buildSummary(slideResults);
-
-      // Update summary with intro video info
-      if (presentationResult != null) {
-        summary.setHasIntroVideo(presentationResult.getIntroVideoStatus() == CheckStatus.PASSED);
-        summary.setIntroVideoStatus(presentationResult.getIntroVideoStatus());
-        summary.setIntroVideoUrl(presentationResult.getIntroVideoUrl());
-        if (presentationResult.getGenerationStatus() != null) {
-          summary.setIntroVideoGenerationStatus(
-              presentationResult.getGenerationStatus().toString());
+      if (request != null && !request.isForceRefresh()) {
+        PresentationReadiness readiness = readinessTracker.get(presentationId);
+        if (readiness != null && readiness.isReusableFor(checkEnhanced, checkIntroVideo)) {
+          log.info("Refreshing tracked preflight readiness for presentation: {}", presentationId);
+          return refresh(presentationId, readiness);
         }
       }
 
-      // Determine overall status
-      PreflightStatus overallStatus =
-          determineOverallStatus(summary, slideResults, presentationResult);
-
-      // Build response
-      PreflightCheckResponseDto response =
-          PreflightCheckResponseDto.builder()
-              .presentationId(presentationId)
-              .overallStatus(overallStatus)
-              .slideResults(slideResults)
-              .presentationCheckResult(presentationResult)
-              .summary(summary)
-              .checkedAt(Instant.now())
-              .build();
-
-      // Cache the result
-      cacheResult(presentationId, response);
-
-      log.info(
-          "Preflight check completed for presentation: {}. Status: {}",
-          presentationId,
-          overallStatus);
-      return response;
+      return runFullCheck(presentationId, checkEnhanced, checkIntroVideo);
 
     } catch (Exception e) {
       log.error("Error during preflight check for presentation: {}", presentationId, e);
+      readinessTracker.remove(presentationId);
       return buildErrorResponse(presentationId, e.getMessage());
     }
   }
 
   /**
-   * Retrieves the latest preflight check status for a presentation.
+   * Retrieves the latest preflight check status for a presentation, brought up to date with the
+   * changes made since.
    *
    * @param presentationId the ID of the presentation
    * @return the latest check results if available, null otherwise
    */
   public PreflightCheckResponseDto getLatestStatus(UUID presentationId) {
-    return getCachedResult(presentationId);
+    PresentationReadiness readiness = readinessTracker.get(presentationId);
+    if (readiness == null) {
+      return null;
+    }
+    if (!readiness.isReusableFor(readiness.isCheckEnhanced(), readiness.isCheckIntroVideo())) {
+      return runPreflightCheck(
+          presentationId,
+          PreflightCheckRequestDto.builder()
+              .checkEnhancedNarrative(readiness.isCheckEnhanced())
+              .checkIntroVideo(readiness.isCheckIntroVideo())
+              .forceRefresh(true)
+              .build());
+    }
+    return refresh(presentationId, readiness);
+  }
+
+  /**
+   * Reads the readiness summary of a presentation from the tracked counters, without querying the
+   * repositories or R2. The counters follow content changes as they are committed, see {@link
+   * #onContentChanged}. Only a presentation without a tracked record gets a full check first.
+   *
+   * @param presentationId the ID of the presentation
+   * @return the summary
+   */
+  public PreflightSummary getReadinessSummary(UUID presentationId) {
+    PresentationReadiness readiness = readinessTracker.get(presentationId);
+    if (readiness != null && readiness.isInitialized()) {
+      return readiness.getSummary();
+    }
+    log.info("No tracked preflight readiness for presentation: {}, running check", presentationId);
+    return runPreflightCheck(presentationId, PreflightCheckRequestDto.builder().build())
+        .getSummary();
+  }
+
+  private PreflightCheckResponseDto runFullCheck(
+      UUID presentationId, boolean checkEnhanced, boolean checkIntroVideo) {
+    // Track before reading so changes committed during the check mark the record
+    PresentationReadiness readiness =
+        readinessTracker.begin(presentationId, checkEnhanced, checkIntroVideo);
+
+    // Fetch all slides for the presentation
+    List<Slide> slides = slideRepository.findByPresentationIdOrderBySlideNumber(presentationId);
+
+    if (slides.isEmpty()) {
+      log.warn("No slides found for presentation: {}", presentationId);
+      readinessTracker.remove(presentationId);
+      return buildEmptyResponse(presentationId);
+    }
+
+    log.info("Found {} slides for presentation: {}", slides.size(), presentationId);
+
+    // Fetch all related data in batch for performance
+    Map<UUID, SlideNarrative> narrativeMap = fetchNarratives(presentationId);
+    Map<UUID, SlideSpeech> speechMap = fetchSpeeches(presentationId);
+    Map<UUID, AvatarVideo> videoMap = fetchAvatarVideos(presentationId);
+    Map<UUID, List<AssetMetadata>> assetMap = fetchAssets(slides);
+
+    List<SlideCheckResult> slideResults =
+        checkSlides(slides, narrativeMap, speechMap, videoMap, assetMap, checkEnhanced, true);
+
+    // Validate presentation-level assets
+    PresentationCheckResult presentationResult =
+        validatePresentationAssets(presentationId, checkIntroVideo);
+
+    readiness.initialize(slideResults, presentationResult);
+    // Changes committed during the check may not be in its results
+    scheduleSummaryUpdate(readiness);
+    PreflightCheckResponseDto response = buildResponse(readiness);
+
+    log.info(
+        "Preflight check completed for presentation: {}. Status: {}",
+        presentationId,
+        response.getOverallStatus());
+    return response;
+  }
+
+  /**
+   * Re-checks the slides and presentation-level assets marked as changed and builds the response
+   * from the tracked readiness. Re-checks of one presentation are serialized so a slower check
+   * never overwrites a newer result; summary reads don't wait for them.
+   */
+  private PreflightCheckResponseDto refresh(UUID presentationId, PresentationReadiness readiness) {
+    readiness.lockChecks();
+    try {
+      Set<UUID> changedSlideIds = readiness.drainChangedSlides();
+      if (!changedSlideIds.isEmpty()) {
+        recheckSlides(changedSlideIds, readiness.isCheckEnhanced(), true)
+            .forEach(readiness::updateSlide);
+        log.debug(
+            "Re-checked {} changed slides of presentation: {}",
+            changedSlideIds.size(),
+            presentationId);
+      }
+
+      if (readiness.drainPresentationChanged()) {
+        readiness.updatePresentation(
+            validatePresentationAssets(presentationId, readiness.isCheckIntroVideo()));
+      }
+    } finally {
+      readiness.unlockChecks();
+    }
+    // Summary updates skipped while this refresh held the lock
+    scheduleSummaryUpdate(readiness);
+
+    return buildResponse(readiness);
+  }
+
+  /**
+   * Brings the summary of a tracked presentation up to date once a content change is committed. The
+   * affected slides are re-checked on a virtual thread against the database only; the R2 objects
+   * are verified by the next status read.
+   *
+   * @param event the committed change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void onContentChanged(PresentationContentChangedEvent event) {
+    PresentationReadiness readiness = readinessTracker.markChanged(event);
+    // Records still in their full check are updated when it completes
+    if (readiness != null && readiness.isInitialized()) {
+      scheduleSummaryUpdate(readiness);
+    }
+  }
+
+  private void scheduleSummaryUpdate(PresentationReadiness readiness) {
+    if (readiness.hasSummaryChanges()) {
+      virtualThreadExecutor.execute(() -> updateSummary(readiness));
+    }
+  }
+
+  /**
+   * Re-checks what is marked stale for the summary. If another re-check holds the lock, it picks up
+   * the marks when it finishes, so this never waits.
+   */
+  private void updateSummary(PresentationReadiness readiness) {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    while (readiness.hasSummaryChanges() && readiness.tryLockChecks()) {
+      try {
+        transactionTemplate.executeWithoutResult(status -> recheckForSummary(readiness));
+      } catch (Exception e) {
+        log.warn(
+            "Failed to update preflight summary of presentation {}: {}",
+            readiness.getPresentationId(),
+            e.getMessage());
+        return;
+      } finally {
+        readiness.unlockChecks();
+      }
+    }
+  }
+
+  private void recheckForSummary(PresentationReadiness readiness) {
+    UUID presentationId = readiness.getPresentationId();
+    Set<UUID> slideIds = readiness.drainSummaryStaleSlides();
+
+    if (readiness.drainSummaryStructureStale()) {
+      // Slides were added or removed, or a change couldn't be attributed to a slide
+      Set<UUID> currentSlideIds =
+          slideRepository.findByPresentationIdOrderBySlideNumber(presentationId).stream()
+              .map(Slide::getId)
+              .collect(Collectors.toSet());
+      for (UUID slideId : readiness.getSlideIds()) {
+        if (!currentSlideIds.contains(slideId)) {
+          readiness.removeSlide(slideId);
+        }
+      }
+      slideIds.addAll(currentSlideIds);
+    }
+
+    if (!slideIds.isEmpty()) {
+      recheckSlides(slideIds, readiness.isCheckEnhanced(), false).forEach(readiness::updateSlide);
+    }
+    if (readiness.drainSummaryPresentationStale()) {
+      readiness.updatePresentation(
+          validatePresentationAssets(presentationId, readiness.isCheckIntroVideo()));
+    }
+    log.debug(
+        "Updated preflight summary of presentation {} for {} changed slides",
+        presentationId,
+        slideIds.size());
+  }
+
+  /** Loads and checks the given slides in slide order; slides that no longer exist are left out. */
+  private List<SlideCheckResult> recheckSlides(
+      Collection<UUID> slideIds, boolean checkEnhanced, boolean verifyStorage) {
+    List<Slide> slides =
+        slideRepository.findAllById(slideIds).stream()
+            .sorted(Comparator.comparing(Slide::getSlideNumber))
+            .toList();
+    List<UUID> loadedIds = slides.stream().map(Slide::getId).toList();
+
+    Map<UUID, SlideNarrative> narrativeMap =
+        slideNarrativeRepository.findActiveNarrativesBySlideIdIn(loadedIds).stream()
+            .collect(Collectors.toMap(n -> n.getSlide().getId(), n -> n));
+    Map<UUID, SlideSpeech> speechMap =
+        slideSpeechRepository.findActiveSpeechesBySlideIdIn(loadedIds).stream()
+            .collect(Collectors.toMap(SlideSpeech::getSlideId, s -> s));
+    Map<UUID, AvatarVideo> videoMap = new HashMap<>();
+    for (AvatarVideo video :
+        avatarVideoRepository.findBySlideIdInAndStatus(
+            loadedIds, AvatarGenerationStatusType.COMPLETED)) {
+      // Newest first, keep the latest video for each slide
+      videoMap.putIfAbsent(video.getSlideId(), video);
+    }
+    Map<UUID, List<AssetMetadata>> assetMap = fetchAssets(slides);
+
+    return checkSlides(
+        slides, narrativeMap, speechMap, videoMap, assetMap, checkEnhanced, verifyStorage);
+  }
+
+  /**
+   * Validates slides in parallel, keeping slide order. The slides' R2 assets are verified in one
+   * concurrent batch and the video URLs are signed up front, so the per-slide validation needs no
+   * further I/O. Without storage verification only the stored upload status is checked and no URLs
+   * are signed.
+   */
+  private List<SlideCheckResult> checkSlides(
+      List<Slide> slides,
+      Map<UUID, SlideNarrative> narrativeMap,
+      Map<UUID, SlideSpeech> speechMap,
+      Map<UUID, AvatarVideo> videoMap,
+      Map<UUID, List<AssetMetadata>> assetMap,
+      boolean checkEnhanced,
+      boolean verifyStorage) {
+    Map<UUID, Boolean> publishedAssets = verifySlideAssets(assetMap, verifyStorage);
+    Map<UUID, String> videoUrls =
+        verifyStorage
+            ? r2AssetService.regeneratePresignedUrls(
+                videoMap.values().stream()
+                    .filter(video -> video.getVideoUrl() != null && video.getR2Asset() != null)
+                    .map(video -> video.getR2Asset().getId())
+                    .toList())
+            : Map.of();
+
+    List<CompletableFuture<SlideCheckResult>> slideChecks = new ArrayList<>(slides.size());
+    for (Slide slide : slides) {
+      SlideNarrative narrative = narrativeMap.get(slide.getId());
+      SlideSpeech speech = speechMap.get(slide.getId());
+      AvatarVideo video = videoMap.get(slide.getId());
+      List<AssetMetadata> assets = assetMap.get(slide.getId());
+      slideChecks.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  validateSlide(
+                      slide,
+                      narrative,
+                      speech,
+                      video,
+                      assets,
+                      publishedAssets,
+                      videoUrls,
+                      checkEnhanced),
+              virtualThreadExecutor));
+    }
+    return slideChecks.stream().map(CompletableFuture::join).collect(Collectors.toList());
+  }
+
+  private PreflightCheckResponseDto buildResponse(PresentationReadiness readiness) {
+    PreflightSummary summary = readiness.getSummary();
+    PreflightStatus overallStatus =
+        determineOverallStatus(summary, readiness.getPresentationResult());
+    return readiness.toResponse(overallStatus, summary);
   }
 
   private SlideCheckResult validateSlide(
@@ -154,6 +365,8 @@ public class PreflightCheckService {
       SlideSpeech speech,
       AvatarVideo video,
       List<AssetMetadata> assets,
+      Map<UUID, Boolean> publishedAssets,
+      Map<UUID, String> videoUrls,
       boolean checkEnhanced) {
 
     List<String> issues = new ArrayList<>();
@@ -191,7 +404,7 @@ public class PreflightCheckService {
       // Check if audio is published to R2
       AssetMetadata audioAsset = findAssetByType(assets, "SLIDE_AUDIO");
       if (audioAsset != null) {
-        boolean isPublished = r2AssetVerificationService.verifyAssetPublished(audioAsset.getId());
+        boolean isPublished = publishedAssets.getOrDefault(audioAsset.getId(), false);
         if (isPublished) {
           audioStatus = CheckStatus.PASSED;
           metadata.put("audioAssetId", audioAsset.getId());
@@ -216,8 +429,10 @@ public class PreflightCheckService {
       // Check if video is published to R2
       if (video.getR2Asset() != null) {
         avatarVideoStatus = CheckStatus.PASSED;
-        String publishedUrl = r2AssetService.regeneratePresignedUrl(video.getR2Asset().getId());
-        metadata.put("videoPublishedUrl", publishedUrl);
+        String publishedUrl = videoUrls.get(video.getR2Asset().getId());
+        if (publishedUrl != null) {
+          metadata.put("videoPublishedUrl", publishedUrl);
+        }
       } else {
         avatarVideoStatus = CheckStatus.WARNING;
         issues.add("Avatar video exists but not published to R2");
@@ -235,7 +450,7 @@ public class PreflightCheckService {
       // Check if image is published to R2
       AssetMetadata imageAsset = findAssetByType(assets, "SLIDE_IMAGE");
       if (imageAsset != null) {
-        boolean isPublished = r2AssetVerificationService.verifyAssetPublished(imageAsset.getId());
+        boolean isPublished = publishedAssets.getOrDefault(imageAsset.getId(), false);
         if (isPublished) {
           imageStatus = CheckStatus.PASSED;
           metadata.put("imageAssetId", imageAsset.getId());
@@ -303,6 +518,31 @@ public class PreflightCheckService {
     return assets.stream().collect(Collectors.groupingBy(AssetMetadata::getSlideId));
   }
 
+  /**
+   * Verifies the audio and image assets of all slides in one concurrent batch.
+   *
+   * @param assetMap assets grouped by slide ID
+   * @param verifyStorage whether to check that the objects exist in R2
+   * @return map of asset ID to publication status
+   */
+  private Map<UUID, Boolean> verifySlideAssets(
+      Map<UUID, List<AssetMetadata>> assetMap, boolean verifyStorage) {
+    List<AssetMetadata> toVerify = new ArrayList<>();
+    for (List<AssetMetadata> assets : assetMap.values()) {
+      AssetMetadata audioAsset = findAssetByType(assets, "SLIDE_AUDIO");
+      if (audioAsset != null) {
+        toVerify.add(audioAsset);
+      }
+      AssetMetadata imageAsset = findAssetByType(assets, "SLIDE_IMAGE");
+      if (imageAsset != null) {
+        toVerify.add(imageAsset);
+      }
+    }
+    return verifyStorage
+        ? r2AssetVerificationService.verifyAssetsPublished(toVerify)
+        : r2AssetVerificationService.checkUploadStatus(toVerify);
+  }
+
   private AssetMetadata findAssetByType(List<AssetMetadata> assets, String assetType) {
     if (assets == null) return null;
     return assets.stream()
@@ -311,67 +551,8 @@ public class PreflightCheckService {
         .orElse(null);
   }
 
-  private PreflightSummary buildSummary(List<SlideCheckResult> slideResults) {
-    int totalSlides = slideResults.size();
-    int slidesReady = 0;
-    int slidesMissingNarrative = 0;
-    int slidesMissingAudio = 0;
-    int slidesMissingVideo = 0;
-    int slidesMissingImages = 0;
-    int slidesMissingEnhancedNarrative = 0;
-    int slidesWithUnpublishedAssets = 0;
-
-    for (SlideCheckResult result : slideResults) {
-      boolean hasNarrative = result.getNarrativeStatus() == CheckStatus.PASSED;
-      boolean hasAudio = result.getAudioStatus() == CheckStatus.PASSED;
-      boolean hasVideo = result.getAvatarVideoStatus() == CheckStatus.PASSED;
-      boolean hasImage = result.getImageStatus() == CheckStatus.PASSED;
-
-      if (!hasNarrative) slidesMissingNarrative++;
-      if (result.getAudioStatus() == CheckStatus.FAILED) slidesMissingAudio++;
-      if (result.getAvatarVideoStatus() == CheckStatus.FAILED) slidesMissingVideo++;
-      if (result.getImageStatus() == CheckStatus.FAILED) slidesMissingImages++;
-
-      // Count enhanced narrative warnings separately (not failures)
-      if (result.getEnhancedNarrativeStatus() == CheckStatus.WARNING) {
-        slidesMissingEnhancedNarrative++;
-      }
-
-      if (result.getAudioStatus() == CheckStatus.WARNING
-          || result.getAvatarVideoStatus() == CheckStatus.WARNING
-          || result.getImageStatus() == CheckStatus.WARNING
-          || result.getEnhancedNarrativeStatus() == CheckStatus.WARNING) {
-        slidesWithUnpublishedAssets++;
-      }
-
-      if (hasNarrative && hasAudio && hasVideo && hasImage) {
-        slidesReady++;
-      }
-    }
-
-    boolean allMandatoryChecksPassed =
-        slidesMissingNarrative == 0
-            && slidesMissingAudio == 0
-            && slidesMissingVideo == 0
-            && slidesMissingImages == 0;
-
-    return PreflightSummary.builder()
-        .totalSlides(totalSlides)
-        .slidesReady(slidesReady)
-        .slidesMissingNarrative(slidesMissingNarrative)
-        .slidesMissingAudio(slidesMissingAudio)
-        .slidesMissingVideo(slidesMissingVideo)
-        .slidesMissingImages(slidesMissingImages)
-        .slidesMissingEnhancedNarrative(slidesMissingEnhancedNarrative)
-        .slidesWithUnpublishedAssets(slidesWithUnpublishedAssets)
-        .allMandatoryChecksPassed(allMandatoryChecksPassed)
-        .build();
-  }
-
   private PreflightStatus determineOverallStatus(
-      PreflightSummary summary,
-      List<SlideCheckResult> results,
-      PresentationCheckResult presentationResult) {
+      PreflightSummary summary, PresentationCheckResult presentationResult) {
     // Check slide-level readiness
     boolean slidesReady = summary.isAllMandatoryChecksPassed();
 
@@ -440,31 +621,6 @@ public class PreflightCheckService {
         .build();
   }
 
-  private void cacheResult(UUID presentationId, PreflightCheckResponseDto result) {
-    recentChecks.put(presentationId, result);
-    // Clean up old entries (simple implementation)
-    cleanupCache();
-  }
-
-  private PreflightCheckResponseDto getCachedResult(UUID presentationId) {
-    PreflightCheckResponseDto cached = recentChecks.get(presentationId);
-    if (cached != null) {
-      long ageMinutes =
-          (Instant.now().toEpochMilli() - cached.getCheckedAt().toEpochMilli()) / (1000 * 60);
-      if (ageMinutes <= CACHE_TTL_MINUTES) {
-        return cached;
-      } else {
-        recentChecks.remove(presentationId);
-      }
-    }
-    return null;
-  }
-
-  private void cleanupCache() {
-    Instant cutoff = Instant.now().minusSeconds(CACHE_TTL_MINUTES * 60);
-    recentChecks.entrySet().removeIf(entry -> entry.getValue().getCheckedAt().isBefore(cutoff));
-  }
-
   /**
    * Validates presentation-level assets like intro videos.
    *
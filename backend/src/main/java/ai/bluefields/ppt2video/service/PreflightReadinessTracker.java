@@ -0,0 +1,118 @@
+package ai.bluefields.ppt2video.service;
+
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent;
+import ai.bluefields.ppt2video.event.PresentationContentChangedEvent.ChangeType;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the {@link PresentationReadiness} records of presentations that have been preflight
+ * checked. {@link PreflightCheckService} marks the slides or presentation level affected by each
+ * committed content change here and re-checks only those. Records are rebuilt from scratch after a
+ * maximum age, which also picks up changes made outside the application, such as objects deleted
+ * from R2.
+ */
+@Component
+@Slf4j
+public class PreflightReadinessTracker {
+
+  private final Map<UUID, PresentationReadiness> readinessByPresentation =
+      new ConcurrentHashMap<>();
+
+  @Value("${app.preflight.readiness-max-age:PT1H}")
+  private Duration maxAge;
+
+  /**
+   * Start tracking a presentation, replacing any previous record. The record receives change marks
+   * from now on, so changes committed while the full check is running are not lost.
+   *
+   * @param presentationId the presentation ID
+   * @param checkEnhanced whether enhanced narratives are checked
+   * @param checkIntroVideo whether the intro video is checked
+   * @return the new, not yet initialized record
+   */
+  PresentationReadiness begin(UUID presentationId, boolean checkEnhanced, boolean checkIntroVideo) {
+    removeExpired();
+    PresentationReadiness readiness =
+        new PresentationReadiness(presentationId, checkEnhanced, checkIntroVideo);
+    readinessByPresentation.put(presentationId, readiness);
+    return readiness;
+  }
+
+  /**
+   * Get the record of a presentation.
+   *
+   * @param presentationId the presentation ID
+   * @return the record, or null if the presentation is not tracked or the record expired
+   */
+  PresentationReadiness get(UUID presentationId) {
+    PresentationReadiness readiness = readinessByPresentation.get(presentationId);
+    if (readiness != null && isExpired(readiness)) {
+      readinessByPresentation.remove(presentationId, readiness);
+      return null;
+    }
+    return readiness;
+  }
+
+  /**
+   * Stop tracking a presentation.
+   *
+   * @param presentationId the presentation ID
+   */
+  void remove(UUID presentationId) {
+    readinessByPresentation.remove(presentationId);
+  }
+
+  /**
+   * Mark the part of a tracked presentation's readiness that a committed change affects.
+   *
+   * @param event the change
+   * @return the marked record, or null if the presentation is not tracked
+   */
+  PresentationReadiness markChanged(PresentationContentChangedEvent event) {
+    PresentationReadiness readiness = readinessByPresentation.get(event.presentationId());
+    if (readiness == null) {
+      return null;
+    }
+
+    switch (event.contentType()) {
+      case SLIDE -> {
+        if (event.changeType() == ChangeType.UPDATED) {
+          readiness.markSlideChanged(event.slideId());
+        } else {
+          readiness.markStructureChanged();
+        }
+      }
+      case INTRO_VIDEO -> readiness.markPresentationChanged();
+      default -> {
+        // Presentation-level or bulk changes can't be attributed to a slide
+        if (event.slideId() != null) {
+          readiness.markSlideChanged(event.slideId());
+        } else {
+          readiness.markStructureChanged();
+        }
+      }
+    }
+    log.debug(
+        "Preflight readiness of presentation {} marked stale: {} {} (slide {})",
+        event.presentationId(),
+        event.contentType(),
+        event.changeType(),
+        event.slideId());
+    return readiness;
+  }
+
+  private boolean isExpired(PresentationReadiness readiness) {
+    return readiness.getCreatedAt().plus(maxAge).isBefore(Instant.now());
+  }
+
+  private void removeExpired() {
+    readinessByPresentation.values().removeIf(this::isExpired);
+  }
+}
@@ -0,0 +1,308 @@
+package ai.bluefields.ppt2video.service;
+
+import ai.bluefields.ppt2video.dto.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Preflight readiness of one presentation: the check result of every slide plus the presentation
+ * level result, with the summary counters maintained as slides are updated so reading the summary
+ * is O(1). Changes reported by domain events mark individual slides, the presentation level or the
+ * whole record as stale; {@link PreflightCheckService} re-checks only what was marked.
+ *
+ * <p>Each change is marked twice: once for the summary, which is brought up to date right after the
+ * event from the database alone, and once for the next full status read, which also verifies the R2
+ * objects.
+ */
+public final class PresentationReadiness {
+
+  private final UUID presentationId;
+  private final boolean checkEnhanced;
+  private final boolean checkIntroVideo;
+  private final Instant createdAt = Instant.now();
+
+  // Slide results in slide order; adding or removing slides makes the next status read rebuild it
+  private final Map<UUID, SlideCheckResult> slideResults = new LinkedHashMap<>();
+  private PresentationCheckResult presentationResult;
+  private Instant checkedAt;
+  private volatile boolean initialized;
+
+  // Marks set by events, possibly while a check is running
+  private final Set<UUID> changedSlides = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean presentationChanged = new AtomicBoolean();
+  private volatile boolean structureChanged;
+
+  // Marks for the event-driven summary update, which checks the database only
+  private final Set<UUID> summaryStaleSlides = ConcurrentHashMap.newKeySet();
+  private final AtomicBoolean summaryPresentationStale = new AtomicBoolean();
+  private final AtomicBoolean summaryStructureStale = new AtomicBoolean();
+
+  // Serializes re-checks so a slower check never overwrites a newer result. Held during I/O, so it
+  // is separate from the monitor that guards the results and counters
+  private final ReentrantLock checkLock = new ReentrantLock();
+
+  private int slidesReady;
+  private int slidesMissingNarrative;
+  private int slidesMissingAudio;
+  private int slidesMissingVideo;
+  private int slidesMissingImages;
+  private int slidesMissingEnhancedNarrative;
+  private int slidesWithUnpublishedAssets;
+
+  PresentationReadiness(UUID presentationId, boolean checkEnhanced, boolean checkIntroVideo) {
+    this.presentationId = presentationId;
+    this.checkEnhanced = checkEnhanced;
+    this.checkIntroVideo = checkIntroVideo;
+  }
+
+  /** Fills the record from a full check. Marks set while the check was running are kept. */
+  synchronized void initialize(
+      List<SlideCheckResult> results, PresentationCheckResult presentationCheckResult) {
+    results.forEach(this::updateSlide);
+    presentationResult = presentationCheckResult;
+    checkedAt = Instant.now();
+    initialized = true;
+  }
+
+  /** Replaces the result of one slide and adjusts the summary counters. */
+  synchronized void updateSlide(SlideCheckResult result) {
+    SlideCheckResult previous = slideResults.put(result.getSlideId(), result);
+    if (previous != null) {
+      count(previous, -1);
+    }
+    count(result, 1);
+    checkedAt = Instant.now();
+  }
+
+  /** Removes the result of a slide that no longer exists and adjusts the summary counters. */
+  synchronized void removeSlide(UUID slideId) {
+    SlideCheckResult previous = slideResults.remove(slideId);
+    if (previous != null) {
+      count(previous, -1);
+      checkedAt = Instant.now();
+    }
+  }
+
+  synchronized Set<UUID> getSlideIds() {
+    return new HashSet<>(slideResults.keySet());
+  }
+
+  synchronized void updatePresentation(PresentationCheckResult result) {
+    presentationResult = result;
+    checkedAt = Instant.now();
+  }
+
+  void markSlideChanged(UUID slideId) {
+    changedSlides.add(slideId);
+    summaryStaleSlides.add(slideId);
+  }
+
+  void markPresentationChanged() {
+    presentationChanged.set(true);
+    summaryPresentationStale.set(true);
+  }
+
+  void markStructureChanged() {
+    structureChanged = true;
+    summaryStructureStale.set(true);
+  }
+
+  /**
+   * Takes the slides marked as changed since the last call. Slides marked again while they are
+   * being re-checked stay marked for the next refresh.
+   *
+   * @return IDs of changed slides known to this record
+   */
+  Set<UUID> drainChangedSlides() {
+    Set<UUID> drained = new HashSet<>();
+    for (UUID slideId : changedSlides) {
+      if (changedSlides.remove(slideId) && containsSlide(slideId)) {
+        // The full re-check supersedes the database-only one
+        summaryStaleSlides.remove(slideId);
+        drained.add(slideId);
+      }
+    }
+    return drained;
+  }
+
+  boolean drainPresentationChanged() {
+    if (!presentationChanged.getAndSet(false)) {
+      return false;
+    }
+    summaryPresentationStale.set(false);
+    return true;
+  }
+
+  /**
+   * Takes the slides whose summary counts are stale. Includes slides not in the record yet, such as
+   * slides added since the full check.
+   *
+   * @return IDs of slides to re-check for the summary
+   */
+  Set<UUID> drainSummaryStaleSlides() {
+    Set<UUID> drained = new HashSet<>();
+    for (UUID slideId : summaryStaleSlides) {
+      if (summaryStaleSlides.remove(slideId)) {
+        drained.add(slideId);
+      }
+    }
+    return drained;
+  }
+
+  boolean drainSummaryPresentationStale() {
+    return summaryPresentationStale.getAndSet(false);
+  }
+
+  boolean drainSummaryStructureStale() {
+    return summaryStructureStale.getAndSet(false);
+  }
+
+  boolean hasSummaryChanges() {
+    return !summaryStaleSlides.isEmpty()
+        || summaryPresentationStale.get()
+        || summaryStructureStale.get();
+  }
+
+  void lockChecks() {
+    checkLock.lock();
+  }
+
+  boolean tryLockChecks() {
+    return checkLock.tryLock();
+  }
+
+  void unlockChecks() {
+    checkLock.unlock();
+  }
+
+  /**
+   * Check whether the record can be refreshed incrementally for a request with the given options.
+   *
+   * @return true if initialized with the same options and no slides were added or removed
+   */
+  boolean isReusableFor(boolean checkEnhanced, boolean checkIntroVideo) {
+    return initialized
+        && !structureChanged
+        && this.checkEnhanced == checkEnhanced
+        && this.checkIntroVideo == checkIntroVideo;
+  }
+
+  UUID getPresentationId() {
+    return presentationId;
+  }
+
+  boolean isInitialized() {
+    return initialized;
+  }
+
+  boolean isCheckEnhanced() {
+    return checkEnhanced;
+  }
+
+  boolean isCheckIntroVideo() {
+    return checkIntroVideo;
+  }
+
+  Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  synchronized boolean containsSlide(UUID slideId) {
+    return slideResults.containsKey(slideId);
+  }
+
+  /**
+   * Build the summary from the maintained counters.
+   *
+   * @return the summary, including the intro video status if it was checked
+   */
+  synchronized PreflightSummary getSummary() {
+    PreflightSummary summary =
+        PreflightSummary.builder()
+            .totalSlides(slideResults.size())
+            .slidesReady(slidesReady)
+            .slidesMissingNarrative(slidesMissingNarrative)
+            .slidesMissingAudio(slidesMissingAudio)
+            .slidesMissingVideo(slidesMissingVideo)
+            .slidesMissingImages(slidesMissingImages)
+            .slidesMissingEnhancedNarrative(slidesMissingEnhancedNarrative)
+            .slidesWithUnpublishedAssets(slidesWithUnpublishedAssets)
+            .allMandatoryChecksPassed(
+                slidesMissingNarrative == 0
+                    && slidesMissingAudio == 0
+                    && slidesMissingVideo == 0
+                    && slidesMissingImages == 0)
+            .build();
+
+    // Update summary with intro video info
+    if (presentationResult != null) {
+      summary.setHasIntroVideo(presentationResult.getIntroVideoStatus() == CheckStatus.PASSED);
+      summary.setIntroVideoStatus(presentationResult.getIntroVideoStatus());
+      summary.setIntroVideoUrl(presentationResult.getIntroVideoUrl());
+      if (presentationResult.getGenerationStatus() != null) {
+        summary.setIntroVideoGenerationStatus(presentationResult.getGenerationStatus().toString());
+      }
+    }
+    return summary;
+  }
+
+  /**
+   * Build a response from the current state.
+   *
+   * @param overallStatus the overall status derived from the summary
+   * @param summary the summary to include
+   * @return the response
+   */
+  synchronized PreflightCheckResponseDto toResponse(
+      PreflightStatus overallStatus, PreflightSummary summary) {
+    return PreflightCheckResponseDto.builder()
+        .presentationId(presentationId)
+        .overallStatus(overallStatus)
+        .slideResults(new ArrayList<>(slideResults.values()))
+        .presentationCheckResult(presentationResult)
+        .summary(summary)
+        .checkedAt(checkedAt)
+        .build();
+  }
+
+  synchronized PresentationCheckResult getPresentationResult() {
+    return presentationResult;
+  }
+
+  private void count(SlideCheckResult result, int delta) {
+    boolean hasNarrative = result.getNarrativeStatus() == CheckStatus.PASSED;
+    boolean hasAudio = result.getAudioStatus() == CheckStatus.PASSED;
+    boolean hasVideo = result.getAvatarVideoStatus() == CheckStatus.PASSED;
+    boolean hasImage = result.getImageStatus() == CheckStatus.PASSED;
+
+    if (!hasNarrative) slidesMissingNarrative += delta;
+    if (result.getAudioStatus() == CheckStatus.FAILED) slidesMissingAudio += delta;
+    if (result.getAvatarVideoStatus() == CheckStatus.FAILED) slidesMissingVideo += delta;
+    if (result.getImageStatus() == CheckStatus.FAILED) slidesMissingImages += delta;
+
+    // Count enhanced narrative warnings separately (not failures)
+    if (result.getEnhancedNarrativeStatus() == CheckStatus.WARNING) {
+      slidesMissingEnhancedNarrative += delta;
+    }
+
+    if (result.getAudioStatus() == CheckStatus.WARNING
+        || result.getAvatarVideoStatus() == CheckStatus.WARNING
+        || result.getImageStatus() == CheckStatus.WARNING
+        || result.getEnhancedNarrativeStatus() == CheckStatus.WARNING) {
+      slidesWithUnpublishedAssets += delta;
+    }
+
+    if (hasNarrative && hasAudio && hasVideo && hasImage) {
+      slidesReady += delta;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package ai.bluefields.ppt2video.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accumulates pre-signed URL access counts in memory and writes them to {@code presigned_urls} in
+ * periodic batched updates, so repeated fetches of an asset do not cost a database write each.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PresignedUrlAccessTracker {
+
+  private static final String INCREMENT_SQL =
+      "UPDATE presigned_urls SET access_count = COALESCE(access_count, 0) + ? WHERE id = ?";
+  private static final int UPDATE_BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  // Uncommitted access counts (URL ID -> counter); counts leave only once their batch is committed
+  private final Map<UUID, Counter> pendingAccesses = new ConcurrentHashMap<>();
+
+  // Idle counters removed by the last flush, checked for accesses recorded while removing them
+  private final List<Counter> retiredCounters = new ArrayList<>();
+
+  /**
+   * Record a single access of a URL.
+   *
+   * @param urlId the URL ID
+   */
+  public void recordAccess(UUID urlId) {
+    pendingAccesses.computeIfAbsent(urlId, Counter::new).accesses.increment();
+  }
+
+  /**
+   * Get the number of accesses recorded for a URL that have not been written yet, including those
+   * of a batch that is being written.
+   *
+   * @param urlId the URL ID
+   * @return unflushed access count
+   */
+  public long getPendingCount(UUID urlId) {
+    Counter counter = pendingAccesses.get(urlId);
+    return counter != null ? counter.accesses.sum() : 0L;
+  }
+
+  /**
+   * Get the number of unflushed accesses across several URLs.
+   *
+   * @param urlIds the URL IDs
+   * @return unflushed access count
+   */
+  public long getPendingCount(Collection<UUID> urlIds) {
+    long total = 0;
+    for (UUID urlId : urlIds) {
+      total += getPendingCount(urlId);
+    }
+    return total;
+  }
+
+  /**
+   * Write accumulated access counts to the database in batches. Counts are subtracted only after
+   * the batch is written, so they stay pending while it runs and are retried if it fails.
+   */
+  @Scheduled(fixedDelayString = "${cloudflare.r2.urls.access-flush-interval:PT10S}")
+  public synchronized void flush() {
+    // An access that got a counter just before it was removed is moved back into the map
+    for (Counter counter : retiredCounters) {
+      long late = counter.accesses.sumThenReset();
+      if (late > 0) {
+        pendingAccesses.computeIfAbsent(counter.urlId, Counter::new).accesses.add(late);
+      }
+    }
+    retiredCounters.clear();
+
+    List<Delta> deltas = new ArrayList<>();
+    for (Counter counter : pendingAccesses.values()) {
+      long count = counter.accesses.sum();
+      if (count > 0) {
+        counter.idle = false;
+        deltas.add(new Delta(counter, count));
+      } else if (!counter.idle) {
+        counter.idle = true;
+      } else if (pendingAccesses.remove(counter.urlId, counter)) {
+        // Idle for a whole interval
+        retiredCounters.add(counter);
+      }
+    }
+
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    try {
+      jdbcTemplate.batchUpdate(
+          INCREMENT_SQL,
+          deltas,
+          UPDATE_BATCH_SIZE,
+          (ps, delta) -> {
+            ps.setLong(1, delta.count());
+            ps.setObject(2, delta.counter().urlId);
+          });
+      for (Delta delta : deltas) {
+        delta.counter().accesses.add(-delta.count());
+      }
+      log.debug("Flushed access counts for {} pre-signed URLs", deltas.size());
+    } catch (Exception e) {
+      // The counts are still pending and retried on the next flush
+      log.warn("Failed to flush access counts for {} URLs: {}", deltas.size(), e.getMessage());
+    }
+  }
+
+  /** Write pending counts before the application shuts down. */
+  @PreDestroy
+  public void shutdown() {
+    flush();
+  }
+
+  /** Access counter of one URL. */
+  private static final class Counter {
+    private final UUID urlId;
+    private final LongAdder accesses = new LongAdder();
+    // Whether the last flush found no accesses; only used by flush
+    private boolean idle;
+
+    private Counter(UUID urlId) {
+      this.urlId = urlId;
+    }
+  }
+
+  /** Access count increment for one URL. */
+  private record Delta(Counter counter, long count) {}
+}
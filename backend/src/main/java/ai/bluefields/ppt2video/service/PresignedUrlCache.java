@@ -0,0 +1,367 @@
+package ai.bluefields.ppt2video.service;
+
+import ai.bluefields.ppt2video.config.R2ClientFactory;
+import ai.bluefields.ppt2video.config.R2Configuration;
+import ai.bluefields.ppt2video.entity.AssetMetadata;
+import ai.bluefields.ppt2video.entity.PresignedUrl;
+import ai.bluefields.ppt2video.entity.UrlType;
+import ai.bluefields.ppt2video.repository.PresignedUrlRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+
+/**
+ * In-memory cache of pre-signed download URLs keyed by asset and URL type. Read paths (asset
+ * listing, composition, preflight) are served from memory; entries are re-signed in the background
+ * shortly before they expire and the resulting {@link PresignedUrl} rows are persisted in batches.
+ *
+ * <p>Only URLs used within the last URL lifetime are re-signed; idle entries are dropped, and the
+ * least recently used entries are dropped when the cache exceeds its size limit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PresignedUrlCache {
+
+  private final PresignedUrlRepository presignedUrlRepository;
+  private final R2ClientFactory r2ClientFactory;
+  private final R2Configuration r2Configuration;
+
+  // Cache of signed URLs (asset ID + URL type -> cached entry)
+  private final Map<CacheKey, CachedUrl> entries = new ConcurrentHashMap<>();
+
+  // Loads in progress, so concurrent misses for one key sign a single URL
+  private final Map<CacheKey, CompletableFuture<PresignedUrl>> loading = new ConcurrentHashMap<>();
+
+  // Reverse index used by the URL validator (URL string -> expiration time)
+  private final Map<String, LocalDateTime> expirationsByUrl = new ConcurrentHashMap<>();
+
+  // Newly signed URLs waiting to be written to presigned_urls
+  private final Queue<PresignedUrl> pendingWrites = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Get a download URL for an asset. Serves the cached URL when it is outside the refresh window,
+   * falls back to an active database row, and only signs a new URL when neither is available.
+   *
+   * @param asset the asset metadata
+   * @return pre-signed download URL (its ID may be null until the next batch write)
+   */
+  public PresignedUrl getDownloadUrl(AssetMetadata asset) {
+    CacheKey key = new CacheKey(asset.getId(), UrlType.DOWNLOAD);
+    LocalDateTime refreshThreshold = LocalDateTime.now().plus(getCacheConfig().getRefreshAhead());
+
+    CachedUrl cached = entries.get(key);
+    if (cached != null && cached.url().getExpiresAt().isAfter(refreshThreshold)) {
+      cached.touch();
+      return cached.url();
+    }
+
+    // The database query and signing run outside the map, only the first caller loads
+    CompletableFuture<PresignedUrl> load = new CompletableFuture<>();
+    CompletableFuture<PresignedUrl> inFlight = loading.putIfAbsent(key, load);
+    if (inFlight != null) {
+      return await(inFlight);
+    }
+    try {
+      PresignedUrl url = loadDownloadUrl(key, asset, refreshThreshold);
+      load.complete(url);
+      return url;
+    } catch (RuntimeException e) {
+      load.completeExceptionally(e);
+      throw e;
+    } finally {
+      loading.remove(key, load);
+    }
+  }
+
+  /**
+   * Sign a fresh download URL for an asset and persist it immediately, replacing any cached entry.
+   * Used when the caller needs the stored row (e.g. explicit re-sign requests).
+   *
+   * @param asset the asset metadata
+   * @return the persisted pre-signed URL
+   */
+  public PresignedUrl resignDownloadUrl(AssetMetadata asset) {
+    PresignedUrl signed = presignedUrlRepository.save(signDownloadUrl(asset));
+    store(new CacheKey(asset.getId(), UrlType.DOWNLOAD), asset, signed);
+    return signed;
+  }
+
+  /**
+   * Look up the expiration time of a URL previously issued by this cache.
+   *
+   * @param url the pre-signed URL
+   * @return expiration time if the URL is known, empty otherwise
+   */
+  public Optional<LocalDateTime> findExpiration(String url) {
+    return url == null ? Optional.empty() : Optional.ofNullable(expirationsByUrl.get(url));
+  }
+
+  /**
+   * Remove all cached URLs and pending writes for an asset.
+   *
+   * @param assetId the asset ID
+   */
+  public void evict(UUID assetId) {
+    for (UrlType urlType : UrlType.values()) {
+      CachedUrl removed = entries.remove(new CacheKey(assetId, urlType));
+      if (removed != null) {
+        expirationsByUrl.remove(removed.url().getPresignedUrl());
+      }
+    }
+    pendingWrites.removeIf(url -> assetId.equals(url.getAssetMetadata().getId()));
+  }
+
+  /** Re-sign recently used entries that are about to expire and drop idle ones. */
+  @Scheduled(
+      fixedDelayString = "${cloudflare.r2.urls.cache.refresh-interval:PT1M}",
+      initialDelayString = "${cloudflare.r2.urls.cache.refresh-interval:PT1M}")
+  public void refreshExpiringUrls() {
+    // Refresh a little earlier than the serving threshold so readers never sign inline
+    Duration window =
+        getCacheConfig().getRefreshAhead().plus(getCacheConfig().getRefreshInterval());
+    LocalDateTime refreshThreshold = LocalDateTime.now().plus(window);
+    // An entry not used within one URL lifetime is not worth keeping signed
+    long idleSince =
+        System.currentTimeMillis() - r2Configuration.getUrls().getDefaultExpiration().toMillis();
+
+    int refreshed = 0;
+    int dropped = 0;
+    for (Map.Entry<CacheKey, CachedUrl> entry : entries.entrySet()) {
+      CachedUrl current = entry.getValue();
+      if (current.lastAccess().get() < idleSince) {
+        if (remove(entry.getKey(), current)) {
+          dropped++;
+        }
+        continue;
+      }
+      if (current.url().getExpiresAt().isAfter(refreshThreshold)) {
+        continue;
+      }
+      try {
+        PresignedUrl signed = signDownloadUrl(current.asset());
+        // Skip the write if the entry was evicted or replaced while signing
+        if (entries.replace(entry.getKey(), current, current.withUrl(signed))) {
+          expirationsByUrl.remove(current.url().getPresignedUrl());
+          expirationsByUrl.put(signed.getPresignedUrl(), signed.getExpiresAt());
+          pendingWrites.add(signed);
+          refreshed++;
+        }
+      } catch (Exception e) {
+        log.warn(
+            "Failed to refresh URL for asset {}: {}", entry.getKey().assetId(), e.getMessage());
+      }
+    }
+    dropped += trimToSize();
+
+    if (refreshed > 0 || dropped > 0) {
+      log.info(
+          "Refreshed {} pre-signed URLs ahead of expiry, dropped {} idle entries",
+          refreshed,
+          dropped);
+    }
+  }
+
+  /** Write queued pre-signed URL rows in batches. */
+  @Scheduled(fixedDelayString = "${cloudflare.r2.urls.cache.flush-interval:PT5S}")
+  public void flushPendingWrites() {
+    int batchSize = getCacheConfig().getWriteBatchSize();
+    int written = 0;
+
+    while (!pendingWrites.isEmpty()) {
+      List<PresignedUrl> batch = new ArrayList<>(batchSize);
+      PresignedUrl next;
+      while (batch.size() < batchSize && (next = pendingWrites.poll()) != null) {
+        batch.add(next);
+      }
+      if (batch.isEmpty()) {
+        break;
+      }
+      written += writeBatch(batch);
+    }
+
+    if (written > 0) {
+      log.debug("Persisted {} pre-signed URLs", written);
+    }
+  }
+
+  /** Persist pending rows before the application shuts down. */
+  @PreDestroy
+  public void shutdown() {
+    flushPendingWrites();
+  }
+
+  /**
+   * Get the current cache statistics.
+   *
+   * @return cache statistics
+   */
+  public CacheStatistics getStatistics() {
+    return new CacheStatistics(entries.size(), pendingWrites.size());
+  }
+
+  private int writeBatch(List<PresignedUrl> batch) {
+    try {
+      presignedUrlRepository.saveAll(batch);
+      return batch.size();
+    } catch (Exception e) {
+      // Fall back to row-by-row so one bad row (e.g. a deleted asset) doesn't drop the batch
+      log.warn("Batch write of {} pre-signed URLs failed: {}", batch.size(), e.getMessage());
+      int written = 0;
+      for (PresignedUrl url : batch) {
+        try {
+          presignedUrlRepository.save(url);
+          written++;
+        } catch (Exception rowError) {
+          log.warn(
+              "Dropping pre-signed URL for asset {}: {}",
+              url.getAssetMetadata().getId(),
+              rowError.getMessage());
+        }
+      }
+      return written;
+    }
+  }
+
+  private PresignedUrl loadDownloadUrl(
+      CacheKey key, AssetMetadata asset, LocalDateTime refreshThreshold) {
+    // Another thread may have loaded the entry since our cache lookup
+    CachedUrl current = entries.get(key);
+    if (current != null && current.url().getExpiresAt().isAfter(refreshThreshold)) {
+      current.touch();
+      return current.url();
+    }
+
+    Optional<PresignedUrl> stored =
+        presignedUrlRepository
+            .findFirstByAssetMetadataIdAndUrlTypeAndIsActiveTrueAndExpiresAtAfterOrderByExpiresAtDesc(
+                asset.getId(), UrlType.DOWNLOAD, refreshThreshold);
+    if (stored.isPresent()) {
+      log.debug("Loaded download URL for asset {} into cache", asset.getId());
+      store(key, asset, stored.get());
+      return stored.get();
+    }
+
+    PresignedUrl signed = signDownloadUrl(asset);
+    pendingWrites.add(signed);
+    log.debug("Signed download URL for asset {} (write queued)", asset.getId());
+    store(key, asset, signed);
+    return signed;
+  }
+
+  private static PresignedUrl await(CompletableFuture<PresignedUrl> load) {
+    try {
+      return load.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private void store(CacheKey key, AssetMetadata asset, PresignedUrl url) {
+    expirationsByUrl.put(url.getPresignedUrl(), url.getExpiresAt());
+    CachedUrl previous =
+        entries.put(key, new CachedUrl(asset, url, new AtomicLong(System.currentTimeMillis())));
+    if (previous != null) {
+      expirationsByUrl.remove(previous.url().getPresignedUrl());
+    }
+    if (entries.size() > getCacheConfig().getMaxEntries()) {
+      trimToSize();
+    }
+  }
+
+  private boolean remove(CacheKey key, CachedUrl value) {
+    if (!entries.remove(key, value)) {
+      return false;
+    }
+    expirationsByUrl.remove(value.url().getPresignedUrl());
+    return true;
+  }
+
+  /** Drop the least recently used entries once the cache is over its limit. */
+  private synchronized int trimToSize() {
+    int maxEntries = getCacheConfig().getMaxEntries();
+    if (entries.size() <= maxEntries) {
+      return 0;
+    }
+    // Trim below the limit so a full cache doesn't sort on every insert
+    int excess = entries.size() - maxEntries * 9 / 10;
+    List<Map.Entry<CacheKey, CachedUrl>> oldest =
+        entries.entrySet().stream()
+            .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess().get()))
+            .limit(excess)
+            .toList();
+    int dropped = 0;
+    for (Map.Entry<CacheKey, CachedUrl> entry : oldest) {
+      if (remove(entry.getKey(), entry.getValue())) {
+        dropped++;
+      }
+    }
+    log.debug("Dropped {} least recently used pre-signed URLs", dropped);
+    return dropped;
+  }
+
+  private PresignedUrl signDownloadUrl(AssetMetadata asset) {
+    Duration expiration = r2Configuration.getUrls().getDefaultExpiration();
+
+    GetObjectRequest getRequest =
+        GetObjectRequest.builder().bucket(asset.getBucketName()).key(asset.getObjectKey()).build();
+
+    GetObjectPresignRequest presignRequest =
+        GetObjectPresignRequest.builder()
+            .signatureDuration(expiration)
+            .getObjectRequest(getRequest)
+            .build();
+
+    String url = r2ClientFactory.getPresigner().presignGetObject(presignRequest).url().toString();
+
+    return PresignedUrl.builder()
+        .assetMetadata(asset)
+        .urlType(UrlType.DOWNLOAD)
+        .presignedUrl(url)
+        .expiresAt(LocalDateTime.now().plus(expiration))
+        .isActive(true)
+        .build();
+  }
+
+  private R2Configuration.CacheConfig getCacheConfig() {
+    return r2Configuration.getUrls().getCache();
+  }
+
+  /** Cache key combining asset and URL type. */
+  private record CacheKey(UUID assetId, UrlType urlType) {}
+
+  /** Cached URL together with the asset needed to re-sign it and its last use (epoch millis). */
+  private record CachedUrl(AssetMetadata asset, PresignedUrl url, AtomicLong lastAccess) {
+    void touch() {
+      lastAccess.set(System.currentTimeMillis());
+    }
+
+    CachedUrl withUrl(PresignedUrl signed) {
+      return new CachedUrl(asset, signed, lastAccess);
+    }
+  }
+
+  /** Cache statistics. */
+  public record CacheStatistics(int cachedUrls, int pendingWrites) {}
+}
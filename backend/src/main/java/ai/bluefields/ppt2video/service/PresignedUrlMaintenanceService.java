@@ -0,0 +1,126 @@
+package ai.bluefields.ppt2video.service;
+
+import ai.bluefields.ppt2video.config.R2Configuration;
+import ai.bluefields.ppt2video.repository.PresignedUrlRepository;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background maintenance for the {@code presigned_urls} table. Deactivates expired URLs and purges
+ * old inactive ones in bounded batches, and records table growth statistics after every sweep.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PresignedUrlMaintenanceService {
+
+  private final PresignedUrlRepository presignedUrlRepository;
+  private final R2Configuration r2Configuration;
+
+  private final AtomicReference<TableStatistics> lastStatistics = new AtomicReference<>();
+
+  /** Scheduled sweep of expired pre-signed URLs. */
+  @Scheduled(
+      fixedDelayString = "${cloudflare.r2.urls.maintenance.interval:PT15M}",
+      initialDelayString = "PT1M")
+  public void scheduledSweep() {
+    if (!getConfig().isEnabled()) {
+      return;
+    }
+    try {
+      sweep();
+    } catch (Exception e) {
+      log.error("Pre-signed URL maintenance failed", e);
+    }
+  }
+
+  /**
+   * Deactivate expired URLs and purge inactive URLs past the retention period. Each batch runs in
+   * its own transaction and a run stops after the configured number of batches.
+   *
+   * @return table statistics after the sweep
+   */
+  public TableStatistics sweep() {
+    R2Configuration.MaintenanceConfig config = getConfig();
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime purgeBefore = now.minus(config.getRetention());
+
+    long deactivated =
+        runInBatches(
+            config,
+            () -> presignedUrlRepository.deactivateExpiredUrlsBatch(now, config.getBatchSize()));
+    long purged =
+        runInBatches(
+            config,
+            () -> presignedUrlRepository.purgeExpiredUrlsBatch(purgeBefore, config.getBatchSize()));
+
+    TableStatistics statistics = collectStatistics(deactivated, purged);
+    TableStatistics previous = lastStatistics.getAndSet(statistics);
+    long growth = previous != null ? statistics.totalRows() - previous.totalRows() : 0;
+
+    log.info(
+        "Pre-signed URL maintenance: deactivated={}, purged={}, totalRows={}, activeRows={}, "
+            + "tableSize={} KB, growthSinceLastRun={}",
+        deactivated,
+        purged,
+        statistics.totalRows(),
+        statistics.activeRows(),
+        statistics.tableSizeBytes() / 1024,
+        growth);
+
+    return statistics;
+  }
+
+  /**
+   * Get the statistics recorded by the most recent sweep, collecting them if no sweep has run yet.
+   *
+   * @return table statistics
+   */
+  public TableStatistics getStatistics() {
+    TableStatistics statistics = lastStatistics.get();
+    return statistics != null ? statistics : collectStatistics(0, 0);
+  }
+
+  private long runInBatches(R2Configuration.MaintenanceConfig config, IntSupplier batch) {
+    long total = 0;
+    int batches = 0;
+    int count;
+    do {
+      count = batch.getAsInt();
+      total += count;
+      batches++;
+    } while (count == config.getBatchSize() && batches < config.getMaxBatchesPerRun());
+    return total;
+  }
+
+  private TableStatistics collectStatistics(long deactivated, long purged) {
+    long totalRows = presignedUrlRepository.count();
+    long activeRows = presignedUrlRepository.countByIsActive(true);
+    Long tableSize = presignedUrlRepository.getTableSizeBytes();
+    return new TableStatistics(
+        totalRows,
+        activeRows,
+        tableSize != null ? tableSize : 0L,
+        deactivated,
+        purged,
+        LocalDateTime.now());
+  }
+
+  private R2Configuration.MaintenanceConfig getConfig() {
+    return r2Configuration.getUrls().getMaintenance();
+  }
+
+  /** Growth statistics for the presigned_urls table. */
+  public record TableStatistics(
+      long totalRows,
+      long activeRows,
+      long tableSizeBytes,
+      long deactivatedLastRun,
+      long purgedLastRun,
+      LocalDateTime collectedAt) {}
+}
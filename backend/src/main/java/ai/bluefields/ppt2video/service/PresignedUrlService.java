@@ -16,11 +16,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
@@ -37,6 +34,8 @@ public class PresignedUrlService {
   private final PresignedUrlRepository presignedUrlRepository;
   private final R2ClientFactory r2ClientFactory;
   private final R2Configuration r2Configuration;
+  private final PresignedUrlCache presignedUrlCache;
+  private final PresignedUrlAccessTracker accessTracker;
 
   /**
    * Generate a pre-signed upload URL for an asset.
@@ -83,51 +82,15 @@ public class PresignedUrlService {
   }
 
   /**
-   * Generate a pre-signed download URL for an asset.
+   * Get a pre-signed download URL for an asset, signing a new one only when no cached or stored URL
+   * remains valid.
    *
    * @param asset the asset metadata
    * @return generated pre-signed URL
    */
   public PresignedUrl generateDownloadUrl(AssetMetadata asset) {
-    // Check for existing valid URL
-    Optional<PresignedUrl> existingUrl =
-        presignedUrlRepository.findActiveUrl(asset.getId(), UrlType.DOWNLOAD, LocalDateTime.now());
-
-    if (existingUrl.isPresent()) {
-      log.debug("Using existing download URL for asset: {}", asset.getId());
-      return existingUrl.get();
-    }
-
-    S3Presigner presigner = r2ClientFactory.getPresigner();
-
-    Duration expiration = r2Configuration.getUrls().getDefaultExpiration();
-
-    GetObjectRequest getRequest =
-        GetObjectRequest.builder().bucket(asset.getBucketName()).key(asset.getObjectKey()).build();
-
-    GetObjectPresignRequest presignRequest =
-        GetObjectPresignRequest.builder()
-            .signatureDuration(expiration)
-            .getObjectRequest(getRequest)
-            .build();
-
-    PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
-    URL url = presignedRequest.url();
-
-    LocalDateTime expiresAt = LocalDateTime.now().plus(expiration);
-
-    PresignedUrl presignedUrl =
-        PresignedUrl.builder()
-            .assetMetadata(asset)
-            .urlType(UrlType.DOWNLOAD)
-            .presignedUrl(url.toString())
-            .expiresAt(expiresAt)
-            .isActive(true)
-            .build();
-
-    presignedUrl = presignedUrlRepository.save(presignedUrl);
-    log.info("Generated download URL for asset: {}", asset.getId());
-    return presignedUrl;
+    // Served from the in-memory cache; new rows are written in batches by the cache
+    return presignedUrlCache.getDownloadUrl(asset);
   }
 
   /**
@@ -140,11 +103,12 @@ public class PresignedUrlService {
   public PresignedUrl resignUrl(UUID assetId, UrlType urlType, AssetMetadata asset) {
     // Deactivate old URLs
     presignedUrlRepository.deactivateUrlsForAsset(assetId);
+    presignedUrlCache.evict(assetId);
 
     if (urlType == UrlType.UPLOAD) {
       return generateUploadUrl(asset, asset.getContentType());
     } else {
-      return generateDownloadUrl(asset);
+      return presignedUrlCache.resignDownloadUrl(asset);
     }
   }
 
@@ -172,13 +136,27 @@ public class PresignedUrlService {
   }
 
   /**
-   * Track URL access.
+   * Track URL access. Counts are accumulated in memory and written to the database in batches.
    *
    * @param urlId the URL ID
    */
   public void trackAccess(UUID urlId) {
-    presignedUrlRepository.incrementAccessCount(urlId);
-    log.debug("Tracked access for URL: {}", urlId);
+    accessTracker.recordAccess(urlId);
+  }
+
+  /**
+   * Get the access count of a URL, including accesses not yet written to the database.
+   *
+   * @param url the pre-signed URL
+   * @return access count
+   */
+  @Transactional(readOnly = true)
+  public Integer getAccessCount(PresignedUrl url) {
+    int stored = url.getAccessCount() != null ? url.getAccessCount() : 0;
+    if (url.getId() == null) {
+      return stored;
+    }
+    return Math.toIntExact(stored + accessTracker.getPendingCount(url.getId()));
   }
 
   /**
@@ -200,18 +178,22 @@ public class PresignedUrlService {
    * @param assetId the asset ID
    */
   public void deleteUrlsForAsset(UUID assetId) {
+    presignedUrlCache.evict(assetId);
     presignedUrlRepository.deleteByAssetMetadataId(assetId);
     log.info("Deleted all URLs for asset: {}", assetId);
   }
 
   /**
-   * Get total access count for an asset.
+   * Get total access count for an asset, including accesses not yet written to the database.
    *
    * @param assetId the asset ID
    * @return total access count
    */
   @Transactional(readOnly = true)
   public Long getTotalAccessCount(UUID assetId) {
-    return presignedUrlRepository.getTotalAccessCount(assetId);
+    // Pending counts first: a batch committed in between is then counted twice, never missed
+    long pending = accessTracker.getPendingCount(presignedUrlRepository.findIdsByAssetId(assetId));
+    Long stored = presignedUrlRepository.getTotalAccessCount(assetId);
+    return stored + pending;
   }
 }
@@ -14,13 +14,16 @@ import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
@@ -183,7 +186,8 @@ public class R2AssetService {
             } catch (Exception e) {
               log.warn("Failed to delete existing asset from R2: {}", e.getMessage());
             }
-            // Delete metadata
+            // Delete URLs, including cached ones, and metadata
+            presignedUrlService.deleteUrlsForAsset(existing.getId());
             assetMetadataService.deleteAsset(existing.getId());
           }
         } else {
@@ -651,7 +655,7 @@ public class R2AssetService {
                     .presignedUrl(url.getPresignedUrl())
                     .expiresAt(url.getExpiresAt())
                     .isActive(url.getIsActive())
-                    .accessCount(url.getAccessCount())
+                    .accessCount(presignedUrlService.getAccessCount(url))
                     .createdAt(url.getCreatedAt())
                     .createdBy(url.getCreatedBy())
                     .build())
@@ -768,24 +772,99 @@ public class R2AssetService {
   }
 
   /**
-   * Regenerates presigned URLs for multiple assets.
+   * Regenerates presigned URLs for multiple assets. The assets are loaded in one query and the URLs
+   * are served from the presigned URL cache where possible.
    *
    * @param assetMetadataIds List of asset metadata IDs
    * @return Map of asset ID to new presigned URL
    */
   public java.util.Map<UUID, String> regeneratePresignedUrls(List<UUID> assetMetadataIds) {
     java.util.Map<UUID, String> regeneratedUrls = new java.util.HashMap<>();
-    for (UUID assetId : assetMetadataIds) {
+    if (assetMetadataIds.isEmpty()) {
+      return regeneratedUrls;
+    }
+
+    for (AssetMetadata asset : assetMetadataService.getAssets(assetMetadataIds)) {
       try {
-        String newUrl = regeneratePresignedUrl(assetId);
-        regeneratedUrls.put(assetId, newUrl);
+        regeneratedUrls.put(
+            asset.getId(), presignedUrlService.generateDownloadUrl(asset).getPresignedUrl());
       } catch (Exception e) {
-        log.error("Failed to regenerate URL for asset {}: {}", assetId, e.getMessage());
+        log.error("Failed to regenerate URL for asset {}: {}", asset.getId(), e.getMessage());
       }
     }
+    log.debug(
+        "Regenerated {} of {} presigned URLs", regeneratedUrls.size(), assetMetadataIds.size());
     return regeneratedUrls;
   }
 
+  /**
+   * Checks whether an object exists in R2 with a HEAD request.
+   *
+   * @param bucketName The bucket name
+   * @param objectKey The object key
+   * @return true if the object exists, false if R2 reports it as missing
+   * @throws S3Exception if R2 rejects the request for any other reason
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public boolean objectExists(String bucketName, String objectKey) {
+    try {
+      r2ClientFactory
+          .getS3Client()
+          .headObject(HeadObjectRequest.builder().bucket(bucketName).key(objectKey).build());
+      return true;
+    } catch (NoSuchKeyException e) {
+      return false;
+    } catch (S3Exception e) {
+      if (e.statusCode() == 404) {
+        return false;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Lists the object keys under a prefix, following continuation tokens up to a page limit.
+   *
+   * @param bucketName The bucket name
+   * @param prefix The key prefix, e.g. {@code presentations/<id>/}
+   * @param maxPages Maximum number of pages (of up to 1000 keys) to request
+   * @return The keys found, and whether the listing covers the whole prefix
+   * @throws S3Exception if R2 rejects the request
+   */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public ObjectListing listObjectKeys(String bucketName, String prefix, int maxPages) {
+    S3Client s3Client = r2ClientFactory.getS3Client();
+    Set<String> keys = new HashSet<>();
+    String continuationToken = null;
+
+    for (int page = 0; page < maxPages; page++) {
+      ListObjectsV2Response response =
+          s3Client.listObjectsV2(
+              ListObjectsV2Request.builder()
+                  .bucket(bucketName)
+                  .prefix(prefix)
+                  .continuationToken(continuationToken)
+                  .build());
+      response.contents().forEach(object -> keys.add(object.key()));
+
+      if (!Boolean.TRUE.equals(response.isTruncated())) {
+        return new ObjectListing(keys, true);
+      }
+      continuationToken = response.nextContinuationToken();
+    }
+
+    log.debug("Listing of {}/{} stopped after {} pages", bucketName, prefix, maxPages);
+    return new ObjectListing(keys, false);
+  }
+
+  /**
+   * Object keys found under a prefix.
+   *
+   * @param keys The keys found
+   * @param complete false if the listing stopped at the page limit, so missing keys may still exist
+   */
+  public record ObjectListing(Set<String> keys, boolean complete) {}
+
   /**
    * Gets fresh presigned URLs for all assets of a presentation.
    *
@@ -807,8 +886,7 @@ public class R2AssetService {
       assetUrls.put(key, url.getPresignedUrl());
     }
 
-    log.info(
-        "Generated {} fresh presigned URLs for presentation {}", assetUrls.size(), presentationId);
+    log.info("Resolved {} presigned URLs for presentation {}", assetUrls.size(), presentationId);
     return assetUrls;
   }
 
@@ -1,20 +1,37 @@
 package ai.bluefields.ppt2video.service;
 
+import ai.bluefields.ppt2video.config.R2Configuration;
 import ai.bluefields.ppt2video.entity.AssetMetadata;
 import ai.bluefields.ppt2video.entity.UploadStatus;
 import ai.bluefields.ppt2video.repository.AssetMetadataRepository;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for verifying asset publication status in R2 storage. Provides methods to check if assets
  * have been successfully uploaded to Cloudflare R2.
+ *
+ * <p>Besides the upload status in the database, objects are checked in R2 itself. Batches are
+ * verified concurrently on virtual threads: presentations with many assets in the batch are covered
+ * by one prefix listing, the remaining objects by HEAD requests. Results are memoized for a short
+ * TTL so repeated preflight checks don't hit R2 again.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,6 +40,14 @@ public class R2AssetVerificationService {
 
   private final AssetMetadataRepository assetMetadataRepository;
   private final R2AssetService r2AssetService;
+  private final R2Configuration r2Configuration;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  // Existence of objects in R2 keyed by bucket/key, valid for the configured TTL
+  private final Map<String, CachedExistence> existenceCache = new ConcurrentHashMap<>();
 
   /**
    * Verifies if an asset has been successfully published to R2.
@@ -40,24 +65,7 @@ public class R2AssetVerificationService {
         return false;
       }
 
-      var metadata = assetMetadata.get();
-
-      // Check if asset has been marked as uploaded successfully
-      if (metadata.getUploadStatus() != UploadStatus.COMPLETED) {
-        log.debug(
-            "Asset {} upload status is not COMPLETED: {}", assetId, metadata.getUploadStatus());
-        return false;
-      }
-
-      // Check if R2 key exists
-      if (metadata.getR2Key() == null || metadata.getR2Key().isEmpty()) {
-        log.debug("Asset {} has no R2 key", assetId);
-        return false;
-      }
-
-      // Optionally verify the asset actually exists in R2 (could be expensive)
-      // For now, we trust the upload status in the database
-      return true;
+      return verifyAssetsPublished(List.of(assetMetadata.get())).getOrDefault(assetId, false);
 
     } catch (Exception e) {
       log.error("Error verifying asset publication for ID: {}", assetId, e);
@@ -81,54 +89,253 @@ public class R2AssetVerificationService {
     try {
       // Fetch all metadata in one query
       List<AssetMetadata> assetMetadataList = assetMetadataRepository.findAllById(assetIds);
+      Map<UUID, Boolean> verified = verifyAssetsPublished(assetMetadataList);
 
-      // Create a map of asset ID to metadata for quick lookup
-      Map<UUID, AssetMetadata> metadataMap =
-          assetMetadataList.stream()
-              .collect(Collectors.toMap(AssetMetadata::getId, metadata -> metadata));
-
-      // Build result map
+      // Assets without metadata are not published
       Map<UUID, Boolean> results = new HashMap<>();
       for (UUID assetId : assetIds) {
-        AssetMetadata metadata = metadataMap.get(assetId);
-        boolean isPublished =
-            metadata != null
-                && metadata.getUploadStatus() == UploadStatus.COMPLETED
-                && metadata.getR2Key() != null
-                && !metadata.getR2Key().isEmpty();
-        results.put(assetId, isPublished);
+        results.put(assetId, verified.getOrDefault(assetId, false));
       }
-
-      log.debug(
-          "Batch verification complete. Published: {}, Not published: {}",
-          results.values().stream().filter(v -> v).count(),
-          results.values().stream().filter(v -> !v).count());
-
       return results;
 
     } catch (Exception e) {
       log.error("Error during batch asset verification", e);
       // Return all as unpublished on error
-      return assetIds.stream().collect(Collectors.toMap(id -> id, id -> false));
+      return assetIds.stream().collect(Collectors.toMap(id -> id, id -> false, (a, b) -> a));
+    }
+  }
+
+  /**
+   * Checks already loaded assets against their stored upload status only, without contacting R2.
+   *
+   * @param assets the assets to check
+   * @return map of asset ID to whether the asset is marked as uploaded with an R2 key
+   */
+  public Map<UUID, Boolean> checkUploadStatus(Collection<AssetMetadata> assets) {
+    Map<UUID, Boolean> results = new HashMap<>();
+    for (AssetMetadata asset : assets) {
+      results.put(asset.getId(), isMarkedUploaded(asset));
+    }
+    return results;
+  }
+
+  /**
+   * Verifies already loaded assets: each must be marked as uploaded with an R2 key and, if storage
+   * checks are enabled, exist in R2. Storage checks run concurrently and are memoized. If R2 cannot
+   * be reached the database status is trusted, as the check would otherwise fail every asset.
+   *
+   * @param assets the assets to verify
+   * @return map of asset ID to publication status
+   */
+  public Map<UUID, Boolean> verifyAssetsPublished(Collection<AssetMetadata> assets) {
+    Map<UUID, Boolean> results = new ConcurrentHashMap<>();
+    List<AssetMetadata> uploaded = new ArrayList<>();
+    for (AssetMetadata asset : assets) {
+      if (isMarkedUploaded(asset)) {
+        uploaded.add(asset);
+      } else {
+        results.put(asset.getId(), false);
+      }
+    }
+
+    R2Configuration.VerificationConfig config = r2Configuration.getVerification();
+    if (!config.isCheckStorage()) {
+      uploaded.forEach(asset -> results.put(asset.getId(), true));
+      return results;
+    }
+
+    // Serve what we can from the memo, group the rest by bucket and listing prefix
+    long now = System.nanoTime();
+    long ttlNanos = config.getCacheTtl().toNanos();
+    existenceCache.values().removeIf(cached -> now - cached.checkedAtNanos() > ttlNanos);
+
+    Map<String, List<AssetMetadata>> pendingByPrefix = new LinkedHashMap<>();
+    for (AssetMetadata asset : uploaded) {
+      CachedExistence cached = existenceCache.get(cacheKey(asset));
+      if (cached != null) {
+        results.put(asset.getId(), cached.exists());
+      } else {
+        pendingByPrefix
+            .computeIfAbsent(
+                asset.getBucketName() + "/" + listingPrefix(asset.getObjectKey()),
+                prefix -> new ArrayList<>())
+            .add(asset);
+      }
+    }
+    if (pendingByPrefix.isEmpty()) {
+      return results;
+    }
+
+    Semaphore permits = new Semaphore(Math.max(1, config.getMaxConcurrent()));
+    Queue<AssetMetadata> unlisted = new ConcurrentLinkedQueue<>();
+    List<CompletableFuture<Void>> checks = new ArrayList<>();
+    int checked = 0;
+    for (List<AssetMetadata> group : pendingByPrefix.values()) {
+      String prefix = listingPrefix(group.get(0).getObjectKey());
+      if (prefix != null && group.size() >= config.getListThreshold()) {
+        checks.add(runAsync(permits, () -> verifyByListing(group, prefix, unlisted, results)));
+      } else {
+        group.forEach(asset -> checks.add(runAsync(permits, () -> verifyByHead(asset, results))));
+      }
+      checked += group.size();
+    }
+    CompletableFuture.allOf(checks.toArray(CompletableFuture[]::new)).join();
+
+    // Objects beyond the page limit of a listing are checked individually
+    if (!unlisted.isEmpty()) {
+      List<CompletableFuture<Void>> heads = new ArrayList<>();
+      unlisted.forEach(asset -> heads.add(runAsync(permits, () -> verifyByHead(asset, results))));
+      CompletableFuture.allOf(heads.toArray(CompletableFuture[]::new)).join();
+      checks.addAll(heads);
     }
+
+    log.debug(
+        "Verified {} assets in R2 ({} from cache) using {} requests",
+        uploaded.size(),
+        uploaded.size() - checked,
+        checks.size());
+    return results;
   }
 
   /**
    * Checks if an asset exists and is accessible via its R2 key. This performs an actual check
-   * against R2 storage (more expensive).
+   * against R2 storage (more expensive), memoized like batch verification.
    *
    * @param r2Key the R2 storage key
    * @return true if the asset exists in R2, false otherwise
    */
   public boolean verifyAssetExistsInR2(String r2Key) {
     try {
-      // This would need implementation in R2AssetService to check object existence
-      // For now, we assume the database status is accurate
       log.debug("Verifying R2 object existence for key: {}", r2Key);
-      return true; // Placeholder - would call r2AssetService.objectExists(r2Key)
+      var assetMetadata = assetMetadataRepository.findByObjectKey(r2Key);
+      if (assetMetadata.isEmpty()) {
+        log.debug("No asset metadata for R2 key: {}", r2Key);
+        return false;
+      }
+
+      AssetMetadata asset = assetMetadata.get();
+      CachedExistence cached = existenceCache.get(cacheKey(asset));
+      if (cached != null
+          && System.nanoTime() - cached.checkedAtNanos()
+              <= r2Configuration.getVerification().getCacheTtl().toNanos()) {
+        return cached.exists();
+      }
+      boolean exists = r2AssetService.objectExists(asset.getBucketName(), r2Key);
+      remember(asset, exists);
+      return exists;
     } catch (Exception e) {
       log.error("Error checking R2 object existence for key: {}", r2Key, e);
       return false;
     }
   }
+
+  private void verifyByListing(
+      List<AssetMetadata> group,
+      String prefix,
+      Queue<AssetMetadata> unlisted,
+      Map<UUID, Boolean> results) {
+    String bucketName = group.get(0).getBucketName();
+    R2AssetService.ObjectListing listing;
+    try {
+      listing =
+          r2AssetService.listObjectKeys(
+              bucketName, prefix, r2Configuration.getVerification().getMaxListPages());
+    } catch (Exception e) {
+      log.warn(
+          "Could not list R2 objects under {}/{}, trusting upload status: {}",
+          bucketName,
+          prefix,
+          e.getMessage());
+      group.forEach(asset -> results.put(asset.getId(), true));
+      return;
+    }
+
+    for (AssetMetadata asset : group) {
+      boolean exists = listing.keys().contains(asset.getObjectKey());
+      if (exists || listing.complete()) {
+        remember(asset, exists);
+        results.put(asset.getId(), exists);
+      } else {
+        unlisted.add(asset);
+      }
+    }
+  }
+
+  private void verifyByHead(AssetMetadata asset, Map<UUID, Boolean> results) {
+    try {
+      boolean exists = r2AssetService.objectExists(asset.getBucketName(), asset.getObjectKey());
+      remember(asset, exists);
+      results.put(asset.getId(), exists);
+      if (!exists) {
+        log.warn(
+            "Asset {} is marked as uploaded but missing in R2: {}/{}",
+            asset.getId(),
+            asset.getBucketName(),
+            asset.getObjectKey());
+      }
+    } catch (Exception e) {
+      log.warn(
+          "Could not check R2 object for asset {}, trusting upload status: {}",
+          asset.getId(),
+          e.getMessage());
+      results.put(asset.getId(), true);
+    }
+  }
+
+  /** Runs a check on a virtual thread once one of the R2 request permits is available. */
+  private CompletableFuture<Void> runAsync(Semaphore permits, Runnable check) {
+    return CompletableFuture.runAsync(
+        () -> {
+          try {
+            permits.acquire();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to verify assets", e);
+          }
+          try {
+            check.run();
+          } finally {
+            permits.release();
+          }
+        },
+        virtualThreadExecutor);
+  }
+
+  private boolean isMarkedUploaded(AssetMetadata metadata) {
+    if (metadata.getUploadStatus() != UploadStatus.COMPLETED) {
+      log.debug(
+          "Asset {} upload status is not COMPLETED: {}",
+          metadata.getId(),
+          metadata.getUploadStatus());
+      return false;
+    }
+    if (metadata.getR2Key() == null || metadata.getR2Key().isEmpty()) {
+      log.debug("Asset {} has no R2 key", metadata.getId());
+      return false;
+    }
+    return true;
+  }
+
+  private void remember(AssetMetadata asset, boolean exists) {
+    existenceCache.put(cacheKey(asset), new CachedExistence(exists, System.nanoTime()));
+  }
+
+  private static String cacheKey(AssetMetadata asset) {
+    return asset.getBucketName() + "/" + asset.getObjectKey();
+  }
+
+  /**
+   * Prefix shared by all objects of a presentation ({@code presentations/<id>/}), or null for keys
+   * that don't follow the layout.
+   */
+  private static String listingPrefix(String objectKey) {
+    String root = "presentations/";
+    if (!objectKey.startsWith(root)) {
+      return null;
+    }
+    int end = objectKey.indexOf('/', root.length());
+    return end > 0 ? objectKey.substring(0, end + 1) : null;
+  }
+
+  private record CachedExistence(boolean exists, long checkedAtNanos) {}
 }
@@ -5,6 +5,7 @@ import ai.bluefields.ppt2video.entity.Presentation;
 import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.repository.PresentationRepository;
 import ai.bluefields.ppt2video.repository.SlideRepository;
+import ai.bluefields.ppt2video.service.intro.DeckPaletteIndexService;
 import ai.bluefields.ppt2video.service.rendering.RenderingStrategy;
 import ai.bluefields.ppt2video.service.rendering.RenderingStrategyFactory;
 import java.io.File;
@@ -34,6 +35,7 @@ public class SlideRenderingService {
   private final RenderingStrategyFactory strategyFactory;
   private final PlaceholderImageService placeholderService;
   private final R2AssetService r2AssetService;
+  private final DeckPaletteIndexService deckPaletteIndexService;
 
   @Value("${app.storage.presentations-path}")
   private String presentationsBasePath;
@@ -120,6 +122,17 @@ public class SlideRenderingService {
           slide.setImageGeneratedAt(LocalDateTime.now());
           slide.setImageWidth(renderedSlide.width());
           slide.setImageHeight(renderedSlide.height());
+
+          // Extract the palette while the image is still in memory
+          try {
+            deckPaletteIndexService.recordSlidePalette(slide, renderedSlide.image());
+          } catch (Exception paletteEx) {
+            log.warn(
+                "Failed to extract color palette for slide {}: {}",
+                slide.getSlideNumber(),
+                paletteEx.getMessage());
+          }
+
           slide.setRenderingStatus(Slide.RenderingStatus.COMPLETED);
           slideRepository.save(slide);
 
@@ -162,6 +175,16 @@ public class SlideRenderingService {
       // Clean up renderer resources
       renderer.cleanup();
 
+      // Aggregate slide palettes into the deck-level color index
+      try {
+        deckPaletteIndexService.rebuildIndex(presentation, slides);
+      } catch (Exception e) {
+        log.warn(
+            "Failed to build color palette index for presentation {}: {}",
+            presentationId,
+            e.getMessage());
+      }
+
       // 5. Update status to COMPLETED
       presentation.setStatus(Presentation.Status.COMPLETED);
       presentation.setProcessingStatus(Presentation.ProcessingStatus.COMPLETED);
@@ -0,0 +1,266 @@
+package ai.bluefields.ppt2video.service.ai;
+
+import ai.bluefields.ppt2video.dto.AnalysisStatusDto.AnalysisState;
+import ai.bluefields.ppt2video.dto.AnalysisStatusDto.AnalysisType;
+import ai.bluefields.ppt2video.dto.audio.BatchSpeechRequest;
+import ai.bluefields.ppt2video.entity.Presentation;
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.entity.SlideNarrative;
+import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.repository.PresentationRepository;
+import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
+import ai.bluefields.ppt2video.repository.SlideRepository;
+import ai.bluefields.ppt2video.repository.SlideSpeechRepository;
+import ai.bluefields.ppt2video.service.audio.SpeechAudioPostProcessor;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+/**
+ * Orchestrates speech generation for all slides in a presentation. Slides are processed
+ * concurrently on Virtual Threads; calls to ElevenLabs are additionally limited by {@link
+ * ElevenLabsRateLimiter}, so audio post-processing of finished slides overlaps with generation of
+ * the others. Slides whose text and voice are unchanged keep their current speech.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchSpeechOrchestrator {
+
+  private final PresentationRepository presentationRepository;
+  private final SlideRepository slideRepository;
+  private final SlideNarrativeRepository slideNarrativeRepository;
+  private final SlideSpeechRepository slideSpeechRepository;
+  private final TextToSpeechService textToSpeechService;
+  private final SpeechAudioPostProcessor speechAudioPostProcessor;
+  private final AnalysisStatusService analysisStatusService;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  @Value("${app.elevenlabs.batch.max-concurrent:6}")
+  private int maxConcurrentSlides;
+
+  @Value("${app.elevenlabs.batch.timeout-per-slide-seconds:120}")
+  private int timeoutPerSlideSeconds;
+
+  /** A slide with an active narrative to generate speech for. */
+  private record SpeechTask(UUID slideId, int slideNumber, UUID narrativeId) {}
+
+  /**
+   * Count the slides that have an active narrative to generate speech for.
+   *
+   * @param presentationId The presentation ID
+   * @param request The batch generation request parameters
+   * @return The number of slides that will be processed
+   */
+  public int countSlidesWithNarratives(UUID presentationId, BatchSpeechRequest request) {
+    return getSpeechTasks(presentationId, request).size();
+  }
+
+  /**
+   * Asynchronously generates speech for all slides in a presentation. Progress is reported by the
+   * analysis status endpoint under the ALL_SPEECHES_GENERATION type.
+   *
+   * @param presentationId The presentation ID
+   * @param request The batch generation request parameters
+   */
+  @Async("virtualThreadExecutor")
+  public void generateAllSpeeches(UUID presentationId, BatchSpeechRequest request) {
+    log.info(
+        "Starting batch speech generation for presentation: {} with concurrency: {}",
+        presentationId,
+        maxConcurrentSlides);
+
+    String analysisId = null;
+    try {
+      analysisId =
+          analysisStatusService.createAnalysisStatus(
+              presentationId, AnalysisType.ALL_SPEECHES_GENERATION);
+
+      String style = resolveStyle(presentationId, request);
+      List<SpeechTask> tasks = getSpeechTasks(presentationId, request);
+      if (tasks.isEmpty()) {
+        analysisStatusService.updateAnalysisStatus(
+            analysisId,
+            AnalysisState.COMPLETED,
+            "No slides with narratives to generate speech for");
+        return;
+      }
+
+      analysisStatusService.updateProgress(
+          analysisId,
+          tasks.size(),
+          0,
+          0,
+          String.format("Starting speech generation for %d slides", tasks.size()));
+
+      BatchResult result = processTasks(tasks, style, request.isForceRegenerate(), analysisId);
+
+      analysisStatusService.updateAnalysisStatus(
+          analysisId,
+          result.failed() > 0 ? AnalysisState.FAILED : AnalysisState.COMPLETED,
+          String.format(
+              "Speech generation finished. Generated: %d, Unchanged: %d, Failed: %d",
+              result.generated(), result.unchanged(), result.failed()));
+
+      log.info(
+          "Completed batch speech generation for presentation: {}. Generated: {}, Unchanged: {},"
+              + " Failed: {}",
+          presentationId,
+          result.generated(),
+          result.unchanged(),
+          result.failed());
+
+    } catch (Exception e) {
+      log.error("Failed to generate batch speech for presentation: {}", presentationId, e);
+      if (analysisId != null) {
+        analysisStatusService.updateAnalysisStatus(
+            analysisId, AnalysisState.FAILED, "Batch speech generation failed: " + e.getMessage());
+      }
+    }
+  }
+
+  private record BatchResult(int generated, int unchanged, int failed) {}
+
+  /** Processes slides with controlled concurrency using Semaphore and Virtual Threads. */
+  private BatchResult processTasks(
+      List<SpeechTask> tasks, String style, boolean forceRegenerate, String analysisId) {
+    Semaphore semaphore = new Semaphore(Math.max(1, maxConcurrentSlides));
+    AtomicInteger generated = new AtomicInteger();
+    AtomicInteger unchanged = new AtomicInteger();
+    AtomicInteger failed = new AtomicInteger();
+
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (SpeechTask task : tasks) {
+      futures.add(
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  semaphore.acquire();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  failed.incrementAndGet();
+                  return;
+                }
+                try {
+                  if (generateForSlide(task, style, forceRegenerate)) {
+                    generated.incrementAndGet();
+                  } else {
+                    unchanged.incrementAndGet();
+                  }
+                } catch (Exception e) {
+                  log.error("Failed to generate speech for slide {}", task.slideNumber(), e);
+                  failed.incrementAndGet();
+                } finally {
+                  semaphore.release();
+                }
+
+                int done = generated.get() + unchanged.get();
+                analysisStatusService.updateProgress(
+                    analysisId,
+                    tasks.size(),
+                    done,
+                    failed.get(),
+                    String.format(
+                        "Speech ready for %d of %d slides (Generated: %d, Unchanged: %d, Failed:"
+                            + " %d)",
+                        done, tasks.size(), generated.get(), unchanged.get(), failed.get()));
+              },
+              virtualThreadExecutor));
+    }
+
+    // Slides run in parallel, so the whole batch gets a few slides' worth of time
+    long timeoutSeconds =
+        (long) timeoutPerSlideSeconds
+            * Math.max(1, (tasks.size() + maxConcurrentSlides - 1) / maxConcurrentSlides);
+    try {
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+          .get(timeoutSeconds, TimeUnit.SECONDS);
+    } catch (TimeoutException e) {
+      log.error("Batch speech generation timed out after {} seconds", timeoutSeconds);
+      futures.forEach(f -> f.cancel(true));
+    } catch (Exception e) {
+      log.error("Error waiting for batch speech generation", e);
+    }
+
+    int unfinished = tasks.size() - generated.get() - unchanged.get() - failed.get();
+    return new BatchResult(generated.get(), unchanged.get(), failed.get() + unfinished);
+  }
+
+  /**
+   * Generates and post-processes the speech of one slide.
+   *
+   * @return true if new speech was generated, false if the slide's speech was still current
+   */
+  private boolean generateForSlide(SpeechTask task, String style, boolean forceRegenerate) {
+    UUID previousSpeechId =
+        slideSpeechRepository.findAllActiveBySlideIdOrderByCreatedAtDesc(task.slideId()).stream()
+            .findFirst()
+            .map(SlideSpeech::getId)
+            .orElse(null);
+
+    SlideSpeech speech =
+        textToSpeechService.generateSpeech(task.narrativeId(), style, forceRegenerate);
+    // Already processed speeches are left as they are
+    speechAudioPostProcessor.processSpeechIfEnabled(speech.getId());
+
+    boolean regenerated = !speech.getId().equals(previousSpeechId);
+    log.debug(
+        "Slide {} speech {} ({})",
+        task.slideNumber(),
+        speech.getId(),
+        regenerated ? "generated" : "unchanged");
+    return regenerated;
+  }
+
+  /** Gets the slides with active narratives to process, in slide order. */
+  private List<SpeechTask> getSpeechTasks(UUID presentationId, BatchSpeechRequest request) {
+    List<Slide> slides = slideRepository.findByPresentationIdOrderBySlideNumber(presentationId);
+    if (request.getSelectedSlideIds() != null && !request.getSelectedSlideIds().isEmpty()) {
+      Set<UUID> selectedIds = new HashSet<>(request.getSelectedSlideIds());
+      slides = slides.stream().filter(slide -> selectedIds.contains(slide.getId())).toList();
+    }
+    if (slides.isEmpty()) {
+      return List.of();
+    }
+
+    Map<UUID, UUID> narrativeBySlide =
+        slideNarrativeRepository
+            .findActiveNarrativesBySlideIdIn(slides.stream().map(Slide::getId).toList())
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    narrative -> narrative.getSlide().getId(),
+                    SlideNarrative::getId,
+                    (first, second) -> first));
+
+    return slides.stream()
+        .filter(slide -> narrativeBySlide.containsKey(slide.getId()))
+        .map(
+            slide ->
+                new SpeechTask(
+                    slide.getId(), slide.getSlideNumber(), narrativeBySlide.get(slide.getId())))
+        .toList();
+  }
+
+  private String resolveStyle(UUID presentationId, BatchSpeechRequest request) {
+    if (request.getNarrativeStyle() != null && !request.getNarrativeStyle().isBlank()) {
+      return request.getNarrativeStyle();
+    }
+    return presentationRepository
+        .findById(presentationId)
+        .map(Presentation::getNarrativeStyle)
+        .filter(style -> !style.isBlank())
+        .orElse("business");
+  }
+}
@@ -0,0 +1,128 @@
+package ai.bluefields.ppt2video.service.ai;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Limits text-to-speech requests to ElevenLabs. The API allows a fixed number of concurrent
+ * requests per subscription and answers further requests with 429, so requests beyond the limit
+ * wait for a free slot here instead. A 429 that still happens, e.g. because another client uses the
+ * same key, pauses all requests for a backoff period and the request is retried.
+ */
+@Component
+@Slf4j
+public class ElevenLabsRateLimiter {
+
+  @Value("${app.elevenlabs.rate-limit.max-concurrent-requests:3}")
+  private int maxConcurrentRequests;
+
+  @Value("${app.elevenlabs.rate-limit.max-retries:4}")
+  private int maxRetries;
+
+  @Value("${app.elevenlabs.rate-limit.initial-backoff-ms:1000}")
+  private long initialBackoffMs;
+
+  @Value("${app.elevenlabs.rate-limit.max-backoff-ms:30000}")
+  private long maxBackoffMs;
+
+  private Semaphore permits;
+
+  // Requests don't start before this time (epoch millis) after a 429
+  private final AtomicLong pausedUntil = new AtomicLong();
+
+  /** A request to ElevenLabs. */
+  @FunctionalInterface
+  public interface ElevenLabsCall<T> {
+    T call() throws IOException;
+  }
+
+  /** Thrown by the ElevenLabs clients when a request was rejected with 429. */
+  public static class RateLimitedException extends IOException {
+    private final Duration retryAfter;
+
+    public RateLimitedException(String message, Duration retryAfter) {
+      super(message);
+      this.retryAfter = retryAfter;
+    }
+
+    /** Wait time requested by the API, or null if it didn't send one. */
+    public Duration getRetryAfter() {
+      return retryAfter;
+    }
+  }
+
+  @PostConstruct
+  void initialize() {
+    permits = new Semaphore(Math.max(1, maxConcurrentRequests), true);
+    log.info("ElevenLabs requests limited to {} at once", Math.max(1, maxConcurrentRequests));
+  }
+
+  /**
+   * Run a request once a slot is free, retrying it when it is rate limited.
+   *
+   * @param name short description of the request for logs
+   * @param call the request
+   * @return the request's result
+   * @throws IOException if the request fails, or is still rate limited after all retries
+   */
+  public <T> T execute(String name, ElevenLabsCall<T> call) throws IOException {
+    long backoffMs = initialBackoffMs;
+    for (int attempt = 1; ; attempt++) {
+      acquire();
+      try {
+        awaitPause();
+        return call.call();
+      } catch (RateLimitedException e) {
+        if (attempt > maxRetries) {
+          throw e;
+        }
+        long waitMs =
+            e.getRetryAfter() != null
+                ? e.getRetryAfter().toMillis()
+                : backoffMs + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+        pausedUntil.accumulateAndGet(System.currentTimeMillis() + waitMs, Math::max);
+        log.warn(
+            "ElevenLabs rate limited {} (attempt {}/{}), pausing requests for {} ms",
+            name,
+            attempt,
+            maxRetries + 1,
+            waitMs);
+        backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+      } finally {
+        permits.release();
+      }
+    }
+  }
+
+  public int getMaxConcurrentRequests() {
+    return Math.max(1, maxConcurrentRequests);
+  }
+
+  private void acquire() throws IOException {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for an ElevenLabs request slot", e);
+    }
+  }
+
+  private void awaitPause() throws IOException {
+    long waitMs;
+    while ((waitMs = pausedUntil.get() - System.currentTimeMillis()) > 0) {
+      try {
+        Thread.sleep(waitMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting for ElevenLabs rate limit", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package ai.bluefields.ppt2video.service.ai;
+
+import ai.bluefields.ppt2video.model.SpeechAlignment;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Client for the ElevenLabs streaming text-to-speech endpoint with timestamps. The response is a
+ * stream of JSON chunks; audio is base64-decoded straight into the target file as each chunk
+ * arrives and alignment is read with a streaming parser into primitive arrays, so memory use does
+ * not grow with the length of the narrative.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ElevenLabsStreamingClient {
+
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+
+  @Value("${app.elevenlabs.api-key}")
+  private String apiKey;
+
+  @Value("${app.elevenlabs.api-url:https://api.elevenlabs.io/v1}")
+  private String apiUrl;
+
+  @Value("${app.elevenlabs.output-format:mp3_44100_128}")
+  private String outputFormat;
+
+  @Value("${app.elevenlabs.streaming.timeout-seconds:120}")
+  private int timeoutSeconds;
+
+  /**
+   * Stream speech for a request body into a file.
+   *
+   * @param voiceId the ElevenLabs voice ID
+   * @param requestBody the JSON request body (text, model and voice settings)
+   * @param requestId optional request ID for request stitching
+   * @param target the audio file to write
+   * @return character alignment of the generated speech
+   * @throws IOException if the request fails or the audio cannot be written
+   */
+  public SpeechAlignment streamToFile(
+      String voiceId, String requestBody, String requestId, Path target) throws IOException {
+    String url =
+        apiUrl
+            + "/text-to-speech/"
+            + voiceId
+            + "/stream/with-timestamps?output_format="
+            + URLEncoder.encode(outputFormat, StandardCharsets.UTF_8);
+
+    HttpRequest.Builder requestBuilder =
+        HttpRequest.newBuilder()
+            .uri(URI.create(url))
+            .header("xi-api-key", apiKey)
+            .header("Content-Type", "application/json")
+            .timeout(Duration.ofSeconds(timeoutSeconds))
+            .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8));
+    if (requestId != null) {
+      requestBuilder.header("xi-request-id", requestId);
+    }
+
+    HttpResponse<InputStream> response;
+    try {
+      response = httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("ElevenLabs streaming request interrupted", e);
+    }
+
+    if (response.statusCode() != 200) {
+      String error;
+      try (InputStream body = response.body()) {
+        error = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+      }
+      if (response.statusCode() == 429) {
+        throw new ElevenLabsRateLimiter.RateLimitedException(
+            "ElevenLabs API rate limit: " + error,
+            response.headers().firstValueAsLong("Retry-After").stream()
+                .mapToObj(Duration::ofSeconds)
+                .findFirst()
+                .orElse(null));
+      }
+      log.error("ElevenLabs streaming API error: {} - {}", response.statusCode(), error);
+      throw new IOException("ElevenLabs API error: " + response.statusCode() + " " + error);
+    }
+
+    // Write to a partial file first so a failed stream never leaves a truncated audio file behind
+    Path partial = target.resolveSibling(target.getFileName() + ".part");
+    ChunkedAlignment alignment = new ChunkedAlignment();
+    ChunkedAlignment normalizedAlignment = new ChunkedAlignment();
+    long audioBytes = 0;
+    int chunks = 0;
+
+    try (InputStream body = response.body();
+        JsonParser parser = objectMapper.getFactory().createParser(body);
+        OutputStream out = Files.newOutputStream(partial)) {
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        audioBytes += readChunk(parser, out, alignment, normalizedAlignment);
+        chunks++;
+      }
+    } catch (IOException e) {
+      Files.deleteIfExists(partial);
+      throw e;
+    }
+
+    Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+
+    SpeechAlignment result =
+        normalizedAlignment.size() > 0 ? normalizedAlignment.build() : alignment.build();
+    if (result.isEmpty()) {
+      log.warn("No alignment data found in ElevenLabs stream");
+    }
+    log.info(
+        "Streamed {} audio bytes in {} chunks to {} ({} aligned characters, {} seconds)",
+        audioBytes,
+        chunks,
+        target,
+        result.size(),
+        result.getDurationSeconds());
+    return result;
+  }
+
+  /** Read one stream chunk, writing its audio and collecting its alignment. */
+  private long readChunk(
+      JsonParser parser,
+      OutputStream out,
+      ChunkedAlignment alignment,
+      ChunkedAlignment normalizedAlignment)
+      throws IOException {
+    long written = 0;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if (value == JsonToken.VALUE_NULL) {
+        continue;
+      }
+      switch (field) {
+        case "audio_base64" ->
+            written += parser.readBinaryValue(Base64Variants.MIME_NO_LINEFEEDS, out);
+        case "alignment" -> alignment.readChunk(parser);
+        case "normalized_alignment" -> normalizedAlignment.readChunk(parser);
+        default -> parser.skipChildren();
+      }
+    }
+    return written;
+  }
+
+  /**
+   * Accumulates alignment across chunks. The endpoint reports character times from the start of the
+   * whole generated audio, not of the chunk, so they are appended as they are.
+   */
+  private static final class ChunkedAlignment {
+    private final SpeechAlignment.Builder builder = SpeechAlignment.builder();
+    private final List<String> chunkCharacters = new ArrayList<>();
+    private float[] chunkStarts = new float[64];
+    private float[] chunkEnds = new float[64];
+
+    int size() {
+      return builder.size();
+    }
+
+    SpeechAlignment build() {
+      return builder.build();
+    }
+
+    void readChunk(JsonParser parser) throws IOException {
+      chunkCharacters.clear();
+      int starts = 0;
+      int ends = 0;
+
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String field = parser.currentName();
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+          parser.skipChildren();
+          continue;
+        }
+        switch (field) {
+          case "characters" -> {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+              chunkCharacters.add(parser.getText());
+            }
+          }
+          case "character_start_times_seconds" -> {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+              chunkStarts = ensureCapacity(chunkStarts, starts);
+              chunkStarts[starts++] = parser.getFloatValue();
+            }
+          }
+          case "character_end_times_seconds" -> {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+              chunkEnds = ensureCapacity(chunkEnds, ends);
+              chunkEnds[ends++] = parser.getFloatValue();
+            }
+          }
+          default -> parser.skipChildren();
+        }
+      }
+
+      int size = Math.min(chunkCharacters.size(), Math.min(starts, ends));
+      if (size == 0) {
+        return;
+      }
+      for (int i = 0; i < size; i++) {
+        builder.add(chunkCharacters.get(i), chunkStarts[i], chunkEnds[i]);
+      }
+    }
+
+    private static float[] ensureCapacity(float[] array, int index) {
+      return index < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+  }
+}
@@ -0,0 +1,400 @@
+package ai.bluefields.ppt2video.service.ai;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming reader for JSON produced by language models. Callers pull fields straight into their
+ * own DTOs while the parser walks the tokens once, without building a tree or map.
+ *
+ * <p>Responses cut off mid-stream (token limits, dropped connections) are tolerated: reading stops
+ * at the point of truncation, fields completed before it are kept and {@link #isTruncated()}
+ * reports the condition. Nested structures copied with {@link #readRawJson()} are closed off so the
+ * stored JSON stays valid. Leading text before the first brace or bracket (such as a markdown code
+ * fence) is skipped, and comments and trailing commas are accepted.
+ */
+public final class LlmJsonReader implements AutoCloseable {
+
+  private final JsonFactory factory;
+  private final CountingReader input;
+  private final JsonParser parser;
+  private boolean truncated;
+
+  private LlmJsonReader(JsonFactory factory, Reader reader) throws IOException {
+    this.factory = factory;
+    this.input = new CountingReader(reader);
+    this.parser = factory.createParser(input);
+    parser.enable(JsonParser.Feature.ALLOW_COMMENTS);
+    parser.enable(JsonReadFeature.ALLOW_TRAILING_COMMA.mappedFeature());
+  }
+
+  /**
+   * Create a reader over a complete response.
+   *
+   * @param factory the JSON factory (usually {@code objectMapper.getFactory()})
+   * @param json the response text
+   * @return a new reader
+   * @throws IOException if the parser cannot be created
+   */
+  public static LlmJsonReader forString(JsonFactory factory, String json) throws IOException {
+    String text = json != null ? json : "";
+    int start = indexOfJsonStart(text);
+    return new LlmJsonReader(
+        factory,
+        new StringReader(start > 0 ? text.substring(start) : text.isEmpty() ? "{}" : text));
+  }
+
+  /**
+   * Check whether the input ended before the JSON was complete.
+   *
+   * @return true if the response was truncated
+   */
+  public boolean isTruncated() {
+    return truncated;
+  }
+
+  /**
+   * Read an object field by field. Works on the root value or, inside a handler, on the current
+   * value. The handler is called with the parser positioned on each field's value and must consume
+   * it with one of the {@code read*} methods or {@link #skipValue()}. Non-object values are
+   * skipped.
+   *
+   * @param handler called once per field
+   * @throws IOException if the JSON is malformed (truncation is not an error)
+   */
+  public void readObject(FieldHandler handler) throws IOException {
+    if (!advanceToValue() || parser.currentToken() != JsonToken.START_OBJECT) {
+      skipValue();
+      return;
+    }
+    try {
+      while (!truncated) {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+          truncated = true;
+        } else if (token == JsonToken.END_OBJECT) {
+          return;
+        } else {
+          String name = parser.currentName();
+          parser.nextToken();
+          handler.onField(name);
+        }
+      }
+    } catch (JsonParseException e) {
+      onParseFailure(e);
+    }
+  }
+
+  /**
+   * Read an array element by element. The handler is called with the parser positioned on each
+   * element and must consume it. Non-array values are skipped.
+   *
+   * @param handler called once per element
+   * @throws IOException if the JSON is malformed (truncation is not an error)
+   */
+  public void readArray(ElementHandler handler) throws IOException {
+    if (!advanceToValue() || parser.currentToken() != JsonToken.START_ARRAY) {
+      skipValue();
+      return;
+    }
+    try {
+      int index = 0;
+      while (!truncated) {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+          truncated = true;
+        } else if (token == JsonToken.END_ARRAY) {
+          return;
+        } else {
+          handler.onElement(index++);
+        }
+      }
+    } catch (JsonParseException e) {
+      onParseFailure(e);
+    }
+  }
+
+  /**
+   * Read the current value as text. Scalars are returned as their text, structures as JSON.
+   *
+   * @return the text, or null for JSON null or a value cut off by truncation
+   * @throws IOException if the JSON is malformed
+   */
+  public String readText() throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+      return readRawJson();
+    }
+    if (token == null || token == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    try {
+      return parser.getText();
+    } catch (JsonParseException e) {
+      onParseFailure(e);
+      return null;
+    }
+  }
+
+  /**
+   * Read the current value as an integer, truncating fractional numbers and parsing numeric text.
+   *
+   * @return the value, or null if it is not numeric
+   * @throws IOException if the JSON is malformed
+   */
+  public Integer readInteger() throws IOException {
+    JsonToken token = parser.currentToken();
+    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+      return parser.getNumberValue().intValue();
+    }
+    String text = readText();
+    if (text == null) {
+      return null;
+    }
+    try {
+      return (int) Double.parseDouble(text.trim());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Read the current value as a list of strings.
+   *
+   * @return the strings read before the array ended or was truncated, or null if the value is not
+   *     an array
+   * @throws IOException if the JSON is malformed
+   */
+  public List<String> readStringList() throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      skipValue();
+      return null;
+    }
+    List<String> values = new ArrayList<>();
+    readArray(
+        index -> {
+          String value = readText();
+          if (value != null) {
+            values.add(value);
+          }
+        });
+    return values;
+  }
+
+  /**
+   * Copy the current value as compact JSON text. If the input ends inside the value, the copy is
+   * closed at the last complete token so it is still valid JSON.
+   *
+   * @return the JSON text, or null for JSON null
+   * @throws IOException if the JSON is malformed
+   */
+  public String readRawJson() throws IOException {
+    if (parser.currentToken() == null || parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    StringWriter out = new StringWriter();
+    JsonGenerator generator = factory.createGenerator(out);
+    generator.enable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+    try {
+      copyValue(generator);
+    } catch (JsonParseException e) {
+      onParseFailure(e);
+    }
+    // Closing writes the end markers of any structure left open by truncation
+    generator.close();
+    String json = out.toString();
+    return json.isEmpty() ? null : json;
+  }
+
+  /**
+   * Skip the current value including any nested content.
+   *
+   * @throws IOException if the JSON is malformed
+   */
+  public void skipValue() throws IOException {
+    try {
+      parser.skipChildren();
+    } catch (JsonParseException e) {
+      onParseFailure(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  /**
+   * Treat a parse failure at the very end of the input as truncation; anything else is malformed
+   * JSON. Truncation inside a number or literal surfaces as a plain parse error rather than an
+   * end-of-input error, hence the position check.
+   */
+  private void onParseFailure(JsonParseException e) throws JsonParseException {
+    boolean atEnd =
+        e instanceof JsonEOFException
+            || (input.reachedEnd()
+                && parser.currentLocation().getCharOffset() >= input.count() - 1);
+    if (!atEnd) {
+      throw e;
+    }
+    truncated = true;
+  }
+
+  /** Move to the root value on first use; inside handlers the parser is already positioned. */
+  private boolean advanceToValue() throws IOException {
+    if (parser.currentToken() != null) {
+      return true;
+    }
+    try {
+      if (parser.nextToken() == null) {
+        truncated = true;
+        return false;
+      }
+      return true;
+    } catch (JsonParseException e) {
+      onParseFailure(e);
+      return false;
+    }
+  }
+
+  /**
+   * Copy the current value token by token. Field names are held back until their value has been
+   * read, so a truncated value never leaves a dangling name in the output.
+   */
+  private void copyValue(JsonGenerator generator) throws IOException {
+    String pendingName = null;
+    int depth = 0;
+    JsonToken token = parser.currentToken();
+    while (token != null) {
+      switch (token) {
+        case FIELD_NAME -> pendingName = parser.currentName();
+        case START_OBJECT, START_ARRAY -> {
+          writePendingName(generator, pendingName);
+          pendingName = null;
+          if (token == JsonToken.START_OBJECT) {
+            generator.writeStartObject();
+          } else {
+            generator.writeStartArray();
+          }
+          depth++;
+        }
+        case END_OBJECT -> {
+          generator.writeEndObject();
+          depth--;
+        }
+        case END_ARRAY -> {
+          generator.writeEndArray();
+          depth--;
+        }
+        case VALUE_STRING -> {
+          String text = parser.getText();
+          writePendingName(generator, pendingName);
+          pendingName = null;
+          generator.writeString(text);
+        }
+        default -> {
+          writePendingName(generator, pendingName);
+          pendingName = null;
+          generator.copyCurrentEvent(parser);
+        }
+      }
+      if (depth == 0) {
+        return;
+      }
+      token = parser.nextToken();
+    }
+    truncated = true;
+  }
+
+  private static void writePendingName(JsonGenerator generator, String name) throws IOException {
+    if (name != null) {
+      generator.writeFieldName(name);
+    }
+  }
+
+  private static int indexOfJsonStart(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '{' || c == '[') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Reader that records how many characters were consumed and whether the end was reached. */
+  private static final class CountingReader extends FilterReader {
+    private long count;
+    private boolean reachedEnd;
+
+    CountingReader(Reader in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int c = super.read();
+      if (c == -1) {
+        reachedEnd = true;
+      } else {
+        count++;
+      }
+      return c;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+      int n = super.read(buffer, offset, length);
+      if (n == -1) {
+        reachedEnd = true;
+      } else {
+        count += n;
+      }
+      return n;
+    }
+
+    long count() {
+      return count;
+    }
+
+    boolean reachedEnd() {
+      return reachedEnd;
+    }
+  }
+
+  /** Receives the fields of an object. */
+  @FunctionalInterface
+  public interface FieldHandler {
+    /**
+     * Consume one field value.
+     *
+     * @param name the field name
+     * @throws IOException if reading fails
+     */
+    void onField(String name) throws IOException;
+  }
+
+  /** Receives the elements of an array. */
+  @FunctionalInterface
+  public interface ElementHandler {
+    /**
+     * Consume one element.
+     *
+     * @param index the element index
+     * @throws IOException if reading fails
+     */
+    void onElement(int index) throws IOException;
+  }
+}
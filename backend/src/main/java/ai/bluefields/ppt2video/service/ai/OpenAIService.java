@@ -4,6 +4,7 @@ import ai.bluefields.ppt2video.service.FileStorageService;
 import ai.bluefields.ppt2video.utils.ImageUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
@@ -21,10 +22,13 @@ import org.springframework.core.io.ByteArrayResource;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
 
 /**
  * Service for interacting with OpenAI API through Spring AI framework. Handles chat completions and
- * multimodal (vision) requests with retry logic.
+ * multimodal (vision) requests with retry logic. Text completions are also available as token
+ * streams for callers that show partial results while the model is still generating.
  */
 @Slf4j
 @Service
@@ -334,11 +338,7 @@ public class OpenAIService {
         serviceName != null ? serviceName : "unknown",
         presentationId);
 
-    String enhancedSystemPrompt =
-        systemPrompt
-            + "\n\nYou must respond with ONLY valid JSON that matches this format. "
-            + "Do not include any markdown formatting, code blocks, or explanations:\n"
-            + responseFormat;
+    String enhancedSystemPrompt = withJsonFormatInstruction(systemPrompt, responseFormat);
 
     try {
       return retryTemplate.execute(
@@ -422,11 +422,7 @@ public class OpenAIService {
         "Generating JSON completion with expected format: {}",
         responseFormat.substring(0, Math.min(responseFormat.length(), 100)) + "...");
 
-    String enhancedSystemPrompt =
-        systemPrompt
-            + "\n\nYou must respond with ONLY valid JSON that matches this format. "
-            + "Do not include any markdown formatting, code blocks, or explanations:\n"
-            + responseFormat;
+    String enhancedSystemPrompt = withJsonFormatInstruction(systemPrompt, responseFormat);
 
     String response =
         generateChatCompletion(enhancedSystemPrompt, userPrompt, serviceName, presentationId);
@@ -438,6 +434,100 @@ public class OpenAIService {
     return cleanedResponse;
   }
 
+  /**
+   * Stream a chat completion from OpenAI as it is generated. Nothing is sent until the returned
+   * Flux is subscribed. Failures before the first chunk are retried like blocking completions; once
+   * text has been emitted, errors are passed to the subscriber.
+   *
+   * @param systemPrompt The system prompt to set context
+   * @param userPrompt The user prompt with the actual request
+   * @param serviceName The name of the service calling this method (for logging)
+   * @param presentationId The presentation ID for organizing logs (optional)
+   * @return A Flux of response text chunks in generation order
+   */
+  public Flux<String> streamChatCompletion(
+      String systemPrompt, String userPrompt, String serviceName, UUID presentationId) {
+    return Flux.defer(
+        () -> {
+          long startTime = System.currentTimeMillis();
+          StringBuilder response = new StringBuilder();
+          log.info(
+              "[TEXT MODEL STREAM REQUEST] Service: {}, PresentationId: {}",
+              serviceName != null ? serviceName : "unknown",
+              presentationId);
+
+          return textChatClient.prompt().system(systemPrompt).user(userPrompt).stream()
+              .content()
+              .filter(chunk -> !chunk.isEmpty())
+              .doOnNext(response::append)
+              .retryWhen(
+                  Retry.fixedDelay(Math.max(0, retryAttempts - 1), Duration.ofMillis(retryDelayMs))
+                      .filter(e -> response.isEmpty())
+                      .doBeforeRetry(
+                          signal ->
+                              log.debug(
+                                  "Retry attempt {} for chat completion stream",
+                                  signal.totalRetries() + 1)))
+              .doOnComplete(
+                  () -> {
+                    log.info(
+                        "[TEXT MODEL - GPT-5] Stream completed - Response length: {} chars, Duration: {} ms",
+                        response.length(),
+                        System.currentTimeMillis() - startTime);
+                    if (shouldSavePrompts(serviceName)) {
+                      savePromptAndResponse(
+                          serviceName,
+                          presentationId,
+                          "chat-stream",
+                          systemPrompt,
+                          userPrompt,
+                          null,
+                          response.toString());
+                    }
+                  })
+              .doOnError(
+                  e ->
+                      log.error(
+                          "Failed to stream chat completion after {} ms ({} chars received)",
+                          System.currentTimeMillis() - startTime,
+                          response.length(),
+                          e));
+        });
+  }
+
+  /**
+   * Stream structured JSON output from OpenAI as it is generated. Chunks are passed on unmodified;
+   * the assembled text may carry formatting such as code fences and should be read with {@link
+   * LlmJsonReader}.
+   *
+   * @param systemPrompt The system prompt to set context
+   * @param userPrompt The user prompt with the actual request
+   * @param responseFormat The expected JSON structure format
+   * @param serviceName The name of the service calling this method (for logging)
+   * @param presentationId The presentation ID for organizing logs (optional)
+   * @return A Flux of response text chunks in generation order
+   */
+  public Flux<String> streamJsonCompletion(
+      String systemPrompt,
+      String userPrompt,
+      String responseFormat,
+      String serviceName,
+      UUID presentationId) {
+    return streamChatCompletion(
+        withJsonFormatInstruction(systemPrompt, responseFormat),
+        userPrompt,
+        serviceName,
+        presentationId);
+  }
+
+  /** Append the JSON-only response instruction and the expected format to a system prompt. */
+  private String withJsonFormatInstruction(String systemPrompt, String responseFormat) {
+    return systemPrompt
+        + "\n\nYou must respond with ONLY valid JSON that matches this format. "
+        + "Do not include any markdown formatting, code blocks, or explanations:\n"
+        + responseFormat;
+  }
+
   /**
    * Clean up JSON response from AI to handle common formatting issues.
    *
@@ -523,11 +613,7 @@ public class OpenAIService {
       String responseFormat,
       String serviceName,
       UUID presentationId) {
-    String enhancedSystemPrompt =
-        systemPrompt
-            + "\n\nYou must respond with ONLY valid JSON that matches this format. "
-            + "Do not include any markdown formatting, code blocks, or explanations:\n"
-            + responseFormat;
+    String enhancedSystemPrompt = withJsonFormatInstruction(systemPrompt, responseFormat);
 
     String response =
         generateVisionCompletion(
@@ -0,0 +1,133 @@
+package ai.bluefields.ppt2video.service.ai;
+
+/**
+ * Incrementally decodes one string field of a JSON document while the document is still being
+ * streamed. Chunks are fed as they arrive and each call returns the characters of the field value
+ * that became available, so a UI can show text before the model has finished the response.
+ *
+ * <p>The first occurrence of the field name is used; this suits LLM responses where the field is a
+ * top-level string. Escape sequences split across chunks are held back until complete. Instances
+ * are not thread-safe.
+ */
+public final class StreamingJsonStringExtractor {
+
+  private enum State {
+    SEEK_FIELD,
+    SEEK_VALUE,
+    IN_VALUE,
+    DONE
+  }
+
+  private final String quotedField;
+  private final StringBuilder buffer = new StringBuilder();
+  private final StringBuilder value = new StringBuilder();
+  private State state = State.SEEK_FIELD;
+  private int position;
+
+  /**
+   * Create an extractor for the given field.
+   *
+   * @param fieldName the name of the string field to decode
+   */
+  public StreamingJsonStringExtractor(String fieldName) {
+    this.quotedField = "\"" + fieldName + "\"";
+  }
+
+  /**
+   * Feed the next chunk of the response.
+   *
+   * @param chunk the chunk as received
+   * @return the newly decoded characters of the field value, empty if none
+   */
+  public String feed(String chunk) {
+    if (chunk == null || chunk.isEmpty() || state == State.DONE) {
+      return "";
+    }
+    buffer.append(chunk);
+    int before = value.length();
+
+    while (position < buffer.length() && state != State.DONE) {
+      if (state == State.SEEK_FIELD) {
+        int index = buffer.indexOf(quotedField, position);
+        if (index < 0) {
+          // Keep enough of the tail to match a field name split across chunks
+          position = Math.max(position, buffer.length() - quotedField.length() + 1);
+          break;
+        }
+        position = index + quotedField.length();
+        state = State.SEEK_VALUE;
+      } else if (state == State.SEEK_VALUE) {
+        char c = buffer.charAt(position++);
+        if (c == '"') {
+          state = State.IN_VALUE;
+        } else if (c != ':' && !Character.isWhitespace(c)) {
+          // Not a string value; look for a later occurrence
+          state = State.SEEK_FIELD;
+        }
+      } else if (!decodeNext()) {
+        break;
+      }
+    }
+    return value.substring(before);
+  }
+
+  /**
+   * Get the field value decoded so far.
+   *
+   * @return the decoded value
+   */
+  public String getValue() {
+    return value.toString();
+  }
+
+  /**
+   * Check whether the closing quote of the value has been read.
+   *
+   * @return true if the value is complete
+   */
+  public boolean isComplete() {
+    return state == State.DONE;
+  }
+
+  /** Decode one character or escape sequence; returns false if more input is needed. */
+  private boolean decodeNext() {
+    char c = buffer.charAt(position);
+    if (c == '"') {
+      position++;
+      state = State.DONE;
+      return true;
+    }
+    if (c != '\\') {
+      value.append(c);
+      position++;
+      return true;
+    }
+    if (position + 1 >= buffer.length()) {
+      return false;
+    }
+    char escaped = buffer.charAt(position + 1);
+    if (escaped == 'u') {
+      if (position + 6 > buffer.length()) {
+        return false;
+      }
+      try {
+        value.append((char) Integer.parseInt(buffer.substring(position + 2, position + 6), 16));
+      } catch (NumberFormatException e) {
+        value.append(buffer, position, position + 6);
+      }
+      position += 6;
+      return true;
+    }
+    value.append(
+        switch (escaped) {
+          case 'n' -> '\n';
+          case 't' -> '\t';
+          case 'r' -> '\r';
+          case 'b' -> '\b';
+          case 'f' -> '\f';
+          default -> escaped; // \" \\ \/
+        });
+    position += 2;
+    return true;
+  }
+}
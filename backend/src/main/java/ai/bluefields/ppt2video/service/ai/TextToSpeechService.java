@@ -4,6 +4,7 @@ import ai.bluefields.ppt2video.entity.AssetType;
 import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.entity.SlideNarrative;
 import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.model.SpeechAlignment;
 import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
 import ai.bluefields.ppt2video.repository.SlideRepository;
 import ai.bluefields.ppt2video.repository.SlideSpeechRepository;
@@ -17,6 +18,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +46,9 @@ public class TextToSpeechService {
   private final SlideRepository slideRepository;
   private final TransitionRedundancyChecker redundancyChecker;
   private final R2AssetService r2AssetService;
+  private final ElevenLabsStreamingClient streamingClient;
+  private final ElevenLabsRateLimiter rateLimiter;
+  private final TtsAudioCache ttsAudioCache;
 
   @Value("${app.elevenlabs.api-key}")
   private String apiKey;
@@ -81,6 +86,9 @@ public class TextToSpeechService {
   @Value("${app.elevenlabs.output-format:mp3_44100_128}")
   private String outputFormat;
 
+  @Value("${app.elevenlabs.streaming.enabled:false}")
+  private boolean streamingEnabled;
+
   /**
    * Generates speech for a slide narrative with timestamps.
    *
@@ -121,6 +129,35 @@ public class TextToSpeechService {
       return activeSpeechForNarrative.get();
     }
 
+    // Select voice based on style
+    String voiceId = selectVoiceForStyle(narrativeStyle);
+
+    // Prepare the text with transition phrase if present
+    TransitionResult transitionResult = prepareTextWithTransitionAndTrack(narrative);
+    String textForTTS = transitionResult.text;
+    String requestBody = buildRequestBody(textForTTS).toString();
+    String requestHash = TtsAudioCache.key(voiceId, outputFormat, requestBody);
+
+    // A new narrative version that sends the same request keeps the slide's current speech
+    if (!forceRegenerate) {
+      Optional<SlideSpeech> unchanged =
+          findUnchangedSpeech(narrative.getSlide().getId(), requestHash);
+      if (unchanged.isPresent()) {
+        log.info(
+            "TTS request unchanged for slide {}, reusing speech {} for narrative {}",
+            narrative.getSlide().getSlideNumber(),
+            unchanged.get().getId(),
+            narrativeId);
+        SlideSpeech speech = unchanged.get();
+        speech.setSlideNarrative(narrative);
+        if (speech.getDurationSeconds() != null) {
+          narrative.setDurationSeconds((int) Math.ceil(speech.getDurationSeconds()));
+          slideNarrativeRepository.save(narrative);
+        }
+        return slideSpeechRepository.save(speech);
+      }
+    }
+
     // IMPORTANT: Deactivate ALL active speeches for this SLIDE (not just this narrative)
     // This handles the case where a new narrative was generated and we're creating speech for it
     List<SlideSpeech> allActiveSpeeches =
@@ -145,23 +182,27 @@ public class TextToSpeechService {
     }
 
     try {
-      // Select voice based on style
-      String voiceId = selectVoiceForStyle(narrativeStyle);
-
-      // Prepare the text with transition phrase if present
-      TransitionResult transitionResult = prepareTextWithTransitionAndTrack(narrative);
-      String textForTTS = transitionResult.text;
-
       // Prepare the request
       String requestId = enableRequestStitching ? UUID.randomUUID().toString() : null;
-      TTSResponse response = callElevenLabsAPI(textForTTS, voiceId, requestId);
-
-      // Store the audio file
-      String audioPath =
-          storeAudioFile(
-              narrative.getSlide().getPresentation().getId(),
-              narrative.getSlide().getId(),
-              response.getAudioData());
+      Path audioFile =
+          resolveAudioPath(
+              narrative.getSlide().getPresentation().getId(), narrative.getSlide().getId());
+
+      // Identical requests reuse earlier speech from any slide or presentation; forcing
+      // regeneration asks for a new take, which then replaces the cached one
+      TtsAudioCache.CachedSpeech cachedSpeech =
+          ttsAudioCache.getOrGenerate(
+              requestHash,
+              audioFile,
+              forceRegenerate,
+              () ->
+                  rateLimiter.execute(
+                      "speech for slide " + narrative.getSlide().getSlideNumber(),
+                      () -> requestSpeech(textForTTS, requestBody, voiceId, requestId, audioFile)));
+      SpeechAlignment alignment = cachedSpeech.alignment();
+      String audioPath = audioFile.toAbsolutePath().toString();
+      double durationSeconds = alignment.getDurationSeconds();
+      log.debug("Stored audio file at: {}", audioPath);
 
       // Create and save SlideSpeech entity
       SlideSpeech slideSpeech = new SlideSpeech();
@@ -172,16 +213,17 @@ public class TextToSpeechService {
       slideSpeech.setVoiceId(voiceId);
       slideSpeech.setVoiceStyle(narrativeStyle);
       slideSpeech.setModelUsed(defaultModel);
-      slideSpeech.setDurationSeconds(response.getDurationSeconds());
-      slideSpeech.setTimingData(objectMapper.writeValueAsString(response.getTimestamps()));
-      slideSpeech.setRequestId(requestId);
+      slideSpeech.setDurationSeconds(durationSeconds);
+      slideSpeech.setAlignment(alignment);
+      slideSpeech.setRequestId(cachedSpeech.cacheHit() ? null : requestId);
       slideSpeech.setOutputFormat(outputFormat);
       slideSpeech.setIsActive(true); // Explicitly set as active
       slideSpeech.setTransitionIncluded(transitionResult.included);
       slideSpeech.setTransitionSkippedReason(transitionResult.skipReason);
+      slideSpeech.setRequestHash(requestHash);
 
       // Update the narrative's duration with the actual TTS duration
-      narrative.setDurationSeconds((int) Math.ceil(response.getDurationSeconds()));
+      narrative.setDurationSeconds((int) Math.ceil(durationSeconds));
       slideNarrativeRepository.save(narrative);
 
       // Add generation metadata
@@ -190,7 +232,9 @@ public class TextToSpeechService {
       metadata.put("similarity_boost", similarityBoost);
       metadata.put("style", style);
       metadata.put("use_speaker_boost", useSpeakerBoost);
-      metadata.put("characters_processed", response.getCharactersProcessed());
+      metadata.put("characters_processed", textForTTS.length());
+      metadata.put("streaming", streamingEnabled);
+      metadata.put("cache_hit", cachedSpeech.cacheHit());
       slideSpeech.setGenerationMetadata(objectMapper.writeValueAsString(metadata));
 
       slideSpeech = slideSpeechRepository.save(slideSpeech);
@@ -222,7 +266,7 @@ public class TextToSpeechService {
       log.info(
           "Successfully generated speech for narrative: {}, duration: {} seconds",
           narrativeId,
-          response.getDurationSeconds());
+          durationSeconds);
 
       return slideSpeech;
 
@@ -232,6 +276,17 @@ public class TextToSpeechService {
     }
   }
 
+  /**
+   * Finds the slide's active speech if it was generated from the same request, covering text,
+   * voice, model, voice settings and output format, and its audio file still exists.
+   */
+  private Optional<SlideSpeech> findUnchangedSpeech(UUID slideId, String requestHash) {
+    return slideSpeechRepository.findAllActiveBySlideIdOrderByCreatedAtDesc(slideId).stream()
+        .findFirst()
+        .filter(speech -> requestHash.equals(speech.getRequestHash()))
+        .filter(speech -> Files.exists(Paths.get(speech.getAudioFilePath())));
+  }
+
   /** Result of transition preparation containing the text and metadata. */
   private static class TransitionResult {
     final String text;
@@ -276,7 +331,8 @@ public class TextToSpeechService {
 
     // Check for redundancy
     boolean isRedundant =
-        redundancyChecker.isTransitionRedundant(transitionPhrase, nextNarrative.getNarrativeText());
+        redundancyChecker.isTransitionRedundant(
+            transitionPhrase, nextNarrative.getNarrativeTextStats());
 
     if (isRedundant) {
       log.info(
@@ -310,18 +366,25 @@ public class TextToSpeechService {
         .orElse(null);
   }
 
-  private TTSResponse callElevenLabsAPI(String text, String voiceId, String requestId)
+  /** Generates speech into the audio file and returns its alignment. */
+  private SpeechAlignment requestSpeech(
+      String text, String requestBody, String voiceId, String requestId, Path audioFile)
       throws IOException {
-    String url = apiUrl + "/text-to-speech/" + voiceId + "/with-timestamps";
-
-    HttpHeaders headers = new HttpHeaders();
-    headers.setContentType(MediaType.APPLICATION_JSON);
-    headers.set("xi-api-key", apiKey);
-    if (requestId != null) {
-      headers.set("xi-request-id", requestId);
+    if (streamingEnabled) {
+      // Audio is written to disk chunk by chunk as it arrives
+      return streamingClient.streamToFile(voiceId, requestBody, requestId, audioFile);
     }
+    TTSResponse response = callElevenLabsAPI(text, voiceId, requestId);
+    Files.write(
+        audioFile,
+        response.getAudioData(),
+        StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    return response.getAlignment();
+  }
 
-    // Build request body
+  /** Builds the TTS request body with text, model and voice settings. */
+  private ObjectNode buildRequestBody(String text) {
     ObjectNode requestBody = objectMapper.createObjectNode();
     requestBody.put("text", text);
     requestBody.put("model_id", defaultModel);
@@ -333,7 +396,21 @@ public class TextToSpeechService {
     voiceSettings.put("style", style);
     voiceSettings.put("use_speaker_boost", useSpeakerBoost);
     requestBody.set("voice_settings", voiceSettings);
+    return requestBody;
+  }
+
+  private TTSResponse callElevenLabsAPI(String text, String voiceId, String requestId)
+      throws IOException {
+    String url = apiUrl + "/text-to-speech/" + voiceId + "/with-timestamps";
+
+    HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_JSON);
+    headers.set("xi-api-key", apiKey);
+    if (requestId != null) {
+      headers.set("xi-request-id", requestId);
+    }
 
+    ObjectNode requestBody = buildRequestBody(text);
     requestBody.put("output_format", outputFormat);
 
     HttpEntity<String> request = new HttpEntity<>(requestBody.toString(), headers);
@@ -368,8 +445,7 @@ public class TextToSpeechService {
         byte[] audioData = Base64.getDecoder().decode(audioBase64);
 
         // Extract timestamps from alignment data
-        List<Map<String, Object>> timestamps = new ArrayList<>();
-        double duration = 0;
+        SpeechAlignment.Builder timestamps = SpeechAlignment.builder();
 
         @SuppressWarnings("unchecked")
         Map<String, Object> alignment =
@@ -392,21 +468,12 @@ public class TextToSpeechService {
           if (characters != null && startTimes != null && endTimes != null) {
             int size = Math.min(characters.size(), Math.min(startTimes.size(), endTimes.size()));
             for (int i = 0; i < size; i++) {
-              Map<String, Object> timestamp = new HashMap<>();
-              timestamp.put("character", characters.get(i));
-              timestamp.put("start_time", startTimes.get(i).doubleValue());
-              timestamp.put("end_time", endTimes.get(i).doubleValue());
-              timestamps.add(timestamp);
-            }
-
-            // Calculate duration from the last character's end time
-            if (!endTimes.isEmpty()) {
-              duration = endTimes.get(endTimes.size() - 1).doubleValue();
-              log.info(
-                  "Calculated TTS duration: {} seconds from {} timestamps",
-                  duration,
-                  endTimes.size());
+              timestamps.add(
+                  characters.get(i),
+                  startTimes.get(i).doubleValue(),
+                  endTimes.get(i).doubleValue());
             }
+            log.info("Collected {} character timestamps", size);
           } else {
             log.warn(
                 "Missing alignment data - characters: {}, startTimes: {}, endTimes: {}",
@@ -418,21 +485,28 @@ public class TextToSpeechService {
           log.warn("No alignment data found in ElevenLabs response");
         }
 
-        return new TTSResponse(audioData, timestamps, duration, text.length());
+        return new TTSResponse(audioData, timestamps.build());
       } else {
         throw new RuntimeException(
             "Unexpected response from ElevenLabs API: " + response.getStatusCode());
       }
 
+    } catch (HttpClientErrorException.TooManyRequests e) {
+      String retryAfter =
+          e.getResponseHeaders() != null ? e.getResponseHeaders().getFirst("Retry-After") : null;
+      throw new ElevenLabsRateLimiter.RateLimitedException(
+          "ElevenLabs API rate limit: " + e.getResponseBodyAsString(),
+          retryAfter != null && retryAfter.matches("\\d+")
+              ? Duration.ofSeconds(Long.parseLong(retryAfter))
+              : null);
     } catch (HttpClientErrorException e) {
       log.error("ElevenLabs API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
       throw new RuntimeException("ElevenLabs API error: " + e.getMessage(), e);
     }
   }
 
-  /** Stores the audio file on disk. */
-  private String storeAudioFile(UUID presentationId, UUID slideId, byte[] audioData)
-      throws IOException {
+  /** Resolves a new audio file path for a slide, creating the audio directory if needed. */
+  private Path resolveAudioPath(UUID presentationId, UUID slideId) throws IOException {
     Path presentationDir =
         Paths.get(fileStorageService.createPresentationDirectory(presentationId).toString());
     Path audioDir = presentationDir.resolve("audio");
@@ -440,13 +514,7 @@ public class TextToSpeechService {
 
     String filename =
         String.format("slide_%s_%s.mp3", slideId.toString(), System.currentTimeMillis());
-    Path audioPath = audioDir.resolve(filename);
-
-    Files.write(
-        audioPath, audioData, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-
-    log.debug("Stored audio file at: {}", audioPath);
-    return audioPath.toAbsolutePath().toString();
+    return audioDir.resolve(filename);
   }
 
   /** Selects the appropriate voice ID based on narrative style. */
@@ -466,35 +534,19 @@ public class TextToSpeechService {
   /** Inner class to hold TTS response data. */
   private static class TTSResponse {
     private final byte[] audioData;
-    private final List<Map<String, Object>> timestamps;
-    private final double durationSeconds;
-    private final int charactersProcessed;
-
-    public TTSResponse(
-        byte[] audioData,
-        List<Map<String, Object>> timestamps,
-        double durationSeconds,
-        int charactersProcessed) {
+    private final SpeechAlignment alignment;
+
+    public TTSResponse(byte[] audioData, SpeechAlignment alignment) {
       this.audioData = audioData;
-      this.timestamps = timestamps;
-      this.durationSeconds = durationSeconds;
-      this.charactersProcessed = charactersProcessed;
+      this.alignment = alignment;
     }
 
     public byte[] getAudioData() {
       return audioData;
     }
 
-    public List<Map<String, Object>> getTimestamps() {
-      return timestamps;
-    }
-
-    public double getDurationSeconds() {
-      return durationSeconds;
-    }
-
-    public int getCharactersProcessed() {
-      return charactersProcessed;
+    public SpeechAlignment getAlignment() {
+      return alignment;
     }
   }
 }
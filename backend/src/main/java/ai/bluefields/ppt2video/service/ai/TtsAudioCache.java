@@ -0,0 +1,322 @@
+package ai.bluefields.ppt2video.service.ai;
+
+import ai.bluefields.ppt2video.config.R2ClientFactory;
+import ai.bluefields.ppt2video.model.SpeechAlignment;
+import ai.bluefields.ppt2video.service.ai.ElevenLabsRateLimiter.ElevenLabsCall;
+import ai.bluefields.ppt2video.util.ContentHash;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+/**
+ * Content-addressed cache of generated speech. An entry is keyed by the hash of everything sent to
+ * the TTS provider (voice, model, voice settings, output format and text), so identical speech is
+ * generated once and then reused by any slide of any presentation.
+ *
+ * <p>Entries are kept on local disk and copied to R2, which survives a lost or fresh local disk and
+ * is shared between instances. Concurrent requests for the same key wait for the first one instead
+ * of generating the same speech twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TtsAudioCache {
+
+  // Bump to invalidate all entries, e.g. when the stored alignment format changes
+  private static final String KEY_VERSION = "tts-v1";
+  private static final Duration R2_URL_EXPIRATION = Duration.ofMinutes(15);
+
+  private final R2ClientFactory r2ClientFactory;
+  private final HttpClient httpClient;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  @Value("${app.elevenlabs.cache.enabled:true}")
+  private boolean enabled;
+
+  @Value("${app.elevenlabs.cache.dir:./storage/tts-cache}")
+  private String cacheDir;
+
+  @Value("${app.elevenlabs.cache.r2-enabled:true}")
+  private boolean r2Enabled;
+
+  @Value("${app.elevenlabs.cache.r2-bucket:video-assets}")
+  private String r2Bucket;
+
+  @Value("${app.elevenlabs.cache.r2-prefix:cache/tts}")
+  private String r2Prefix;
+
+  private final Map<String, ReentrantLock> keyLocks = new ConcurrentHashMap<>();
+  private final AtomicLong localHits = new AtomicLong();
+  private final AtomicLong remoteHits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * Speech written to the target file, and whether it came from the cache.
+   *
+   * @param alignment character alignment of the speech
+   * @param cacheHit true if no speech was generated
+   */
+  public record CachedSpeech(SpeechAlignment alignment, boolean cacheHit) {}
+
+  /**
+   * Build the cache key of a TTS request.
+   *
+   * @param voiceId the voice ID
+   * @param outputFormat the audio output format
+   * @param requestBody the JSON request body with text, model and voice settings
+   * @return the hex encoded key
+   */
+  public static String key(String voiceId, String outputFormat, String requestBody) {
+    return ContentHash.sha256(
+        KEY_VERSION + "\n" + voiceId + "\n" + outputFormat + "\n" + requestBody);
+  }
+
+  /**
+   * Writes the speech for a key to the target file, from the cache if possible and otherwise by
+   * generating it and adding it to the cache.
+   *
+   * @param key the cache key, see {@link #key}
+   * @param target the audio file to write
+   * @param refresh whether to generate the speech even if cached, replacing the cache entry
+   * @param generator generates the speech into the target file and returns its alignment
+   * @return the alignment and whether it was a cache hit
+   * @throws IOException if the speech cannot be generated or written
+   */
+  public CachedSpeech getOrGenerate(
+      String key, Path target, boolean refresh, ElevenLabsCall<SpeechAlignment> generator)
+      throws IOException {
+    if (!enabled) {
+      return new CachedSpeech(generator.call(), false);
+    }
+
+    ReentrantLock lock = lockKey(key);
+    try {
+      if (!refresh && copyLocal(key, target)) {
+        localHits.incrementAndGet();
+        log.info("TTS cache hit for {}", key);
+        return new CachedSpeech(readAlignment(key), true);
+      }
+      if (!refresh && r2Enabled && downloadFromR2(key)) {
+        copyLocal(key, target);
+        remoteHits.incrementAndGet();
+        log.info("TTS cache hit in R2 for {}", key);
+        return new CachedSpeech(readAlignment(key), true);
+      }
+
+      misses.incrementAndGet();
+      SpeechAlignment alignment = generator.call();
+      store(key, target, alignment);
+      return new CachedSpeech(alignment, false);
+    } finally {
+      unlockKey(key, lock);
+    }
+  }
+
+  /**
+   * Get cache counters for monitoring.
+   *
+   * @return local hits, R2 hits and misses since startup
+   */
+  public Map<String, Long> getStatistics() {
+    return Map.of(
+        "localHits", localHits.get(), "remoteHits", remoteHits.get(), "misses", misses.get());
+  }
+
+  private ReentrantLock lockKey(String key) {
+    while (true) {
+      ReentrantLock lock = keyLocks.computeIfAbsent(key, k -> new ReentrantLock());
+      lock.lock();
+      // The lock may have been removed between lookup and locking; then take the current one
+      if (keyLocks.get(key) == lock) {
+        return lock;
+      }
+      lock.unlock();
+    }
+  }
+
+  private void unlockKey(String key, ReentrantLock lock) {
+    // Unlocking inside compute keeps the removal atomic with respect to new lookups, so locks
+    // don't pile up for every key ever generated
+    keyLocks.compute(
+        key,
+        (k, current) -> {
+          lock.unlock();
+          return lock.hasQueuedThreads() ? current : null;
+        });
+  }
+
+  private boolean copyLocal(String key, Path target) throws IOException {
+    Path audio = audioFile(key);
+    // The alignment is written last, so its presence marks a complete entry
+    if (!Files.exists(alignmentFile(key)) || !Files.exists(audio)) {
+      return false;
+    }
+    Files.copy(audio, target, StandardCopyOption.REPLACE_EXISTING);
+    return true;
+  }
+
+  private SpeechAlignment readAlignment(String key) throws IOException {
+    return SpeechAlignment.decode(Files.readAllBytes(alignmentFile(key)));
+  }
+
+  private void store(String key, Path generated, SpeechAlignment alignment) {
+    try {
+      Path audio = audioFile(key);
+      Files.createDirectories(audio.getParent());
+      moveIntoPlace(Files.copy(generated, tempFile(audio)), audio);
+      moveIntoPlace(
+          Files.write(tempFile(alignmentFile(key)), alignment.encode()), alignmentFile(key));
+    } catch (IOException e) {
+      // The speech itself was generated fine, it just won't be reused
+      log.warn("Failed to add speech to TTS cache: {}", key, e);
+      return;
+    }
+    if (r2Enabled) {
+      virtualThreadExecutor.execute(() -> uploadToR2(key));
+    }
+  }
+
+  private boolean downloadFromR2(String key) {
+    Path audio = audioFile(key);
+    Path alignment = alignmentFile(key);
+    try {
+      Files.createDirectories(audio.getParent());
+      Path audioTemp = tempFile(audio);
+      Path alignmentTemp = tempFile(alignment);
+      try {
+        // The alignment is uploaded last, so the audio of a remote alignment is complete
+        if (!download(objectKey(alignment), alignmentTemp)
+            || !download(objectKey(audio), audioTemp)) {
+          return false;
+        }
+        moveIntoPlace(audioTemp, audio);
+        moveIntoPlace(alignmentTemp, alignment);
+        return true;
+      } finally {
+        Files.deleteIfExists(audioTemp);
+        Files.deleteIfExists(alignmentTemp);
+      }
+    } catch (Exception e) {
+      log.warn("Failed to read TTS cache entry {} from R2: {}", key, e.getMessage());
+      return false;
+    }
+  }
+
+  private void uploadToR2(String key) {
+    try {
+      // Audio first, so a remote entry with an alignment is always complete
+      upload(audioFile(key), "audio/mpeg");
+      upload(alignmentFile(key), "application/octet-stream");
+      log.debug("Uploaded TTS cache entry {} to R2", key);
+    } catch (Exception e) {
+      log.warn("Failed to upload TTS cache entry {} to R2: {}", key, e.getMessage());
+    }
+  }
+
+  private boolean download(String objectKey, Path target) throws IOException, InterruptedException {
+    String url =
+        r2ClientFactory
+            .getPresigner()
+            .presignGetObject(
+                GetObjectPresignRequest.builder()
+                    .signatureDuration(R2_URL_EXPIRATION)
+                    .getObjectRequest(
+                        GetObjectRequest.builder().bucket(r2Bucket).key(objectKey).build())
+                    .build())
+            .url()
+            .toString();
+    HttpResponse<Path> response =
+        httpClient.send(
+            HttpRequest.newBuilder().uri(URI.create(url)).GET().build(),
+            HttpResponse.BodyHandlers.ofFile(target));
+    if (response.statusCode() == 404) {
+      return false;
+    }
+    if (response.statusCode() != 200) {
+      throw new IOException("R2 returned status " + response.statusCode());
+    }
+    return true;
+  }
+
+  private void upload(Path file, String contentType) throws IOException, InterruptedException {
+    // Uploaded with a presigned URL like other assets, which R2 handles more reliably
+    String url =
+        r2ClientFactory
+            .getPresigner()
+            .presignPutObject(
+                PutObjectPresignRequest.builder()
+                    .signatureDuration(R2_URL_EXPIRATION)
+                    .putObjectRequest(
+                        PutObjectRequest.builder()
+                            .bucket(r2Bucket)
+                            .key(objectKey(file))
+                            .contentType(contentType)
+                            .build())
+                    .build())
+            .url()
+            .toString();
+    HttpResponse<String> response =
+        httpClient.send(
+            HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .header("Content-Type", contentType)
+                .PUT(HttpRequest.BodyPublishers.ofFile(file))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException("R2 returned status " + response.statusCode() + ": " + response.body());
+    }
+  }
+
+  private Path audioFile(String key) {
+    // Two-character fan-out keeps directories small
+    return Paths.get(cacheDir, key.substring(0, 2), key + ".mp3");
+  }
+
+  private Path alignmentFile(String key) {
+    return Paths.get(cacheDir, key.substring(0, 2), key + ".alignment");
+  }
+
+  private String objectKey(Path cacheFile) {
+    return r2Prefix + "/" + cacheFile.getFileName();
+  }
+
+  private static Path tempFile(Path file) {
+    return file.resolveSibling(file.getFileName() + "." + UUID.randomUUID() + ".tmp");
+  }
+
+  private static void moveIntoPlace(Path temp, Path file) throws IOException {
+    try {
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -36,6 +36,7 @@ public class BatchNarrativeOrchestrator {
   private final NarrativeParsingService narrativeParsingService;
   private final AnalysisStatusService analysisStatusService;
   private final NarrativeOptimizationOrchestrator narrativeOptimizationOrchestrator;
+  private final NarrativeContextService contextService;
 
   @Autowired private AsyncTaskExecutor virtualThreadExecutor;
 
@@ -74,10 +75,13 @@ public class BatchNarrativeOrchestrator {
         return;
       }
 
+      // Load and serialize the deck context once for all slides of this batch
+      DeckContextSnapshot contextSnapshot = contextService.createDeckSnapshot(presentationId);
+
       if (parallelProcessingEnabled && slides.size() > 1) {
-        processSlidesConcurrently(slides, presentationId, style);
+        processSlidesConcurrently(slides, presentationId, style, contextSnapshot);
       } else {
-        processSlidesSequentially(slides, presentationId, style);
+        processSlidesSequentially(slides, presentationId, style, contextSnapshot);
       }
 
     } catch (Exception e) {
@@ -86,7 +90,8 @@ public class BatchNarrativeOrchestrator {
   }
 
   /** Process slides concurrently with controlled parallelism. */
-  private void processSlidesConcurrently(List<Slide> slides, UUID presentationId, String style) {
+  private void processSlidesConcurrently(
+      List<Slide> slides, UUID presentationId, String style, DeckContextSnapshot contextSnapshot) {
     log.info(
         "Starting PARALLEL narrative generation for {} slides with max concurrency: {}",
         slides.size(),
@@ -105,7 +110,10 @@ public class BatchNarrativeOrchestrator {
     // Create futures for all slides
     List<CompletableFuture<Void>> futures =
         slides.stream()
-            .map(slide -> processSlideAsync(slide, presentationId, style, semaphore, progress))
+            .map(
+                slide ->
+                    processSlideAsync(
+                        slide, presentationId, style, contextSnapshot, semaphore, progress))
             .collect(Collectors.toList());
 
     // Wait for all to complete or timeout
@@ -139,6 +147,7 @@ public class BatchNarrativeOrchestrator {
       Slide slide,
       UUID presentationId,
       String style,
+      DeckContextSnapshot contextSnapshot,
       Semaphore semaphore,
       ConcurrentProgress progress) {
 
@@ -177,7 +186,7 @@ public class BatchNarrativeOrchestrator {
                   CompletableFuture.supplyAsync(
                       () ->
                           narrativeGenerationService.generateNarrativeWithPresentationId(
-                              slide.getId(), style, presentationId),
+                              slide.getId(), style, presentationId, contextSnapshot),
                       virtualThreadExecutor);
 
               SlideNarrative narrative =
@@ -225,7 +234,8 @@ public class BatchNarrativeOrchestrator {
   }
 
   /** Process slides sequentially (fallback or when parallel is disabled). */
-  private void processSlidesSequentially(List<Slide> slides, UUID presentationId, String style) {
+  private void processSlidesSequentially(
+      List<Slide> slides, UUID presentationId, String style, DeckContextSnapshot contextSnapshot) {
     log.info("Starting SEQUENTIAL narrative generation for {} slides", slides.size());
 
     // Start tracking
@@ -235,7 +245,7 @@ public class BatchNarrativeOrchestrator {
     BatchProgress progress = new BatchProgress();
 
     for (Slide slide : slides) {
-      processSingleSlide(slide, presentationId, style, progress, slides.size());
+      processSingleSlide(slide, presentationId, style, contextSnapshot, progress, slides.size());
     }
 
     completeBatchProcessing(presentationId, progress);
@@ -243,7 +253,12 @@ public class BatchNarrativeOrchestrator {
 
   /** Process a single slide for narrative generation (sequential mode). */
   private void processSingleSlide(
-      Slide slide, UUID presentationId, String style, BatchProgress progress, int totalSlides) {
+      Slide slide,
+      UUID presentationId,
+      String style,
+      DeckContextSnapshot contextSnapshot,
+      BatchProgress progress,
+      int totalSlides) {
 
     try {
       // Check prerequisites
@@ -273,7 +288,7 @@ public class BatchNarrativeOrchestrator {
       // Generate narrative (includes its own error handling)
       SlideNarrative narrative =
           narrativeGenerationService.generateNarrativeWithPresentationId(
-              slide.getId(), style, presentationId);
+              slide.getId(), style, presentationId, contextSnapshot);
 
       if (narrative != null) {
         progress.incrementCompleted();
@@ -0,0 +1,117 @@
+package ai.bluefields.ppt2video.service.ai.narrative;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of a presentation's narrative context, built once per batch and shared by all
+ * concurrent narrative tasks. Slides are indexed by slide number and every slide's context
+ * fragments (as current, previous and next slide) are serialized up front, so the context for one
+ * slide is assembled by concatenation without touching the database or the object mapper.
+ *
+ * <p>Create instances with {@link NarrativeContextService#createDeckSnapshot(UUID)}.
+ */
+public final class DeckContextSnapshot {
+
+  private static final String INSTRUCTION_FRAGMENT =
+      "\"INSTRUCTION\":\"Generate narrative ONLY for the currentSlide above\"";
+
+  private final UUID presentationId;
+  private final int[] slideNumbers;
+  private final Map<Integer, Integer> indexBySlideNumber;
+  private final String[] currentFragments;
+  private final String[] previousFragments;
+  private final String[] nextFragments;
+  private final String deckFragment;
+
+  DeckContextSnapshot(
+      UUID presentationId,
+      int[] slideNumbers,
+      Map<Integer, Integer> indexBySlideNumber,
+      String[] currentFragments,
+      String[] previousFragments,
+      String[] nextFragments,
+      String deckFragment) {
+    this.presentationId = presentationId;
+    this.slideNumbers = slideNumbers;
+    this.indexBySlideNumber = indexBySlideNumber;
+    this.currentFragments = currentFragments;
+    this.previousFragments = previousFragments;
+    this.nextFragments = nextFragments;
+    this.deckFragment = deckFragment;
+  }
+
+  /**
+   * Get the presentation this snapshot was taken from.
+   *
+   * @return the presentation ID
+   */
+  public UUID getPresentationId() {
+    return presentationId;
+  }
+
+  /**
+   * Get the number of slides in the snapshot.
+   *
+   * @return the slide count
+   */
+  public int getSlideCount() {
+    return slideNumbers.length;
+  }
+
+  /**
+   * Check whether a slide is part of the snapshot.
+   *
+   * @param slideNumber the slide number
+   * @return true if the slide is indexed
+   */
+  public boolean contains(int slideNumber) {
+    return indexBySlideNumber.containsKey(slideNumber);
+  }
+
+  /**
+   * Assemble the context JSON for one slide from the pre-serialized fragments.
+   *
+   * @param slideNumber the slide number
+   * @return context data as JSON string
+   * @throws IllegalArgumentException if the slide is not part of the snapshot
+   */
+  public String contextJson(int slideNumber) {
+    Integer index = indexBySlideNumber.get(slideNumber);
+    if (index == null) {
+      throw new IllegalArgumentException(
+          "Slide " + slideNumber + " is not part of the context snapshot for " + presentationId);
+    }
+
+    int total = slideNumbers.length;
+    StringBuilder json =
+        new StringBuilder(
+            currentFragments[index].length()
+                + (index > 0 ? previousFragments[index - 1].length() : 0)
+                + (index < total - 1 ? nextFragments[index + 1].length() : 0)
+                + (deckFragment != null ? deckFragment.length() : 0)
+                + 192);
+
+    json.append("{\"currentSlide\":").append(currentFragments[index]);
+    json.append(',').append(INSTRUCTION_FRAGMENT);
+    if (index > 0) {
+      json.append(",\"previousSlide\":").append(previousFragments[index - 1]);
+    }
+    if (index < total - 1) {
+      json.append(",\"nextSlide\":").append(nextFragments[index + 1]);
+    }
+    if (deckFragment != null) {
+      json.append(",\"deckContext\":").append(deckFragment);
+    }
+    json.append(",\"slidePosition\":{\"current\":")
+        .append(slideNumber)
+        .append(",\"total\":")
+        .append(total)
+        .append(",\"isFirst\":")
+        .append(slideNumber == 1)
+        .append(",\"isLast\":")
+        .append(slideNumber == total)
+        .append("}}");
+    return json.toString();
+  }
+}
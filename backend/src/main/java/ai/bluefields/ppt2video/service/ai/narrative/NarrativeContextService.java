@@ -14,7 +14,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Service responsible for preparing context data for narrative generation. Handles slide
- * relationships, deck analysis context, and data preparation.
+ * relationships, deck analysis context, and data preparation. Batches share a {@link
+ * DeckContextSnapshot} so the deck is loaded and serialized once rather than once per slide.
  */
 @Slf4j
 @Service
@@ -48,6 +49,54 @@ public class NarrativeContextService {
     }
   }
 
+  /**
+   * Load the deck once and serialize the context fragments of every slide for a batch of narrative
+   * tasks. The snapshot reflects the slide analyses at the time it is taken.
+   *
+   * @param presentationId The presentation ID
+   * @return The shared context snapshot
+   */
+  @Transactional(readOnly = true)
+  public DeckContextSnapshot createDeckSnapshot(UUID presentationId) {
+    try {
+      List<Slide> allSlides =
+          slideRepository.findByPresentationIdOrderBySlideNumber(presentationId);
+      int count = allSlides.size();
+
+      int[] slideNumbers = new int[count];
+      Map<Integer, Integer> indexBySlideNumber = new HashMap<>(count * 2);
+      String[] currentFragments = new String[count];
+      String[] previousFragments = new String[count];
+      String[] nextFragments = new String[count];
+
+      for (int i = 0; i < count; i++) {
+        Slide slide = allSlides.get(i);
+        slideNumbers[i] = slide.getSlideNumber();
+        indexBySlideNumber.put(slide.getSlideNumber(), i);
+        currentFragments[i] = objectMapper.writeValueAsString(prepareSlideData(slide));
+        previousFragments[i] = objectMapper.writeValueAsString(preparePreviousSlideContext(slide));
+        nextFragments[i] = objectMapper.writeValueAsString(prepareNextSlideContext(slide));
+      }
+
+      Map<String, Object> deckContext = prepareDeckContext(presentationId);
+      String deckFragment =
+          deckContext != null ? objectMapper.writeValueAsString(deckContext) : null;
+
+      log.info("Created narrative context snapshot for {} slides of {}", count, presentationId);
+      return new DeckContextSnapshot(
+          presentationId,
+          slideNumbers,
+          Map.copyOf(indexBySlideNumber),
+          currentFragments,
+          previousFragments,
+          nextFragments,
+          deckFragment);
+    } catch (Exception e) {
+      log.error("Failed to create context snapshot for presentation {}", presentationId, e);
+      throw new RuntimeException("Failed to prepare context", e);
+    }
+  }
+
   /**
    * Get all slides for a presentation ordered by slide number.
    *
@@ -180,19 +229,26 @@ public class NarrativeContextService {
 
   /** Add deck analysis context if available. */
   private void addDeckAnalysisContext(Map<String, Object> contextData, UUID presentationId) {
-    if (presentationId != null) {
-      deckAnalysisRepository
-          .findByPresentationId(presentationId)
-          .ifPresent(
-              deckAnalysis -> {
-                contextData.put(
-                    "deckContext",
-                    Map.of(
-                        "overallStory", deckAnalysis.getOverallStory(),
-                        "tone", deckAnalysis.getTone(),
-                        "targetAudience", deckAnalysis.getTargetAudience()));
-              });
+    Map<String, Object> deckContext = prepareDeckContext(presentationId);
+    if (deckContext != null) {
+      contextData.put("deckContext", deckContext);
+    }
+  }
+
+  /** Prepare deck analysis context, or null if the deck has not been analyzed. */
+  private Map<String, Object> prepareDeckContext(UUID presentationId) {
+    if (presentationId == null) {
+      return null;
     }
+    return deckAnalysisRepository
+        .findByPresentationId(presentationId)
+        .<Map<String, Object>>map(
+            deckAnalysis ->
+                Map.of(
+                    "overallStory", deckAnalysis.getOverallStory(),
+                    "tone", deckAnalysis.getTone(),
+                    "targetAudience", deckAnalysis.getTargetAudience()))
+        .orElse(null);
   }
 
   /** Prepare slide position information. */
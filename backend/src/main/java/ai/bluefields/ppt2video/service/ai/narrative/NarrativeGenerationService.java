@@ -1,5 +1,6 @@
 package ai.bluefields.ppt2video.service.ai.narrative;
 
+import ai.bluefields.ppt2video.dto.NarrativeStreamEvent;
 import ai.bluefields.ppt2video.dto.ShortenNarrativeResponse;
 import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.entity.SlideNarrative;
@@ -9,13 +10,22 @@ import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
 import ai.bluefields.ppt2video.repository.SlideRepository;
 import ai.bluefields.ppt2video.service.NarrativeLengthCalculator;
 import ai.bluefields.ppt2video.service.ai.OpenAIService;
+import ai.bluefields.ppt2video.service.ai.StreamingJsonStringExtractor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.*;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Main service for generating AI narratives for slides. Coordinates between different specialized
@@ -34,6 +44,11 @@ public class NarrativeGenerationService {
   private final NarrativeContextService contextService;
   private final NarrativeLengthCalculator lengthCalculator;
   private final ObjectMapper objectMapper;
+  private final PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
 
   @Value("${app.ai.narrative-generation.enabled:true}")
   private boolean narrativeGenerationEnabled;
@@ -60,6 +75,22 @@ public class NarrativeGenerationService {
   @Transactional
   public SlideNarrative generateNarrativeWithPresentationId(
       UUID slideId, String style, UUID presentationId) {
+    return generateNarrativeWithPresentationId(slideId, style, presentationId, null);
+  }
+
+  /**
+   * Generate narrative for a slide using a deck context snapshot shared by a batch. Falls back to
+   * loading the context if no snapshot is given or the slide is not part of it.
+   *
+   * @param slideId The ID of the slide to generate narrative for
+   * @param style The narrative style
+   * @param presentationId The presentation ID (passed to avoid lazy loading)
+   * @param contextSnapshot The shared deck context, or null
+   * @return The created SlideNarrative entity
+   */
+  @Transactional
+  public SlideNarrative generateNarrativeWithPresentationId(
+      UUID slideId, String style, UUID presentationId, DeckContextSnapshot contextSnapshot) {
 
     validateNarrativeGeneration(slideId);
 
@@ -72,8 +103,11 @@ public class NarrativeGenerationService {
     Slide slide = fetchAndValidateSlide(slideId);
 
     try {
-      // Prepare context
-      String contextDataJson = contextService.prepareContextJson(slide, presentationId);
+      // Prepare context, from the batch snapshot when available
+      String contextDataJson =
+          contextSnapshot != null && contextSnapshot.contains(slide.getSlideNumber())
+              ? contextSnapshot.contextJson(slide.getSlideNumber())
+              : contextService.prepareContextJson(slide, presentationId);
 
       // Get target duration for storing with narrative
       SlideType slideType = getSlideType(slide);
@@ -127,15 +161,9 @@ public class NarrativeGenerationService {
       String narrativeResult =
           generateSlideNarrative(slide, contextDataJson, style, presentationId);
 
-      // Parse narrative with target duration
-      SlideNarrative narrative = parsingService.parseNarrative(narrativeResult, slide, style);
-      narrative.setTargetDurationSeconds(targetDuration.getMidpoint());
-
-      // Deactivate previous narratives
-      parsingService.deactivateExistingNarrative(slideId);
-
-      // Save new narrative
-      narrative = slideNarrativeRepository.save(narrative);
+      // Parse, replace the active narrative and save
+      SlideNarrative narrative =
+          saveNarrative(slide, narrativeResult, style, targetDuration.getMidpoint());
 
       log.info("Completed narrative generation for slide: {}", slideId);
       return narrative;
@@ -146,6 +174,96 @@ public class NarrativeGenerationService {
     }
   }
 
+  /**
+   * Generate narrative for a slide while streaming its text. The returned Flux emits delta events
+   * with the narrative text as the model writes it, followed by one completed event once the full
+   * response has been parsed and saved as in {@link #generateNarrative(UUID, String)}.
+   *
+   * <p>The slide is validated and the prompts are prepared before this method returns, so missing
+   * or unanalyzed slides fail immediately rather than on the stream.
+   *
+   * @param slideId The ID of the slide to generate narrative for
+   * @param style The narrative style ("business", "funny", "cynical")
+   * @return Stream of narrative events
+   */
+  public Flux<NarrativeStreamEvent> streamNarrative(UUID slideId, String style) {
+    validateNarrativeGeneration(slideId);
+
+    log.info("Starting streamed {} style narrative generation for slide: {}", style, slideId);
+
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    NarrativeRequest request =
+        transactionTemplate.execute(
+            status -> {
+              Slide slide = fetchAndValidateSlide(slideId);
+              UUID presentationId = slide.getPresentation().getId();
+              String contextDataJson = contextService.prepareContextJson(slide, presentationId);
+              return buildNarrativeRequest(slide, contextDataJson, style, presentationId);
+            });
+
+    return Flux.defer(
+        () -> {
+          StreamingJsonStringExtractor extractor =
+              new StreamingJsonStringExtractor("narrativeText");
+          StringBuilder response = new StringBuilder();
+
+          Flux<NarrativeStreamEvent> deltas =
+              openAIService
+                  .streamJsonCompletion(
+                      request.systemPrompt(),
+                      request.userPrompt(),
+                      request.responseFormat(),
+                      "narrative-generation",
+                      request.presentationId())
+                  .doOnNext(response::append)
+                  .map(extractor::feed)
+                  .filter(text -> !text.isEmpty())
+                  .map(NarrativeStreamEvent::delta);
+
+          // Persist off the HTTP client's event loop
+          Mono<NarrativeStreamEvent> completed =
+              Mono.fromCallable(
+                      () ->
+                          transactionTemplate.execute(
+                              status -> {
+                                SlideNarrative narrative =
+                                    saveNarrative(
+                                        fetchAndValidateSlide(slideId),
+                                        response.toString(),
+                                        style,
+                                        request.targetDuration().getMidpoint());
+                                log.info(
+                                    "Completed streamed narrative generation for slide: {}",
+                                    slideId);
+                                return NarrativeStreamEvent.builder()
+                                    .type(NarrativeStreamEvent.EventType.COMPLETED)
+                                    .narrativeId(narrative.getId())
+                                    .narrativeText(narrative.getNarrativeText())
+                                    .durationSeconds(narrative.getDurationSeconds())
+                                    .transitionPhrase(narrative.getTransitionPhrase())
+                                    .build();
+                              }))
+                  .subscribeOn(Schedulers.fromExecutor(virtualThreadExecutor));
+
+          return deltas
+              .concatWith(completed)
+              .doOnError(e -> log.error("Failed to stream narrative for slide: {}", slideId, e));
+        });
+  }
+
+  /** Parse a narrative response, deactivate the previous narrative and save the new one. */
+  private SlideNarrative saveNarrative(
+      Slide slide, String narrativeResult, String style, Integer targetDurationSeconds) {
+    SlideNarrative narrative = parsingService.parseNarrative(narrativeResult, slide, style);
+    narrative.setTargetDurationSeconds(targetDurationSeconds);
+
+    // Deactivate previous narratives
+    parsingService.deactivateExistingNarrative(slide.getId());
+
+    // Save new narrative
+    return slideNarrativeRepository.save(narrative);
+  }
+
   /** Validate that narrative generation is enabled and slide exists. */
   private void validateNarrativeGeneration(UUID slideId) {
     if (!narrativeGenerationEnabled) {
@@ -170,6 +288,19 @@ public class NarrativeGenerationService {
   /** Generate narrative using AI with context. */
   private String generateSlideNarrative(
       Slide slide, String contextDataJson, String style, UUID presentationId) {
+    NarrativeRequest request = buildNarrativeRequest(slide, contextDataJson, style, presentationId);
+
+    return openAIService.generateJsonCompletion(
+        request.systemPrompt(),
+        request.userPrompt(),
+        request.responseFormat(),
+        "narrative-generation",
+        presentationId);
+  }
+
+  /** Build the prompts for a slide narrative. */
+  private NarrativeRequest buildNarrativeRequest(
+      Slide slide, String contextDataJson, String style, UUID presentationId) {
 
     // Get slide type and calculate target duration
     SlideType slideType = getSlideType(slide);
@@ -190,8 +321,8 @@ public class NarrativeGenerationService {
             slideType);
     String responseFormat = promptService.getResponseFormatSchema();
 
-    return openAIService.generateJsonCompletion(
-        systemPrompt, userPrompt, responseFormat, "narrative-generation", presentationId);
+    return new NarrativeRequest(
+        systemPrompt, userPrompt, responseFormat, presentationId, targetDuration);
   }
 
   /** Get slide type from analysis or detect it. */
@@ -449,4 +580,12 @@ public class NarrativeGenerationService {
     log.warn("No style found in metadata, defaulting to business style");
     return "business";
   }
+
+  /** Prompts and targets prepared for one narrative generation request. */
+  private record NarrativeRequest(
+      String systemPrompt,
+      String userPrompt,
+      String responseFormat,
+      UUID presentationId,
+      DurationRange targetDuration) {}
 }
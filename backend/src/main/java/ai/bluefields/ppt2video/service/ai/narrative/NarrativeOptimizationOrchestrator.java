@@ -160,7 +160,18 @@ public class NarrativeOptimizationOrchestrator {
       }
 
       log.info("Using {} emotional enhancer", enhancer.getEngineType());
-      int enhanced = enhancer.enhanceNarratives(narratives);
+      int enhanced =
+          enhancer.enhanceNarratives(
+              narratives,
+              (processed, enhancedSoFar, total) ->
+                  analysisStatusService.updateProgress(
+                      presentationId,
+                      AnalysisType.ALL_NARRATIVES_GENERATION,
+                      total + processed,
+                      0,
+                      String.format(
+                          "Emotional enhancement: %d/%d processed, %d enhanced",
+                          processed, total, enhancedSoFar)));
 
       log.info(
           "Emotional enhancement complete: {}/{} narratives enhanced", enhanced, narratives.size());
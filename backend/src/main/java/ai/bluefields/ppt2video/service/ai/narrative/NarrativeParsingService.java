@@ -1,9 +1,12 @@
 package ai.bluefields.ppt2video.service.ai.narrative;
 
+import ai.bluefields.ppt2video.dto.ai.NarrativeResult;
 import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.entity.SlideNarrative;
 import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
+import ai.bluefields.ppt2video.service.ai.LlmJsonReader;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,7 +15,8 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service responsible for parsing and processing narrative responses from AI. Handles JSON parsing,
- * entity creation, and metadata management.
+ * entity creation, and metadata management. Responses are read with a streaming parser into {@link
+ * NarrativeResult}.
  */
 @Slf4j
 @Service
@@ -35,34 +39,31 @@ public class NarrativeParsingService {
    */
   public SlideNarrative parseNarrative(String narrativeResult, Slide slide, String style) {
     try {
-      @SuppressWarnings("unchecked")
-      Map<String, Object> narrativeMap = objectMapper.readValue(narrativeResult, Map.class);
+      NarrativeResult result = readNarrativeResult(narrativeResult);
+      if (result.isTruncated()) {
+        if (result.getNarrativeText() == null) {
+          throw new IllegalStateException("Narrative response was truncated before the text");
+        }
+        log.warn(
+            "Narrative response for slide {} was truncated, keeping the fields received",
+            slide.getId());
+      }
 
       SlideNarrative narrative = new SlideNarrative();
       narrative.setSlide(slide);
-      narrative.setNarrativeText((String) narrativeMap.get("narrativeText"));
-
-      // Parse and set emotion indicators
-      parseEmotionIndicators(narrativeMap, narrative);
-
-      // Parse and set avatar instructions
-      parseAvatarInstructions(narrativeMap, narrative);
-
-      // Parse and set speech markers
-      parseSpeechMarkers(narrativeMap, narrative);
+      narrative.setNarrativeText(result.getNarrativeText());
+
+      // Emotion indicators, avatar instructions and speech markers are stored as JSON
+      narrative.setEmotionIndicators(result.getEmotionIndicators());
+      narrative.setAvatarInstructions(result.getAvatarInstructions());
+      narrative.setSpeechMarkers(result.getSpeechMarkers());
+      if (result.getEmphasisWords() != null) {
+        narrative.setEmphasisWords(objectMapper.writeValueAsString(result.getEmphasisWords()));
+      }
 
       // Set duration and transition
-      Object durationObj = narrativeMap.get("durationSeconds");
-      if (durationObj != null) {
-        if (durationObj instanceof Double) {
-          narrative.setDurationSeconds(((Double) durationObj).intValue());
-        } else if (durationObj instanceof Integer) {
-          narrative.setDurationSeconds((Integer) durationObj);
-        } else if (durationObj instanceof Number) {
-          narrative.setDurationSeconds(((Number) durationObj).intValue());
-        }
-      }
-      narrative.setTransitionPhrase((String) narrativeMap.get("transitionPhrase"));
+      narrative.setDurationSeconds(result.getDurationSeconds());
+      narrative.setTransitionPhrase(result.getTransitionPhrase());
 
       // Set version
       setNarrativeVersion(narrative, slide.getId());
@@ -82,6 +83,37 @@ public class NarrativeParsingService {
     }
   }
 
+  /**
+   * Read a narrative response into its typed form in a single streaming pass.
+   *
+   * @param narrativeResult The JSON result from AI
+   * @return The typed result, possibly partial if the response was truncated
+   * @throws IOException if the response is not valid JSON
+   */
+  public NarrativeResult readNarrativeResult(String narrativeResult) throws IOException {
+    NarrativeResult result = new NarrativeResult();
+    try (LlmJsonReader reader =
+        LlmJsonReader.forString(objectMapper.getFactory(), narrativeResult)) {
+      reader.readObject(
+          field -> {
+            switch (field) {
+              case "narrativeText" -> result.setNarrativeText(reader.readText());
+              case "transitionPhrase" -> result.setTransitionPhrase(reader.readText());
+              case "durationSeconds" -> result.setDurationSeconds(reader.readInteger());
+              case "emotionIndicators" -> result.setEmotionIndicators(reader.readRawJson());
+              case "avatarInstructions" -> result.setAvatarInstructions(reader.readRawJson());
+              case "speechMarkers" -> {
+                result.setSpeechMarkers(reader.readRawJson());
+                result.setEmphasisWords(readEmphasisWords(result.getSpeechMarkers()));
+              }
+              default -> reader.skipValue();
+            }
+          });
+      result.setTruncated(reader.isTruncated());
+    }
+    return result;
+  }
+
   /**
    * Deactivate existing active narrative for a slide.
    *
@@ -123,40 +155,24 @@ public class NarrativeParsingService {
             });
   }
 
-  private void parseEmotionIndicators(Map<String, Object> narrativeMap, SlideNarrative narrative)
-      throws Exception {
-    @SuppressWarnings("unchecked")
-    List<Map<String, Object>> emotionIndicators =
-        (List<Map<String, Object>>) narrativeMap.get("emotionIndicators");
-    if (emotionIndicators != null) {
-      narrative.setEmotionIndicators(objectMapper.writeValueAsString(emotionIndicators));
-    }
-  }
-
-  private void parseAvatarInstructions(Map<String, Object> narrativeMap, SlideNarrative narrative)
-      throws Exception {
-    @SuppressWarnings("unchecked")
-    Map<String, Object> avatarInstructions =
-        (Map<String, Object>) narrativeMap.get("avatarInstructions");
-    if (avatarInstructions != null) {
-      narrative.setAvatarInstructions(objectMapper.writeValueAsString(avatarInstructions));
+  /** Pull the emphasis words out of the (small) speech markers object. */
+  private List<String> readEmphasisWords(String speechMarkersJson) throws IOException {
+    if (speechMarkersJson == null) {
+      return null;
     }
-  }
-
-  private void parseSpeechMarkers(Map<String, Object> narrativeMap, SlideNarrative narrative)
-      throws Exception {
-    @SuppressWarnings("unchecked")
-    Map<String, Object> speechMarkers = (Map<String, Object>) narrativeMap.get("speechMarkers");
-    if (speechMarkers != null) {
-      narrative.setSpeechMarkers(objectMapper.writeValueAsString(speechMarkers));
-
-      // Extract emphasis words
-      @SuppressWarnings("unchecked")
-      List<String> emphasisWords = (List<String>) speechMarkers.get("emphasis");
-      if (emphasisWords != null) {
-        narrative.setEmphasisWords(objectMapper.writeValueAsString(emphasisWords));
-      }
+    List<List<String>> emphasis = new ArrayList<>(1);
+    try (LlmJsonReader reader =
+        LlmJsonReader.forString(objectMapper.getFactory(), speechMarkersJson)) {
+      reader.readObject(
+          field -> {
+            if ("emphasis".equals(field)) {
+              emphasis.add(reader.readStringList());
+            } else {
+              reader.skipValue();
+            }
+          });
     }
+    return emphasis.isEmpty() ? null : emphasis.get(0);
   }
 
   private void setNarrativeVersion(SlideNarrative narrative, UUID slideId) {
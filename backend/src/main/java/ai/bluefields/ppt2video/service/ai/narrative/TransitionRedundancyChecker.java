@@ -1,28 +1,24 @@
 package ai.bluefields.ppt2video.service.ai.narrative;
 
-import java.util.Arrays;
+import ai.bluefields.ppt2video.util.TextStats;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 /**
- * Service to detect redundant transition phrases that repeat the opening of the next slide.
- * Prevents awkward repetition in the narrative flow.
+ * Service to detect redundant transition phrases that repeat the opening of the next slide, or that
+ * repeat transitions already used elsewhere in the deck. Prevents awkward repetition in the
+ * narrative flow.
+ *
+ * <p>Texts are tokenized in a single pass by {@link TextStats}; callers holding a narrative entity
+ * should pass its cached statistics so the next slide's opening is analyzed only once.
  */
 @Slf4j
 @Service
 public class TransitionRedundancyChecker {
 
-  // Common connecting words that don't count as meaningful overlap
-  private static final Set<String> STOP_WORDS =
-      new HashSet<>(
-          Arrays.asList(
-              "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with",
-              "by", "from", "about", "as", "into", "through", "during", "before", "after", "above",
-              "below", "between", "under", "let's", "we'll", "here's", "now", "next", "then",
-              "first", "second", "third", "finally"));
-
   /**
    * Checks if a transition phrase is redundant with the opening of the next narrative.
    *
@@ -31,27 +27,35 @@ public class TransitionRedundancyChecker {
    * @return true if the transition is redundant and should be skipped
    */
   public boolean isTransitionRedundant(String transitionPhrase, String nextNarrativeText) {
+    return isTransitionRedundant(transitionPhrase, TextStats.of(nextNarrativeText));
+  }
+
+  /**
+   * Checks if a transition phrase is redundant with the opening of the next narrative, using
+   * precomputed statistics of the next narrative.
+   *
+   * @param transitionPhrase The transition phrase from the current slide
+   * @param nextNarrativeStats The text statistics of the next slide's narrative
+   * @return true if the transition is redundant and should be skipped
+   */
+  public boolean isTransitionRedundant(String transitionPhrase, TextStats nextNarrativeStats) {
     if (transitionPhrase == null
         || transitionPhrase.trim().isEmpty()
-        || nextNarrativeText == null
-        || nextNarrativeText.trim().isEmpty()) {
+        || nextNarrativeStats == null
+        || nextNarrativeStats.getSentenceCount() == 0) {
       return false;
     }
 
-    // Get the first sentence or first 200 characters of the next narrative
-    String nextOpening = extractOpening(nextNarrativeText);
-
-    // Extract key concepts from both texts
-    Set<String> transitionConcepts = extractKeyConcepts(transitionPhrase.toLowerCase());
-    Set<String> nextOpeningConcepts = extractKeyConcepts(nextOpening.toLowerCase());
+    // Key concepts of the transition and of the next narrative's first sentence or 200 characters
+    Set<String> transitionConcepts = TextStats.extractKeyConcepts(transitionPhrase);
+    Set<String> nextOpeningConcepts = nextNarrativeStats.getKeyConcepts();
 
     // Calculate overlap
-    Set<String> overlap = new HashSet<>(transitionConcepts);
-    overlap.retainAll(nextOpeningConcepts);
+    int overlapCount = countOverlap(transitionConcepts, nextOpeningConcepts);
 
     // If more than 40% of transition concepts appear in the opening, it's redundant
     double overlapRatio =
-        transitionConcepts.isEmpty() ? 0 : (double) overlap.size() / transitionConcepts.size();
+        transitionConcepts.isEmpty() ? 0 : (double) overlapCount / transitionConcepts.size();
 
     boolean isRedundant = overlapRatio > 0.4;
 
@@ -59,94 +63,92 @@ public class TransitionRedundancyChecker {
       log.info("Redundant transition detected. Overlap ratio: {}", overlapRatio);
       log.debug("Transition concepts: {}", transitionConcepts);
       log.debug("Next opening concepts: {}", nextOpeningConcepts);
-      log.debug("Overlapping concepts: {}", overlap);
+      if (log.isDebugEnabled()) {
+        Set<String> overlap = new HashSet<>(transitionConcepts);
+        overlap.retainAll(nextOpeningConcepts);
+        log.debug("Overlapping concepts: {}", overlap);
+      }
     }
 
     return isRedundant;
   }
 
-  /** Extracts the opening portion of a narrative (first sentence or 200 chars). */
-  private String extractOpening(String text) {
-    // Find first sentence ending
-    int sentenceEnd = -1;
-    for (String delimiter : new String[] {".", "!", "?"}) {
-      int index = text.indexOf(delimiter);
-      if (index > 0 && (sentenceEnd == -1 || index < sentenceEnd)) {
-        sentenceEnd = index;
-      }
-    }
-
-    // Use first sentence if found and reasonable length, otherwise first 200 chars
-    if (sentenceEnd > 20 && sentenceEnd < 250) {
-      return text.substring(0, sentenceEnd);
-    } else {
-      return text.length() > 200 ? text.substring(0, 200) : text;
+  /**
+   * Checks if a transition phrase duplicates one already chosen for another slide, either word for
+   * word or by repeating most of its key concepts.
+   *
+   * @param transitionPhrase The candidate transition phrase
+   * @param acceptedTransitions Transition phrases already in use
+   * @return true if the candidate should not be used again
+   */
+  public boolean isDuplicateTransition(
+      String transitionPhrase, Collection<String> acceptedTransitions) {
+    if (transitionPhrase == null
+        || transitionPhrase.trim().isEmpty()
+        || acceptedTransitions == null
+        || acceptedTransitions.isEmpty()) {
+      return false;
     }
-  }
-
-  /** Extracts meaningful concepts from text, filtering out stop words. */
-  private Set<String> extractKeyConcepts(String text) {
-    Set<String> concepts = new HashSet<>();
 
-    // Remove punctuation and split into words
-    String cleanText = text.replaceAll("[^a-z0-9\\s-]", " ");
-    String[] words = cleanText.split("\\s+");
+    String normalized = normalize(transitionPhrase);
+    Set<String> concepts = TextStats.extractKeyConcepts(normalized);
 
-    // Look for meaningful phrases and words
-    for (int i = 0; i < words.length; i++) {
-      String word = words[i].trim();
-
-      // Skip stop words and very short words
-      if (word.length() < 3 || STOP_WORDS.contains(word)) {
+    for (String accepted : acceptedTransitions) {
+      if (accepted == null || accepted.trim().isEmpty()) {
         continue;
       }
+      String acceptedNormalized = normalize(accepted);
+      if (normalized.equals(acceptedNormalized)) {
+        log.debug("Duplicate transition detected: '{}'", transitionPhrase);
+        return true;
+      }
 
-      // Add single meaningful word
-      concepts.add(word);
-
-      // Look for two-word phrases
-      if (i < words.length - 1) {
-        String nextWord = words[i + 1].trim();
-        if (nextWord.length() >= 3 && !STOP_WORDS.contains(nextWord)) {
-          String phrase = word + " " + nextWord;
+      Set<String> acceptedConcepts = TextStats.extractKeyConcepts(acceptedNormalized);
+      if (concepts.isEmpty() || acceptedConcepts.isEmpty()) {
+        continue;
+      }
+      double overlapRatio =
+          (double) countOverlap(concepts, acceptedConcepts)
+              / Math.min(concepts.size(), acceptedConcepts.size());
+      if (overlapRatio >= 0.8) {
+        log.debug(
+            "Near-duplicate transition detected: '{}' vs '{}' (overlap {})",
+            transitionPhrase,
+            accepted,
+            overlapRatio);
+        return true;
+      }
+    }
+    return false;
+  }
 
-          // Add meaningful two-word phrases
-          if (isMeaningfulPhrase(phrase)) {
-            concepts.add(phrase);
-          }
+  /** Lower-cases a phrase and collapses punctuation and whitespace into single spaces. */
+  private String normalize(String text) {
+    StringBuilder normalized = new StringBuilder(text.length());
+    boolean pendingSpace = false;
+    for (int i = 0; i < text.length(); i++) {
+      char c = Character.toLowerCase(text.charAt(i));
+      if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-') {
+        if (pendingSpace && !normalized.isEmpty()) {
+          normalized.append(' ');
         }
+        normalized.append(c);
+        pendingSpace = false;
+      } else {
+        pendingSpace = true;
       }
     }
-
-    return concepts;
+    return normalized.toString();
   }
 
-  /** Determines if a two-word phrase is meaningful (domain-specific terms). */
-  private boolean isMeaningfulPhrase(String phrase) {
-    // Key business/presentation phrases to recognize
-    String[] meaningfulPhrases = {
-      "inflection point",
-      "focus areas",
-      "three areas",
-      "four steps",
-      "engagement model",
-      "workshop phase",
-      "workstreams",
-      "investment view",
-      "technical setup",
-      "team scaling",
-      "product development",
-      "strategic guidance",
-      "technology review",
-      "data collection"
-    };
-
-    for (String meaningful : meaningfulPhrases) {
-      if (phrase.contains(meaningful)) {
-        return true;
+  /** Counts the elements of the first set that are also in the second. */
+  private static int countOverlap(Set<String> concepts, Set<String> otherConcepts) {
+    int count = 0;
+    for (String concept : concepts) {
+      if (otherConcepts.contains(concept)) {
+        count++;
       }
     }
-
-    return false;
+    return count;
   }
 }
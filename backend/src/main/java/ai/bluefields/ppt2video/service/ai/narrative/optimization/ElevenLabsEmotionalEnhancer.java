@@ -5,12 +5,22 @@ import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
 import ai.bluefields.ppt2video.service.ai.OpenAIService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +39,19 @@ public class ElevenLabsEmotionalEnhancer implements EmotionalEnhancer {
   private final SlideNarrativeRepository slideNarrativeRepository;
   private final ObjectMapper objectMapper;
 
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  @Value("${app.ai.narrative.optimization.emotional.max-concurrent:5}")
+  private int maxConcurrentEnhancements;
+
+  @Value("${app.ai.narrative.optimization.emotional.persist-batch-size:10}")
+  private int persistBatchSize;
+
+  @Value("${app.ai.narrative.optimization.emotional.timeout-seconds:90}")
+  private int timeoutSeconds;
+
   @Override
   public String getEngineType() {
     return "elevenlabs";
@@ -50,43 +73,9 @@ public class ElevenLabsEmotionalEnhancer implements EmotionalEnhancer {
         return narrative.getEnhancedNarrativeText();
       }
 
-      UUID presentationId = narrative.getSlide().getPresentation().getId();
-      String enhancedText = callAIForEmotionalEnhancement(narrative, presentationId);
-
-      // Post-process to fix ellipsis placement
-      if (enhancedText != null && !enhancedText.isEmpty()) {
-        enhancedText = postProcessEllipses(enhancedText);
-      }
-
-      if (enhancedText != null && !enhancedText.isEmpty()) {
-        // Store in new enhanced field instead of overwriting original
-        narrative.setEnhancedNarrativeText(enhancedText);
-        narrative.setEnhancementTimestamp(LocalDateTime.now());
-        // Get the actual model name from OpenAIService configuration
-        String modelUsed = openAIService.getModelName() + "-elevenlabs";
-        narrative.setEnhancementModelUsed(modelUsed);
-
-        // Store metadata about enhancement
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put("enhancer", "elevenlabs");
-        metadata.put("originalLength", narrative.getNarrativeText().length());
-        metadata.put("enhancedLength", enhancedText.length());
-        metadata.put("slideNumber", narrative.getSlide().getSlideNumber());
-        metadata.put("presentationId", presentationId.toString());
-
-        try {
-          narrative.setEnhancementMetadata(objectMapper.writeValueAsString(metadata));
-        } catch (Exception e) {
-          log.warn("Failed to serialize enhancement metadata", e);
-        }
-
+      if (applyEnhancement(narrative)) {
         slideNarrativeRepository.save(narrative);
-        log.info(
-            "Successfully enhanced narrative for slide {} - original length: {}, enhanced length: {}",
-            narrative.getSlide().getSlideNumber(),
-            narrative.getNarrativeText().length(),
-            enhancedText.length());
-        return enhancedText;
+        return narrative.getEnhancedNarrativeText();
       }
 
       return narrative.getNarrativeText();
@@ -99,31 +88,74 @@ public class ElevenLabsEmotionalEnhancer implements EmotionalEnhancer {
   }
 
   @Override
-  @Transactional
   public int enhanceNarratives(List<SlideNarrative> narratives) {
+    return enhanceNarratives(narratives, null);
+  }
+
+  /**
+   * Enhance narratives concurrently. Up to {@code max-concurrent} AI calls run at once on virtual
+   * threads; enhanced narratives are saved in batches as they complete, each batch in its own
+   * transaction so progress is visible while the rest are still running.
+   */
+  @Override
+  public int enhanceNarratives(List<SlideNarrative> narratives, ProgressListener listener) {
     if (narratives == null || narratives.isEmpty()) {
       return 0;
     }
 
-    log.info("Starting ElevenLabs emotional enhancement for {} narratives", narratives.size());
-
-    int enhanced = 0;
-    int alreadyEnhanced = 0;
+    List<SlideNarrative> pending =
+        narratives.stream().filter(narrative -> !narrative.hasEnhancement()).toList();
+    int alreadyEnhanced = narratives.size() - pending.size();
 
-    for (SlideNarrative narrative : narratives) {
-      // Skip if already enhanced
-      if (narrative.hasEnhancement()) {
-        alreadyEnhanced++;
-        log.debug(
-            "Skipping slide {} - already has enhancement", narrative.getSlide().getSlideNumber());
-        continue;
-      }
+    log.info(
+        "Starting ElevenLabs emotional enhancement for {} narratives ({} already enhanced), max concurrency: {}",
+        pending.size(),
+        alreadyEnhanced,
+        maxConcurrentEnhancements);
+
+    int concurrency = Math.max(1, maxConcurrentEnhancements);
+    Semaphore permits = new Semaphore(concurrency);
+    BlockingQueue<EnhancementOutcome> outcomes = new LinkedBlockingQueue<>();
+    for (SlideNarrative narrative : pending) {
+      CompletableFuture.runAsync(
+          () -> outcomes.add(enhanceWithPermit(narrative, permits)), virtualThreadExecutor);
+    }
 
-      String result = enhanceNarrative(narrative);
-      // Check if enhancement was successful by comparing with original
-      if (!result.equals(narrative.getNarrativeText())) {
-        enhanced++;
+    // Collect results on this thread and persist them in batches
+    List<SlideNarrative> batch = new ArrayList<>(persistBatchSize);
+    int processed = 0;
+    int enhanced = 0;
+    int rounds = (pending.size() + concurrency - 1) / concurrency;
+    long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds) * rounds;
+    try {
+      while (processed < pending.size()) {
+        EnhancementOutcome outcome =
+            outcomes.poll(
+                Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        if (outcome == null) {
+          log.error(
+              "Emotional enhancement timed out with {}/{} narratives processed",
+              processed,
+              pending.size());
+          break;
+        }
+        processed++;
+        if (outcome.enhanced()) {
+          enhanced++;
+          batch.add(outcome.narrative());
+          if (batch.size() >= persistBatchSize) {
+            persistBatch(batch);
+          }
+        }
+        if (listener != null) {
+          listener.onProgress(processed + alreadyEnhanced, enhanced, narratives.size());
+        }
       }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.warn("Interrupted while waiting for emotional enhancements");
+    } finally {
+      persistBatch(batch);
     }
 
     log.info(
@@ -134,6 +166,89 @@ public class ElevenLabsEmotionalEnhancer implements EmotionalEnhancer {
     return enhanced;
   }
 
+  /** Run the AI call for one narrative while holding a permit. */
+  private EnhancementOutcome enhanceWithPermit(SlideNarrative narrative, Semaphore permits) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return new EnhancementOutcome(narrative, false);
+    }
+    try {
+      return new EnhancementOutcome(narrative, applyEnhancement(narrative));
+    } catch (Exception e) {
+      log.error(
+          "Failed to enhance narrative for slide {}", narrative.getSlide().getSlideNumber(), e);
+      return new EnhancementOutcome(narrative, false);
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** Save a batch of enhanced narratives and clear it. */
+  private void persistBatch(List<SlideNarrative> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      slideNarrativeRepository.saveAll(batch);
+      log.debug("Saved batch of {} enhanced narratives", batch.size());
+    } catch (Exception e) {
+      log.error("Failed to save batch of {} enhanced narratives", batch.size(), e);
+    }
+    batch.clear();
+  }
+
+  /**
+   * Call the AI and store the enhanced text and its metadata on the narrative without saving it.
+   *
+   * @return true if an enhancement was applied
+   */
+  private boolean applyEnhancement(SlideNarrative narrative) {
+    UUID presentationId = narrative.getSlide().getPresentation().getId();
+    String enhancedText = callAIForEmotionalEnhancement(narrative, presentationId);
+
+    // Post-process to fix ellipsis placement
+    if (enhancedText != null && !enhancedText.isEmpty()) {
+      enhancedText = postProcessEllipses(enhancedText);
+    }
+
+    if (enhancedText == null || enhancedText.isEmpty()) {
+      return false;
+    }
+
+    // Store in new enhanced field instead of overwriting original
+    narrative.setEnhancedNarrativeText(enhancedText);
+    narrative.setEnhancementTimestamp(LocalDateTime.now());
+    // Get the actual model name from OpenAIService configuration
+    String modelUsed = openAIService.getModelName() + "-elevenlabs";
+    narrative.setEnhancementModelUsed(modelUsed);
+
+    // Store metadata about enhancement
+    Map<String, Object> metadata = new HashMap<>();
+    metadata.put("enhancer", "elevenlabs");
+    metadata.put("originalLength", narrative.getNarrativeText().length());
+    metadata.put("enhancedLength", enhancedText.length());
+    metadata.put("slideNumber", narrative.getSlide().getSlideNumber());
+    metadata.put("presentationId", presentationId.toString());
+
+    try {
+      narrative.setEnhancementMetadata(objectMapper.writeValueAsString(metadata));
+    } catch (Exception e) {
+      log.warn("Failed to serialize enhancement metadata", e);
+    }
+
+    log.info(
+        "Successfully enhanced narrative for slide {} - original length: {}, enhanced length: {}",
+        narrative.getSlide().getSlideNumber(),
+        narrative.getNarrativeText().length(),
+        enhancedText.length());
+    return true;
+  }
+
+  /** Result of enhancing one narrative. */
+  private record EnhancementOutcome(SlideNarrative narrative, boolean enhanced) {}
+
   /** Call AI to add ElevenLabs-specific emotional markers to the narrative. */
   private String callAIForEmotionalEnhancement(SlideNarrative narrative, UUID presentationId) {
     // Parse the structured emotion data from the narrative
@@ -31,4 +31,34 @@ public interface EmotionalEnhancer {
    * @return Number of successfully enhanced narratives
    */
   int enhanceNarratives(List<SlideNarrative> narratives);
+
+  /**
+   * Batch enhance multiple narratives, reporting progress as each one is processed. Implementations
+   * may process narratives concurrently; the default processes them as {@link
+   * #enhanceNarratives(List)} does and reports once at the end.
+   *
+   * @param narratives List of narratives to enhance
+   * @param listener Receives progress updates, may be null
+   * @return Number of successfully enhanced narratives
+   */
+  default int enhanceNarratives(List<SlideNarrative> narratives, ProgressListener listener) {
+    int enhanced = enhanceNarratives(narratives);
+    if (listener != null && narratives != null) {
+      listener.onProgress(narratives.size(), enhanced, narratives.size());
+    }
+    return enhanced;
+  }
+
+  /** Receives progress of a batch enhancement. */
+  @FunctionalInterface
+  interface ProgressListener {
+    /**
+     * Called after a narrative has been processed.
+     *
+     * @param processed Number of narratives processed so far, including already enhanced ones
+     * @param enhanced Number of narratives enhanced so far
+     * @param total Total number of narratives in the batch
+     */
+    void onProgress(int processed, int enhanced, int total);
+  }
 }
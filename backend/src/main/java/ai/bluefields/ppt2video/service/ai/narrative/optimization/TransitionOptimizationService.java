@@ -1,17 +1,30 @@
 package ai.bluefields.ppt2video.service.ai.narrative.optimization;
 
+import ai.bluefields.ppt2video.dto.ai.TransitionUpdate;
 import ai.bluefields.ppt2video.entity.SlideNarrative;
 import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
+import ai.bluefields.ppt2video.service.ai.LlmJsonReader;
 import ai.bluefields.ppt2video.service.ai.OpenAIService;
-import com.fasterxml.jackson.core.type.TypeReference;
+import ai.bluefields.ppt2video.service.ai.narrative.TransitionRedundancyChecker;
+import ai.bluefields.ppt2video.util.TextStats;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +32,12 @@ import org.springframework.transaction.annotation.Transactional;
 /**
  * Service responsible for optimizing transitions between slide narratives. Takes all narratives for
  * a presentation and improves the transition phrases to create more natural flow between slides.
+ *
+ * <p>Small decks are optimized in a single request. Larger decks are split into overlapping windows
+ * of slides that are optimized in parallel, so latency stays flat as decks grow and no single
+ * response runs into output-token limits. Where windows overlap, the candidate from the window in
+ * which the slide sits most centrally wins, unless it repeats the next slide's opening or a
+ * transition already chosen elsewhere in the deck.
  */
 @Slf4j
 @Service
@@ -28,13 +47,31 @@ public class TransitionOptimizationService {
   private final OpenAIService openAIService;
   private final SlideNarrativeRepository slideNarrativeRepository;
   private final ObjectMapper objectMapper;
+  private final TransitionRedundancyChecker redundancyChecker;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
 
   @Value("${app.ai.narrative.optimization.transition.timeout-seconds:60}")
   private int timeoutSeconds;
 
+  @Value("${app.ai.narrative.optimization.transition.windowed-threshold:15}")
+  private int windowedThreshold;
+
+  @Value("${app.ai.narrative.optimization.transition.window-size:12}")
+  private int windowSize;
+
+  @Value("${app.ai.narrative.optimization.transition.window-overlap:2}")
+  private int windowOverlap;
+
+  @Value("${app.ai.narrative.optimization.transition.max-concurrent:4}")
+  private int maxConcurrent;
+
   /**
-   * Optimize transitions for all narratives in a presentation. Sends all narratives to AI to
-   * improve transition phrases between slides.
+   * Optimize transitions for all narratives in a presentation. Sends the narratives to AI to
+   * improve transition phrases between slides, in one request or in parallel windows for decks
+   * larger than the windowed threshold.
    *
    * @param presentationId The presentation ID
    * @param narratives List of narratives to optimize
@@ -52,6 +89,10 @@ public class TransitionOptimizationService {
         narratives.size(),
         presentationId);
 
+    if (narratives.size() > windowedThreshold) {
+      return optimizeTransitionsWindowed(presentationId, narratives);
+    }
+
     try {
       // Build the context with all narratives
       String narrativesJson = buildNarrativesJson(narratives);
@@ -72,6 +113,162 @@ public class TransitionOptimizationService {
     }
   }
 
+  /**
+   * Optimize transitions in overlapping windows of slides. Window requests run in parallel on
+   * virtual threads with bounded concurrency; the results are merged and saved on the calling
+   * thread.
+   */
+  private int optimizeTransitionsWindowed(UUID presentationId, List<SlideNarrative> narratives) {
+    List<SlideNarrative> ordered = new ArrayList<>(narratives);
+    ordered.sort(Comparator.comparing(n -> n.getSlide().getSlideNumber()));
+
+    List<int[]> windows = buildWindows(ordered.size());
+    log.info(
+        "Optimizing transitions for {} narratives in {} windows of up to {} slides",
+        ordered.size(),
+        windows.size(),
+        windowSize);
+
+    Semaphore permits = new Semaphore(Math.max(1, maxConcurrent));
+    List<CompletableFuture<List<TransitionUpdate>>> futures = new ArrayList<>();
+    for (int[] window : windows) {
+      String windowJson;
+      try {
+        windowJson = buildNarrativesJson(ordered.subList(window[0], window[1]));
+      } catch (Exception e) {
+        log.error("Failed to build narratives JSON for window {}-{}", window[0], window[1], e);
+        futures.add(CompletableFuture.completedFuture(List.of()));
+        continue;
+      }
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> optimizeWindow(presentationId, windowJson, window, permits),
+              virtualThreadExecutor));
+    }
+
+    int rounds = (windows.size() + Math.max(1, maxConcurrent) - 1) / Math.max(1, maxConcurrent);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos((long) timeoutSeconds * rounds);
+
+    // Candidates per narrative index, with the slide's distance from its window edge
+    Map<Integer, List<TransitionCandidate>> candidates = new HashMap<>();
+    Map<String, Integer> indexById = new HashMap<>();
+    for (int i = 0; i < ordered.size(); i++) {
+      indexById.put(ordered.get(i).getId().toString(), i);
+    }
+
+    for (int w = 0; w < windows.size(); w++) {
+      int[] window = windows.get(w);
+      List<TransitionUpdate> updates;
+      try {
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        updates = futures.get(w).get(remaining, TimeUnit.NANOSECONDS);
+      } catch (TimeoutException e) {
+        log.warn("Transition window {}-{} timed out, skipping", window[0], window[1]);
+        futures.get(w).cancel(true);
+        continue;
+      } catch (Exception e) {
+        log.error("Transition window {}-{} failed: {}", window[0], window[1], e.getMessage());
+        continue;
+      }
+
+      for (TransitionUpdate update : updates) {
+        Integer index = indexById.get(update.getId());
+        if (index == null || index < window[0] || index >= window[1]) {
+          continue;
+        }
+        // The window's last slide cannot see its successor unless it ends the deck
+        if (index == window[1] - 1 && index != ordered.size() - 1) {
+          continue;
+        }
+        int centrality = Math.min(index - window[0], window[1] - 1 - index);
+        candidates
+            .computeIfAbsent(index, k -> new ArrayList<>())
+            .add(new TransitionCandidate(update, centrality));
+      }
+    }
+
+    int optimized = 0;
+    List<String> accepted = new ArrayList<>();
+    for (int i = 0; i < ordered.size(); i++) {
+      List<TransitionCandidate> slideCandidates = candidates.get(i);
+      if (slideCandidates == null) {
+        continue;
+      }
+      slideCandidates.sort(Comparator.comparingInt(TransitionCandidate::centrality).reversed());
+      TextStats nextStats =
+          i + 1 < ordered.size() ? ordered.get(i + 1).getNarrativeTextStats() : TextStats.EMPTY;
+      TransitionUpdate chosen = selectCandidate(slideCandidates, nextStats, accepted);
+
+      if (applyTransition(ordered.get(i), chosen)) {
+        accepted.add(chosen.getImprovedTransition());
+        optimized++;
+      }
+    }
+
+    log.info(
+        "Successfully optimized transitions for {}/{} narratives across {} windows",
+        optimized,
+        ordered.size(),
+        windows.size());
+    return optimized;
+  }
+
+  /**
+   * Split a deck into overlapping windows. Each window is returned as {@code [start, end)} and
+   * starts {@code windowSize - windowOverlap} slides after the previous one.
+   */
+  private List<int[]> buildWindows(int slideCount) {
+    int size = Math.max(2, windowSize);
+    int overlap = Math.min(Math.max(1, windowOverlap), size - 1);
+    int step = size - overlap;
+
+    List<int[]> windows = new ArrayList<>();
+    for (int start = 0; ; start += step) {
+      int end = Math.min(start + size, slideCount);
+      windows.add(new int[] {start, end});
+      if (end == slideCount) {
+        return windows;
+      }
+    }
+  }
+
+  /** Optimize one window while holding a concurrency permit. */
+  private List<TransitionUpdate> optimizeWindow(
+      UUID presentationId, String windowJson, int[] window, Semaphore permits) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return List.of();
+    }
+    try {
+      String optimizedJson = callAIForTransitionOptimization(windowJson, presentationId);
+      List<TransitionUpdate> updates = readTransitionUpdates(optimizedJson);
+      log.debug(
+          "Window {}-{} returned {} transition entries", window[0], window[1], updates.size());
+      return updates;
+    } finally {
+      permits.release();
+    }
+  }
+
+  /**
+   * Pick the most central candidate that neither repeats the next slide's opening nor duplicates a
+   * transition already accepted. Falls back to the most central candidate if all of them do.
+   */
+  private TransitionUpdate selectCandidate(
+      List<TransitionCandidate> candidates, TextStats nextNarrativeStats, List<String> accepted) {
+    for (TransitionCandidate candidate : candidates) {
+      String transition = candidate.update().getImprovedTransition();
+      if (transition.isEmpty()
+          || (!redundancyChecker.isTransitionRedundant(transition, nextNarrativeStats)
+              && !redundancyChecker.isDuplicateTransition(transition, accepted))) {
+        return candidate.update();
+      }
+    }
+    return candidates.get(0).update();
+  }
+
   /** Build JSON representation of all narratives for AI processing. */
   private String buildNarrativesJson(List<SlideNarrative> narratives) throws Exception {
     List<Map<String, Object>> narrativeData =
@@ -155,82 +352,125 @@ public class TransitionOptimizationService {
         systemPrompt, userPrompt, "TransitionOptimizationService", presentationId);
   }
 
-  /** Apply the optimized transitions back to the narrative entities. */
+  /**
+   * Apply the optimized transitions back to the narrative entities. Each entry is applied as soon
+   * as it has been read from the response, and entries completed before a truncation are kept.
+   */
   private int applyOptimizedTransitions(List<SlideNarrative> narratives, String optimizedJson) {
-    try {
-      log.debug("Parsing optimized transitions JSON response");
+    Map<String, SlideNarrative> narrativesById = new HashMap<>();
+    for (SlideNarrative narrative : narratives) {
+      narrativesById.put(narrative.getId().toString(), narrative);
+    }
 
-      // Parse the optimized transitions
-      List<Map<String, Object>> optimizedData =
-          objectMapper.readValue(optimizedJson, new TypeReference<List<Map<String, Object>>>() {});
-
-      log.info("Parsed {} transition entries from AI response", optimizedData.size());
-
-      // Create a map for quick lookup
-      Map<String, String> transitionMap = new HashMap<>();
-      for (Map<String, Object> data : optimizedData) {
-        String id = data.get("id") != null ? data.get("id").toString() : null;
-        String transition =
-            data.get("improvedTransition") != null ? data.get("improvedTransition").toString() : "";
-
-        if (id != null) {
-          transitionMap.put(id, transition);
-          log.debug(
-              "Mapped transition for narrative {}: {}",
-              id,
-              transition.length() > 50 ? transition.substring(0, 50) + "..." : transition);
-        }
-      }
+    int[] counts = new int[2]; // [entries read, transitions updated]
+    try (LlmJsonReader reader = LlmJsonReader.forString(objectMapper.getFactory(), optimizedJson)) {
+      log.debug("Parsing optimized transitions JSON response");
 
-      log.info("Created transition map with {} entries", transitionMap.size());
-
-      // Apply transitions to narratives
-      int updated = 0;
-      for (SlideNarrative narrative : narratives) {
-        String narrativeId = narrative.getId().toString();
-        String newTransition = transitionMap.get(narrativeId);
-
-        log.debug(
-            "Processing narrative {}: found transition = {}", narrativeId, newTransition != null);
-
-        if (newTransition != null && !newTransition.isEmpty()) {
-          log.info(
-              "Updating transition for slide {}: '{}'",
-              narrative.getSlide().getSlideNumber(),
-              newTransition);
-
-          narrative.setTransitionPhrase(newTransition);
-          SlideNarrative saved = slideNarrativeRepository.save(narrative);
-
-          // Verify the save worked
-          if (saved.getTransitionPhrase() != null
-              && saved.getTransitionPhrase().equals(newTransition)) {
-            updated++;
-            log.info(
-                "✓ Successfully saved transition for slide {}",
-                narrative.getSlide().getSlideNumber());
-          } else {
-            log.error(
-                "Failed to save transition for slide {} - transition not persisted",
-                narrative.getSlide().getSlideNumber());
-          }
-        } else if (newTransition != null && newTransition.isEmpty()) {
-          // Last slide should have empty transition
-          narrative.setTransitionPhrase("");
-          slideNarrativeRepository.save(narrative);
-          log.debug("Cleared transition for last slide {}", narrative.getSlide().getSlideNumber());
-        }
+      reader.readArray(
+          index -> {
+            TransitionUpdate update = readTransitionUpdate(reader);
+            if (update.getId() == null || update.getImprovedTransition() == null) {
+              return; // Incomplete entry, e.g. cut off by truncation
+            }
+            counts[0]++;
+            if (applyTransition(narrativesById.get(update.getId()), update)) {
+              counts[1]++;
+            }
+          });
+
+      if (reader.isTruncated()) {
+        log.warn(
+            "Transition response was truncated after {} entries, applied what was received",
+            counts[0]);
       }
-
-      log.info("Applied {} transition updates out of {} narratives", updated, narratives.size());
-      return updated;
+      log.info("Parsed {} transition entries from AI response", counts[0]);
+      log.info("Applied {} transition updates out of {} narratives", counts[1], narratives.size());
+      return counts[1];
 
     } catch (Exception e) {
       log.error("Failed to parse and apply optimized transitions: {}", e.getMessage(), e);
       log.error(
           "Raw JSON that failed to parse: {}",
           optimizedJson.length() > 500 ? optimizedJson.substring(0, 500) + "..." : optimizedJson);
-      return 0;
+      return counts[1];
+    }
+  }
+
+  /** Read all complete transition entries from a response, keeping those before a truncation. */
+  private List<TransitionUpdate> readTransitionUpdates(String optimizedJson) {
+    List<TransitionUpdate> updates = new ArrayList<>();
+    try (LlmJsonReader reader = LlmJsonReader.forString(objectMapper.getFactory(), optimizedJson)) {
+      reader.readArray(
+          index -> {
+            TransitionUpdate update = readTransitionUpdate(reader);
+            if (update.getId() != null && update.getImprovedTransition() != null) {
+              updates.add(update);
+            }
+          });
+      if (reader.isTruncated()) {
+        log.warn("Transition window response was truncated after {} entries", updates.size());
+      }
+    } catch (Exception e) {
+      log.error("Failed to parse transition window response: {}", e.getMessage());
     }
+    return updates;
+  }
+
+  /** Read one transition entry from the response. */
+  private TransitionUpdate readTransitionUpdate(LlmJsonReader reader) throws IOException {
+    TransitionUpdate update = new TransitionUpdate();
+    reader.readObject(
+        field -> {
+          switch (field) {
+            case "id" -> update.setId(reader.readText());
+            case "slideNumber" -> update.setSlideNumber(reader.readInteger());
+            case "improvedTransition" -> update.setImprovedTransition(reader.readText());
+            default -> reader.skipValue();
+          }
+        });
+    return update;
   }
+
+  /**
+   * Apply one transition update to its narrative.
+   *
+   * @return true if a non-empty transition was saved
+   */
+  private boolean applyTransition(SlideNarrative narrative, TransitionUpdate update) {
+    if (narrative == null) {
+      log.debug("No narrative found for transition entry {}", update.getId());
+      return false;
+    }
+
+    String newTransition = update.getImprovedTransition();
+    if (newTransition.isEmpty()) {
+      // Last slide should have empty transition
+      narrative.setTransitionPhrase("");
+      slideNarrativeRepository.save(narrative);
+      log.debug("Cleared transition for last slide {}", narrative.getSlide().getSlideNumber());
+      return false;
+    }
+
+    log.info(
+        "Updating transition for slide {}: '{}'",
+        narrative.getSlide().getSlideNumber(),
+        newTransition);
+
+    narrative.setTransitionPhrase(newTransition);
+    SlideNarrative saved = slideNarrativeRepository.save(narrative);
+
+    // Verify the save worked
+    if (saved.getTransitionPhrase() != null && saved.getTransitionPhrase().equals(newTransition)) {
+      log.info(
+          "✓ Successfully saved transition for slide {}", narrative.getSlide().getSlideNumber());
+      return true;
+    }
+    log.error(
+        "Failed to save transition for slide {} - transition not persisted",
+        narrative.getSlide().getSlideNumber());
+    return false;
+  }
+
+  /** A transition proposed by one window, with the slide's distance from that window's edges. */
+  private record TransitionCandidate(TransitionUpdate update, int centrality) {}
 }
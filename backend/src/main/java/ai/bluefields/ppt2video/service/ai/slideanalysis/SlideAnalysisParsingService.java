@@ -1,8 +1,11 @@
 package ai.bluefields.ppt2video.service.ai.slideanalysis;
 
+import ai.bluefields.ppt2video.dto.ai.SlideAnalysisResult;
 import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.entity.SlideAnalysis;
+import ai.bluefields.ppt2video.service.ai.LlmJsonReader;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,7 +14,7 @@ import org.springframework.stereotype.Service;
 
 /**
  * Service responsible for parsing AI analysis results. Handles JSON parsing and entity creation for
- * slide analysis.
+ * slide analysis. Responses are read with a streaming parser into {@link SlideAnalysisResult}.
  */
 @Slf4j
 @Service
@@ -32,20 +35,27 @@ public class SlideAnalysisParsingService {
    */
   public SlideAnalysis parseSlideAnalysis(String analysisResult, Slide slide) {
     try {
-      @SuppressWarnings("unchecked")
-      Map<String, Object> analysisMap = objectMapper.readValue(analysisResult, Map.class);
+      SlideAnalysisResult result = readAnalysisResult(analysisResult);
+      if (result.isTruncated()) {
+        log.warn(
+            "Slide analysis response for slide {} was truncated, keeping the fields received",
+            slide.getId());
+      }
 
       SlideAnalysis analysis = new SlideAnalysis();
       analysis.setSlide(slide);
 
-      // Parse basic fields
-      parseBasicFields(analysisMap, analysis);
+      // Basic fields
+      analysis.setGeneralMessage(result.getGeneralMessage());
+      analysis.setDataInsights(result.getDataInsights());
+      analysis.setTransitionContext(result.getTransitionContext());
+      analysis.setEmphasisLevel(result.getEmphasisLevel());
 
-      // Parse visual concepts
-      parseVisualConcepts(analysisMap, analysis);
+      // Visual concepts
+      parseVisualConcepts(result, analysis);
 
-      // Parse key points
-      parseKeyPoints(analysisMap, analysis);
+      // Key points
+      parseKeyPoints(result, analysis);
 
       // Set metadata
       setAnalysisMetadata(analysis, slide);
@@ -61,20 +71,71 @@ public class SlideAnalysisParsingService {
     }
   }
 
-  /** Parse basic fields from analysis result. */
-  private void parseBasicFields(Map<String, Object> analysisMap, SlideAnalysis analysis) {
-    analysis.setGeneralMessage((String) analysisMap.get("generalMessage"));
-    analysis.setDataInsights((String) analysisMap.get("dataInsights"));
-    analysis.setTransitionContext((String) analysisMap.get("transitionContext"));
-    analysis.setEmphasisLevel((String) analysisMap.get("emphasisLevel"));
+  /**
+   * Read an analysis response into its typed form in a single streaming pass.
+   *
+   * @param analysisResult The JSON result from AI
+   * @return The typed result, possibly partial if the response was truncated
+   * @throws IOException if the response is not valid JSON
+   */
+  public SlideAnalysisResult readAnalysisResult(String analysisResult) throws IOException {
+    SlideAnalysisResult result = new SlideAnalysisResult();
+    try (LlmJsonReader reader =
+        LlmJsonReader.forString(objectMapper.getFactory(), analysisResult)) {
+      reader.readObject(
+          field -> {
+            switch (field) {
+              case "generalMessage" -> result.setGeneralMessage(reader.readText());
+              case "dataInsights" -> result.setDataInsights(reader.readText());
+              case "transitionContext" -> result.setTransitionContext(reader.readText());
+              case "emphasisLevel" -> result.setEmphasisLevel(reader.readText());
+              case "keyPoints" -> result.setKeyPoints(reader.readStringList());
+              case "visualConcepts" -> result.setVisualConcepts(readVisualConcepts(reader));
+              default -> reader.skipValue();
+            }
+          });
+      result.setTruncated(reader.isTruncated());
+    }
+    return result;
   }
 
-  /** Parse and store visual concepts as JSON. */
-  @SuppressWarnings("unchecked")
-  private void parseVisualConcepts(Map<String, Object> analysisMap, SlideAnalysis analysis)
+  private List<SlideAnalysisResult.VisualConcept> readVisualConcepts(LlmJsonReader reader)
+      throws IOException {
+    List<SlideAnalysisResult.VisualConcept> concepts = new ArrayList<>();
+    reader.readArray(
+        index -> {
+          SlideAnalysisResult.VisualConcept concept = new SlideAnalysisResult.VisualConcept();
+          reader.readObject(
+              field -> {
+                switch (field) {
+                  case "type" -> concept.setType(reader.readText());
+                  case "confidence" -> concept.setConfidence(reader.readText());
+                  case "prominence" -> concept.setProminence(reader.readText());
+                  case "details" -> concept.setDetails(reader.readRawJson());
+                  case "position" -> {
+                    SlideAnalysisResult.Position position = new SlideAnalysisResult.Position();
+                    reader.readObject(
+                        axis -> {
+                          switch (axis) {
+                            case "vertical" -> position.setVertical(reader.readText());
+                            case "horizontal" -> position.setHorizontal(reader.readText());
+                            default -> reader.skipValue();
+                          }
+                        });
+                    concept.setPosition(position);
+                  }
+                  default -> reader.skipValue();
+                }
+              });
+          concepts.add(concept);
+        });
+    return concepts;
+  }
+
+  /** Validate and store visual concepts as JSON. */
+  private void parseVisualConcepts(SlideAnalysisResult result, SlideAnalysis analysis)
       throws Exception {
-    List<Map<String, Object>> visualConcepts =
-        (List<Map<String, Object>>) analysisMap.get("visualConcepts");
+    List<SlideAnalysisResult.VisualConcept> visualConcepts = result.getVisualConcepts();
 
     if (visualConcepts != null) {
       // Validate and enrich visual concepts
@@ -87,17 +148,15 @@ public class SlideAnalysisParsingService {
             concept ->
                 log.debug(
                     "Found visual concept: {} with confidence: {}",
-                    concept.get("type"),
-                    concept.get("confidence")));
+                    concept.getType(),
+                    concept.getConfidence()));
       }
     }
   }
 
-  /** Parse and store key points as JSON. */
-  @SuppressWarnings("unchecked")
-  private void parseKeyPoints(Map<String, Object> analysisMap, SlideAnalysis analysis)
-      throws Exception {
-    List<String> keyPoints = (List<String>) analysisMap.get("keyPoints");
+  /** Store key points as JSON. */
+  private void parseKeyPoints(SlideAnalysisResult result, SlideAnalysis analysis) throws Exception {
+    List<String> keyPoints = result.getKeyPoints();
 
     if (keyPoints != null && !keyPoints.isEmpty()) {
       analysis.setKeyPoints(objectMapper.writeValueAsString(keyPoints));
@@ -107,33 +166,30 @@ public class SlideAnalysisParsingService {
     }
   }
 
-  /** Validate visual concepts structure. */
-  private void validateVisualConcepts(List<Map<String, Object>> visualConcepts) {
-    for (Map<String, Object> concept : visualConcepts) {
+  /** Validate visual concepts structure, filling in defaults for missing fields. */
+  private void validateVisualConcepts(List<SlideAnalysisResult.VisualConcept> visualConcepts) {
+    for (SlideAnalysisResult.VisualConcept concept : visualConcepts) {
       // Ensure required fields are present
-      if (!concept.containsKey("type")) {
+      if (concept.getType() == null) {
         log.warn("Visual concept missing 'type' field: {}", concept);
-        concept.put("type", "UNKNOWN");
+        concept.setType("UNKNOWN");
       }
 
-      if (!concept.containsKey("confidence")) {
-        concept.put("confidence", "LOW");
+      if (concept.getConfidence() == null) {
+        concept.setConfidence("LOW");
       }
 
       // Ensure position structure
-      if (!concept.containsKey("position")) {
-        Map<String, String> defaultPosition = new HashMap<>();
-        defaultPosition.put("vertical", "CENTER");
-        defaultPosition.put("horizontal", "CENTER");
-        concept.put("position", defaultPosition);
+      if (concept.getPosition() == null) {
+        concept.setPosition(new SlideAnalysisResult.Position("CENTER", "CENTER"));
       }
 
-      if (!concept.containsKey("prominence")) {
-        concept.put("prominence", "SECONDARY");
+      if (concept.getProminence() == null) {
+        concept.setProminence("SECONDARY");
       }
 
-      if (!concept.containsKey("details")) {
-        concept.put("details", new HashMap<String, Object>());
+      if (concept.getDetails() == null) {
+        concept.setDetails("{}");
       }
     }
   }
@@ -0,0 +1,473 @@
+package ai.bluefields.ppt2video.service.audio;
+
+import ai.bluefields.ppt2video.config.AudioPostProcessingConfig;
+import ai.bluefields.ppt2video.dto.audio.AudioPostProcessingResult;
+import ai.bluefields.ppt2video.dto.audio.NarrationCue;
+import ai.bluefields.ppt2video.dto.audio.NarrationCueSheet;
+import ai.bluefields.ppt2video.entity.AssetType;
+import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.model.SpeechAlignment;
+import ai.bluefields.ppt2video.repository.SlideRepository;
+import ai.bluefields.ppt2video.repository.SlideSpeechRepository;
+import ai.bluefields.ppt2video.service.FileStorageService;
+import ai.bluefields.ppt2video.service.R2AssetService;
+import ai.bluefields.ppt2video.service.media.MediaProbeService;
+import ai.bluefields.ppt2video.service.media.MediaProcessRunner;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Post-processes generated slide speech with FFmpeg. Silence before the first and after the last
+ * spoken character is cut, using the character alignment from the TTS provider, and loudness is
+ * normalized to a common target with a two-pass loudnorm. The exact duration of the result is
+ * probed once and stored on the {@link SlideSpeech}, so later stages don't have to probe again.
+ *
+ * <p>The processed file replaces the speech's audio file, the generated file is kept as the
+ * original. A presentation's speeches are processed in parallel and can be joined into one
+ * narration track with a cue sheet giving the position of every slide.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SpeechAudioPostProcessor {
+
+  private static final String NARRATION_AUDIO_FILE = "narration.mp3";
+  private static final String NARRATION_CUE_FILE = "narration-cues.json";
+
+  private final AudioPostProcessingConfig config;
+  private final SlideSpeechRepository slideSpeechRepository;
+  private final SlideRepository slideRepository;
+  private final FileStorageService fileStorageService;
+  private final R2AssetService r2AssetService;
+  private final MediaProcessRunner mediaProcessRunner;
+  private final MediaProbeService mediaProbeService;
+  private final ObjectMapper objectMapper;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  /**
+   * Post-process one speech if enabled in configuration. Failures are logged and leave the speech
+   * as generated.
+   *
+   * @param speechId the speech ID
+   */
+  public void processSpeechIfEnabled(UUID speechId) {
+    if (!config.isEnabled()) {
+      log.debug("Audio post-processing is disabled, skipping speech {}", speechId);
+      return;
+    }
+    try {
+      processSpeech(speechId, false);
+    } catch (Exception e) {
+      log.error("Failed to post-process speech {}, using generated audio", speechId, e);
+    }
+  }
+
+  /**
+   * Post-process one speech.
+   *
+   * @param speechId the speech ID
+   * @param force whether to process again if already processed
+   * @return the updated speech
+   * @throws IOException if FFmpeg fails
+   */
+  public SlideSpeech processSpeech(UUID speechId, boolean force) throws IOException {
+    SlideSpeech speech =
+        slideSpeechRepository
+            .findById(speechId)
+            .orElseThrow(() -> new IllegalArgumentException("Speech not found: " + speechId));
+    process(speech, force);
+    return speech;
+  }
+
+  /**
+   * Post-process the active speeches of a presentation in parallel and optionally join them into
+   * one narration track.
+   *
+   * @param presentationId the presentation ID
+   * @param concatenate whether to build the narration track and cue sheet
+   * @param force whether to process speeches again that were already processed
+   * @return counts of processed, skipped and failed speeches, and the cue sheet if built
+   */
+  public AudioPostProcessingResult processPresentation(
+      UUID presentationId, boolean concatenate, boolean force) {
+    long started = System.currentTimeMillis();
+
+    // One speech per slide; if a slide has several active speeches, the most recent is used
+    Map<UUID, SlideSpeech> bySlide = new LinkedHashMap<>();
+    for (SlideSpeech speech :
+        slideSpeechRepository.findActiveWithSlideByPresentationId(presentationId)) {
+      bySlide.putIfAbsent(speech.getSlideId(), speech);
+    }
+    List<SlideSpeech> speeches = new ArrayList<>(bySlide.values());
+    log.info("Post-processing {} speeches of presentation {}", speeches.size(), presentationId);
+
+    AtomicInteger processed = new AtomicInteger();
+    AtomicInteger skipped = new AtomicInteger();
+    List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    Semaphore permits = new Semaphore(Math.max(1, config.getMaxConcurrent()));
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (SlideSpeech speech : speeches) {
+      tasks.add(
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  permits.acquire();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  throw new IllegalStateException("Interrupted while waiting to process audio", e);
+                }
+                try {
+                  (process(speech, force) ? processed : skipped).incrementAndGet();
+                } catch (Exception e) {
+                  log.error("Failed to post-process speech {}", speech.getId(), e);
+                  errors.add(
+                      String.format(
+                          "Slide %d: %s", speech.getSlide().getSlideNumber(), e.getMessage()));
+                } finally {
+                  permits.release();
+                }
+              },
+              virtualThreadExecutor));
+    }
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+    NarrationCueSheet narration = null;
+    if (concatenate && !speeches.isEmpty()) {
+      if (errors.isEmpty()) {
+        try {
+          narration = buildNarration(presentationId, speeches);
+        } catch (Exception e) {
+          log.error("Failed to build narration track for presentation {}", presentationId, e);
+          errors.add("Narration track: " + e.getMessage());
+        }
+      } else {
+        errors.add("Narration track not built because not all speeches could be processed");
+      }
+    }
+
+    AudioPostProcessingResult result =
+        AudioPostProcessingResult.builder()
+            .presentationId(presentationId)
+            .speechesProcessed(processed.get())
+            .speechesSkipped(skipped.get())
+            .speechesFailed(speeches.size() - processed.get() - skipped.get())
+            .errors(errors.isEmpty() ? null : List.copyOf(errors))
+            .narration(narration)
+            .processingTimeMs(System.currentTimeMillis() - started)
+            .build();
+    log.info(
+        "Post-processed speeches of presentation {}: {} processed, {} skipped, {} failed in {} ms",
+        presentationId,
+        result.getSpeechesProcessed(),
+        result.getSpeechesSkipped(),
+        result.getSpeechesFailed(),
+        result.getProcessingTimeMs());
+    return result;
+  }
+
+  /**
+   * Get the cue sheet of the presentation's narration track, if one has been built.
+   *
+   * @param presentationId the presentation ID
+   * @return the cue sheet
+   */
+  public Optional<NarrationCueSheet> getNarration(UUID presentationId) {
+    Path cueFile = audioDir(presentationId).resolve(NARRATION_CUE_FILE);
+    if (!Files.exists(cueFile)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(objectMapper.readValue(cueFile.toFile(), NarrationCueSheet.class));
+    } catch (IOException e) {
+      log.warn("Failed to read narration cue sheet: {}", cueFile, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Get the narration track of a presentation, if one has been built.
+   *
+   * @param presentationId the presentation ID
+   * @return path of the audio file
+   */
+  public Optional<Path> getNarrationAudio(UUID presentationId) {
+    Path audioFile = audioDir(presentationId).resolve(NARRATION_AUDIO_FILE);
+    return Files.exists(audioFile) ? Optional.of(audioFile) : Optional.empty();
+  }
+
+  /**
+   * Trim, normalize and probe one speech, then store the result.
+   *
+   * @return true if processed, false if it was already processed
+   */
+  private boolean process(SlideSpeech speech, boolean force) throws IOException {
+    if (!force && speech.getAudioProcessedAt() != null && exists(speech.getAudioFilePath())) {
+      log.debug("Speech {} is already post-processed", speech.getId());
+      return false;
+    }
+
+    Path source =
+        Paths.get(
+            speech.getOriginalAudioFilePath() != null
+                ? speech.getOriginalAudioFilePath()
+                : speech.getAudioFilePath());
+    if (!Files.exists(source)) {
+      throw new IOException("Audio file not found: " + source);
+    }
+
+    // Alignment times of processed speeches are relative to the trimmed audio
+    SpeechAlignment alignment = speech.getAlignment();
+    if (alignment != null && speech.getTrimmedLeadSeconds() != null) {
+      alignment = alignment.shiftedBy(-speech.getTrimmedLeadSeconds());
+    }
+
+    double trimStart = 0;
+    Double trimEnd = null;
+    if (alignment != null && !alignment.isEmpty()) {
+      trimStart =
+          Math.max(0, alignment.getSpeechStartSeconds() - config.getSilencePaddingSeconds());
+      trimEnd = alignment.getSpeechEndSeconds() + config.getSilencePaddingSeconds();
+    } else {
+      log.debug("Speech {} has no alignment, silence is not trimmed", speech.getId());
+    }
+    String trim =
+        "atrim=start="
+            + num(trimStart)
+            + (trimEnd != null ? ":end=" + num(trimEnd) : "")
+            + ",asetpts=PTS-STARTPTS";
+
+    String loudnorm =
+        String.format(
+            "loudnorm=I=%s:TP=%s:LRA=%s",
+            num(config.getTargetLoudness()),
+            num(config.getTruePeak()),
+            num(config.getLoudnessRange()));
+    JsonNode measured = measureLoudness(source, trim + "," + loudnorm);
+
+    // Linear normalization with the measured values keeps the dynamics of the voice
+    String secondPass = loudnorm;
+    Double inputLoudness = finite(measured.path("input_i"));
+    if (inputLoudness != null) {
+      secondPass +=
+          String.format(
+              ":measured_I=%s:measured_TP=%s:measured_LRA=%s:measured_thresh=%s:offset=%s"
+                  + ":linear=true",
+              measured.path("input_i").asText(),
+              measured.path("input_tp").asText(),
+              measured.path("input_lra").asText(),
+              measured.path("input_thresh").asText(),
+              measured.path("target_offset").asText());
+    }
+
+    String baseName = source.getFileName().toString().replaceFirst("\\.[^.]+$", "");
+    Path output = source.resolveSibling(baseName + "_processed.mp3");
+    mediaProcessRunner.run(
+        "FFmpeg speech normalization",
+        List.of(
+            mediaProcessRunner.getFfmpegPath(),
+            "-hide_banner",
+            "-nostats",
+            "-y",
+            "-i",
+            source.toString(),
+            "-af",
+            trim + "," + secondPass + ",aresample=" + config.getSampleRate(),
+            "-c:a",
+            "libmp3lame",
+            "-b:a",
+            config.getBitrate(),
+            output.toString()));
+    double duration = mediaProbeService.getDuration(output);
+
+    if (speech.getOriginalAudioFilePath() == null) {
+      speech.setOriginalAudioFilePath(speech.getAudioFilePath());
+    }
+    String outputPath = output.toAbsolutePath().toString();
+    speech.setAudioFilePath(outputPath);
+    speech.setDurationSeconds(duration);
+    speech.setTrimmedLeadSeconds(trimStart);
+    speech.setMeasuredLoudnessLufs(inputLoudness);
+    speech.setAudioProcessedAt(LocalDateTime.now());
+    if (alignment != null) {
+      speech.setAlignment(alignment.shiftedBy(trimStart));
+    }
+    slideSpeechRepository.save(speech);
+
+    if (Boolean.TRUE.equals(speech.getIsActive())) {
+      publishAudio(speech, outputPath);
+    }
+    log.info(
+        "Post-processed speech {}: {} s after trimming {} s, loudness {} LUFS normalized to {}",
+        speech.getId(),
+        num(duration),
+        num(trimStart),
+        inputLoudness != null ? num(inputLoudness) : "unknown",
+        num(config.getTargetLoudness()));
+    return true;
+  }
+
+  /** Runs the first loudnorm pass, which prints its measurements as JSON to stderr. */
+  private JsonNode measureLoudness(Path source, String filters) throws IOException {
+    String errorTail =
+        mediaProcessRunner
+            .run(
+                "FFmpeg loudness measurement",
+                List.of(
+                    mediaProcessRunner.getFfmpegPath(),
+                    "-hide_banner",
+                    "-nostats",
+                    "-i",
+                    source.toString(),
+                    "-af",
+                    filters + ":print_format=json",
+                    "-f",
+                    "null",
+                    "-"))
+            .errorTail();
+    int start = errorTail.lastIndexOf('{');
+    int end = errorTail.lastIndexOf('}');
+    if (start < 0 || end < start) {
+      log.warn("No loudness measurement found for {}, normalizing in one pass", source);
+      return objectMapper.createObjectNode();
+    }
+    return objectMapper.readTree(errorTail.substring(start, end + 1));
+  }
+
+  /** Points the slide at the processed audio and republishes it to R2. */
+  private void publishAudio(SlideSpeech speech, String outputPath) {
+    slideRepository
+        .findById(speech.getSlideId())
+        .ifPresent(
+            slide -> {
+              slide.setAudioPath(outputPath);
+              slideRepository.save(slide);
+            });
+    try {
+      r2AssetService.publishExistingAsset(
+          speech.getPresentationId(), speech.getSlideId(), AssetType.SLIDE_AUDIO, true);
+    } catch (Exception e) {
+      // Don't fail processing if R2 upload fails, like speech generation
+      log.error(
+          "Failed to upload processed audio to R2 for slide: {}, continuing without R2 upload",
+          speech.getSlideId(),
+          e);
+    }
+  }
+
+  /** Joins the processed speeches into one track and writes its cue sheet. */
+  private NarrationCueSheet buildNarration(UUID presentationId, List<SlideSpeech> speeches)
+      throws IOException {
+    Path audioDir = audioDir(presentationId);
+    Path list = audioDir.resolve("narration-files.txt");
+    Path output = audioDir.resolve(NARRATION_AUDIO_FILE);
+
+    List<String> entries = new ArrayList<>();
+    List<NarrationCue> cues = new ArrayList<>();
+    double position = 0;
+    for (SlideSpeech speech : speeches) {
+      Path file = Paths.get(speech.getAudioFilePath()).toAbsolutePath();
+      entries.add("file '" + file.toString().replace("'", "'\\''") + "'");
+      cues.add(
+          NarrationCue.builder()
+              .slideId(speech.getSlideId())
+              .slideNumber(speech.getSlide().getSlideNumber())
+              .speechId(speech.getId())
+              .startSeconds(position)
+              .endSeconds(position + speech.getDurationSeconds())
+              .build());
+      position += speech.getDurationSeconds();
+    }
+    Files.write(list, entries);
+
+    try {
+      // Decoding and encoding again avoids gaps from the encoder padding of each file
+      mediaProcessRunner.run(
+          "FFmpeg narration concatenation",
+          List.of(
+              mediaProcessRunner.getFfmpegPath(),
+              "-hide_banner",
+              "-nostats",
+              "-y",
+              "-f",
+              "concat",
+              "-safe",
+              "0",
+              "-i",
+              list.toString(),
+              "-c:a",
+              "libmp3lame",
+              "-b:a",
+              config.getBitrate(),
+              "-ar",
+              String.valueOf(config.getSampleRate()),
+              output.toString()),
+          Duration.ofMinutes(10),
+          null);
+    } finally {
+      Files.deleteIfExists(list);
+    }
+
+    NarrationCueSheet cueSheet =
+        NarrationCueSheet.builder()
+            .presentationId(presentationId)
+            .audioFileName(NARRATION_AUDIO_FILE)
+            .durationSeconds(mediaProbeService.getDuration(output))
+            .cues(cues)
+            .createdAt(LocalDateTime.now())
+            .build();
+    objectMapper.writeValue(audioDir.resolve(NARRATION_CUE_FILE).toFile(), cueSheet);
+    log.info(
+        "Built narration track of {} slides ({} s) for presentation {}",
+        cues.size(),
+        num(cueSheet.getDurationSeconds()),
+        presentationId);
+    return cueSheet;
+  }
+
+  private Path audioDir(UUID presentationId) {
+    return fileStorageService.createPresentationDirectory(presentationId).resolve("audio");
+  }
+
+  private static boolean exists(String path) {
+    return path != null && Files.exists(Paths.get(path));
+  }
+
+  private static Double finite(JsonNode node) {
+    try {
+      double value = Double.parseDouble(node.asText());
+      return Double.isFinite(value) ? value : null;
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static String num(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+}
@@ -156,11 +156,12 @@ public class AvatarVideoMonitorService {
   }
 
   /**
-   * Publish avatar video to R2 storage. Downloads the video from HeyGen and uploads to R2.
+   * Publish avatar video to R2 storage. Downloads the video from its video URL, usually HeyGen, and
+   * uploads it as the slide's avatar video. Failures are logged; the R2 asset stays unset then.
    *
    * @param avatarVideo the avatar video entity
    */
-  private void publishToR2(AvatarVideo avatarVideo) {
+  public void publishToR2(AvatarVideo avatarVideo) {
     try {
       // Check if already published
       if (avatarVideo.getR2Asset() != null) {
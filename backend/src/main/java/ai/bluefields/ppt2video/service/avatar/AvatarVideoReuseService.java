@@ -0,0 +1,188 @@
+package ai.bluefields.ppt2video.service.avatar;
+
+import ai.bluefields.ppt2video.entity.AvatarGenerationStatusType;
+import ai.bluefields.ppt2video.entity.AvatarProviderType;
+import ai.bluefields.ppt2video.entity.AvatarVideo;
+import ai.bluefields.ppt2video.entity.Presentation;
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.repository.AvatarVideoRepository;
+import ai.bluefields.ppt2video.repository.SlideSpeechRepository;
+import ai.bluefields.ppt2video.service.R2AssetService;
+import ai.bluefields.ppt2video.service.avatar.providers.HeyGenConfiguration;
+import ai.bluefields.ppt2video.util.ContentHash;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reuses rendered avatar videos. A video's reuse key is the hash of everything that determines how
+ * it looks and sounds: provider, audio content, avatar, background and video settings. A slide
+ * whose key matches a completed, published video of another slide, in this or another presentation,
+ * gets a copy of that video instead of a new provider job.
+ *
+ * <p>The copy is a new avatar video of the slide with its own R2 asset, so publishing, composition
+ * and cleanup work per slide as for rendered videos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AvatarVideoReuseService {
+
+  // Bump to stop reusing existing videos, e.g. when the provider's rendering changes
+  private static final String KEY_VERSION = "avatar-v1";
+
+  private final AvatarVideoRepository avatarVideoRepository;
+  private final SlideSpeechRepository slideSpeechRepository;
+  private final AvatarVideoMonitorService avatarVideoMonitorService;
+  private final R2AssetService r2AssetService;
+  private final HeyGenConfiguration heyGenConfiguration;
+
+  @Value("${app.avatar.reuse.enabled:true}")
+  private boolean reuseEnabled;
+
+  /**
+   * Reuse key of a video and the hash of its audio.
+   *
+   * @param audioHash SHA-256 of the audio file
+   * @param key SHA-256 of the audio hash and all render settings
+   */
+  public record ReuseKey(String audioHash, String key) {}
+
+  /**
+   * Build the reuse key for rendering a slide's current audio.
+   *
+   * @param slide the slide whose active speech is the audio
+   * @param providerType the avatar provider
+   * @param avatarId the avatar ID
+   * @param backgroundColor the requested background color, or null for the default
+   * @return the key, or empty if the slide has no audio file
+   */
+  public Optional<ReuseKey> reuseKey(
+      Slide slide, AvatarProviderType providerType, String avatarId, String backgroundColor) {
+    // The same file R2AssetService publishes as the slide's audio
+    Optional<Path> audioFile =
+        slideSpeechRepository.findAllActiveBySlideIdOrderByCreatedAtDesc(slide.getId()).stream()
+            .findFirst()
+            .map(SlideSpeech::getAudioFilePath)
+            .map(Paths::get)
+            .filter(Files::exists);
+    if (audioFile.isEmpty()) {
+      return Optional.empty();
+    }
+
+    String audioHash;
+    try {
+      audioHash = ContentHash.sha256(audioFile.get());
+    } catch (IOException e) {
+      log.warn("Failed to hash audio of slide {}: {}", slide.getId(), e.getMessage());
+      return Optional.empty();
+    }
+
+    HeyGenConfiguration.Avatar avatar = heyGenConfiguration.getAvatar();
+    HeyGenConfiguration.Video video = heyGenConfiguration.getVideo();
+    String background =
+        (backgroundColor != null ? backgroundColor : avatar.getBackgroundColor())
+            .trim()
+            .toLowerCase(Locale.ROOT);
+    String key =
+        ContentHash.sha256(
+            String.join(
+                "\n",
+                KEY_VERSION,
+                providerType.name(),
+                audioHash,
+                avatarId,
+                background,
+                String.valueOf(avatar.isTransparentBackground()),
+                video.getWidth() + "x" + video.getHeight(),
+                video.getQuality(),
+                String.valueOf(video.isTestMode())));
+    return Optional.of(new ReuseKey(audioHash, key));
+  }
+
+  /**
+   * Link a completed video with the same reuse key to a slide, copying it to the slide's R2 asset.
+   *
+   * @param reuseKey the reuse key of the slide
+   * @param presentation the presentation
+   * @param slide the slide
+   * @param providerType the avatar provider
+   * @param avatarId the avatar ID
+   * @param backgroundColor the requested background color
+   * @return the slide's new, completed avatar video, or empty if there is nothing to reuse
+   */
+  public Optional<AvatarVideo> linkExisting(
+      ReuseKey reuseKey,
+      Presentation presentation,
+      Slide slide,
+      AvatarProviderType providerType,
+      String avatarId,
+      String backgroundColor) {
+    if (!reuseEnabled) {
+      return Optional.empty();
+    }
+
+    Optional<AvatarVideo> found = avatarVideoRepository.findReusableByReuseKey(reuseKey.key());
+    // A video of the same slide is only requested again to get a new rendering
+    if (found.isEmpty() || found.get().getSlide().getId().equals(slide.getId())) {
+      return Optional.empty();
+    }
+    AvatarVideo source = found.get();
+
+    String sourceUrl;
+    try {
+      sourceUrl = r2AssetService.regeneratePresignedUrl(source.getR2Asset().getId());
+    } catch (Exception e) {
+      log.warn("Cannot reuse avatar video {}: {}", source.getId(), e.getMessage());
+      return Optional.empty();
+    }
+
+    LocalDateTime now = LocalDateTime.now();
+    AvatarVideo copy =
+        avatarVideoRepository.save(
+            AvatarVideo.builder()
+                .presentation(presentation)
+                .slide(slide)
+                .providerType(providerType)
+                .status(AvatarGenerationStatusType.COMPLETED)
+                .avatarId(avatarId)
+                .backgroundColor(backgroundColor)
+                .audioUrl(source.getAudioUrl())
+                .videoUrl(sourceUrl)
+                .durationSeconds(source.getDurationSeconds())
+                .progressPercentage(100)
+                .startedAt(now)
+                .completedAt(now)
+                .createdBy("system")
+                .audioHash(reuseKey.audioHash())
+                .reuseKey(reuseKey.key())
+                .reusedFromId(source.getId())
+                .build());
+
+    avatarVideoMonitorService.publishToR2(copy);
+    if (copy.getR2Asset() == null) {
+      log.warn(
+          "Failed to copy avatar video {} to slide {}, rendering it instead",
+          source.getId(),
+          slide.getId());
+      avatarVideoRepository.delete(copy);
+      return Optional.empty();
+    }
+
+    log.info(
+        "Reused avatar video {} for slide {} (presentation {})",
+        source.getId(),
+        slide.getId(),
+        presentation.getId());
+    return Optional.of(copy);
+  }
+}
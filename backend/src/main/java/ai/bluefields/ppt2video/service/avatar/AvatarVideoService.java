@@ -42,6 +42,7 @@ public class AvatarVideoService {
   private final HeyGenConfiguration heyGenConfiguration;
   private final ObjectMapper objectMapper;
   private final AssetMetadataService assetMetadataService;
+  private final AvatarVideoReuseService avatarVideoReuseService;
 
   /**
    * Generate an avatar video for a slide.
@@ -76,13 +77,6 @@ public class AvatarVideoService {
       throw new ProcessingException("Slide does not belong to the specified presentation");
     }
 
-    // Get audio URL
-    String audioUrl = getAudioUrl(request, slide);
-    if (audioUrl == null || audioUrl.isEmpty()) {
-      throw new ProcessingException(
-          "No audio available for slide. Please generate or upload audio first.");
-    }
-
     // Determine avatar ID based on narrative style
     String avatarId = determineAvatarIdFromNarrativeStyle(slide, request.getAvatarId());
     log.info("Using avatar ID: {} for slide: {}", avatarId, slide.getId());
@@ -91,6 +85,35 @@ public class AvatarVideoService {
     AvatarProviderType providerType =
         request.getProviderType() != null ? request.getProviderType() : AvatarProviderType.HEYGEN;
 
+    // Only the slide's own audio is indexed; custom audio URLs are always rendered
+    Optional<AvatarVideoReuseService.ReuseKey> reuseKey = Optional.empty();
+    if (Boolean.TRUE.equals(request.getUsePublishedAudio())
+        || request.getCustomAudioUrl() == null) {
+      reuseKey =
+          avatarVideoReuseService.reuseKey(
+              slide, providerType, avatarId, request.getBackgroundColor());
+    }
+    if (reuseKey.isPresent() && !Boolean.FALSE.equals(request.getAllowReuse())) {
+      Optional<AvatarVideo> reused =
+          avatarVideoReuseService.linkExisting(
+              reuseKey.get(),
+              presentation,
+              slide,
+              providerType,
+              avatarId,
+              request.getBackgroundColor());
+      if (reused.isPresent()) {
+        return convertToResponse(reused.get());
+      }
+    }
+
+    // Get audio URL
+    String audioUrl = getAudioUrl(request, slide);
+    if (audioUrl == null || audioUrl.isEmpty()) {
+      throw new ProcessingException(
+          "No audio available for slide. Please generate or upload audio first.");
+    }
+
     AvatarProvider provider = avatarProviderFactory.getProvider(providerType);
 
     // Create entity to track the job
@@ -104,6 +127,8 @@ public class AvatarVideoService {
             .backgroundColor(request.getBackgroundColor())
             .audioUrl(audioUrl)
             .createdBy("system")
+            .audioHash(reuseKey.map(AvatarVideoReuseService.ReuseKey::audioHash).orElse(null))
+            .reuseKey(reuseKey.map(AvatarVideoReuseService.ReuseKey::key).orElse(null))
             .build();
 
     avatarVideo = avatarVideoRepository.save(avatarVideo);
@@ -142,8 +142,12 @@ public class BatchAvatarVideoOrchestrator {
               ? AnalysisState.COMPLETED
               : response.getFailedCount() > 0 ? AnalysisState.FAILED : AnalysisState.COMPLETED,
           String.format(
-              "Batch avatar video generation initiated. Started: %d, Failed: %d, Skipped: %d",
-              response.getSuccessCount(), response.getFailedCount(), response.getSkippedCount()));
+              "Batch avatar video generation initiated. Started: %d (Reused: %d), Failed: %d,"
+                  + " Skipped: %d",
+              response.getSuccessCount(),
+              response.getReusedCount(),
+              response.getFailedCount(),
+              response.getSkippedCount()));
 
       log.info(
           "Completed batch avatar video initiation for presentation: {}. Initiated: {}, Failed: {}, Skipped: {}. "
@@ -258,6 +262,7 @@ public class BatchAvatarVideoOrchestrator {
     // Track progress
     AtomicInteger successCount = new AtomicInteger(0);
     AtomicInteger failedCount = new AtomicInteger(0);
+    AtomicInteger reusedCount = new AtomicInteger(0);
     AtomicInteger processedCount = new AtomicInteger(0);
 
     // Submit all slide processing tasks
@@ -292,6 +297,9 @@ public class BatchAvatarVideoOrchestrator {
                     int processed = processedCount.incrementAndGet();
                     if (result.isSuccess()) {
                       successCount.incrementAndGet();
+                      if (result.isReused()) {
+                        reusedCount.incrementAndGet();
+                      }
                     } else {
                       failedCount.incrementAndGet();
                     }
@@ -358,6 +366,7 @@ public class BatchAvatarVideoOrchestrator {
         .presentationId(presentationId)
         .totalSlides(totalSlides)
         .successCount(successCount.get())
+        .reusedCount(reusedCount.get())
         .failedCount(failedCount.get())
         .skippedCount(skippedCount)
         .startTime(startTime)
@@ -411,6 +420,8 @@ public class BatchAvatarVideoOrchestrator {
                         : heyGenConfiguration.getAvatar().getBackgroundColor())
                 .usePublishedAudio(request.isUsePublishedAudio())
                 .customAudioUrl(request.getCustomAudioUrl())
+                // Regenerating means a new rendering, not a copy of another slide's video
+                .allowReuse(!request.isRegenerateExisting())
                 .build();
 
         // Generate avatar video
@@ -439,10 +450,17 @@ public class BatchAvatarVideoOrchestrator {
 
         // Return success only if we successfully started the generation
         // The actual completion will be tracked by the monitor service
+        // A reused video is already completed
         boolean initiated =
             avatarVideo.getStatus() == AvatarGenerationStatusType.PENDING
-                || avatarVideo.getStatus() == AvatarGenerationStatusType.PROCESSING;
-        return new AvatarVideoResult(slide.getId(), initiated, null, avatarVideo.getId());
+                || avatarVideo.getStatus() == AvatarGenerationStatusType.PROCESSING
+                || avatarVideo.getStatus() == AvatarGenerationStatusType.COMPLETED;
+        return new AvatarVideoResult(
+            slide.getId(),
+            initiated,
+            null,
+            avatarVideo.getId(),
+            avatarVideo.getReusedFromId() != null);
 
       } catch (Exception e) {
         lastException = e;
@@ -529,17 +547,19 @@ public class BatchAvatarVideoOrchestrator {
     private final boolean success;
     private final String errorMessage;
     private final UUID avatarVideoId;
+    private final boolean reused;
 
     public AvatarVideoResult(UUID slideId, boolean success, String errorMessage) {
-      this(slideId, success, errorMessage, null);
+      this(slideId, success, errorMessage, null, false);
     }
 
     public AvatarVideoResult(
-        UUID slideId, boolean success, String errorMessage, UUID avatarVideoId) {
+        UUID slideId, boolean success, String errorMessage, UUID avatarVideoId, boolean reused) {
       this.slideId = slideId;
       this.success = success;
       this.errorMessage = errorMessage;
       this.avatarVideoId = avatarVideoId;
+      this.reused = reused;
     }
 
     // Getters
@@ -558,5 +578,9 @@ public class BatchAvatarVideoOrchestrator {
     public UUID getAvatarVideoId() {
       return avatarVideoId;
     }
+
+    public boolean isReused() {
+      return reused;
+    }
   }
 }
@@ -8,24 +8,38 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import javax.imageio.ImageIO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for extracting dominant colors from slide images using K-means clustering. Analyzes slide
- * images to create color palettes for intro video generation.
+ * images to create color palettes for intro video generation. Clustering itself is done by {@link
+ * KMeansPaletteEngine} on primitive sample arrays.
  */
 @Service
 @Slf4j
 public class ColorExtractionService {
 
   private static final int DEFAULT_COLOR_COUNT = 5;
-  private static final int MAX_ITERATIONS = 50;
   private static final int SAMPLE_SIZE = 10000;
-  private static final double CONVERGENCE_THRESHOLD = 1.0;
+
+  private final KMeansPaletteEngine paletteEngine = new KMeansPaletteEngine(SAMPLE_SIZE);
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
 
   /**
    * Extract dominant colors from a slide's rendered image.
@@ -41,15 +55,69 @@ public class ColorExtractionService {
         return createDefaultPalette();
       }
 
-      List<Color> dominantColors = performKMeansClustering(image, DEFAULT_COLOR_COUNT);
-
-      return buildColorPalette(dominantColors, image);
+      return extractColors(image);
     } catch (Exception e) {
       log.error("Error extracting colors from slide {}: {}", slide.getId(), e.getMessage());
       return createDefaultPalette();
     }
   }
 
+  /**
+   * Extract dominant colors from an image that is already in memory.
+   *
+   * @param image the image to analyze
+   * @return color palette with dominant colors and statistics
+   */
+  public ColorPaletteDto extractColors(BufferedImage image) {
+    KMeansPaletteEngine.Clusters clusters = paletteEngine.cluster(image, DEFAULT_COLOR_COUNT);
+    if (clusters.isEmpty()) {
+      return createDefaultPalette();
+    }
+    double[] shares = new double[clusters.colors().length];
+    for (int i = 0; i < shares.length; i++) {
+      shares[i] = (double) clusters.counts()[i] / clusters.sampleCount();
+    }
+    return buildColorPalette(clusters.colors(), shares);
+  }
+
+  /**
+   * Extract color palettes for several slides in parallel. Concurrency is capped at the number of
+   * available processors since clustering is CPU-bound and each decoded image is held in memory.
+   *
+   * @param slides the slides to extract colors from
+   * @return palettes keyed by slide ID, in the order of the given slides
+   */
+  public Map<UUID, ColorPaletteDto> extractColors(List<Slide> slides) {
+    Semaphore permits = new Semaphore(Runtime.getRuntime().availableProcessors());
+    List<CompletableFuture<ColorPaletteDto>> futures = new ArrayList<>(slides.size());
+
+    for (Slide slide : slides) {
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  permits.acquire();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                  return createDefaultPalette();
+                }
+                try {
+                  return extractColors(slide);
+                } finally {
+                  permits.release();
+                }
+              },
+              virtualThreadExecutor));
+    }
+
+    Map<UUID, ColorPaletteDto> palettes = new LinkedHashMap<>();
+    for (int i = 0; i < slides.size(); i++) {
+      palettes.put(slides.get(i).getId(), futures.get(i).join());
+    }
+    log.debug("Extracted color palettes for {} slides", palettes.size());
+    return palettes;
+  }
+
   /** Load the slide image from storage. */
   private BufferedImage loadSlideImage(Slide slide) {
     try {
@@ -75,254 +143,61 @@ public class ColorExtractionService {
     }
   }
 
-  /** Perform K-means clustering to find dominant colors. */
-  private List<Color> performKMeansClustering(BufferedImage image, int k) {
-    // Sample pixels from the image
-    List<int[]> pixels = samplePixels(image, SAMPLE_SIZE);
-
-    if (pixels.isEmpty()) {
-      return Collections.emptyList();
-    }
-
-    // Initialize centroids using K-means++ algorithm
-    List<int[]> centroids = initializeCentroidsKMeansPlusPlus(pixels, k);
-
-    // Iterate until convergence
-    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
-      Map<Integer, List<int[]>> clusters = assignToClusters(pixels, centroids);
-      List<int[]> newCentroids = recalculateCentroids(clusters, k);
-
-      if (hasConverged(centroids, newCentroids)) {
-        log.debug("K-means converged after {} iterations", iteration);
-        break;
-      }
-      centroids = newCentroids;
-    }
-
-    // Sort colors by cluster size (most dominant first)
-    final List<int[]> finalCentroids = centroids;
-    Map<Integer, List<int[]>> finalClusters = assignToClusters(pixels, finalCentroids);
-    return finalCentroids.stream()
-        .sorted(
-            (c1, c2) -> {
-              int idx1 = finalCentroids.indexOf(c1);
-              int idx2 = finalCentroids.indexOf(c2);
-              int size1 = finalClusters.getOrDefault(idx1, Collections.emptyList()).size();
-              int size2 = finalClusters.getOrDefault(idx2, Collections.emptyList()).size();
-              return Integer.compare(size2, size1);
-            })
-        .map(rgb -> new Color(rgb[0], rgb[1], rgb[2]))
-        .collect(Collectors.toList());
-  }
-
-  /** Sample pixels from the image for clustering. */
-  private List<int[]> samplePixels(BufferedImage image, int sampleSize) {
-    List<int[]> pixels = new ArrayList<>();
-    int width = image.getWidth();
-    int height = image.getHeight();
-    int totalPixels = width * height;
-
-    // Calculate sampling interval
-    int interval = Math.max(1, totalPixels / sampleSize);
-
-    for (int i = 0; i < totalPixels && pixels.size() < sampleSize; i += interval) {
-      int x = i % width;
-      int y = i / width;
-      int rgb = image.getRGB(x, y);
-
-      // Extract RGB components
-      int r = (rgb >> 16) & 0xFF;
-      int g = (rgb >> 8) & 0xFF;
-      int b = rgb & 0xFF;
-
-      pixels.add(new int[] {r, g, b});
-    }
-
-    return pixels;
-  }
-
-  /** Initialize centroids using K-means++ algorithm for better initial placement. */
-  private List<int[]> initializeCentroidsKMeansPlusPlus(List<int[]> pixels, int k) {
-    List<int[]> centroids = new ArrayList<>();
-    Random random = new Random();
-
-    // Choose first centroid randomly
-    centroids.add(pixels.get(random.nextInt(pixels.size())));
-
-    // Choose remaining centroids with probability proportional to squared distance
-    for (int i = 1; i < k; i++) {
-      double[] distances = new double[pixels.size()];
-      double totalDistance = 0;
-
-      for (int j = 0; j < pixels.size(); j++) {
-        double minDist = Double.MAX_VALUE;
-        for (int[] centroid : centroids) {
-          double dist = calculateDistance(pixels.get(j), centroid);
-          minDist = Math.min(minDist, dist);
-        }
-        distances[j] = minDist * minDist;
-        totalDistance += distances[j];
-      }
-
-      // Choose next centroid
-      double randomValue = random.nextDouble() * totalDistance;
-      double cumulative = 0;
-      for (int j = 0; j < pixels.size(); j++) {
-        cumulative += distances[j];
-        if (cumulative >= randomValue) {
-          centroids.add(pixels.get(j).clone());
-          break;
-        }
-      }
-    }
-
-    return centroids;
-  }
-
-  /** Assign pixels to their nearest centroid. */
-  private Map<Integer, List<int[]>> assignToClusters(List<int[]> pixels, List<int[]> centroids) {
-    Map<Integer, List<int[]>> clusters = new HashMap<>();
-
-    for (int[] pixel : pixels) {
-      int nearestCentroid = 0;
-      double minDistance = Double.MAX_VALUE;
-
-      for (int i = 0; i < centroids.size(); i++) {
-        double distance = calculateDistance(pixel, centroids.get(i));
-        if (distance < minDistance) {
-          minDistance = distance;
-          nearestCentroid = i;
-        }
-      }
-
-      clusters.computeIfAbsent(nearestCentroid, k -> new ArrayList<>()).add(pixel);
-    }
-
-    return clusters;
-  }
-
-  /** Recalculate centroids as the mean of their clusters. */
-  private List<int[]> recalculateCentroids(Map<Integer, List<int[]>> clusters, int k) {
-    List<int[]> newCentroids = new ArrayList<>();
-
-    for (int i = 0; i < k; i++) {
-      List<int[]> cluster = clusters.getOrDefault(i, Collections.emptyList());
-
-      if (cluster.isEmpty()) {
-        // Keep the old centroid if cluster is empty
-        newCentroids.add(new int[] {128, 128, 128}); // Gray as default
-      } else {
-        int sumR = 0, sumG = 0, sumB = 0;
-        for (int[] pixel : cluster) {
-          sumR += pixel[0];
-          sumG += pixel[1];
-          sumB += pixel[2];
-        }
-        int size = cluster.size();
-        newCentroids.add(new int[] {sumR / size, sumG / size, sumB / size});
-      }
-    }
-
-    return newCentroids;
-  }
-
-  /** Calculate Euclidean distance between two RGB colors. */
-  private double calculateDistance(int[] color1, int[] color2) {
-    double dr = color1[0] - color2[0];
-    double dg = color1[1] - color2[1];
-    double db = color1[2] - color2[2];
-    return Math.sqrt(dr * dr + dg * dg + db * db);
-  }
-
-  /** Check if centroids have converged. */
-  private boolean hasConverged(List<int[]> oldCentroids, List<int[]> newCentroids) {
-    for (int i = 0; i < oldCentroids.size(); i++) {
-      if (calculateDistance(oldCentroids.get(i), newCentroids.get(i)) > CONVERGENCE_THRESHOLD) {
-        return false;
-      }
+  /**
+   * Build a color palette from packed RGB dominant colors, most dominant first.
+   *
+   * @param dominantColors packed 0xRRGGBB colors
+   * @param shares share of the image covered by each color, parallel to {@code dominantColors}
+   * @return color palette with statistics
+   */
+  public ColorPaletteDto buildColorPalette(int[] dominantColors, double[] shares) {
+    int count = dominantColors.length;
+    List<String> hexColors = new ArrayList<>(count);
+    List<Double> colorShares = new ArrayList<>(count);
+    double[] hues = new double[count];
+    double totalBrightness = 0;
+    double totalSaturation = 0;
+
+    // Single HSB pass feeds brightness, saturation and hue variance
+    float[] hsb = new float[3];
+    for (int i = 0; i < count; i++) {
+      int rgb = dominantColors[i];
+      hexColors.add(toHexString(rgb));
+      colorShares.add(Math.round(shares[i] * 1000) / 1000.0);
+      Color.RGBtoHSB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF, hsb);
+      hues[i] = hsb[0] * 360; // Convert to degrees
+      totalSaturation += hsb[1];
+      totalBrightness += hsb[2];
     }
-    return true;
-  }
-
-  /** Build the color palette DTO from dominant colors. */
-  private ColorPaletteDto buildColorPalette(List<Color> dominantColors, BufferedImage image) {
-    List<String> hexColors =
-        dominantColors.stream().map(this::toHexString).collect(Collectors.toList());
-
-    // Calculate overall brightness and saturation
-    double brightness = calculateAverageBrightness(dominantColors);
-    double saturation = calculateAverageSaturation(dominantColors);
-
-    // Determine color scheme
-    String colorScheme = determineColorScheme(dominantColors);
 
     return ColorPaletteDto.builder()
         .dominantColors(hexColors)
-        .primaryColor(hexColors.isEmpty() ? null : hexColors.get(0))
-        .secondaryColor(hexColors.size() > 1 ? hexColors.get(1) : null)
-        .accentColor(hexColors.size() > 2 ? hexColors.get(2) : null)
-        .brightness(brightness)
-        .saturation(saturation)
-        .colorScheme(colorScheme)
+        .colorShares(colorShares)
+        .primaryColor(count > 0 ? hexColors.get(0) : null)
+        .secondaryColor(count > 1 ? hexColors.get(1) : null)
+        .accentColor(count > 2 ? hexColors.get(2) : null)
+        .brightness(count > 0 ? totalBrightness / count : 0.5)
+        .saturation(count > 0 ? totalSaturation / count : 0.5)
+        .colorScheme(determineColorScheme(hues))
         .build();
   }
 
-  /** Convert Color to hex string. */
-  private String toHexString(Color color) {
-    return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
-  }
-
-  /** Calculate average brightness of colors (0.0 to 1.0). */
-  private double calculateAverageBrightness(List<Color> colors) {
-    if (colors.isEmpty()) return 0.5;
-
-    double totalBrightness =
-        colors.stream()
-            .mapToDouble(
-                color -> {
-                  float[] hsb =
-                      Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), null);
-                  return hsb[2]; // Brightness component
-                })
-            .sum();
-
-    return totalBrightness / colors.size();
-  }
-
-  /** Calculate average saturation of colors (0.0 to 1.0). */
-  private double calculateAverageSaturation(List<Color> colors) {
-    if (colors.isEmpty()) return 0.5;
-
-    double totalSaturation =
-        colors.stream()
-            .mapToDouble(
-                color -> {
-                  float[] hsb =
-                      Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), null);
-                  return hsb[1]; // Saturation component
-                })
-            .sum();
-
-    return totalSaturation / colors.size();
+  /**
+   * Convert a packed RGB value to a hex string.
+   *
+   * @param rgb packed 0xRRGGBB color
+   * @return hex color code such as {@code #2563eb}
+   */
+  public String toHexString(int rgb) {
+    return String.format("#%06x", rgb & 0xFFFFFF);
   }
 
-  /** Determine the color scheme type based on dominant colors. */
-  private String determineColorScheme(List<Color> colors) {
-    if (colors.size() < 2) {
+  /** Determine the color scheme type based on the hues of the dominant colors. */
+  private String determineColorScheme(double[] hues) {
+    if (hues.length < 2) {
       return "monochromatic";
     }
 
-    // Calculate hue variance
-    List<Float> hues =
-        colors.stream()
-            .map(
-                color -> {
-                  float[] hsb =
-                      Color.RGBtoHSB(color.getRed(), color.getGreen(), color.getBlue(), null);
-                  return hsb[0] * 360; // Convert to degrees
-                })
-            .collect(Collectors.toList());
-
     double hueVariance = calculateHueVariance(hues);
 
     if (hueVariance < 30) {
@@ -337,17 +212,28 @@ public class ColorExtractionService {
   }
 
   /** Calculate variance in hue values. */
-  private double calculateHueVariance(List<Float> hues) {
-    if (hues.size() < 2) return 0;
+  private double calculateHueVariance(double[] hues) {
+    if (hues.length < 2) return 0;
 
-    double mean = hues.stream().mapToDouble(Float::doubleValue).average().orElse(0);
-    double variance = hues.stream().mapToDouble(hue -> Math.pow(hue - mean, 2)).average().orElse(0);
+    double mean = 0;
+    for (double hue : hues) {
+      mean += hue;
+    }
+    mean /= hues.length;
 
-    return Math.sqrt(variance);
+    double variance = 0;
+    for (double hue : hues) {
+      variance += (hue - mean) * (hue - mean);
+    }
+    return Math.sqrt(variance / hues.length);
   }
 
-  /** Create a default color palette when extraction fails. */
-  private ColorPaletteDto createDefaultPalette() {
+  /**
+   * Create the default color palette used when extraction fails.
+   *
+   * @return default blue palette
+   */
+  public ColorPaletteDto createDefaultPalette() {
     return ColorPaletteDto.builder()
         .dominantColors(Arrays.asList("#2563eb", "#3b82f6", "#60a5fa", "#93bbfc", "#c3d9fe"))
         .primaryColor("#2563eb")
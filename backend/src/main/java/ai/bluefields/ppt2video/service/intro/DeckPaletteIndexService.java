@@ -0,0 +1,300 @@
+package ai.bluefields.ppt2video.service.intro;
+
+import ai.bluefields.ppt2video.dto.ColorPaletteDto;
+import ai.bluefields.ppt2video.dto.DeckPaletteIndexDto;
+import ai.bluefields.ppt2video.entity.Presentation;
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.repository.PresentationRepository;
+import ai.bluefields.ppt2video.repository.SlideRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Maintains the deck-level color palette index of a presentation. Slide palettes are computed
+ * during rendering while the image is still in memory; the index aggregates them into a deck
+ * palette with recurring brand colors, so intro video preparation reads stored data only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeckPaletteIndexService {
+
+  private static final int DECK_COLOR_COUNT = 5;
+  private static final int BRAND_COLOR_COUNT = 3;
+  private static final float MIN_BRAND_SATURATION = 0.25f;
+  private static final float MIN_BRAND_BRIGHTNESS = 0.15f;
+
+  // Colors are grouped into bins of 4 bits per channel when aggregating across slides
+  private static final int BIN_BITS = 4;
+
+  private final ColorExtractionService colorExtractionService;
+  private final PresentationRepository presentationRepository;
+  private final SlideRepository slideRepository;
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Compute the palette of a freshly rendered slide and store it on the slide. The caller is
+   * responsible for saving the slide.
+   *
+   * @param slide the rendered slide
+   * @param image the rendered image, still in memory
+   * @return the extracted palette
+   */
+  public ColorPaletteDto recordSlidePalette(Slide slide, BufferedImage image) {
+    ColorPaletteDto palette = colorExtractionService.extractColors(image);
+    slide.setColorPalette(writeJson(palette));
+    return palette;
+  }
+
+  /**
+   * Aggregate the slide palettes of a presentation into its deck-level index and persist it. Slides
+   * rendered before palettes were stored are backfilled from their images once.
+   *
+   * @param presentation the presentation
+   * @param slides the slides of the presentation
+   * @return the rebuilt index
+   */
+  @Transactional
+  public DeckPaletteIndexDto rebuildIndex(Presentation presentation, List<Slide> slides) {
+    Map<Integer, ColorPaletteDto> slidePalettes = new TreeMap<>();
+    List<Slide> missing = new ArrayList<>();
+
+    for (Slide slide : slides) {
+      ColorPaletteDto palette = readJson(slide.getColorPalette(), ColorPaletteDto.class);
+      if (palette != null) {
+        slidePalettes.put(slide.getSlideNumber(), palette);
+      } else if (slide.getRenderingStatus() == Slide.RenderingStatus.COMPLETED
+          && slide.getImagePath() != null) {
+        missing.add(slide);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      log.info(
+          "Backfilling color palettes for {} slides of presentation {}",
+          missing.size(),
+          presentation.getId());
+      Map<UUID, ColorPaletteDto> extracted = colorExtractionService.extractColors(missing);
+      for (Slide slide : missing) {
+        ColorPaletteDto palette = extracted.get(slide.getId());
+        slide.setColorPalette(writeJson(palette));
+        slidePalettes.put(slide.getSlideNumber(), palette);
+      }
+      slideRepository.saveAll(missing);
+    }
+
+    DeckPaletteIndexDto index =
+        DeckPaletteIndexDto.builder()
+            .deckPalette(aggregate(slidePalettes.values()))
+            .slidePalettes(slidePalettes)
+            .slideCount(slidePalettes.size())
+            .generatedAt(LocalDateTime.now())
+            .build();
+
+    presentation.setColorPaletteIndex(writeJson(index));
+    presentationRepository.save(presentation);
+
+    log.info(
+        "Built color palette index for presentation {} from {} slides, brand colors: {}",
+        presentation.getId(),
+        slidePalettes.size(),
+        index.getDeckPalette().getBrandColors());
+    return index;
+  }
+
+  /**
+   * Get the color palette index of a presentation, building it if it has not been stored yet.
+   *
+   * @param presentation the presentation
+   * @return the deck-level index
+   */
+  @Transactional
+  public DeckPaletteIndexDto getIndex(Presentation presentation) {
+    DeckPaletteIndexDto index =
+        readJson(presentation.getColorPaletteIndex(), DeckPaletteIndexDto.class);
+    if (index != null && index.getDeckPalette() != null) {
+      return index;
+    }
+    return rebuildIndex(
+        presentation, slideRepository.findByPresentationIdOrderBySlideNumber(presentation.getId()));
+  }
+
+  /**
+   * Get the aggregated deck palette of a presentation.
+   *
+   * @param presentation the presentation
+   * @return the deck palette including brand colors
+   */
+  @Transactional
+  public ColorPaletteDto getDeckPalette(Presentation presentation) {
+    return getIndex(presentation).getDeckPalette();
+  }
+
+  /**
+   * Get the palette of a single slide, extracting it from the image only if it was not stored at
+   * render time.
+   *
+   * @param slide the slide
+   * @return the slide palette
+   */
+  public ColorPaletteDto getSlidePalette(Slide slide) {
+    ColorPaletteDto palette = readJson(slide.getColorPalette(), ColorPaletteDto.class);
+    return palette != null ? palette : colorExtractionService.extractColors(slide);
+  }
+
+  /** Aggregate slide palettes into a deck palette, weighting colors by their coverage. */
+  private ColorPaletteDto aggregate(Collection<ColorPaletteDto> palettes) {
+    int binCount = 1 << (BIN_BITS * 3);
+    double[] coverage = new double[binCount];
+    double[] sumR = new double[binCount];
+    double[] sumG = new double[binCount];
+    double[] sumB = new double[binCount];
+    int[] slideFrequency = new int[binCount];
+    int[] lastSlide = new int[binCount];
+    Arrays.fill(lastSlide, -1);
+
+    int slideIndex = 0;
+    for (ColorPaletteDto palette : palettes) {
+      List<String> colors = palette.getDominantColors();
+      if (colors == null || colors.isEmpty()) {
+        continue;
+      }
+      List<Double> shares = palette.getColorShares();
+      for (int i = 0; i < colors.size(); i++) {
+        int rgb = parseHex(colors.get(i));
+        if (rgb < 0) {
+          continue;
+        }
+        double share =
+            shares != null && i < shares.size() && shares.get(i) != null
+                ? shares.get(i)
+                : 1.0 / colors.size();
+        double weight = Math.max(share, 1e-3);
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        int bin = binOf(r, g, b);
+
+        coverage[bin] += weight;
+        sumR[bin] += weight * r;
+        sumG[bin] += weight * g;
+        sumB[bin] += weight * b;
+        if (lastSlide[bin] != slideIndex) {
+          lastSlide[bin] = slideIndex;
+          slideFrequency[bin]++;
+        }
+      }
+      slideIndex++;
+    }
+
+    if (slideIndex == 0) {
+      return colorExtractionService.createDefaultPalette();
+    }
+
+    int[] occupied = IntStream.range(0, binCount).filter(bin -> coverage[bin] > 0).toArray();
+
+    // Deck palette: the colors covering the most area across all slides
+    int[] deckBins =
+        IntStream.of(occupied)
+            .boxed()
+            .sorted(Comparator.comparingDouble((Integer bin) -> coverage[bin]).reversed())
+            .limit(DECK_COLOR_COUNT)
+            .mapToInt(Integer::intValue)
+            .toArray();
+    int[] deckColors = new int[deckBins.length];
+    double[] deckShares = new double[deckBins.length];
+    for (int i = 0; i < deckBins.length; i++) {
+      int bin = deckBins[i];
+      deckColors[i] = meanColor(bin, coverage, sumR, sumG, sumB);
+      deckShares[i] = coverage[bin] / slideIndex;
+    }
+
+    // Brand colors: saturated colors that recur on the most slides, ignoring neutral backgrounds
+    int minFrequency = slideIndex > 1 ? 2 : 1;
+    float[] hsb = new float[3];
+    List<String> brandColors = new ArrayList<>(BRAND_COLOR_COUNT);
+    IntStream.of(occupied)
+        .filter(bin -> slideFrequency[bin] >= minFrequency)
+        .boxed()
+        .sorted(
+            Comparator.comparingInt((Integer bin) -> slideFrequency[bin])
+                .thenComparingDouble(bin -> coverage[bin])
+                .reversed())
+        .forEach(
+            bin -> {
+              if (brandColors.size() >= BRAND_COLOR_COUNT) {
+                return;
+              }
+              int rgb = meanColor(bin, coverage, sumR, sumG, sumB);
+              Color.RGBtoHSB((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF, hsb);
+              if (hsb[1] >= MIN_BRAND_SATURATION && hsb[2] >= MIN_BRAND_BRIGHTNESS) {
+                brandColors.add(colorExtractionService.toHexString(rgb));
+              }
+            });
+
+    ColorPaletteDto deckPalette = colorExtractionService.buildColorPalette(deckColors, deckShares);
+    deckPalette.setBrandColors(brandColors);
+    return deckPalette;
+  }
+
+  private static int binOf(int r, int g, int b) {
+    int shift = 8 - BIN_BITS;
+    return ((r >> shift) << (BIN_BITS * 2)) | ((g >> shift) << BIN_BITS) | (b >> shift);
+  }
+
+  private static int meanColor(
+      int bin, double[] coverage, double[] sumR, double[] sumG, double[] sumB) {
+    int r = (int) Math.round(sumR[bin] / coverage[bin]);
+    int g = (int) Math.round(sumG[bin] / coverage[bin]);
+    int b = (int) Math.round(sumB[bin] / coverage[bin]);
+    return (r << 16) | (g << 8) | b;
+  }
+
+  private static int parseHex(String hexColor) {
+    if (hexColor == null || hexColor.length() != 7 || hexColor.charAt(0) != '#') {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(hexColor.substring(1), 16);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private <T> T readJson(String json, Class<T> type) {
+    if (json == null || json.isBlank()) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      log.warn("Ignoring unreadable stored {}: {}", type.getSimpleName(), e.getMessage());
+      return null;
+    }
+  }
+
+  private String writeJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      log.warn("Failed to serialize {}: {}", value.getClass().getSimpleName(), e.getMessage());
+      return null;
+    }
+  }
+}
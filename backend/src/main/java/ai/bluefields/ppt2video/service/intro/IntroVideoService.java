@@ -9,13 +9,11 @@ import ai.bluefields.ppt2video.entity.AvatarGenerationStatusType;
 import ai.bluefields.ppt2video.entity.DeckAnalysis;
 import ai.bluefields.ppt2video.entity.IntroVideo;
 import ai.bluefields.ppt2video.entity.Presentation;
-import ai.bluefields.ppt2video.entity.Slide;
 import ai.bluefields.ppt2video.exception.ProcessingException;
 import ai.bluefields.ppt2video.exception.ResourceNotFoundException;
 import ai.bluefields.ppt2video.repository.DeckAnalysisRepository;
 import ai.bluefields.ppt2video.repository.IntroVideoRepository;
 import ai.bluefields.ppt2video.repository.PresentationRepository;
-import ai.bluefields.ppt2video.repository.SlideRepository;
 import ai.bluefields.ppt2video.service.R2AssetService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
@@ -28,7 +26,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
- * Main orchestrator service for intro video generation. Coordinates color extraction, prompt
+ * Main orchestrator service for intro video generation. Coordinates the deck color palette, prompt
  * generation, and Veo API interaction.
  */
 @Service
@@ -38,9 +36,8 @@ public class IntroVideoService {
 
   private final IntroVideoRepository introVideoRepository;
   private final PresentationRepository presentationRepository;
-  private final SlideRepository slideRepository;
   private final DeckAnalysisRepository deckAnalysisRepository;
-  private final ColorExtractionService colorExtractionService;
+  private final DeckPaletteIndexService deckPaletteIndexService;
   private final VeoApiService veoApiService;
   private final VeoPromptBuilder veoPromptBuilder;
   private final VeoPromptLLMService veoPromptLLMService;
@@ -83,9 +80,8 @@ public class IntroVideoService {
         }
       }
 
-      // 3. Get first slide and extract colors
-      Slide firstSlide = getFirstSlide(presentation);
-      ColorPaletteDto colorPalette = colorExtractionService.extractColors(firstSlide);
+      // 3. Get the deck palette from the color index built at render time
+      ColorPaletteDto colorPalette = deckPaletteIndexService.getDeckPalette(presentation);
 
       // 4. Build Veo prompt using LLM or template
       VeoPrompt veoPrompt;
@@ -232,16 +228,6 @@ public class IntroVideoService {
                         + presentation.getId()));
   }
 
-  /** Get the first slide of a presentation. */
-  private Slide getFirstSlide(Presentation presentation) {
-    return slideRepository.findByPresentationIdOrderBySlideNumber(presentation.getId()).stream()
-        .findFirst()
-        .orElseThrow(
-            () ->
-                new ResourceNotFoundException(
-                    "No slides found for presentation: " + presentation.getId()));
-  }
-
   /** Create IntroVideo entity. */
   private IntroVideo createIntroVideoEntity(
       Presentation presentation, VeoPrompt veoPrompt, ColorPaletteDto colorPalette) {
@@ -0,0 +1,321 @@
+package ai.bluefields.ppt2video.service.intro;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * K-means color clustering over packed RGB samples. Pixels are read straight from the raster's
+ * backing array where the image layout allows it, samples are kept in primitive per-channel arrays,
+ * and every iteration runs as flat loops without allocating per pixel.
+ *
+ * <p>Instances are stateless and thread-safe.
+ */
+public final class KMeansPaletteEngine {
+
+  private static final int MAX_ITERATIONS = 50;
+  private static final float CONVERGENCE_THRESHOLD = 1.0f;
+
+  // Fixed seed so the same image always yields the same palette
+  private static final long SEED = 0x5EEDC01L;
+
+  private final int sampleSize;
+
+  /**
+   * Create an engine that clusters at most the given number of pixels per image.
+   *
+   * @param sampleSize maximum number of sampled pixels
+   */
+  public KMeansPaletteEngine(int sampleSize) {
+    this.sampleSize = sampleSize;
+  }
+
+  /**
+   * Find the dominant colors of an image.
+   *
+   * @param image the image
+   * @param k number of clusters
+   * @return clusters ordered by size, largest first
+   */
+  public Clusters cluster(BufferedImage image, int k) {
+    return cluster(samplePixels(image), k);
+  }
+
+  /**
+   * Find the dominant colors of already sampled pixels.
+   *
+   * @param samples packed 0xRRGGBB samples
+   * @param k number of clusters
+   * @return clusters ordered by size, largest first
+   */
+  public Clusters cluster(int[] samples, int k) {
+    int n = samples.length;
+    if (n == 0 || k <= 0) {
+      return new Clusters(new int[0], new int[0], 0);
+    }
+
+    // Channels in separate arrays so the distance loop runs over contiguous floats
+    float[] r = new float[n];
+    float[] g = new float[n];
+    float[] b = new float[n];
+    for (int i = 0; i < n; i++) {
+      int rgb = samples[i];
+      r[i] = (rgb >> 16) & 0xFF;
+      g[i] = (rgb >> 8) & 0xFF;
+      b[i] = rgb & 0xFF;
+    }
+
+    float[] cr = new float[k];
+    float[] cg = new float[k];
+    float[] cb = new float[k];
+    initializeCentroids(r, g, b, cr, cg, cb, k);
+
+    int[] assignment = new int[n];
+    int[] counts = new int[k];
+    double[] sumR = new double[k];
+    double[] sumG = new double[k];
+    double[] sumB = new double[k];
+    float threshold = CONVERGENCE_THRESHOLD * CONVERGENCE_THRESHOLD;
+
+    for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+      assign(r, g, b, cr, cg, cb, k, assignment);
+      accumulate(r, g, b, assignment, counts, sumR, sumG, sumB);
+
+      boolean converged = true;
+      for (int c = 0; c < k; c++) {
+        if (counts[c] == 0) {
+          continue; // Empty cluster keeps its previous centroid
+        }
+        float nr = (float) (sumR[c] / counts[c]);
+        float ng = (float) (sumG[c] / counts[c]);
+        float nb = (float) (sumB[c] / counts[c]);
+        float dr = nr - cr[c];
+        float dg = ng - cg[c];
+        float db = nb - cb[c];
+        if (dr * dr + dg * dg + db * db > threshold) {
+          converged = false;
+        }
+        cr[c] = nr;
+        cg[c] = ng;
+        cb[c] = nb;
+      }
+      if (converged) {
+        break;
+      }
+    }
+
+    // Final assignment against the settled centroids gives the cluster sizes used for ordering
+    assign(r, g, b, cr, cg, cb, k, assignment);
+    accumulate(r, g, b, assignment, counts, sumR, sumG, sumB);
+
+    int[] order = new int[k];
+    int nonEmpty = 0;
+    for (int c = 0; c < k; c++) {
+      if (counts[c] > 0) {
+        order[nonEmpty++] = c;
+      }
+    }
+    // Insertion sort by count, descending; k is small
+    for (int i = 1; i < nonEmpty; i++) {
+      int current = order[i];
+      int j = i - 1;
+      while (j >= 0 && counts[order[j]] < counts[current]) {
+        order[j + 1] = order[j];
+        j--;
+      }
+      order[j + 1] = current;
+    }
+
+    int[] colors = new int[nonEmpty];
+    int[] sizes = new int[nonEmpty];
+    for (int i = 0; i < nonEmpty; i++) {
+      int c = order[i];
+      colors[i] = (clamp(cr[c]) << 16) | (clamp(cg[c]) << 8) | clamp(cb[c]);
+      sizes[i] = counts[c];
+    }
+    return new Clusters(colors, sizes, n);
+  }
+
+  /**
+   * Sample up to {@code sampleSize} pixels at a fixed stride, as packed 0xRRGGBB values. Common
+   * integer and byte raster layouts are read directly from the backing array; other layouts fall
+   * back to {@link BufferedImage#getRGB(int, int)}.
+   *
+   * @param image the image
+   * @return packed RGB samples
+   */
+  public int[] samplePixels(BufferedImage image) {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    long totalPixels = (long) width * height;
+    if (totalPixels == 0) {
+      return new int[0];
+    }
+
+    int interval = (int) Math.max(1, totalPixels / sampleSize);
+    int count = (int) Math.min(sampleSize, (totalPixels + interval - 1) / interval);
+    int[] samples = new int[count];
+
+    WritableRaster raster = image.getRaster();
+    DataBuffer buffer = raster.getDataBuffer();
+    boolean directAccess =
+        raster.getParent() == null && buffer.getNumBanks() == 1 && buffer.getOffset() == 0;
+
+    if (directAccess && buffer instanceof DataBufferInt intBuffer && isPackedIntRgb(image)) {
+      int[] data = intBuffer.getData();
+      for (int s = 0; s < count; s++) {
+        samples[s] = data[s * interval] & 0xFFFFFF;
+      }
+    } else if (directAccess && buffer instanceof DataBufferByte byteBuffer && isByteBgr(image)) {
+      byte[] data = byteBuffer.getData();
+      int stride = image.getType() == BufferedImage.TYPE_4BYTE_ABGR ? 4 : 3;
+      int base = stride - 3; // Skip the leading alpha byte of ABGR
+      for (int s = 0; s < count; s++) {
+        int p = (int) ((long) s * interval) * stride + base;
+        samples[s] = ((data[p + 2] & 0xFF) << 16) | ((data[p + 1] & 0xFF) << 8) | (data[p] & 0xFF);
+      }
+    } else {
+      for (int s = 0; s < count; s++) {
+        long i = (long) s * interval;
+        samples[s] = image.getRGB((int) (i % width), (int) (i / width)) & 0xFFFFFF;
+      }
+    }
+    return samples;
+  }
+
+  private static boolean isPackedIntRgb(BufferedImage image) {
+    int type = image.getType();
+    return type == BufferedImage.TYPE_INT_RGB
+        || type == BufferedImage.TYPE_INT_ARGB
+        || type == BufferedImage.TYPE_INT_ARGB_PRE;
+  }
+
+  private static boolean isByteBgr(BufferedImage image) {
+    int type = image.getType();
+    return type == BufferedImage.TYPE_3BYTE_BGR || type == BufferedImage.TYPE_4BYTE_ABGR;
+  }
+
+  /** K-means++ seeding with an incrementally maintained nearest-centroid distance array. */
+  private static void initializeCentroids(
+      float[] r, float[] g, float[] b, float[] cr, float[] cg, float[] cb, int k) {
+    int n = r.length;
+    SplittableRandom random = new SplittableRandom(SEED);
+    float[] nearest = new float[n];
+
+    int first = random.nextInt(n);
+    cr[0] = r[first];
+    cg[0] = g[first];
+    cb[0] = b[first];
+    Arrays.fill(nearest, Float.MAX_VALUE);
+
+    for (int c = 1; c < k; c++) {
+      // Fold in the centroid chosen last round and total the squared distances
+      float pr = cr[c - 1];
+      float pg = cg[c - 1];
+      float pb = cb[c - 1];
+      double total = 0;
+      for (int i = 0; i < n; i++) {
+        float dr = r[i] - pr;
+        float dg = g[i] - pg;
+        float db = b[i] - pb;
+        float d = dr * dr + dg * dg + db * db;
+        if (d < nearest[i]) {
+          nearest[i] = d;
+        }
+        total += nearest[i];
+      }
+
+      double target = random.nextDouble() * total;
+      double cumulative = 0;
+      int chosen = n - 1;
+      for (int i = 0; i < n; i++) {
+        cumulative += nearest[i];
+        if (cumulative >= target) {
+          chosen = i;
+          break;
+        }
+      }
+      cr[c] = r[chosen];
+      cg[c] = g[chosen];
+      cb[c] = b[chosen];
+    }
+  }
+
+  private static void assign(
+      float[] r,
+      float[] g,
+      float[] b,
+      float[] cr,
+      float[] cg,
+      float[] cb,
+      int k,
+      int[] assignment) {
+    for (int i = 0; i < r.length; i++) {
+      float pr = r[i];
+      float pg = g[i];
+      float pb = b[i];
+      int best = 0;
+      float bestDistance = Float.MAX_VALUE;
+      for (int c = 0; c < k; c++) {
+        float dr = pr - cr[c];
+        float dg = pg - cg[c];
+        float db = pb - cb[c];
+        float d = dr * dr + dg * dg + db * db;
+        if (d < bestDistance) {
+          bestDistance = d;
+          best = c;
+        }
+      }
+      assignment[i] = best;
+    }
+  }
+
+  private static void accumulate(
+      float[] r,
+      float[] g,
+      float[] b,
+      int[] assignment,
+      int[] counts,
+      double[] sumR,
+      double[] sumG,
+      double[] sumB) {
+    Arrays.fill(counts, 0);
+    Arrays.fill(sumR, 0);
+    Arrays.fill(sumG, 0);
+    Arrays.fill(sumB, 0);
+    for (int i = 0; i < assignment.length; i++) {
+      int c = assignment[i];
+      counts[c]++;
+      sumR[c] += r[i];
+      sumG[c] += g[i];
+      sumB[c] += b[i];
+    }
+  }
+
+  private static int clamp(float channel) {
+    return Math.max(0, Math.min(255, Math.round(channel)));
+  }
+
+  /**
+   * Result of a clustering run.
+   *
+   * @param colors packed 0xRRGGBB centroid colors, largest cluster first
+   * @param counts number of samples in each cluster, parallel to {@code colors}
+   * @param sampleCount total number of samples clustered
+   */
+  public record Clusters(int[] colors, int[] counts, int sampleCount) {
+
+    /**
+     * Check whether any colors were found.
+     *
+     * @return true if there are no clusters
+     */
+    public boolean isEmpty() {
+      return colors.length == 0;
+    }
+  }
+}
@@ -6,25 +6,22 @@ import ai.bluefields.ppt2video.dto.veo.VeoVideoStatus;
 import ai.bluefields.ppt2video.dto.veo.api.VeoApiGenerationResponse;
 import ai.bluefields.ppt2video.dto.veo.api.VeoApiStatusResponse;
 import ai.bluefields.ppt2video.exception.ProcessingException;
+import ai.bluefields.ppt2video.service.media.MediaProbeService;
+import ai.bluefields.ppt2video.service.media.MediaProcessRunner;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
-import org.zeroturnaround.exec.InvalidExitValueException;
-import org.zeroturnaround.exec.ProcessExecutor;
-import org.zeroturnaround.exec.ProcessResult;
-import org.zeroturnaround.exec.stream.LogOutputStream;
 
 /**
  * Service for interacting with Google Veo API for AI video generation. Handles video generation
@@ -35,6 +32,8 @@ import org.zeroturnaround.exec.stream.LogOutputStream;
 public class VeoApiService {
 
   private final RestClient restClient;
+  private final MediaProcessRunner mediaProcessRunner;
+  private final MediaProbeService mediaProbeService;
 
   @Value("${google.gemini.api.key:}")
   private String apiKey;
@@ -48,21 +47,19 @@ public class VeoApiService {
   @Value("${veo.video.audio.fade-out-enabled:true}")
   private boolean fadeOutEnabled;
 
-  @Value("${veo.video.ffmpeg.path:/usr/local/bin/ffmpeg}")
-  private String ffmpegPath;
-
-  @Value("${veo.video.ffprobe.path:/usr/local/bin/ffprobe}")
-  private String ffprobePath;
-
   @Value("${veo.video.ffmpeg.timeout-seconds:60}")
   private int ffmpegTimeoutSeconds;
 
   public VeoApiService(
       RestClient.Builder restClientBuilder,
+      MediaProcessRunner mediaProcessRunner,
+      MediaProbeService mediaProbeService,
       @Value("${google.veo.api.url:https://generativelanguage.googleapis.com/v1beta}")
           String veoApiBaseUrl) {
     log.info("Initializing VeoApiService with base URL: {}", veoApiBaseUrl);
     this.restClient = restClientBuilder.baseUrl(veoApiBaseUrl).build();
+    this.mediaProcessRunner = mediaProcessRunner;
+    this.mediaProbeService = mediaProbeService;
   }
 
   /**
@@ -265,74 +262,13 @@ public class VeoApiService {
       return;
     }
 
-    try {
-      // Check ffmpeg
-      ProcessResult ffmpegResult =
-          new ProcessExecutor()
-              .command(ffmpegPath, "-version")
-              .readOutput(true)
-              .timeout(5, TimeUnit.SECONDS)
-              .execute();
-
-      log.info("FFmpeg available at: {}", ffmpegPath);
-      log.debug("FFmpeg version: {}", ffmpegResult.outputUTF8().split("\n")[0]);
-
-      // Check ffprobe
-      ProcessResult ffprobeResult =
-          new ProcessExecutor()
-              .command(ffprobePath, "-version")
-              .readOutput(true)
-              .timeout(5, TimeUnit.SECONDS)
-              .execute();
-
-      log.info("FFprobe available at: {}", ffprobePath);
-      log.debug("FFprobe version: {}", ffprobeResult.outputUTF8().split("\n")[0]);
-
-    } catch (Exception e) {
-      log.error("FFmpeg tools not available, disabling audio fade-out feature", e);
+    // The tools are checked once by the media process runner
+    if (!mediaProcessRunner.isFfmpegAvailable() || !mediaProcessRunner.isFfprobeAvailable()) {
+      log.error("FFmpeg tools not available, disabling audio fade-out feature");
       fadeOutEnabled = false;
     }
   }
 
-  /**
-   * Get the duration of a video file using ffprobe.
-   *
-   * @param videoPath path to the video file
-   * @return duration in seconds
-   * @throws IOException if ffprobe execution fails
-   */
-  private double getVideoDuration(Path videoPath) throws IOException {
-    try {
-      ProcessResult result =
-          new ProcessExecutor()
-              .command(
-                  ffprobePath,
-                  "-v",
-                  "error",
-                  "-show_entries",
-                  "format=duration",
-                  "-of",
-                  "default=nk=1:nw=1",
-                  videoPath.toString())
-              .readOutput(true)
-              .timeout(10, TimeUnit.SECONDS)
-              .exitValues(0)
-              .execute();
-
-      String output = result.outputUTF8().trim();
-      double duration = Double.parseDouble(output);
-      log.debug("Video duration for {}: {} seconds", videoPath.getFileName(), duration);
-      return duration;
-
-    } catch (InvalidExitValueException e) {
-      throw new IOException("FFprobe failed with exit code: " + e.getExitValue(), e);
-    } catch (TimeoutException e) {
-      throw new IOException("FFprobe timed out", e);
-    } catch (Exception e) {
-      throw new IOException("Failed to get video duration", e);
-    }
-  }
-
   /**
    * Apply audio fade-out to a video file if enabled in configuration.
    *
@@ -367,7 +303,7 @@ public class VeoApiService {
 
     try {
       // Get video duration
-      double duration = getVideoDuration(inputPath);
+      double duration = mediaProbeService.getDuration(inputPath);
 
       // Calculate fade start time
       double fadeStart = Math.max(0, duration - fadeOutDuration);
@@ -377,29 +313,21 @@ public class VeoApiService {
           fadeOutDuration,
           fadeStart);
 
-      // Execute ffmpeg with zt-exec
-      ProcessResult result =
-          new ProcessExecutor()
-              .command(
-                  ffmpegPath,
-                  "-i",
-                  inputPath.toString(),
-                  "-c:v",
-                  "copy", // Copy video stream without re-encoding
-                  "-af",
-                  String.format("afade=t=out:st=%.2f:d=%.2f", fadeStart, fadeOutDuration),
-                  "-y", // Overwrite output file
-                  outputPath.toString())
-              .timeout(ffmpegTimeoutSeconds, TimeUnit.SECONDS)
-              .redirectError(
-                  new LogOutputStream() {
-                    @Override
-                    protected void processLine(String line) {
-                      log.debug("FFmpeg: {}", line);
-                    }
-                  })
-              .exitValues(0)
-              .execute();
+      // Execute ffmpeg on a shared media worker
+      mediaProcessRunner.run(
+          "FFmpeg audio fade-out",
+          List.of(
+              mediaProcessRunner.getFfmpegPath(),
+              "-i",
+              inputPath.toString(),
+              "-c:v",
+              "copy", // Copy video stream without re-encoding
+              "-af",
+              String.format("afade=t=out:st=%.2f:d=%.2f", fadeStart, fadeOutDuration),
+              "-y", // Overwrite output file
+              outputPath.toString()),
+          Duration.ofSeconds(ffmpegTimeoutSeconds),
+          null);
 
       // Verify output file exists and has reasonable size
       if (!Files.exists(outputPath)) {
@@ -418,16 +346,9 @@ public class VeoApiService {
 
       return inputPath;
 
-    } catch (InvalidExitValueException e) {
-      Files.deleteIfExists(outputPath);
-      throw new IOException("FFmpeg failed with exit code: " + e.getExitValue(), e);
-    } catch (TimeoutException e) {
-      Files.deleteIfExists(outputPath);
-      throw new IOException("FFmpeg timed out after " + ffmpegTimeoutSeconds + " seconds", e);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
+    } catch (IOException e) {
       Files.deleteIfExists(outputPath);
-      throw new IOException("FFmpeg execution interrupted", e);
+      throw e;
     } catch (Exception e) {
       Files.deleteIfExists(outputPath);
       throw new IOException("Failed to apply audio fade-out", e);
@@ -178,6 +178,17 @@ public class VeoPromptBuilder {
       }
     }
 
+    // Brand colors recur across the deck and are worth carrying into the intro
+    List<String> brandColors = palette.getBrandColors();
+    if (brandColors != null && !brandColors.isEmpty()) {
+      description
+          .append(", featuring brand colors ")
+          .append(
+              brandColors.stream()
+                  .map(color -> describeColor(color) + " (" + color + ")")
+                  .collect(Collectors.joining(" and ")));
+    }
+
     // Add brightness/saturation characteristics
     if (palette.getBrightness() != null) {
       if (palette.getBrightness() < 0.3) {
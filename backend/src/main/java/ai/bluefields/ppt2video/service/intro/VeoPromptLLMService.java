@@ -205,7 +205,9 @@ public class VeoPromptLLMService {
       // Default negative prompt if not provided
       if (negativePrompt == null || negativePrompt.isEmpty()) {
         negativePrompt =
-            "text, words, logos, human faces, dialogue, literal office scenes, stock footage, low quality, pixelation, static images, cliché business imagery, watermarks, people, realistic objects";
+            "text, words, logos, human faces, dialogue, literal office scenes, stock footage, low"
+                + " quality, pixelation, static images, cliché business imagery, watermarks,"
+                + " people, realistic objects";
       }
 
       // Log metadata if available
@@ -302,7 +304,15 @@ public class VeoPromptLLMService {
             .map(this::describeColor)
             .collect(Collectors.toList());
 
-    return String.join(", ", colorDescriptions);
+    String description = String.join(", ", colorDescriptions);
+    if (palette.getBrandColors() != null && !palette.getBrandColors().isEmpty()) {
+      description +=
+          "; brand colors used throughout the deck: "
+              + palette.getBrandColors().stream()
+                  .map(color -> describeColor(color) + " " + color)
+                  .collect(Collectors.joining(", "));
+    }
+    return description;
   }
 
   /** Convert hex color to descriptive name. */
@@ -0,0 +1,48 @@
+package ai.bluefields.ppt2video.service.media;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Result of probing a media file: its duration, container format and streams.
+ *
+ * @param duration duration in seconds
+ * @param formatName container format as reported by FFprobe, e.g. "mov,mp4,m4a,3gp,3g2,mj2"
+ * @param streams the streams in the file
+ */
+public record MediaProbe(double duration, String formatName, List<StreamInfo> streams) {
+
+  /**
+   * One stream of a media file. Fields that don't apply to the stream type are null.
+   *
+   * @param index stream index
+   * @param type "video", "audio", "subtitle" or "data"
+   * @param codec codec name
+   * @param width frame width of a video stream
+   * @param height frame height of a video stream
+   * @param sampleRate sample rate of an audio stream
+   * @param channels channel count of an audio stream
+   * @param duration stream duration in seconds, if reported
+   */
+  public record StreamInfo(
+      int index,
+      String type,
+      String codec,
+      Integer width,
+      Integer height,
+      Integer sampleRate,
+      Integer channels,
+      Double duration) {}
+
+  public boolean hasAudio() {
+    return firstStream("audio").isPresent();
+  }
+
+  public boolean hasVideo() {
+    return firstStream("video").isPresent();
+  }
+
+  public Optional<StreamInfo> firstStream(String type) {
+    return streams.stream().filter(stream -> type.equals(stream.type())).findFirst();
+  }
+}
@@ -0,0 +1,226 @@
+package ai.bluefields.ppt2video.service.media;
+
+import ai.bluefields.ppt2video.config.MediaToolsConfig;
+import ai.bluefields.ppt2video.service.media.MediaProbe.StreamInfo;
+import ai.bluefields.ppt2video.util.ContentHash;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Probes media files with FFprobe and caches the results by the content hash of the file, in memory
+ * and as JSON files on disk, so a file is probed once no matter how often or under which path it is
+ * looked at. The content hash of a path is remembered for as long as the file's size and
+ * modification time don't change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaProbeService {
+
+  private final MediaToolsConfig config;
+  private final MediaProcessRunner processRunner;
+  private final ObjectMapper objectMapper;
+
+  private Map<String, MediaProbe> probes;
+  private Map<Path, FileStamp> fileHashes;
+
+  private record FileStamp(long size, long modifiedMillis, String contentHash) {}
+
+  @PostConstruct
+  void initialize() {
+    probes = lruMap();
+    fileHashes = lruMap();
+  }
+
+  /**
+   * Probes a file, reusing the result for identical content.
+   *
+   * @param file the media file
+   * @return the probe result
+   * @throws IOException if the file cannot be read or probed
+   */
+  public MediaProbe probe(Path file) throws IOException {
+    return probe(file, contentHash(file));
+  }
+
+  /**
+   * Probes a file whose content hash is already known.
+   *
+   * @param file the media file
+   * @param contentHash SHA-256 of the file content
+   * @return the probe result
+   * @throws IOException if the file cannot be probed
+   */
+  public MediaProbe probe(Path file, String contentHash) throws IOException {
+    MediaProbe cached = probes.get(contentHash);
+    if (cached == null) {
+      cached = readCached(contentHash);
+    }
+    if (cached != null) {
+      processRunner.recordProbeLookup(true);
+      probes.put(contentHash, cached);
+      return cached;
+    }
+
+    processRunner.recordProbeLookup(false);
+    MediaProbe probe = runProbe(file);
+    probes.put(contentHash, probe);
+    writeCached(contentHash, probe);
+    return probe;
+  }
+
+  /**
+   * Get the duration of a media file.
+   *
+   * @param file the media file
+   * @return duration in seconds
+   * @throws IOException if the file cannot be read or probed
+   */
+  public double getDuration(Path file) throws IOException {
+    return probe(file).duration();
+  }
+
+  private MediaProbe runProbe(Path file) throws IOException {
+    String output =
+        processRunner
+            .run(
+                "FFprobe",
+                List.of(
+                    processRunner.getFfprobePath(),
+                    "-v",
+                    "error",
+                    "-show_entries",
+                    "format=duration,format_name:stream=index,codec_type,codec_name,width,height,"
+                        + "sample_rate,channels,duration",
+                    "-of",
+                    "json",
+                    file.toString()),
+                config.getProbeTimeout(),
+                null)
+            .output();
+
+    JsonNode root = objectMapper.readTree(output);
+    List<StreamInfo> streams = new ArrayList<>();
+    for (JsonNode stream : root.path("streams")) {
+      streams.add(
+          new StreamInfo(
+              stream.path("index").asInt(),
+              stream.path("codec_type").asText(null),
+              stream.path("codec_name").asText(null),
+              intOrNull(stream.path("width")),
+              intOrNull(stream.path("height")),
+              intOrNull(stream.path("sample_rate")),
+              intOrNull(stream.path("channels")),
+              doubleOrNull(stream.path("duration"))));
+    }
+
+    JsonNode format = root.path("format");
+    Double duration = doubleOrNull(format.path("duration"));
+    if (duration == null) {
+      // Some containers only report the duration per stream
+      duration =
+          streams.stream()
+              .map(StreamInfo::duration)
+              .filter(value -> value != null)
+              .max(Double::compare)
+              .orElseThrow(
+                  () -> new IOException("FFprobe reported no duration for " + file.getFileName()));
+    }
+
+    MediaProbe probe = new MediaProbe(duration, format.path("format_name").asText(null), streams);
+    log.debug(
+        "Probed {}: {} seconds, {} streams", file.getFileName(), probe.duration(), streams.size());
+    return probe;
+  }
+
+  private String contentHash(Path file) throws IOException {
+    long size = Files.size(file);
+    long modified = Files.getLastModifiedTime(file).toMillis();
+    Path key = file.toAbsolutePath().normalize();
+
+    FileStamp stamp = fileHashes.get(key);
+    if (stamp != null && stamp.size() == size && stamp.modifiedMillis() == modified) {
+      return stamp.contentHash();
+    }
+    String hash = ContentHash.sha256(file);
+    fileHashes.put(key, new FileStamp(size, modified, hash));
+    return hash;
+  }
+
+  private MediaProbe readCached(String contentHash) {
+    Path file = cacheFile(contentHash);
+    if (!Files.exists(file)) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(file.toFile(), MediaProbe.class);
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable probe cache entry: {}", file);
+      return null;
+    }
+  }
+
+  private void writeCached(String contentHash, MediaProbe probe) {
+    Path file = cacheFile(contentHash);
+    try {
+      Files.createDirectories(file.getParent());
+      Path temp = file.resolveSibling(contentHash + "." + UUID.randomUUID() + ".tmp");
+      objectMapper.writeValue(temp.toFile(), probe);
+      try {
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      // The result is still cached in memory
+      log.warn("Failed to write probe cache entry for {}", contentHash, e);
+    }
+  }
+
+  private Path cacheFile(String contentHash) {
+    // Two-character fan-out keeps directories small
+    return Paths.get(config.getProbeCacheDir(), contentHash.substring(0, 2), contentHash + ".json");
+  }
+
+  private <K, V> Map<K, V> lruMap() {
+    int capacity = Math.max(16, config.getProbeCacheMemoryEntries());
+    return Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+          }
+        });
+  }
+
+  private static Integer intOrNull(JsonNode node) {
+    return node.isMissingNode() || node.isNull() ? null : node.asInt();
+  }
+
+  private static Double doubleOrNull(JsonNode node) {
+    if (node.isMissingNode() || node.isNull()) {
+      return null;
+    }
+    try {
+      return Double.parseDouble(node.asText());
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,326 @@
+package ai.bluefields.ppt2video.service.media;
+
+import ai.bluefields.ppt2video.config.MediaToolsConfig;
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.zeroturnaround.exec.ProcessExecutor;
+import org.zeroturnaround.exec.StartedProcess;
+import org.zeroturnaround.exec.stream.LogOutputStream;
+
+/**
+ * Runs FFmpeg and FFprobe processes for the whole application. Jobs share a fixed number of worker
+ * slots; callers beyond that wait in FIFO order, so bursts of post-processing don't oversubscribe
+ * the CPU. Every job has a timeout after which its process is killed.
+ *
+ * <p>Queue time, process spawn time, run time and CPU time are recorded for every job and exposed
+ * through {@link #getMetrics()}. The tools are checked once at startup instead of by every caller.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaProcessRunner {
+
+  // CPU time is read from the running process, so it is sampled at this interval until exit
+  private static final long CPU_SAMPLE_MILLIS = 250;
+  // Lines of stderr kept for the result, e.g. for filters that print their measurements
+  private static final int STDERR_TAIL_LINES = 20;
+
+  private final MediaToolsConfig config;
+
+  private Semaphore workers;
+  private int maxConcurrentJobs;
+  private volatile boolean ffmpegAvailable;
+  private volatile boolean ffprobeAvailable;
+
+  private final AtomicInteger activeJobs = new AtomicInteger();
+  private final AtomicInteger queuedJobs = new AtomicInteger();
+  private final LongAdder jobsCompleted = new LongAdder();
+  private final LongAdder jobsFailed = new LongAdder();
+  private final LongAdder jobsTimedOut = new LongAdder();
+  private final LongAdder totalQueueNanos = new LongAdder();
+  private final LongAdder totalSpawnNanos = new LongAdder();
+  private final LongAccumulator maxSpawnNanos = new LongAccumulator(Math::max, 0);
+  private final LongAdder totalRunNanos = new LongAdder();
+  private final LongAdder totalCpuNanos = new LongAdder();
+  private final LongAdder probeCacheHits = new LongAdder();
+  private final LongAdder probeCacheMisses = new LongAdder();
+
+  /**
+   * Result of a finished job.
+   *
+   * @param output standard output
+   * @param errorTail the last lines written to standard error
+   * @param queueTime time spent waiting for a worker
+   * @param runTime time the process ran
+   */
+  public record MediaProcessResult(
+      String output, String errorTail, Duration queueTime, Duration runTime) {}
+
+  @PostConstruct
+  void initialize() {
+    maxConcurrentJobs =
+        config.getMaxConcurrentJobs() > 0
+            ? config.getMaxConcurrentJobs()
+            : Runtime.getRuntime().availableProcessors();
+    workers = new Semaphore(maxConcurrentJobs, true);
+
+    ffmpegAvailable = checkTool(config.getFfmpegPath());
+    ffprobeAvailable = checkTool(config.getFfprobePath());
+    log.info(
+        "Media tools initialized with {} workers (ffmpeg available: {}, ffprobe available: {})",
+        maxConcurrentJobs,
+        ffmpegAvailable,
+        ffprobeAvailable);
+  }
+
+  /**
+   * Runs a job with the default timeout.
+   *
+   * @param name short name of the job for logs and errors
+   * @param command the command line, starting with the executable
+   * @return the job's standard output and timings
+   * @throws IOException if the process cannot be started, fails or times out
+   */
+  public MediaProcessResult run(String name, List<String> command) throws IOException {
+    return run(name, command, config.getDefaultTimeout(), null);
+  }
+
+  /**
+   * Runs a job once a worker slot is free.
+   *
+   * @param name short name of the job for logs and errors
+   * @param command the command line, starting with the executable
+   * @param timeout how long the process may run, not counting the wait for a worker
+   * @param onStart called with the process once started, e.g. to allow cancelling it; may be null
+   * @return the job's standard output and timings
+   * @throws IOException if the process cannot be started, fails or times out
+   */
+  public MediaProcessResult run(
+      String name, List<String> command, Duration timeout, Consumer<Process> onStart)
+      throws IOException {
+    long enqueued = System.nanoTime();
+    queuedJobs.incrementAndGet();
+    try {
+      workers.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while waiting for a media worker", e);
+    } finally {
+      queuedJobs.decrementAndGet();
+    }
+    long queueNanos = System.nanoTime() - enqueued;
+    totalQueueNanos.add(queueNanos);
+    activeJobs.incrementAndGet();
+
+    try {
+      return execute(name, command, timeout, onStart, queueNanos);
+    } finally {
+      activeJobs.decrementAndGet();
+      workers.release();
+    }
+  }
+
+  private MediaProcessResult execute(
+      String name,
+      List<String> command,
+      Duration timeout,
+      Consumer<Process> onStart,
+      long queueNanos)
+      throws IOException {
+    ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    StderrTail stderr = new StderrTail();
+
+    long spawnStarted = System.nanoTime();
+    StartedProcess started;
+    try {
+      started =
+          new ProcessExecutor()
+              .command(command)
+              .redirectOutput(stdout)
+              .redirectError(stderr)
+              .exitValues(0)
+              .destroyOnExit()
+              .start();
+    } catch (IOException e) {
+      jobsFailed.increment();
+      throw new IOException("Failed to start " + name + " at " + command.get(0), e);
+    }
+    long runStarted = System.nanoTime();
+    long spawnNanos = runStarted - spawnStarted;
+    totalSpawnNanos.add(spawnNanos);
+    maxSpawnNanos.accumulate(spawnNanos);
+
+    Process process = started.getProcess();
+    if (onStart != null) {
+      onStart.accept(process);
+    }
+
+    long deadline = runStarted + timeout.toNanos();
+    long cpuNanos = 0;
+    try {
+      while (true) {
+        cpuNanos = cpuNanos(process, cpuNanos);
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          process.destroyForcibly();
+          jobsTimedOut.increment();
+          throw new IOException(name + " timed out after " + timeout);
+        }
+        try {
+          started
+              .getFuture()
+              .get(
+                  Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(CPU_SAMPLE_MILLIS)),
+                  TimeUnit.NANOSECONDS);
+          break;
+        } catch (TimeoutException e) {
+          // Still running
+        }
+      }
+    } catch (ExecutionException e) {
+      jobsFailed.increment();
+      throw new IOException(
+          name + " failed: " + String.join(" | ", stderr.lastLines(3)), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      process.destroy();
+      jobsFailed.increment();
+      throw new IOException(name + " interrupted", e);
+    } finally {
+      totalCpuNanos.add(cpuNanos);
+    }
+
+    long runNanos = System.nanoTime() - runStarted;
+    totalRunNanos.add(runNanos);
+    jobsCompleted.increment();
+    log.debug(
+        "{} finished in {} ms (queued {} ms, spawn {} ms, cpu {} ms)",
+        name,
+        TimeUnit.NANOSECONDS.toMillis(runNanos),
+        TimeUnit.NANOSECONDS.toMillis(queueNanos),
+        TimeUnit.NANOSECONDS.toMillis(spawnNanos),
+        TimeUnit.NANOSECONDS.toMillis(cpuNanos));
+    return new MediaProcessResult(
+        stdout.toString(StandardCharsets.UTF_8),
+        String.join("\n", stderr.lastLines(STDERR_TAIL_LINES)),
+        Duration.ofNanos(queueNanos),
+        Duration.ofNanos(runNanos));
+  }
+
+  public String getFfmpegPath() {
+    return config.getFfmpegPath();
+  }
+
+  public String getFfprobePath() {
+    return config.getFfprobePath();
+  }
+
+  public boolean isFfmpegAvailable() {
+    return ffmpegAvailable;
+  }
+
+  public boolean isFfprobeAvailable() {
+    return ffprobeAvailable;
+  }
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  void recordProbeLookup(boolean cacheHit) {
+    (cacheHit ? probeCacheHits : probeCacheMisses).increment();
+  }
+
+  /**
+   * Get a snapshot of the job counters and timings.
+   *
+   * @return current metrics
+   */
+  public MediaToolsMetrics getMetrics() {
+    long finished = jobsCompleted.sum() + jobsFailed.sum() + jobsTimedOut.sum();
+    long completed = jobsCompleted.sum();
+    return MediaToolsMetrics.builder()
+        .maxConcurrentJobs(maxConcurrentJobs)
+        .activeJobs(activeJobs.get())
+        .queuedJobs(queuedJobs.get())
+        .jobsCompleted(completed)
+        .jobsFailed(jobsFailed.sum())
+        .jobsTimedOut(jobsTimedOut.sum())
+        .averageQueueTimeMs(averageMillis(totalQueueNanos.sum(), finished))
+        .averageSpawnTimeMs(averageMillis(totalSpawnNanos.sum(), finished))
+        .maxSpawnTimeMs(maxSpawnNanos.get() / 1_000_000.0)
+        .averageRunTimeMs(averageMillis(totalRunNanos.sum(), completed))
+        .totalCpuTimeMs(TimeUnit.NANOSECONDS.toMillis(totalCpuNanos.sum()))
+        .probeCacheHits(probeCacheHits.sum())
+        .probeCacheMisses(probeCacheMisses.sum())
+        .build();
+  }
+
+  private boolean checkTool(String path) {
+    try {
+      String version =
+          new ProcessExecutor()
+              .command(path, "-version")
+              .readOutput(true)
+              .timeout(5, TimeUnit.SECONDS)
+              .exitValues(0)
+              .execute()
+              .outputUTF8();
+      log.debug("{} version: {}", path, version.split("\n")[0]);
+      return true;
+    } catch (Exception e) {
+      log.warn("Media tool not available at {}: {}", path, e.getMessage());
+      return false;
+    }
+  }
+
+  /** Latest CPU time of the process, or the previous sample once it is no longer readable. */
+  private static long cpuNanos(Process process, long previous) {
+    return process
+        .toHandle()
+        .info()
+        .totalCpuDuration()
+        .map(Duration::toNanos)
+        .filter(nanos -> nanos > previous)
+        .orElse(previous);
+  }
+
+  private static double averageMillis(long totalNanos, long count) {
+    return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+  }
+
+  /** Keeps the last lines a tool wrote to stderr. */
+  private static final class StderrTail extends LogOutputStream {
+    private final Deque<String> lines = new ArrayDeque<>();
+
+    @Override
+    protected synchronized void processLine(String line) {
+      log.trace("{}", line);
+      lines.addLast(line);
+      if (lines.size() > STDERR_TAIL_LINES) {
+        lines.removeFirst();
+      }
+    }
+
+    synchronized List<String> lastLines(int count) {
+      return List.copyOf(lines).subList(Math.max(0, lines.size() - count), lines.size());
+    }
+  }
+}
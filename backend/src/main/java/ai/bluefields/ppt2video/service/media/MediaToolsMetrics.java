@@ -0,0 +1,37 @@
+package ai.bluefields.ppt2video.service.media;
+
+import lombok.Builder;
+import lombok.Data;
+
+/** Metrics for FFmpeg and FFprobe jobs and the probe result cache. */
+@Data
+@Builder
+public class MediaToolsMetrics {
+
+  private int maxConcurrentJobs;
+  private int activeJobs;
+  private int queuedJobs;
+  private long jobsCompleted;
+  private long jobsFailed;
+  private long jobsTimedOut;
+  private double averageQueueTimeMs;
+  private double averageSpawnTimeMs;
+  private double maxSpawnTimeMs;
+  private double averageRunTimeMs;
+  private long totalCpuTimeMs;
+  private long probeCacheHits;
+  private long probeCacheMisses;
+
+  /**
+   * Get the share of probes answered from the cache.
+   *
+   * @return hit rate between 0 and 100
+   */
+  public double getProbeCacheHitRate() {
+    long lookups = probeCacheHits + probeCacheMisses;
+    if (lookups == 0) {
+      return 0;
+    }
+    return ((double) probeCacheHits / lookups) * 100;
+  }
+}
@@ -0,0 +1,455 @@
+package ai.bluefields.ppt2video.service.pipeline;
+
+import ai.bluefields.ppt2video.dto.AnalysisStatusDto.AnalysisState;
+import ai.bluefields.ppt2video.dto.AnalysisStatusDto.AnalysisType;
+import ai.bluefields.ppt2video.dto.AvatarVideoRequest;
+import ai.bluefields.ppt2video.dto.SlidePipelineRequest;
+import ai.bluefields.ppt2video.entity.Presentation;
+import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.entity.SlideNarrative;
+import ai.bluefields.ppt2video.entity.SlideSpeech;
+import ai.bluefields.ppt2video.repository.AvatarVideoRepository;
+import ai.bluefields.ppt2video.repository.PresentationRepository;
+import ai.bluefields.ppt2video.repository.SlideNarrativeRepository;
+import ai.bluefields.ppt2video.service.ai.AnalysisStatusService;
+import ai.bluefields.ppt2video.service.ai.DeckAnalysisService;
+import ai.bluefields.ppt2video.service.ai.TextToSpeechService;
+import ai.bluefields.ppt2video.service.ai.narrative.NarrativeGenerationService;
+import ai.bluefields.ppt2video.service.ai.narrative.optimization.EmotionalEnhancer;
+import ai.bluefields.ppt2video.service.ai.narrative.optimization.EmotionalEnhancerFactory;
+import ai.bluefields.ppt2video.service.ai.slideanalysis.SlideAnalysisService;
+import ai.bluefields.ppt2video.service.audio.SpeechAudioPostProcessor;
+import ai.bluefields.ppt2video.service.avatar.AvatarVideoService;
+import ai.bluefields.ppt2video.service.avatar.providers.HeyGenConfiguration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs analysis, narrative, speech and avatar video generation as a per-slide pipeline. Each slide
+ * moves on to its next stage as soon as its previous stage is done, so slides in different stages
+ * run at the same time instead of waiting for deck-wide barriers. Every stage has its own
+ * concurrency limit, matching the limits of the service it calls.
+ *
+ * <p>A slide's narrative uses the analysis of its neighbouring slides and the deck analysis as
+ * context, so the narrative stage waits for those (successful or not) before it starts. Deck-wide
+ * transition optimization is not part of the pipeline; emotional enhancement is applied per slide.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SlidePipelineOrchestrator {
+
+  /** Pipeline stages in execution order. */
+  public enum Stage {
+    ANALYSIS,
+    NARRATIVE,
+    SPEECH,
+    AVATAR_VIDEO
+  }
+
+  private final PresentationRepository presentationRepository;
+  private final SlideNarrativeRepository slideNarrativeRepository;
+  private final AvatarVideoRepository avatarVideoRepository;
+  private final DeckAnalysisService deckAnalysisService;
+  private final SlideAnalysisService slideAnalysisService;
+  private final NarrativeGenerationService narrativeGenerationService;
+  private final EmotionalEnhancerFactory emotionalEnhancerFactory;
+  private final TextToSpeechService textToSpeechService;
+  private final SpeechAudioPostProcessor speechAudioPostProcessor;
+  private final AvatarVideoService avatarVideoService;
+  private final HeyGenConfiguration heyGenConfiguration;
+  private final AnalysisStatusService analysisStatusService;
+  private final PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  @Value("${app.pipeline.analysis.max-concurrent:5}")
+  private int maxConcurrentAnalyses;
+
+  @Value("${app.pipeline.narrative.max-concurrent:5}")
+  private int maxConcurrentNarratives;
+
+  @Value("${app.pipeline.speech.max-concurrent:3}")
+  private int maxConcurrentSpeech;
+
+  @Value("${app.pipeline.avatar.max-concurrent:5}")
+  private int maxConcurrentAvatarVideos;
+
+  @Value("${app.pipeline.timeout-per-slide-seconds:900}")
+  private int timeoutPerSlideSeconds;
+
+  @Value("${app.ai.narrative.optimization.emotional.enabled:true}")
+  private boolean emotionalEnhancementEnabled;
+
+  /**
+   * Run the pipeline for the slides of a presentation asynchronously. Progress is reported through
+   * {@link AnalysisStatusService} under {@link AnalysisType#SLIDE_PIPELINE}.
+   *
+   * @param presentationId The presentation ID
+   * @param request The pipeline request
+   */
+  @Async("virtualThreadExecutor")
+  public void runPipeline(UUID presentationId, SlidePipelineRequest request) {
+    log.info("=== STARTING SLIDE PIPELINE ===");
+    log.info(
+        "Presentation: {}, concurrency - analysis: {}, narrative: {}, speech: {}, avatar: {}",
+        presentationId,
+        maxConcurrentAnalyses,
+        maxConcurrentNarratives,
+        maxConcurrentSpeech,
+        maxConcurrentAvatarVideos);
+
+    try {
+      PipelinePlan plan = loadPlan(presentationId, request);
+      if (plan.slides().isEmpty()) {
+        analysisStatusService.startAnalysis(presentationId, AnalysisType.SLIDE_PIPELINE, 0);
+        analysisStatusService.completeAnalysis(
+            presentationId,
+            AnalysisType.SLIDE_PIPELINE,
+            AnalysisState.COMPLETED,
+            "No slides to process");
+        return;
+      }
+
+      analysisStatusService.startAnalysis(
+          presentationId, AnalysisType.SLIDE_PIPELINE, plan.slides().size());
+      PipelineRun run = new PipelineRun(presentationId, request, plan);
+      run.execute();
+
+    } catch (Exception e) {
+      log.error("Slide pipeline failed for presentation: {}", presentationId, e);
+      analysisStatusService.addError(
+          presentationId, AnalysisType.SLIDE_PIPELINE, "Pipeline failed: " + e.getMessage());
+      analysisStatusService.completeAnalysis(
+          presentationId,
+          AnalysisType.SLIDE_PIPELINE,
+          AnalysisState.FAILED,
+          "Pipeline failed: " + e.getMessage());
+    }
+  }
+
+  /** Load the slides to process and resolve the narrative style in one read transaction. */
+  private PipelinePlan loadPlan(UUID presentationId, SlidePipelineRequest request) {
+    return new TransactionTemplate(transactionManager)
+        .execute(
+            status -> {
+              Presentation presentation =
+                  presentationRepository
+                      .findByIdWithSlides(presentationId)
+                      .orElseThrow(
+                          () ->
+                              new IllegalArgumentException(
+                                  "Presentation not found: " + presentationId));
+
+              Set<UUID> selected =
+                  request.getSelectedSlideIds() != null && !request.getSelectedSlideIds().isEmpty()
+                      ? new HashSet<>(request.getSelectedSlideIds())
+                      : null;
+
+              List<SlideRef> slides =
+                  presentation.getSlides().stream()
+                      .sorted(Comparator.comparing(Slide::getSlideNumber))
+                      .filter(slide -> selected == null || selected.contains(slide.getId()))
+                      .map(slide -> new SlideRef(slide.getId(), slide.getSlideNumber()))
+                      .toList();
+
+              String style =
+                  request.getStyle() != null
+                      ? request.getStyle()
+                      : presentation.getNarrativeStyle() != null
+                          ? presentation.getNarrativeStyle()
+                          : "business";
+
+              return new PipelinePlan(slides, style);
+            });
+  }
+
+  /** State of one pipeline run. Slides are processed on their own virtual thread each. */
+  private class PipelineRun {
+
+    private final UUID presentationId;
+    private final SlidePipelineRequest request;
+    private final PipelinePlan plan;
+    private final Map<Stage, Semaphore> permits = new EnumMap<>(Stage.class);
+    private final Map<Stage, AtomicInteger> finished = new EnumMap<>(Stage.class);
+    private final List<CompletableFuture<Void>> analyzed = new ArrayList<>();
+    private final AtomicInteger completedSlides = new AtomicInteger();
+    private final AtomicInteger failedSlides = new AtomicInteger();
+    private CompletableFuture<Void> deckAnalyzed;
+
+    PipelineRun(UUID presentationId, SlidePipelineRequest request, PipelinePlan plan) {
+      this.presentationId = presentationId;
+      this.request = request;
+      this.plan = plan;
+      permits.put(Stage.ANALYSIS, new Semaphore(maxConcurrentAnalyses));
+      permits.put(Stage.NARRATIVE, new Semaphore(maxConcurrentNarratives));
+      permits.put(Stage.SPEECH, new Semaphore(maxConcurrentSpeech));
+      permits.put(Stage.AVATAR_VIDEO, new Semaphore(maxConcurrentAvatarVideos));
+      for (Stage stage : Stage.values()) {
+        finished.put(stage, new AtomicInteger());
+      }
+      for (int i = 0; i < plan.slides().size(); i++) {
+        analyzed.add(new CompletableFuture<>());
+      }
+    }
+
+    void execute() {
+      long startTime = System.currentTimeMillis();
+
+      // Deck analysis runs alongside the first slide analyses; only narratives depend on it
+      deckAnalyzed =
+          CompletableFuture.runAsync(
+                  () -> deckAnalysisService.analyzeDeck(presentationId, false),
+                  virtualThreadExecutor)
+              .exceptionally(
+                  e -> {
+                    log.warn(
+                        "Deck analysis failed for presentation {}, narratives continue without it: {}",
+                        presentationId,
+                        e.getMessage());
+                    return null;
+                  });
+
+      List<CompletableFuture<Void>> slideFutures = new ArrayList<>();
+      for (int i = 0; i < plan.slides().size(); i++) {
+        int index = i;
+        slideFutures.add(CompletableFuture.runAsync(() -> runSlide(index), virtualThreadExecutor));
+      }
+
+      try {
+        CompletableFuture.allOf(slideFutures.toArray(new CompletableFuture[0]))
+            .get(timeoutPerSlideSeconds + (long) plan.slides().size() * 60, TimeUnit.SECONDS);
+      } catch (TimeoutException e) {
+        log.error("Slide pipeline timed out for presentation: {}", presentationId);
+        slideFutures.forEach(future -> future.cancel(true));
+        analysisStatusService.addError(
+            presentationId, AnalysisType.SLIDE_PIPELINE, "Pipeline timed out");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        slideFutures.forEach(future -> future.cancel(true));
+      } catch (Exception e) {
+        log.error("Error waiting for slide pipeline to complete", e);
+      }
+
+      int failed = failedSlides.get();
+      int total = plan.slides().size();
+      String message =
+          String.format(
+              "Pipeline complete: %d/%d slides finished, %d failed in %d s",
+              completedSlides.get(),
+              total,
+              failed,
+              (System.currentTimeMillis() - startTime) / 1000);
+      log.info("=== COMPLETED SLIDE PIPELINE === {}", message);
+      analysisStatusService.completeAnalysis(
+          presentationId,
+          AnalysisType.SLIDE_PIPELINE,
+          failed == 0 ? AnalysisState.COMPLETED : AnalysisState.FAILED,
+          message);
+    }
+
+    /** Take one slide through all stages. */
+    private void runSlide(int index) {
+      SlideRef slide = plan.slides().get(index);
+      Stage stage = Stage.ANALYSIS;
+      try {
+        try {
+          runStage(
+              stage,
+              slide,
+              () -> slideAnalysisService.analyzeSlide(slide.id(), request.isRegenerateExisting()));
+        } finally {
+          // Neighbours only need to know the analysis is settled, not that it succeeded
+          analyzed.get(index).complete(null);
+        }
+
+        awaitNarrativeContext(index);
+        stage = Stage.NARRATIVE;
+        UUID narrativeId = runStage(stage, slide, () -> prepareNarrative(slide));
+
+        stage = Stage.SPEECH;
+        runStage(
+            stage,
+            slide,
+            () -> {
+              SlideSpeech speech =
+                  textToSpeechService.generateSpeech(narrativeId, plan.style(), false);
+              // Avatar videos are generated from the published audio, so process it first
+              speechAudioPostProcessor.processSpeechIfEnabled(speech.getId());
+              return speech;
+            });
+
+        if (request.isIncludeAvatarVideos()) {
+          stage = Stage.AVATAR_VIDEO;
+          runStage(stage, slide, () -> startAvatarVideo(slide));
+        }
+
+        completedSlides.incrementAndGet();
+        reportProgress("Slide " + slide.number() + " finished");
+
+      } catch (Exception e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        log.error(
+            "✗ Slide {} failed in {} stage: {}", slide.number(), stage, cause.getMessage(), e);
+        failedSlides.incrementAndGet();
+        analysisStatusService.addError(
+            presentationId,
+            AnalysisType.SLIDE_PIPELINE,
+            String.format("Slide %d (%s): %s", slide.number(), stage, cause.getMessage()));
+        reportProgress("Slide " + slide.number() + " failed in " + stage);
+      }
+    }
+
+    /** Wait until the deck and the neighbouring slides have been analyzed. */
+    private void awaitNarrativeContext(int index) throws Exception {
+      List<CompletableFuture<Void>> context = new ArrayList<>(3);
+      context.add(deckAnalyzed);
+      if (index > 0) {
+        context.add(analyzed.get(index - 1));
+      }
+      if (index < analyzed.size() - 1) {
+        context.add(analyzed.get(index + 1));
+      }
+      CompletableFuture.allOf(context.toArray(new CompletableFuture[0]))
+          .get(timeoutPerSlideSeconds, TimeUnit.SECONDS);
+    }
+
+    /** Generate the narrative unless an active one can be reused, then enhance it. */
+    private UUID prepareNarrative(SlideRef slide) {
+      UUID narrativeId = null;
+      if (!request.isRegenerateExisting()) {
+        narrativeId =
+            slideNarrativeRepository
+                .findBySlideIdAndIsActiveTrue(slide.id())
+                .map(SlideNarrative::getId)
+                .orElse(null);
+      }
+      if (narrativeId == null) {
+        narrativeId =
+            narrativeGenerationService.generateNarrative(slide.id(), plan.style()).getId();
+      }
+      if (emotionalEnhancementEnabled) {
+        enhanceNarrative(narrativeId);
+      }
+      return narrativeId;
+    }
+
+    /** Apply the emotional enhancement of the configured TTS engine to one narrative. */
+    private void enhanceNarrative(UUID narrativeId) {
+      EmotionalEnhancer enhancer = emotionalEnhancerFactory.getDefaultEnhancer();
+      if (enhancer == null) {
+        return;
+      }
+      // The enhancer navigates lazy associations, so load and enhance in one transaction
+      new TransactionTemplate(transactionManager)
+          .executeWithoutResult(
+              status ->
+                  slideNarrativeRepository
+                      .findById(narrativeId)
+                      .ifPresent(enhancer::enhanceNarrative));
+    }
+
+    /** Start avatar video generation unless a completed video can be kept. */
+    private Optional<UUID> startAvatarVideo(SlideRef slide) {
+      if (!request.isRegenerateExisting()
+          && avatarVideoRepository.existsCompletedBySlideId(slide.id())) {
+        log.debug("Slide {} already has a completed avatar video", slide.number());
+        return Optional.empty();
+      }
+
+      String avatarId =
+          request.getAvatarId() != null && !request.getAvatarId().isEmpty()
+              ? request.getAvatarId()
+              : heyGenConfiguration.getAvatar().getAvatarIdForStyle(plan.style());
+
+      AvatarVideoRequest avatarRequest =
+          AvatarVideoRequest.builder()
+              .presentationId(presentationId)
+              .slideId(slide.id())
+              .avatarId(avatarId)
+              .backgroundColor(
+                  request.getBackgroundColor() != null
+                      ? request.getBackgroundColor()
+                      : heyGenConfiguration.getAvatar().getBackgroundColor())
+              .usePublishedAudio(true)
+              .build();
+
+      // Completion is tracked by AvatarVideoMonitorService
+      return Optional.of(avatarVideoService.generateAvatarVideo(avatarRequest).getId());
+    }
+
+    /** Run one stage of a slide while holding a permit of that stage. */
+    private <T> T runStage(Stage stage, SlideRef slide, Supplier<T> work)
+        throws InterruptedException {
+      Semaphore semaphore = permits.get(stage);
+      semaphore.acquire();
+      long stageStart = System.currentTimeMillis();
+      try {
+        log.info("Slide {}: starting {} stage", slide.number(), stage);
+        T result = work.get();
+        log.info(
+            "Slide {}: {} stage done in {} ms",
+            slide.number(),
+            stage,
+            System.currentTimeMillis() - stageStart);
+        return result;
+      } finally {
+        semaphore.release();
+        finished.get(stage).incrementAndGet();
+      }
+    }
+
+    private void reportProgress(String action) {
+      int total = plan.slides().size();
+      String message =
+          String.format(
+              "%s - analysis %d/%d, narratives %d/%d, speech %d/%d, avatar videos %d/%d",
+              action,
+              finished.get(Stage.ANALYSIS).get(),
+              total,
+              finished.get(Stage.NARRATIVE).get(),
+              total,
+              finished.get(Stage.SPEECH).get(),
+              total,
+              finished.get(Stage.AVATAR_VIDEO).get(),
+              total);
+      analysisStatusService.updateProgress(
+          presentationId,
+          AnalysisType.SLIDE_PIPELINE,
+          completedSlides.get() + failedSlides.get(),
+          failedSlides.get(),
+          message);
+    }
+  }
+
+  /** Slide identity needed outside the loading transaction. */
+  private record SlideRef(UUID id, int number) {}
+
+  /** Slides to process and the narrative style to use. */
+  private record PipelinePlan(List<SlideRef> slides, String style) {}
+}
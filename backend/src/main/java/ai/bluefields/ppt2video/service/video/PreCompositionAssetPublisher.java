@@ -10,8 +10,12 @@ import ai.bluefields.ppt2video.repository.AvatarVideoRepository;
 import ai.bluefields.ppt2video.repository.IntroVideoRepository;
 import ai.bluefields.ppt2video.service.R2AssetService;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -164,78 +168,56 @@ public class PreCompositionAssetPublisher {
     log.info("R2 URL refresh complete: {} URLs refreshed", refreshedCount);
   }
 
-  /** Uploads assets to Shotstack using fresh R2 URLs. */
+  /**
+   * Uploads assets to Shotstack using fresh R2 URLs. All assets are submitted up front so their
+   * ingestion overlaps; the publisher persists the resulting Shotstack URLs.
+   */
   private void uploadAssetsToShotstack(AssetDiscoveryResult discovery) {
     log.info("Uploading assets to Shotstack for preview capability");
 
-    int uploadedCount = 0;
-
-    // Upload intro videos
-    for (IntroVideo introVideo : discovery.introVideos) {
-      AssetMetadata assetMetadata = introVideo.getR2Asset();
-      if (assetMetadata != null) {
-        try {
-          // Get fresh R2 URL for upload
-          String r2Url = r2AssetService.regeneratePresignedUrl(assetMetadata.getId());
-          String shotstackUrl = shotstackAssetPublisher.uploadAsset(r2Url, "video");
-
-          // Store Shotstack URL in AssetMetadata
-          assetMetadata.setShotstackUrl(shotstackUrl);
-          assetMetadata.setShotstackUploadedAt(java.time.LocalDateTime.now());
-          assetMetadataRepository.save(assetMetadata);
-
-          log.debug(
-              "Uploaded intro video to Shotstack: {} -> {}", introVideo.getId(), shotstackUrl);
-          uploadedCount++;
-        } catch (Exception e) {
-          log.error("Failed to upload intro video to Shotstack: {}", introVideo.getId(), e);
-        }
-      }
-    }
-
-    // Upload slide images
-    for (AssetMetadata slideImage : discovery.slideImages) {
-      try {
-        // Get fresh URL for upload to Shotstack
-        String slideImageUrl = r2AssetService.regeneratePresignedUrl(slideImage.getId());
-        String shotstackUrl = shotstackAssetPublisher.uploadAsset(slideImageUrl, "image");
-
-        // Store Shotstack URL in AssetMetadata
-        slideImage.setShotstackUrl(shotstackUrl);
-        slideImage.setShotstackUploadedAt(java.time.LocalDateTime.now());
-        assetMetadataRepository.save(slideImage);
-
-        log.debug("Uploaded slide image to Shotstack: {} -> {}", slideImage.getId(), shotstackUrl);
-        uploadedCount++;
-      } catch (Exception e) {
-        log.error("Failed to upload slide image to Shotstack: {}", slideImage.getId(), e);
-      }
-    }
+    List<UUID> videoAssetIds = new ArrayList<>();
+    discovery.introVideos.stream()
+        .map(IntroVideo::getR2Asset)
+        .filter(Objects::nonNull)
+        .forEach(asset -> videoAssetIds.add(asset.getId()));
+    discovery.avatarVideos.stream()
+        .map(AvatarVideo::getR2Asset)
+        .filter(Objects::nonNull)
+        .forEach(asset -> videoAssetIds.add(asset.getId()));
+    List<UUID> imageAssetIds = discovery.slideImages.stream().map(AssetMetadata::getId).toList();
+
+    // Get fresh R2 URLs for upload in one batch
+    List<UUID> allAssetIds = new ArrayList<>(videoAssetIds);
+    allAssetIds.addAll(imageAssetIds);
+    Map<UUID, String> r2Urls = r2AssetService.regeneratePresignedUrls(allAssetIds);
+
+    Map<String, String> videos = sourceUrls(videoAssetIds, r2Urls);
+    Map<String, String> images = sourceUrls(imageAssetIds, r2Urls);
+
+    CompletableFuture<Map<String, String>> videoUploads =
+        shotstackAssetPublisher.uploadAssetsAsync(videos, "video", false);
+    CompletableFuture<Map<String, String>> imageUploads =
+        shotstackAssetPublisher.uploadAssetsAsync(images, "image", false);
+
+    int uploadedCount = videoUploads.join().size() + imageUploads.join().size();
+    log.info(
+        "Shotstack upload complete: {} of {} assets uploaded",
+        uploadedCount,
+        videos.size() + images.size());
+  }
 
-    // Upload avatar videos
-    for (AvatarVideo avatarVideo : discovery.avatarVideos) {
-      AssetMetadata assetMetadata = avatarVideo.getR2Asset();
-      if (assetMetadata != null) {
-        try {
-          // Get fresh R2 URL for upload
-          String r2Url = r2AssetService.regeneratePresignedUrl(assetMetadata.getId());
-          String shotstackUrl = shotstackAssetPublisher.uploadAsset(r2Url, "video");
-
-          // Store Shotstack URL in AssetMetadata
-          assetMetadata.setShotstackUrl(shotstackUrl);
-          assetMetadata.setShotstackUploadedAt(java.time.LocalDateTime.now());
-          assetMetadataRepository.save(assetMetadata);
-
-          log.debug(
-              "Uploaded avatar video to Shotstack: {} -> {}", avatarVideo.getId(), shotstackUrl);
-          uploadedCount++;
-        } catch (Exception e) {
-          log.error("Failed to upload avatar video to Shotstack: {}", avatarVideo.getId(), e);
-        }
+  /** Maps asset IDs to their presigned URLs, skipping assets whose URL could not be generated. */
+  private Map<String, String> sourceUrls(List<UUID> assetIds, Map<UUID, String> r2Urls) {
+    Map<String, String> sources = new LinkedHashMap<>();
+    for (UUID assetId : assetIds) {
+      String r2Url = r2Urls.get(assetId);
+      if (r2Url != null) {
+        sources.put(assetId.toString(), r2Url);
+      } else {
+        log.error("Failed to refresh R2 URL for Shotstack upload: {}", assetId);
       }
     }
-
-    log.info("Shotstack upload complete: {} assets uploaded", uploadedCount);
+    return sources;
   }
 
   /** Helper class to hold discovered assets. */
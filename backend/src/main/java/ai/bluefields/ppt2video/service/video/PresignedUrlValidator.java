@@ -1,5 +1,6 @@
 package ai.bluefields.ppt2video.service.video;
 
+import ai.bluefields.ppt2video.service.PresignedUrlCache;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
@@ -9,6 +10,7 @@ import java.time.ZoneId;
 import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,6 +26,8 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class PresignedUrlValidator {
 
+  private final PresignedUrlCache presignedUrlCache;
+
   @Value("${shotstack.assets.url-validation.buffer-minutes:5}")
   private int bufferMinutes;
 
@@ -48,16 +52,12 @@ public class PresignedUrlValidator {
     }
 
     try {
-      // Parse expiration from URL parameters
-      Long expirationTimestamp = parseExpirationFromUrl(url);
-      if (expirationTimestamp == null) {
+      LocalDateTime expirationTime = resolveExpirationTime(url);
+      if (expirationTime == null) {
         log.warn("Could not parse expiration from presigned URL: {}", url);
         return UrlValidationResult.invalid("Could not parse expiration timestamp");
       }
 
-      LocalDateTime expirationTime =
-          LocalDateTime.ofInstant(Instant.ofEpochSecond(expirationTimestamp), ZoneId.of("UTC"));
-
       // Calculate time until expiration
       LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
       long minutesUntilExpiration = ChronoUnit.MINUTES.between(now, expirationTime);
@@ -118,6 +118,30 @@ public class PresignedUrlValidator {
             || url.contains("signature")); // Generic signed URL
   }
 
+  /**
+   * Resolves the UTC expiration time of a presigned URL. URLs issued through the presigned URL
+   * cache are answered from memory; only unknown URLs have their query string parsed.
+   *
+   * @param url The presigned URL
+   * @return Expiration time in UTC, or null if it cannot be determined
+   */
+  private LocalDateTime resolveExpirationTime(String url) {
+    Optional<LocalDateTime> cached = presignedUrlCache.findExpiration(url);
+    if (cached.isPresent()) {
+      return cached
+          .get()
+          .atZone(ZoneId.systemDefault())
+          .withZoneSameInstant(ZoneId.of("UTC"))
+          .toLocalDateTime();
+    }
+
+    Long expirationTimestamp = parseExpirationFromUrl(url);
+    if (expirationTimestamp == null) {
+      return null;
+    }
+    return LocalDateTime.ofInstant(Instant.ofEpochSecond(expirationTimestamp), ZoneId.of("UTC"));
+  }
+
   /**
    * Parses the expiration timestamp from a presigned URL.
    *
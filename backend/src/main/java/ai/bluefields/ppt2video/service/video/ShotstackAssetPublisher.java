@@ -6,14 +6,21 @@ import ai.bluefields.ppt2video.entity.AssetMetadata;
 import ai.bluefields.ppt2video.repository.AssetMetadataRepository;
 import ai.bluefields.ppt2video.service.video.provider.shotstack.ShotstackIngestMonitorService;
 import ai.bluefields.ppt2video.service.video.provider.shotstack.ShotstackVideoProvider;
+import jakarta.annotation.PostConstruct;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +29,10 @@ import org.springframework.transaction.annotation.Transactional;
  * Service for uploading assets to Shotstack's ingestion endpoint. This enables preview
  * functionality in Shotstack Studio but comes with additional storage costs. The service uses
  * database persistence for tracking uploaded assets to avoid duplicates across restarts.
+ *
+ * <p>Uploads are asynchronous: sources are submitted on virtual threads and their ingestion is
+ * tracked by the shared {@link ShotstackIngestMonitorService} polling loop, so a batch of uploads
+ * is ingested in parallel without a thread waiting on each asset.
  */
 @Service
 @RequiredArgsConstructor
@@ -32,9 +43,23 @@ public class ShotstackAssetPublisher {
   private final ShotstackIngestMonitorService ingestMonitor;
   private final AssetMetadataRepository assetMetadataRepository;
 
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
   @Value("${shotstack.assets.cache-duration-hours:24}")
   private int cacheDurationHours;
 
+  @Value("${shotstack.ingest.max-concurrent-submissions:8}")
+  private int maxConcurrentSubmissions;
+
+  private Semaphore submissionPermits;
+
+  @PostConstruct
+  void initialize() {
+    submissionPermits = new Semaphore(Math.max(1, maxConcurrentSubmissions));
+  }
+
   /**
    * Uploads an asset to Shotstack if not already cached.
    *
@@ -54,36 +79,31 @@ public class ShotstackAssetPublisher {
    * @param forceUpload If true, bypasses cache and forces re-upload
    * @return The Shotstack asset URL
    */
-  @Transactional
   public String uploadAsset(String sourceUrl, String assetType, boolean forceUpload) {
-    // Extract object key from URL for database lookup
-    String objectKey = extractObjectKeyFromUrl(sourceUrl);
-    if (objectKey == null) {
-      log.warn("Could not extract object key from URL: {}", sourceUrl);
-      // Proceed without caching
-      return uploadToShotstack(sourceUrl, assetType, null);
-    }
-
-    // Check database for existing Shotstack URL unless force upload is requested
-    if (!forceUpload) {
-      Optional<AssetMetadata> existingAsset = assetMetadataRepository.findByObjectKey(objectKey);
-      if (existingAsset.isPresent()) {
-        AssetMetadata asset = existingAsset.get();
-        if (asset.getShotstackUrl() != null && !isExpired(asset.getShotstackUploadedAt())) {
-          log.debug("Using cached Shotstack URL for asset: {}", objectKey);
-          return asset.getShotstackUrl();
-        }
+    try {
+      return uploadAssetAsync(sourceUrl, assetType, forceUpload).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
       }
-    } else {
-      log.info("Force upload requested, bypassing cache for: {}", objectKey);
+      throw new RuntimeException("Asset upload failed: " + e.getCause().getMessage(), e.getCause());
     }
+  }
 
-    // Find the asset metadata to update
-    Optional<AssetMetadata> assetOpt = assetMetadataRepository.findByObjectKey(objectKey);
-    AssetMetadata asset = assetOpt.orElse(null);
-
-    // Upload to Shotstack and update database
-    return uploadToShotstack(sourceUrl, assetType, asset);
+  /**
+   * Uploads an asset to Shotstack without blocking. The cache lookup and submission run on a
+   * virtual thread and ingestion is tracked by the shared ingest monitor.
+   *
+   * @param sourceUrl The source URL of the asset (R2 presigned URL)
+   * @param assetType The type of asset (image, video, audio)
+   * @param forceUpload If true, bypasses cache and forces re-upload
+   * @return Future of the Shotstack asset URL, completed once ingestion has finished
+   */
+  public CompletableFuture<String> uploadAssetAsync(
+      String sourceUrl, String assetType, boolean forceUpload) {
+    return CompletableFuture.supplyAsync(
+            () -> submitToShotstack(sourceUrl, assetType, forceUpload), virtualThreadExecutor)
+        .thenCompose(this::awaitIngestion);
   }
 
   /**
@@ -107,23 +127,48 @@ public class ShotstackAssetPublisher {
    */
   public Map<String, String> uploadAssets(
       Map<String, String> assets, String assetType, boolean forceUpload) {
-    Map<String, String> shotstackUrls = new ConcurrentHashMap<>();
-
-    // Upload each asset (could be parallelized if needed)
-    for (Map.Entry<String, String> entry : assets.entrySet()) {
-      String assetName = entry.getKey();
-      String sourceUrl = entry.getValue();
+    return uploadAssetsAsync(assets, assetType, forceUpload).join();
+  }
 
-      try {
-        String shotstackUrl = uploadAsset(sourceUrl, assetType, forceUpload);
-        shotstackUrls.put(assetName, shotstackUrl);
-      } catch (Exception e) {
-        log.error("Failed to upload asset: {}", assetName, e);
-        // Continue with other assets
-      }
-    }
+  /**
+   * Uploads multiple assets to Shotstack without blocking. All sources are submitted up front and
+   * tracked together by the ingest monitor, so ingestion of the whole batch overlaps.
+   *
+   * @param assets Map of asset name to source URL
+   * @param assetType The type of assets being uploaded
+   * @param forceUpload If true, bypasses cache and forces re-upload
+   * @return Future of asset name to Shotstack URL; assets that fail are logged and left out
+   */
+  public CompletableFuture<Map<String, String>> uploadAssetsAsync(
+      Map<String, String> assets, String assetType, boolean forceUpload) {
+    Map<String, String> shotstackUrls = new ConcurrentHashMap<>();
 
-    return shotstackUrls;
+    CompletableFuture<?>[] uploads =
+        assets.entrySet().stream()
+            .map(
+                entry ->
+                    uploadAssetAsync(entry.getValue(), assetType, forceUpload)
+                        .handle(
+                            (shotstackUrl, error) -> {
+                              if (error != null) {
+                                log.error("Failed to upload asset: {}", entry.getKey(), error);
+                              } else {
+                                shotstackUrls.put(entry.getKey(), shotstackUrl);
+                              }
+                              return null;
+                            }))
+            .toArray(CompletableFuture[]::new);
+
+    return CompletableFuture.allOf(uploads)
+        .thenApply(
+            done -> {
+              log.info(
+                  "Shotstack ingest of {} {} assets complete: {} succeeded",
+                  assets.size(),
+                  assetType,
+                  shotstackUrls.size());
+              return shotstackUrls;
+            });
   }
 
   /**
@@ -173,15 +218,40 @@ public class ShotstackAssetPublisher {
   }
 
   /**
-   * Performs the actual upload to Shotstack.
+   * Returns the cached Shotstack URL of an asset, or submits the asset to the Ingest API. At most
+   * {@code maxConcurrentSubmissions} submissions are in flight at once.
    *
    * @param sourceUrl The source URL of the asset
    * @param assetType The type of asset
-   * @param asset The AssetMetadata entity to update (can be null)
-   * @return The Shotstack asset URL
+   * @param forceUpload If true, bypasses cache and forces re-upload
+   * @return The cached URL, or the source ID to monitor
    */
-  private String uploadToShotstack(String sourceUrl, String assetType, AssetMetadata asset) {
+  private IngestSubmission submitToShotstack(
+      String sourceUrl, String assetType, boolean forceUpload) {
+    // Extract object key from URL for database lookup
+    String objectKey = extractObjectKeyFromUrl(sourceUrl);
+    AssetMetadata asset = null;
+    if (objectKey == null) {
+      log.warn("Could not extract object key from URL: {}", sourceUrl);
+      // Proceed without caching
+    } else {
+      asset = assetMetadataRepository.findByObjectKey(objectKey).orElse(null);
+
+      // Check database for existing Shotstack URL unless force upload is requested
+      if (!forceUpload) {
+        if (asset != null
+            && asset.getShotstackUrl() != null
+            && !isExpired(asset.getShotstackUploadedAt())) {
+          log.debug("Using cached Shotstack URL for asset: {}", objectKey);
+          return new IngestSubmission(asset.getShotstackUrl(), null, null);
+        }
+      } else {
+        log.info("Force upload requested, bypassing cache for: {}", objectKey);
+      }
+    }
+
     log.info("Uploading asset to Shotstack: {} (type: {})", sourceUrl, assetType);
+    UUID assetId = asset != null ? asset.getId() : null;
 
     try {
       AssetUploadRequest request =
@@ -191,79 +261,83 @@ public class ShotstackAssetPublisher {
               .contentType(getContentType(assetType))
               .build();
 
-      AssetUploadResult result = shotstackProvider.uploadAsset(request);
+      AssetUploadResult result;
+      submissionPermits.acquire();
+      try {
+        result = shotstackProvider.uploadAsset(request);
+      } finally {
+        submissionPermits.release();
+      }
 
       // Check if the upload is queued (needs monitoring)
       if ("queued".equals(result.getStatus())) {
         log.info(
             "Asset upload queued, starting monitoring for source ID: {}",
             result.getProviderAssetId());
-
-        // Start monitoring and wait for completion
-        java.util.concurrent.CompletableFuture<String> future =
-            ingestMonitor.startMonitoring(
-                result.getProviderAssetId(),
-                (status, resultOrError) -> {
-                  if (status == ShotstackIngestMonitorService.SourceStatus.COMPLETED) {
-                    log.info("Asset ingestion completed: {}", resultOrError);
-                  } else {
-                    log.error("Asset ingestion failed: {}", resultOrError);
-                  }
-                });
-
-        // Wait for completion (with timeout)
-        try {
-          String assetUrl = future.get(60, java.util.concurrent.TimeUnit.SECONDS);
-
-          // Update database with Shotstack URL
-          if (asset != null) {
-            asset.setShotstackUrl(assetUrl);
-            asset.setShotstackAssetId(result.getProviderAssetId());
-            asset.setShotstackUploadedAt(LocalDateTime.now());
-            assetMetadataRepository.save(asset);
-          }
-
-          log.info(
-              "Successfully ingested asset to Shotstack. ID: {}, URL: {}",
-              result.getProviderAssetId(),
-              assetUrl);
-
-          return assetUrl;
-
-        } catch (java.util.concurrent.TimeoutException e) {
-          log.error("Timeout waiting for asset ingestion", e);
-          throw new RuntimeException("Asset ingestion timeout", e);
-        } catch (Exception e) {
-          log.error("Failed waiting for asset ingestion", e);
-          throw new RuntimeException("Asset ingestion failed: " + e.getMessage(), e);
-        }
-
-      } else {
-        // Immediate upload (shouldn't happen with current implementation)
-        String assetUrl = result.getProviderUrl();
-
-        // Update database with Shotstack URL
-        if (asset != null) {
-          asset.setShotstackUrl(assetUrl);
-          asset.setShotstackAssetId(result.getProviderAssetId());
-          asset.setShotstackUploadedAt(LocalDateTime.now());
-          assetMetadataRepository.save(asset);
-        }
-
-        log.info(
-            "Successfully uploaded asset to Shotstack. ID: {}, URL: {}",
-            result.getProviderAssetId(),
-            assetUrl);
-
-        return assetUrl;
+        return new IngestSubmission(null, result.getProviderAssetId(), assetId);
       }
 
+      // Immediate upload (shouldn't happen with current implementation)
+      recordShotstackUrl(assetId, result.getProviderUrl(), result.getProviderAssetId());
+      log.info(
+          "Successfully uploaded asset to Shotstack. ID: {}, URL: {}",
+          result.getProviderAssetId(),
+          result.getProviderUrl());
+      return new IngestSubmission(result.getProviderUrl(), null, null);
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Asset upload interrupted", e);
     } catch (Exception e) {
       log.error("Failed to upload asset to Shotstack", e);
       throw new RuntimeException("Asset upload failed: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Waits for a queued source through the shared ingest monitor and records the resulting URL.
+   *
+   * @param submission The submission result
+   * @return Future of the Shotstack asset URL
+   */
+  private CompletableFuture<String> awaitIngestion(IngestSubmission submission) {
+    if (submission.assetUrl() != null) {
+      return CompletableFuture.completedFuture(submission.assetUrl());
+    }
+
+    return ingestMonitor
+        .startMonitoring(
+            submission.sourceId(),
+            (status, resultOrError) -> {
+              if (status == ShotstackIngestMonitorService.SourceStatus.COMPLETED) {
+                log.info("Asset ingestion completed: {}", resultOrError);
+              } else {
+                log.error("Asset ingestion failed: {}", resultOrError);
+              }
+            })
+        .thenApply(
+            assetUrl -> {
+              recordShotstackUrl(submission.assetMetadataId(), assetUrl, submission.sourceId());
+              log.info(
+                  "Successfully ingested asset to Shotstack. ID: {}, URL: {}",
+                  submission.sourceId(),
+                  assetUrl);
+              return assetUrl;
+            })
+        .exceptionally(
+            error -> {
+              Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+              throw new RuntimeException("Asset ingestion failed: " + cause.getMessage(), cause);
+            });
+  }
+
+  /** Update the asset's Shotstack URL in the database, if the asset is known. */
+  private void recordShotstackUrl(UUID assetId, String assetUrl, String sourceId) {
+    if (assetId != null) {
+      assetMetadataRepository.updateShotstackUrl(assetId, assetUrl, sourceId, LocalDateTime.now());
+    }
+  }
+
   /**
    * Extracts the object key from an R2 presigned URL.
    *
@@ -353,4 +427,10 @@ public class ShotstackAssetPublisher {
 
     return null; // Not cached or expired
   }
+
+  /**
+   * Outcome of submitting an asset: either its URL, if cached or uploaded immediately, or the
+   * Shotstack source ID to monitor.
+   */
+  private record IngestSubmission(String assetUrl, String sourceId, UUID assetMetadataId) {}
 }
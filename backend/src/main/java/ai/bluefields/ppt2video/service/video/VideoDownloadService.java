@@ -127,6 +127,11 @@ public class VideoDownloadService {
       throws IOException, InterruptedException {
     log.info("Downloading video from: {}", videoUrl);
 
+    // Local renders are written to disk by the FFmpeg provider
+    if (videoUrl.startsWith("file:")) {
+      return Files.readAllBytes(Path.of(URI.create(videoUrl)));
+    }
+
     // Download with retry logic
     int attempts = 0;
     Exception lastException = null;
@@ -52,6 +52,9 @@ public class VideoStoryOrchestrationService {
   @Value("${shotstack.assets.mode:r2-direct}")
   private String assetMode;
 
+  @Value("${video.render.provider:SHOTSTACK}")
+  private VideoProviderType renderProvider;
+
   /**
    * Creates a new video story composition without rendering. This generates the JSON composition
    * and saves it for preview.
@@ -96,9 +99,14 @@ public class VideoStoryOrchestrationService {
                         "Intro video not found: " + request.getIntroVideoId()));
 
     // Step 1: Ensure all assets are ready for composition
-    // This handles both R2 URL refresh and Shotstack upload (if needed) before composition
-    log.info("Preparing assets for video story composition");
-    assetPublisher.ensureAllAssetsPublished(request.getPresentationId());
+    // This handles both R2 URL refresh and Shotstack upload (if needed) before composition.
+    // Providers that read sources directly at render time don't need it.
+    if (videoProviderFactory.getProvider(renderProvider).supportsAssetHosting()) {
+      log.info("Preparing assets for video story composition");
+      assetPublisher.ensureAllAssetsPublished(request.getPresentationId());
+    } else {
+      log.info("Skipping asset publishing, {} reads assets directly", renderProvider);
+    }
 
     // Create video story entity
     VideoStory videoStory = createVideoStoryEntity(presentation, request);
@@ -152,8 +160,7 @@ public class VideoStoryOrchestrationService {
       JsonNode composition = objectMapper.readTree(videoStory.getScriptData());
 
       // Get provider and submit render
-      VideoProviderType providerType = VideoProviderType.SHOTSTACK; // Default for now
-      VideoProvider provider = videoProviderFactory.getProvider(providerType);
+      VideoProvider provider = videoProviderFactory.getProvider(renderProvider);
 
       // Create VideoComposition with both timeline and output from the stored composition
       VideoComposition videoComposition = new VideoComposition();
@@ -177,6 +184,10 @@ public class VideoStoryOrchestrationService {
         outputSettings.setFps(outputNode.has("fps") ? outputNode.get("fps").asInt() : 25);
         outputSettings.setQuality(
             outputNode.has("quality") ? outputNode.get("quality").asText() : "medium");
+        if (outputNode.has("size")) {
+          outputSettings.setWidth(outputNode.get("size").path("width").asInt());
+          outputSettings.setHeight(outputNode.get("size").path("height").asInt());
+        }
         videoComposition.setOutput(outputSettings);
       } else {
         // Default output settings if not present
@@ -191,7 +202,7 @@ public class VideoStoryOrchestrationService {
       RenderResponse renderResponse = provider.submitRender(videoComposition);
 
       // Create render job
-      RenderJob renderJob = createRenderJob(videoStory, renderResponse);
+      RenderJob renderJob = createRenderJob(videoStory, renderResponse, provider.getProviderType());
       renderJob = renderJobRepository.save(renderJob);
 
       // Update video story status
@@ -294,12 +305,13 @@ public class VideoStoryOrchestrationService {
     return videoStory;
   }
 
-  private RenderJob createRenderJob(VideoStory videoStory, RenderResponse renderResponse) {
+  private RenderJob createRenderJob(
+      VideoStory videoStory, RenderResponse renderResponse, VideoProviderType providerType) {
     RenderJob renderJob = new RenderJob();
     renderJob.setVideoStory(videoStory);
     renderJob.setPresentation(videoStory.getPresentation());
     renderJob.setProviderJobId(renderResponse.getRenderJobId());
-    renderJob.setProvider(VideoProviderType.SHOTSTACK);
+    renderJob.setProvider(providerType);
     renderJob.setType(RenderJobType.INTRO_ONLY);
     renderJob.setStatus(RenderJobStatus.QUEUED);
     renderJob.setCreatedAt(LocalDateTime.now());
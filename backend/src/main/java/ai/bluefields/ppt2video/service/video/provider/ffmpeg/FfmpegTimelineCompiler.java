@@ -0,0 +1,692 @@
+package ai.bluefields.ppt2video.service.video.provider.ffmpeg;
+
+import ai.bluefields.ppt2video.config.FfmpegRenderConfig;
+import ai.bluefields.ppt2video.dto.video.OutputSettings;
+import ai.bluefields.ppt2video.exception.VideoProviderException;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.ChromaKey;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.Clip;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.ClipKind;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.Segment;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.TextOverlay;
+import ai.bluefields.ppt2video.util.ContentHash;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles the Shotstack timeline built by {@code ShotstackCompositionService} into FFmpeg jobs.
+ * The timeline is parsed into clips, cut into segments and every segment becomes one FFmpeg command
+ * with a filter graph that overlays the visible clips on the background and mixes their audio.
+ *
+ * <p>Segments start where a media clip starts, so a story is cut per slide, and clip times are
+ * aligned to frames. Everything in a segment's command is relative to the segment start, which
+ * makes the command, and the {@link #segmentKey key} derived from it, independent of where the
+ * segment lies on the timeline: an unchanged slide keeps its key when an earlier slide changes.
+ *
+ * <p>Effects FFmpeg has no direct equivalent for are approximated: luma matte transitions become an
+ * alpha fade-out of the clip they close, wipes become fades and HTML text assets are drawn with
+ * drawtext using the color and font size from their CSS.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FfmpegTimelineCompiler {
+
+  private static final double EPSILON = 0.0005;
+  private static final int SAMPLE_RATE = 48000;
+  // Upper bound of Shotstack's chroma key threshold and halo
+  private static final double CHROMA_KEY_RANGE = 250;
+  // Bump when the segment command changes in a way that alters output for the same arguments
+  private static final String SEGMENT_KEY_VERSION = "segment-v1";
+
+  private static final Pattern CSS_COLOR = Pattern.compile("color:\\s*#([0-9a-fA-F]{6})");
+  private static final Pattern CSS_FONT_SIZE = Pattern.compile("font-size:\\s*(\\d+)px");
+  private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+
+  private final FfmpegRenderConfig config;
+
+  /**
+   * Compiles a timeline into a render plan.
+   *
+   * @param timeline the Shotstack timeline, with its tracks
+   * @param output the output settings; width and height override the resolution
+   * @return the plan with the timeline cut into segments
+   * @throws VideoProviderException if the timeline has no renderable clips
+   */
+  public RenderPlan compile(JsonNode timeline, OutputSettings output) {
+    int fps = output != null && output.getFps() != null ? output.getFps() : 25;
+    int[] size = resolveSize(output);
+
+    List<Clip> clips = parseClips(timeline, fps);
+    if (clips.isEmpty()) {
+      throw new VideoProviderException("Timeline has no clips that can be rendered locally");
+    }
+    double duration = clips.stream().mapToDouble(Clip::end).max().orElse(0);
+
+    List<Double> cuts = chooseCuts(clips, duration, fps);
+    List<Segment> segments = new ArrayList<>();
+    for (int i = 0; i < cuts.size() - 1; i++) {
+      double start = cuts.get(i);
+      double end = cuts.get(i + 1);
+      List<Clip> visible =
+          clips.stream()
+              .filter(clip -> clip.start() < end - EPSILON && clip.end() > start + EPSILON)
+              .sorted(
+                  Comparator.comparingInt(Clip::track).reversed().thenComparingDouble(Clip::start))
+              .toList();
+      segments.add(new Segment(i, start, end, visible));
+    }
+
+    String background = timeline.path("background").asText("#000000");
+    log.info(
+        "Compiled timeline of {} clips ({} seconds) into {} segments",
+        clips.size(),
+        String.format(Locale.ROOT, "%.1f", duration),
+        segments.size());
+    return new RenderPlan(size[0], size[1], fps, toHex(background), duration, segments);
+  }
+
+  /**
+   * Builds the FFmpeg arguments that render one segment. Text overlays are read from files in the
+   * work directory, written by {@link #writeTextFiles}, so drawtext needs no escaping of the text.
+   *
+   * @param plan the render plan
+   * @param segment the segment to render
+   * @param sources local files of the clip sources, keyed by source URL
+   * @param sourcesWithAudio source URLs that have an audio stream
+   * @param workDir directory of the text files
+   * @param output the segment file to write
+   * @param threads encoder threads for this segment
+   * @return the command line, starting with the FFmpeg executable
+   */
+  List<String> segmentCommand(
+      RenderPlan plan,
+      Segment segment,
+      Map<String, Path> sources,
+      Set<String> sourcesWithAudio,
+      Path workDir,
+      Path output,
+      int threads) {
+    double segmentStart = segment.start();
+    String segmentLength = num(segment.duration());
+
+    List<String> command = new ArrayList<>();
+    command.addAll(List.of(config.getFfmpegPath(), "-hide_banner", "-nostdin", "-y"));
+    command.addAll(
+        List.of(
+            "-f",
+            "lavfi",
+            "-t",
+            segmentLength,
+            "-i",
+            String.format(
+                "color=c=%s:s=%dx%d:r=%d",
+                plan.background(), plan.width(), plan.height(), plan.fps())));
+    command.addAll(
+        List.of(
+            "-f", "lavfi", "-t", segmentLength, "-i", "anullsrc=r=" + SAMPLE_RATE + ":cl=stereo"));
+
+    StringBuilder graph = new StringBuilder();
+    List<String> audioLabels = new ArrayList<>();
+    String video = "[0:v]";
+    int input = 2;
+    int layer = 0;
+
+    for (Clip clip : segment.clips()) {
+      double visibleStart = Math.max(clip.start(), segmentStart);
+      double visibleEnd = Math.min(clip.end(), segment.end());
+      if (visibleEnd - visibleStart < 0.5 / plan.fps()) {
+        continue;
+      }
+      // Stream time 0 is the first visible frame; timeline positions are relative to the segment
+      double streamOffset = visibleStart - segmentStart;
+      String enable =
+          String.format(
+              "enable='between(t,%s,%s)'", num(streamOffset), num(visibleEnd - segmentStart));
+      String label = "[v" + layer++ + "]";
+
+      if (clip.kind() == ClipKind.TEXT) {
+        graph
+            .append(video)
+            .append(drawText(clip, plan, segmentStart, workDir, enable))
+            .append(label)
+            .append(';');
+        video = label;
+        continue;
+      }
+
+      Path source = sources.get(clip.src());
+      if (source == null) {
+        log.warn("No local source for clip {}, skipping", clip.src());
+        continue;
+      }
+      if (clip.kind() == ClipKind.IMAGE) {
+        command.addAll(List.of("-loop", "1", "-framerate", String.valueOf(plan.fps())));
+      } else {
+        command.addAll(List.of("-ss", num(visibleStart - clip.start())));
+      }
+      command.addAll(List.of("-t", num(visibleEnd - visibleStart), "-i", source.toString()));
+
+      List<String> filters = new ArrayList<>();
+      filters.add("setpts=PTS-STARTPTS");
+      if (clip.kind() == ClipKind.VIDEO) {
+        filters.add("fps=" + plan.fps());
+      }
+      filters.addAll(fitFilters(clip, plan));
+      if (clip.chromaKey() != null) {
+        filters.add("format=rgba");
+        filters.add(
+            String.format(
+                "colorkey=color=%s:similarity=%s:blend=%s",
+                clip.chromaKey().color(),
+                num(clip.chromaKey().similarity()),
+                num(clip.chromaKey().blend())));
+      } else {
+        filters.add("format=yuva420p");
+      }
+      // Cuts never fall inside a fade, so a fade is either entirely in this segment or not at all
+      if (clip.fadeIn() > 0 && clip.start() >= segmentStart - EPSILON) {
+        filters.add("fade=t=in:st=0:d=" + num(clip.fadeIn()) + ":alpha=1");
+      }
+      if (clip.fadeOut() > 0 && clip.end() <= segment.end() + EPSILON) {
+        filters.add(
+            String.format(
+                "fade=t=out:st=%s:d=%s:alpha=1",
+                num(clip.end() - clip.fadeOut() - visibleStart), num(clip.fadeOut())));
+      }
+      filters.add("setpts=PTS+" + num(streamOffset) + "/TB");
+
+      String clipLabel = "[c" + input + "]";
+      graph
+          .append('[')
+          .append(input)
+          .append(":v]")
+          .append(String.join(",", filters))
+          .append(clipLabel)
+          .append(';');
+      graph
+          .append(video)
+          .append(clipLabel)
+          .append("overlay=")
+          .append(overlayPosition(clip, plan))
+          .append(":eof_action=pass:")
+          .append(enable)
+          .append(label)
+          .append(';');
+      video = label;
+
+      if (clip.kind() == ClipKind.VIDEO
+          && clip.volume() > 0
+          && sourcesWithAudio.contains(clip.src())) {
+        String audioLabel = "[a" + input + "]";
+        List<String> audioFilters = new ArrayList<>();
+        audioFilters.add("aresample=" + SAMPLE_RATE);
+        audioFilters.add("aformat=sample_fmts=fltp:channel_layouts=stereo");
+        audioFilters.add("volume=" + num(clip.volume()));
+        if (clip.fadeIn() > 0 && clip.start() >= segmentStart - EPSILON) {
+          audioFilters.add("afade=t=in:st=0:d=" + num(clip.fadeIn()));
+        }
+        if (clip.fadeOut() > 0 && clip.end() <= segment.end() + EPSILON) {
+          audioFilters.add(
+              String.format(
+                  "afade=t=out:st=%s:d=%s",
+                  num(clip.end() - clip.fadeOut() - visibleStart), num(clip.fadeOut())));
+        }
+        audioFilters.add("adelay=" + Math.round(streamOffset * 1000) + ":all=1");
+        graph
+            .append('[')
+            .append(input)
+            .append(":a]")
+            .append(String.join(",", audioFilters))
+            .append(audioLabel)
+            .append(';');
+        audioLabels.add(audioLabel);
+      }
+      input++;
+    }
+
+    graph.append(video).append("format=yuv420p[vout];");
+    if (audioLabels.isEmpty()) {
+      graph.append("[1:a]anull[aout]");
+    } else {
+      graph
+          .append("[1:a]")
+          .append(String.join("", audioLabels))
+          .append("amix=inputs=")
+          .append(audioLabels.size() + 1)
+          .append(":duration=first:dropout_transition=0:normalize=0[aout]");
+    }
+
+    command.addAll(
+        List.of("-filter_complex", graph.toString(), "-map", "[vout]", "-map", "[aout]"));
+    command.addAll(
+        List.of(
+            "-c:v",
+            "libx264",
+            "-preset",
+            config.getPreset(),
+            "-crf",
+            String.valueOf(config.getCrf()),
+            "-pix_fmt",
+            "yuv420p",
+            "-r",
+            String.valueOf(plan.fps()),
+            "-c:a",
+            "aac",
+            "-b:a",
+            config.getAudioBitrate(),
+            "-ar",
+            String.valueOf(SAMPLE_RATE),
+            "-ac",
+            "2",
+            "-t",
+            segmentLength,
+            "-threads",
+            String.valueOf(threads),
+            output.toString()));
+    return command;
+  }
+
+  /**
+   * Writes the text files read by the drawtext filters of a segment.
+   *
+   * @param segment the segment
+   * @param workDir directory to write the files to
+   * @throws IOException if a file cannot be written
+   */
+  void writeTextFiles(Segment segment, Path workDir) throws IOException {
+    for (Clip clip : segment.clips()) {
+      if (clip.kind() == ClipKind.TEXT) {
+        Files.writeString(textFile(clip, workDir), clip.text().text(), StandardCharsets.UTF_8);
+      }
+    }
+  }
+
+  /**
+   * Derives the cache key of a segment from its FFmpeg command, built with the content hashes of
+   * the sources in place of their paths. Two segments with the same key render to the same video.
+   *
+   * @param plan the render plan
+   * @param segment the segment
+   * @param sourceHashes content hashes of the clip sources, keyed by source URL
+   * @param sourcesWithAudio source URLs that have an audio stream
+   * @return the key, a hex string
+   */
+  String segmentKey(
+      RenderPlan plan,
+      Segment segment,
+      Map<String, String> sourceHashes,
+      Set<String> sourcesWithAudio) {
+    Map<String, Path> sources = new HashMap<>();
+    sourceHashes.forEach((src, hash) -> sources.put(src, Path.of(hash)));
+    List<String> command =
+        segmentCommand(
+            plan, segment, sources, sourcesWithAudio, Path.of("text"), Path.of("segment.mp4"), 1);
+    return ContentHash.sha256(SEGMENT_KEY_VERSION + "\n" + String.join("\n", command));
+  }
+
+  /**
+   * Builds the FFmpeg arguments that join rendered segments without re-encoding.
+   *
+   * @param segmentList concat demuxer list of the segment files
+   * @param output the final video file
+   * @return the command line, starting with the FFmpeg executable
+   */
+  List<String> concatCommand(Path segmentList, Path output) {
+    return List.of(
+        config.getFfmpegPath(),
+        "-hide_banner",
+        "-nostdin",
+        "-y",
+        "-f",
+        "concat",
+        "-safe",
+        "0",
+        "-i",
+        segmentList.toString(),
+        "-c",
+        "copy",
+        "-movflags",
+        "+faststart",
+        output.toString());
+  }
+
+  private List<Clip> parseClips(JsonNode timeline, int fps) {
+    JsonNode tracks = timeline.path("tracks");
+    List<Clip> clips = new ArrayList<>();
+
+    for (int track = 0; track < tracks.size(); track++) {
+      List<Clip> trackClips = new ArrayList<>();
+      List<double[]> lumaWindows = new ArrayList<>();
+
+      for (JsonNode node : tracks.get(track).path("clips")) {
+        JsonNode asset = node.path("asset");
+        String type = asset.path("type").asText();
+        double start = toFrame(node.path("start").asDouble(0), fps);
+        double length = toFrame(node.path("length").asDouble(0), fps);
+        if (length <= 0) {
+          continue;
+        }
+
+        switch (type) {
+          case "video", "image", "html" ->
+              trackClips.add(toClip(track, type, node, asset, start, length));
+          case "luma" -> lumaWindows.add(new double[] {start, start + length});
+          default -> log.warn("Clip type '{}' is not supported locally, skipping", type);
+        }
+      }
+
+      // A luma matte closes the clip on its track that ends within it
+      for (double[] window : lumaWindows) {
+        for (int i = 0; i < trackClips.size(); i++) {
+          Clip clip = trackClips.get(i);
+          if (clip.end() > window[0]
+              && clip.end() <= window[1] + EPSILON
+              && clip.start() < window[0]) {
+            trackClips.set(i, clip.withFadeOut(Math.max(clip.fadeOut(), clip.end() - window[0])));
+          }
+        }
+      }
+      clips.addAll(trackClips);
+    }
+    return clips;
+  }
+
+  private Clip toClip(
+      int track, String type, JsonNode node, JsonNode asset, double start, double length) {
+    JsonNode transition = node.path("transition");
+    JsonNode offset = node.path("offset");
+    // Transitions longer than the clip are shortened so fade in and out don't overlap
+    double fadeIn = Math.min(transitionSeconds(transition.path("in").asText(null)), length / 2);
+    double fadeOut = Math.min(transitionSeconds(transition.path("out").asText(null)), length / 2);
+
+    ChromaKey chromaKey = null;
+    JsonNode chroma = asset.path("chromaKey");
+    if (!chroma.isMissingNode()) {
+      // Shotstack's threshold and halo both range from 0 to 250, colorkey's similarity and blend
+      // from 0 to 1
+      chromaKey =
+          new ChromaKey(
+              toHex(chroma.path("color").asText("#00FF00")),
+              clamp(chroma.path("threshold").asDouble(0) / CHROMA_KEY_RANGE, 0.01, 1),
+              clamp(chroma.path("halo").asDouble(0) / CHROMA_KEY_RANGE, 0, 1));
+    }
+
+    TextOverlay text = null;
+    ClipKind kind =
+        switch (type) {
+          case "video" -> ClipKind.VIDEO;
+          case "image" -> ClipKind.IMAGE;
+          default -> ClipKind.TEXT;
+        };
+    if (kind == ClipKind.TEXT) {
+      String css = asset.path("css").asText("");
+      Matcher color = CSS_COLOR.matcher(css);
+      Matcher fontSize = CSS_FONT_SIZE.matcher(css);
+      text =
+          new TextOverlay(
+              htmlText(asset.path("html").asText("")),
+              color.find() ? "0x" + color.group(1) : "0xffffff",
+              fontSize.find() ? Integer.parseInt(fontSize.group(1)) : 32);
+    }
+
+    return new Clip(
+        track,
+        kind,
+        asset.path("src").asText(null),
+        start,
+        length,
+        node.path("scale").asDouble(1),
+        node.path("fit").asText("crop"),
+        node.path("position").asText("center"),
+        offset.path("x").asDouble(0),
+        offset.path("y").asDouble(0),
+        fadeIn,
+        fadeOut,
+        asset.path("volume").asDouble(1),
+        chromaKey,
+        text);
+  }
+
+  /**
+   * Chooses segment boundaries. A cut is placed at the start of every media clip of at least {@code
+   * minSegmentSeconds}, which on a story timeline is the start of every slide, and intervals longer
+   * than {@code segmentSeconds} are split further. A cut is moved past any fade it would split, as
+   * a fade must be rendered within one segment, and aligned to a frame.
+   */
+  private List<Double> chooseCuts(List<Clip> clips, double duration, int fps) {
+    List<double[]> fades = new ArrayList<>();
+    TreeSet<Double> anchors = new TreeSet<>();
+    double minimum = Math.max(1.0 / fps, config.getMinSegmentSeconds());
+    for (Clip clip : clips) {
+      if (clip.fadeIn() > 0) {
+        fades.add(new double[] {clip.start(), clip.start() + clip.fadeIn()});
+      }
+      if (clip.fadeOut() > 0) {
+        fades.add(new double[] {clip.end() - clip.fadeOut(), clip.end()});
+      }
+      if (clip.kind() != ClipKind.TEXT && clip.length() >= minimum - EPSILON) {
+        anchors.add(clip.start());
+      }
+    }
+
+    double target = Math.max(1.0, config.getSegmentSeconds());
+    List<Double> cuts = new ArrayList<>();
+    cuts.add(0.0);
+    double last = 0;
+    for (double anchor : anchors) {
+      double cut = outsideFades(anchor, fades, fps);
+      if (cut < last + minimum || cut > duration - minimum) {
+        continue;
+      }
+      split(cuts, last, cut, target, fades, fps);
+      cuts.add(cut);
+      last = cut;
+    }
+    split(cuts, last, duration, target, fades, fps);
+    cuts.add(duration);
+    return cuts;
+  }
+
+  /**
+   * Adds cuts about {@code target} apart between two boundaries, leaving no short tail before the
+   * upper one.
+   */
+  private static void split(
+      List<Double> cuts, double from, double to, double target, List<double[]> fades, int fps) {
+    double last = from;
+    while (true) {
+      double cut = outsideFades(last + target, fades, fps);
+      if (cut >= to - target / 2) {
+        return;
+      }
+      cuts.add(cut);
+      last = cut;
+    }
+  }
+
+  /** Aligns a cut to a frame and moves it past any fade it falls into. */
+  private static double outsideFades(double time, List<double[]> fades, int fps) {
+    double cut = alignToFrame(time, fps);
+    boolean moved = true;
+    while (moved) {
+      moved = false;
+      for (double[] fade : fades) {
+        if (cut > fade[0] + EPSILON && cut < fade[1] - EPSILON) {
+          cut = alignToFrame(fade[1], fps);
+          moved = true;
+        }
+      }
+    }
+    return cut;
+  }
+
+  private String drawText(
+      Clip clip, RenderPlan plan, double segmentStart, Path workDir, String enable) {
+
+    String font =
+        config.getFontFile() == null || config.getFontFile().isBlank()
+            ? "font='Sans'"
+            : "fontfile=" + quote(config.getFontFile());
+    // Opacity ramps up and down over the fade durations
+    String alpha =
+        String.format(
+            "alpha='clip(min((t-%s)/%s,(%s-t)/%s),0,1)'",
+            num(clip.start() - segmentStart),
+            num(Math.max(clip.fadeIn(), EPSILON)),
+            num(clip.end() - segmentStart),
+            num(Math.max(clip.fadeOut(), EPSILON)));
+
+    return String.format(
+        "drawtext=textfile=%s:%s:fontcolor=%s:fontsize=%d:x=(w-text_w)/2%s:y=(h-text_h)/2%s:%s:%s",
+        quote(textFile(clip, workDir).toString()),
+        font,
+        clip.text().color(),
+        clip.text().fontSize(),
+        signed(clip.offsetX() * plan.width()),
+        signed(-clip.offsetY() * plan.height()),
+        enable,
+        alpha);
+  }
+
+  /** Text files are named after their content so the segment command doesn't depend on order. */
+  private static Path textFile(Clip clip, Path workDir) {
+    return workDir.resolve(
+        "text-" + ContentHash.sha256(clip.text().text()).substring(0, 16) + ".txt");
+  }
+
+  /** Scaling for the clip's fit mode, followed by its scale factor. */
+  private List<String> fitFilters(Clip clip, RenderPlan plan) {
+    int width = plan.width();
+    int height = plan.height();
+    List<String> filters = new ArrayList<>();
+    switch (clip.fit()) {
+      case "none" -> {}
+      case "cover" -> filters.add(String.format("scale=%d:%d", width, height));
+      case "contain" ->
+          filters.add(
+              String.format("scale=%d:%d:force_original_aspect_ratio=decrease", width, height));
+      default -> {
+        filters.add(
+            String.format("scale=%d:%d:force_original_aspect_ratio=increase", width, height));
+        filters.add(String.format("crop=%d:%d", width, height));
+      }
+    }
+    if (Math.abs(clip.scale() - 1) > EPSILON) {
+      filters.add(
+          String.format(
+              "scale=trunc(iw*%s/2)*2:trunc(ih*%s/2)*2", num(clip.scale()), num(clip.scale())));
+    }
+    return filters;
+  }
+
+  /** Overlay coordinates for the clip's anchor position and offset. */
+  private String overlayPosition(Clip clip, RenderPlan plan) {
+    String x =
+        switch (clip.position()) {
+          case "left", "topLeft", "bottomLeft" -> "0";
+          case "right", "topRight", "bottomRight" -> "W-w";
+          default -> "(W-w)/2";
+        };
+    String y =
+        switch (clip.position()) {
+          case "top", "topLeft", "topRight" -> "0";
+          case "bottom", "bottomLeft", "bottomRight" -> "H-h";
+          default -> "(H-h)/2";
+        };
+    return "x="
+        + x
+        + signed(clip.offsetX() * plan.width())
+        + ":y="
+        + y
+        + signed(-clip.offsetY() * plan.height());
+  }
+
+  private static double transitionSeconds(String transition) {
+    if (transition == null || transition.isBlank()) {
+      return 0;
+    }
+    if (transition.endsWith("Slow")) {
+      return 2.0;
+    }
+    if (transition.endsWith("Fast")) {
+      return 0.5;
+    }
+    return 1.0;
+  }
+
+  private static int[] resolveSize(OutputSettings output) {
+    if (output != null && output.getWidth() != null && output.getHeight() != null) {
+      return new int[] {output.getWidth(), output.getHeight()};
+    }
+    String resolution =
+        output != null && output.getResolution() != null ? output.getResolution() : "hd";
+    return switch (resolution) {
+      case "preview" -> new int[] {512, 288};
+      case "mobile" -> new int[] {640, 360};
+      case "sd" -> new int[] {1024, 576};
+      case "1080" -> new int[] {1920, 1080};
+      case "4k" -> new int[] {3840, 2160};
+      default -> new int[] {1280, 720};
+    };
+  }
+
+  private static String htmlText(String html) {
+    return HTML_TAG
+        .matcher(html)
+        .replaceAll("")
+        .replace("&lt;", "<")
+        .replace("&gt;", ">")
+        .replace("&quot;", "\"")
+        .replace("&#39;", "'")
+        .replace("&amp;", "&")
+        .trim();
+  }
+
+  private static String toHex(String color) {
+    return color.startsWith("#") ? "0x" + color.substring(1) : color;
+  }
+
+  /** Rounds a timeline position to the nearest frame. */
+  private static double toFrame(double seconds, int fps) {
+    return Math.round(seconds * fps) / (double) fps;
+  }
+
+  private static double alignToFrame(double seconds, int fps) {
+    return Math.ceil(seconds * fps - EPSILON) / fps;
+  }
+
+  private static double clamp(double value, double min, double max) {
+    return Math.max(min, Math.min(max, value));
+  }
+
+  /** Quotes a filter option value; only the quote character itself needs escaping. */
+  private static String quote(String value) {
+    return "'" + value.replace("'", "'\\''") + "'";
+  }
+
+  private static String signed(double value) {
+    // Adding zero turns -0.0 into 0.0
+    value += 0.0;
+    return value < 0 ? "-" + num(-value) : "+" + num(value);
+  }
+
+  private static String num(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+}
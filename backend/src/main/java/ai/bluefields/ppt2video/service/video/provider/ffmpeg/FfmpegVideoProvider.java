@@ -0,0 +1,552 @@
+package ai.bluefields.ppt2video.service.video.provider.ffmpeg;
+
+import ai.bluefields.ppt2video.config.FfmpegRenderConfig;
+import ai.bluefields.ppt2video.dto.video.*;
+import ai.bluefields.ppt2video.entity.RenderJobStatus;
+import ai.bluefields.ppt2video.entity.VideoProviderType;
+import ai.bluefields.ppt2video.exception.VideoProviderException;
+import ai.bluefields.ppt2video.service.media.MediaProbeService;
+import ai.bluefields.ppt2video.service.media.MediaProcessRunner;
+import ai.bluefields.ppt2video.service.video.provider.VideoProvider;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.Clip;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.ClipKind;
+import ai.bluefields.ppt2video.service.video.provider.ffmpeg.RenderPlan.Segment;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local implementation of the VideoProvider interface that renders compositions with FFmpeg. The
+ * Shotstack timeline is compiled by {@link FfmpegTimelineCompiler} into segments that are encoded
+ * in parallel and joined with a stream copy, so rendering needs no asset uploads and no remote
+ * render queue.
+ *
+ * <p>Sources and rendered segments are kept in the {@link RenderCache}. A segment whose key, the
+ * hash of its sources and command, is already cached is reused instead of rendered, so re-rendering
+ * a story after a change to one slide only encodes that slide's segment before the join.
+ *
+ * <p>Renders run in the background and are tracked in memory; the output stays in the work
+ * directory for the retention period, also after it has been downloaded, so a failed download can
+ * be retried. A render that was in progress when the application stopped is reported as failed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FfmpegVideoProvider implements VideoProvider {
+
+  private static final int MAX_CONCURRENT_DOWNLOADS = 8;
+
+  private final FfmpegRenderConfig config;
+  private final FfmpegTimelineCompiler timelineCompiler;
+  private final RenderCache renderCache;
+  private final MediaProcessRunner mediaProcessRunner;
+  private final MediaProbeService mediaProbeService;
+
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
+  private final Map<String, LocalRender> renders = new ConcurrentHashMap<>();
+
+  // Shared by all renders so concurrent renders don't oversubscribe the CPU
+  private Semaphore segmentPermits;
+  private int parallelSegments;
+
+  @PostConstruct
+  void initialize() {
+    int processors = Runtime.getRuntime().availableProcessors();
+    parallelSegments =
+        config.getMaxParallelSegments() > 0 ? config.getMaxParallelSegments() : processors;
+    // Segments also wait for a shared media worker, so more permits than workers would not help
+    parallelSegments = Math.min(parallelSegments, mediaProcessRunner.getMaxConcurrentJobs());
+    segmentPermits = new Semaphore(parallelSegments);
+    log.info(
+        "FFmpeg video provider using {} with up to {} parallel segments",
+        config.getFfmpegPath(),
+        parallelSegments);
+  }
+
+  @Override
+  public VideoProviderType getProviderType() {
+    return VideoProviderType.FFMPEG;
+  }
+
+  @Override
+  public String getProviderName() {
+    return "FFmpeg (local)";
+  }
+
+  @Override
+  public boolean supportsAssetHosting() {
+    return false;
+  }
+
+  @Override
+  public AssetUploadResult uploadAsset(AssetUploadRequest request) {
+    // Sources are read directly at render time, so there is nothing to upload
+    return AssetUploadResult.builder()
+        .providerUrl(request.getSourceUrl())
+        .status("uploaded")
+        .uploadedAt(LocalDateTime.now())
+        .build();
+  }
+
+  @Override
+  public void deleteAsset(String assetId) {
+    log.debug("FFmpeg provider does not host assets, nothing to delete for: {}", assetId);
+  }
+
+  @Override
+  public VideoComposition createComposition(CompositionRequest request) {
+    log.info("Creating composition for presentation: {}", request.getPresentationId());
+
+    return VideoComposition.builder()
+        .id(request.getPresentationId().toString())
+        .output(
+            request.getOutputSettings() != null
+                ? request.getOutputSettings()
+                : OutputSettings.builder().build())
+        .metadata(
+            Map.of(
+                "presentationId", request.getPresentationId(),
+                "createdAt", LocalDateTime.now().toString()))
+        .build();
+  }
+
+  @Override
+  public VideoComposition validateComposition(VideoComposition composition) {
+    if (composition == null) {
+      throw new VideoProviderException("Composition cannot be null");
+    }
+    if (composition.getTimeline() == null) {
+      throw new VideoProviderException("Composition timeline cannot be null");
+    }
+    if (composition.getOutput() == null) {
+      composition.setOutput(OutputSettings.builder().build());
+    }
+
+    // Compiling fails for timelines without renderable clips
+    RenderPlan plan = timelineCompiler.compile(composition.getTimeline(), composition.getOutput());
+    composition.setDuration(plan.duration());
+    return composition;
+  }
+
+  @Override
+  public RenderResponse submitRender(VideoComposition composition) {
+    log.info("Submitting local render for composition: {}", composition.getId());
+    purgeExpiredRenders();
+
+    RenderPlan plan = timelineCompiler.compile(composition.getTimeline(), composition.getOutput());
+    String renderId = "ffmpeg-" + UUID.randomUUID();
+    LocalRender render =
+        new LocalRender(renderId, Paths.get(config.getWorkDir(), renderId), plan.segments().size());
+    renders.put(renderId, render);
+
+    CompletableFuture.runAsync(() -> execute(render, plan), virtualThreadExecutor);
+
+    return RenderResponse.builder()
+        .renderJobId(renderId)
+        .status("queued")
+        .message(String.format("Rendering %d segments locally", plan.segments().size()))
+        .submittedAt(LocalDateTime.now())
+        .build();
+  }
+
+  @Override
+  public RenderStatus checkRenderStatus(String renderId) {
+    LocalRender render = renders.get(renderId);
+    if (render == null) {
+      return RenderStatus.builder()
+          .renderJobId(renderId)
+          .status(RenderJobStatus.FAILED)
+          .errorMessage("Render not found, it may have been interrupted by a restart")
+          .build();
+    }
+
+    return RenderStatus.builder()
+        .renderJobId(renderId)
+        .status(render.status)
+        .progress(render.progress())
+        .outputUrl(render.outputUrl)
+        .errorMessage(render.errorMessage)
+        .startedAt(render.startedAt)
+        .completedAt(render.completedAt)
+        .renderTimeMs(render.renderTimeMs)
+        .build();
+  }
+
+  @Override
+  public void cancelRender(String renderId) {
+    LocalRender render = renders.get(renderId);
+    if (render == null || render.status.isTerminal()) {
+      return;
+    }
+
+    // Status changes are made under the render's lock, so a finishing render can't overwrite this
+    synchronized (render) {
+      if (render.status.isTerminal()) {
+        return;
+      }
+      render.cancelled = true;
+      render.status = RenderJobStatus.CANCELLED;
+    }
+    log.info("Cancelling local render: {}", renderId);
+    render.processes.forEach(Process::destroy);
+  }
+
+  /** Fetches the sources, renders the segments that aren't cached in parallel and joins them. */
+  private void execute(LocalRender render, RenderPlan plan) {
+    long started = System.nanoTime();
+
+    try {
+      synchronized (render) {
+        checkCancelled(render);
+        render.status = RenderJobStatus.PROCESSING;
+        render.startedAt = LocalDateTime.now();
+      }
+      Path segmentsDir = Files.createDirectories(render.workDir.resolve("segments"));
+
+      Map<String, Path> sources = new ConcurrentHashMap<>();
+      Map<String, String> sourceHashes = new ConcurrentHashMap<>();
+      fetchSources(render, plan, sources, sourceHashes);
+      Set<String> sourcesWithAudio = probeAudio(render, plan, sources, sourceHashes);
+      List<Path> segmentFiles =
+          renderSegments(render, plan, sources, sourceHashes, sourcesWithAudio, segmentsDir);
+
+      Path segmentList = render.workDir.resolve("segments.txt");
+      Files.write(
+          segmentList,
+          segmentFiles.stream()
+              .map(file -> "file '" + file.toAbsolutePath().toString().replace("'", "'\\''") + "'")
+              .toList());
+      Path output = render.workDir.resolve("output.mp4");
+      runFfmpeg(render, timelineCompiler.concatCommand(segmentList, output));
+
+      deleteRecursively(segmentsDir);
+
+      synchronized (render) {
+        // A cancel that came in during the join still wins
+        checkCancelled(render);
+        render.renderTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        render.outputUrl = output.toAbsolutePath().toUri().toString();
+        render.completedAt = LocalDateTime.now();
+        render.status = RenderJobStatus.COMPLETED;
+      }
+      log.info(
+          "Local render {} completed: {} segments ({} reused) in {} ms",
+          render.id,
+          plan.segments().size(),
+          render.reusedSegments.get(),
+          render.renderTimeMs);
+
+    } catch (Exception e) {
+      Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+      synchronized (render) {
+        render.completedAt = LocalDateTime.now();
+        if (render.cancelled) {
+          render.status = RenderJobStatus.CANCELLED;
+          log.info("Local render {} cancelled", render.id);
+        } else {
+          render.errorMessage = cause.getMessage();
+          render.status = RenderJobStatus.FAILED;
+          log.error("Local render {} failed", render.id, cause);
+        }
+      }
+      deleteRecursively(render.workDir);
+    } finally {
+      renderCache.unpin(render.pinned);
+      renderCache.evict();
+    }
+  }
+
+  /**
+   * Fetches every distinct video and image source once through the cache, so segments read local
+   * files instead of each fetching ranges of the same remote object, and records the content hash
+   * of each source for the segment keys.
+   */
+  private void fetchSources(
+      LocalRender render,
+      RenderPlan plan,
+      Map<String, Path> sources,
+      Map<String, String> sourceHashes) {
+    Set<Clip> mediaClips = new LinkedHashSet<>();
+    plan.segments().forEach(segment -> mediaClips.addAll(segment.clips()));
+
+    Map<String, ClipKind> kinds = new LinkedHashMap<>();
+    for (Clip clip : mediaClips) {
+      if (clip.kind() != ClipKind.TEXT && clip.src() != null) {
+        kinds.putIfAbsent(clip.src(), clip.kind());
+      }
+    }
+
+    Semaphore permits = new Semaphore(MAX_CONCURRENT_DOWNLOADS);
+    List<CompletableFuture<Void>> downloads = new ArrayList<>();
+    kinds.forEach(
+        (src, kind) ->
+            downloads.add(
+                runAsync(
+                    permits,
+                    () -> {
+                      checkCancelled(render);
+                      RenderCache.CachedSource cached =
+                          renderCache.fetchSource(src, extension(src, kind));
+                      render.pinned.add(cached.file());
+                      sources.put(src, cached.file());
+                      sourceHashes.put(src, cached.contentHash());
+                    })));
+    CompletableFuture.allOf(downloads.toArray(CompletableFuture[]::new)).join();
+
+    log.debug("Fetched {} sources for render {}", sources.size(), render.id);
+  }
+
+  /** Finds the video sources with an audio stream, as only those can be mixed. */
+  private Set<String> probeAudio(
+      LocalRender render,
+      RenderPlan plan,
+      Map<String, Path> sources,
+      Map<String, String> sourceHashes) {
+    Set<String> videoSources = new LinkedHashSet<>();
+    for (Segment segment : plan.segments()) {
+      for (Clip clip : segment.clips()) {
+        if (clip.kind() == ClipKind.VIDEO && sources.containsKey(clip.src())) {
+          videoSources.add(clip.src());
+        }
+      }
+    }
+
+    Set<String> withAudio = ConcurrentHashMap.newKeySet();
+    Semaphore permits = new Semaphore(MAX_CONCURRENT_DOWNLOADS);
+    List<CompletableFuture<Void>> probes = new ArrayList<>();
+    for (String src : videoSources) {
+      probes.add(
+          runAsync(
+              permits,
+              () -> {
+                checkCancelled(render);
+                // Probe results are cached by content hash, so unchanged sources aren't probed
+                // again
+                if (mediaProbeService.probe(sources.get(src), sourceHashes.get(src)).hasAudio()) {
+                  withAudio.add(src);
+                }
+              }));
+    }
+    CompletableFuture.allOf(probes.toArray(CompletableFuture[]::new)).join();
+    return withAudio;
+  }
+
+  /**
+   * Renders the segments that aren't cached and stores them in the cache.
+   *
+   * @return the segment files in timeline order
+   */
+  private List<Path> renderSegments(
+      LocalRender render,
+      RenderPlan plan,
+      Map<String, Path> sources,
+      Map<String, String> sourceHashes,
+      Set<String> sourcesWithAudio,
+      Path segmentsDir) {
+    int threads =
+        Math.max(
+            1,
+            Runtime.getRuntime().availableProcessors()
+                / Math.min(parallelSegments, plan.segments().size()));
+
+    Path[] segmentFiles = new Path[plan.segments().size()];
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (Segment segment : plan.segments()) {
+      String key = timelineCompiler.segmentKey(plan, segment, sourceHashes, sourcesWithAudio);
+      Optional<Path> cached = renderCache.findSegment(key);
+      if (cached.isPresent()) {
+        render.pinned.add(cached.get());
+        segmentFiles[segment.index()] = cached.get();
+        render.reusedSegments.incrementAndGet();
+        render.completedSegments.incrementAndGet();
+        continue;
+      }
+
+      tasks.add(
+          runAsync(
+              segmentPermits,
+              () -> {
+                checkCancelled(render);
+                Path segmentFile =
+                    segmentsDir.resolve(String.format("segment-%04d.mp4", segment.index()));
+                Path textDir = segmentsDir.resolve("text-" + segment.index());
+                Files.createDirectories(textDir);
+                timelineCompiler.writeTextFiles(segment, textDir);
+                runFfmpeg(
+                    render,
+                    timelineCompiler.segmentCommand(
+                        plan, segment, sources, sourcesWithAudio, textDir, segmentFile, threads));
+                Path stored = renderCache.storeSegment(key, segmentFile);
+                render.pinned.add(stored);
+                segmentFiles[segment.index()] = stored;
+                render.completedSegments.incrementAndGet();
+                log.debug(
+                    "Render {} segment {}/{} done",
+                    render.id,
+                    render.completedSegments.get(),
+                    render.totalSegments);
+              }));
+    }
+    log.info(
+        "Render {}: {} of {} segments reused from cache",
+        render.id,
+        render.reusedSegments.get(),
+        render.totalSegments);
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+    return List.of(segmentFiles);
+  }
+
+  private void runFfmpeg(LocalRender render, List<String> command) throws IOException {
+    try {
+      mediaProcessRunner.run(
+          "FFmpeg render " + render.id, command, config.getSegmentTimeout(), render.processes::add);
+    } finally {
+      render.processes.removeIf(process -> !process.isAlive());
+    }
+  }
+
+  /** Removes finished renders whose output has outlived the retention period. */
+  private void purgeExpiredRenders() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(config.getOutputRetention());
+    renders
+        .values()
+        .removeIf(
+            render -> {
+              if (render.completedAt == null || render.completedAt.isAfter(cutoff)) {
+                return false;
+              }
+              deleteRecursively(render.workDir);
+              return true;
+            });
+  }
+
+  /** Runs a step on a virtual thread once one of the permits is available. */
+  private CompletableFuture<Void> runAsync(Semaphore permits, IoTask task) {
+    return CompletableFuture.runAsync(
+        () -> {
+          try {
+            permits.acquire();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to render", e);
+          }
+          try {
+            task.run();
+          } catch (IOException e) {
+            throw new CompletionException(e);
+          } finally {
+            permits.release();
+          }
+        },
+        virtualThreadExecutor);
+  }
+
+  private static void checkCancelled(LocalRender render) throws IOException {
+    if (render.cancelled) {
+      throw new IOException("Render cancelled");
+    }
+  }
+
+  private static String extension(String src, ClipKind kind) {
+    String path = URI.create(src).getPath();
+    if (path != null) {
+      String name = path.substring(path.lastIndexOf('/') + 1);
+      int dot = name.lastIndexOf('.');
+      if (dot > 0 && name.length() - dot <= 5) {
+        return name.substring(dot).toLowerCase();
+      }
+    }
+    // Image inputs are looped by the image2 demuxer, which goes by the file extension
+    return kind == ClipKind.IMAGE ? ".png" : ".mp4";
+  }
+
+  private static void deleteRecursively(Path dir) {
+    if (!Files.exists(dir)) {
+      return;
+    }
+    try (Stream<Path> paths = Files.walk(dir)) {
+      paths
+          .sorted(Comparator.reverseOrder())
+          .forEach(
+              path -> {
+                try {
+                  Files.deleteIfExists(path);
+                } catch (IOException e) {
+                  log.warn("Failed to delete render file: {}", path);
+                }
+              });
+    } catch (IOException e) {
+      log.warn("Failed to clean up render directory: {}", dir, e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface IoTask {
+    void run() throws IOException;
+  }
+
+  /** State of one local render. */
+  private static final class LocalRender {
+    final String id;
+    final Path workDir;
+    final int totalSegments;
+    final AtomicInteger completedSegments = new AtomicInteger();
+    final AtomicInteger reusedSegments = new AtomicInteger();
+    // Cache files in use by this render, released when it ends
+    final Queue<Path> pinned = new ConcurrentLinkedQueue<>();
+    final Set<Process> processes = ConcurrentHashMap.newKeySet();
+
+    volatile RenderJobStatus status = RenderJobStatus.QUEUED;
+    volatile boolean cancelled;
+    volatile String outputUrl;
+    volatile String errorMessage;
+    volatile LocalDateTime startedAt;
+    volatile LocalDateTime completedAt;
+    volatile Long renderTimeMs;
+
+    LocalRender(String id, Path workDir, int totalSegments) {
+      this.id = id;
+      this.workDir = workDir;
+      this.totalSegments = totalSegments;
+    }
+
+    /** Segments account for 95%, the final join for the rest. */
+    int progress() {
+      if (status == RenderJobStatus.COMPLETED) {
+        return 100;
+      }
+      return completedSegments.get() * 95 / Math.max(1, totalSegments);
+    }
+  }
+}
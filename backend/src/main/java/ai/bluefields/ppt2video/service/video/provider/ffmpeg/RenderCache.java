@@ -0,0 +1,319 @@
+package ai.bluefields.ppt2video.service.video.provider.ffmpeg;
+
+import ai.bluefields.ppt2video.config.FfmpegRenderConfig;
+import ai.bluefields.ppt2video.util.ContentHash;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Disk cache of the local renderer. Sources are kept with their ETag and revalidated with a
+ * conditional request, so unchanged objects are not downloaded again; rendered segments are kept
+ * under the hash of everything that goes into them, so an unchanged segment is not rendered again.
+ *
+ * <p>Files are evicted least recently used once the cache exceeds its size limit. Files pinned by a
+ * running render are never evicted; a file is pinned before it is looked up, and pinning waits for
+ * an eviction of the same file in progress.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RenderCache {
+
+  private final FfmpegRenderConfig config;
+
+  private final HttpClient httpClient =
+      HttpClient.newBuilder()
+          .followRedirects(HttpClient.Redirect.NORMAL)
+          .connectTimeout(Duration.ofSeconds(30))
+          .build();
+
+  private final Map<String, ReentrantLock> sourceLocks = new ConcurrentHashMap<>();
+  // Files in use by running renders, with the number of renders using them
+  private final Map<Path, Integer> pinned = new ConcurrentHashMap<>();
+
+  /** A source available on local disk, with the hash of its content. */
+  record CachedSource(Path file, String contentHash) {}
+
+  /**
+   * Makes a source available locally and pins it. A cached copy is reused if the server confirms it
+   * is unchanged.
+   *
+   * @param src the source URL; presigned URLs of the same object share one cache entry
+   * @param extension file extension to use if the URL has none
+   * @return the local file and its content hash
+   * @throws IOException if the source cannot be downloaded
+   */
+  CachedSource fetchSource(String src, String extension) throws IOException {
+    if (src.startsWith("file:")) {
+      Path local = Path.of(URI.create(src));
+      return new CachedSource(local, ContentHash.sha256(local));
+    }
+
+    // The query of a presigned URL changes with every signature, the object stays the same
+    String key = ContentHash.sha256(withoutQuery(src));
+    Path dir = Files.createDirectories(sourcesDir());
+    Path file = dir.resolve(key + extension);
+    Path etagFile = dir.resolve(key + ".etag");
+    Path hashFile = dir.resolve(key + ".sha256");
+
+    ReentrantLock lock = lockSource(key);
+    pin(file);
+    boolean fetched = false;
+    try {
+      boolean cached = Files.exists(file) && Files.exists(etagFile) && Files.exists(hashFile);
+      HttpRequest.Builder request =
+          HttpRequest.newBuilder().uri(URI.create(src)).timeout(config.getDownloadTimeout()).GET();
+      if (cached) {
+        request.header("If-None-Match", Files.readString(etagFile).trim());
+      }
+
+      Path download = dir.resolve(key + "." + UUID.randomUUID() + ".part");
+      try {
+        HttpResponse<Path> response =
+            httpClient.send(request.build(), HttpResponse.BodyHandlers.ofFile(download));
+
+        if (cached && response.statusCode() == 304) {
+          Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+          log.debug("Source unchanged, using cached copy: {}", withoutQuery(src));
+        } else if (response.statusCode() == 200) {
+          move(download, file);
+          Files.writeString(hashFile, ContentHash.sha256(file));
+          Optional<String> etag = response.headers().firstValue("ETag");
+          if (etag.isPresent()) {
+            Files.writeString(etagFile, etag.get());
+          } else {
+            Files.deleteIfExists(etagFile);
+          }
+        } else {
+          throw new IOException(
+              "Failed to download source, status "
+                  + response.statusCode()
+                  + ": "
+                  + withoutQuery(src));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Source download interrupted", e);
+      } finally {
+        Files.deleteIfExists(download);
+      }
+
+      CachedSource source = new CachedSource(file, Files.readString(hashFile).trim());
+      fetched = true;
+      return source;
+    } finally {
+      if (!fetched) {
+        unpin(List.of(file));
+      }
+      unlockSource(key, lock);
+    }
+  }
+
+  /**
+   * Looks up a rendered segment and pins it if found.
+   *
+   * @param key the segment key
+   * @return the cached segment file, if present
+   */
+  Optional<Path> findSegment(String key) {
+    Path file = segmentsDir().resolve(key + ".mp4");
+    // Pinned first, so the segment can't be evicted between the check and its use
+    pin(file);
+    if (!Files.exists(file)) {
+      unpin(List.of(file));
+      return Optional.empty();
+    }
+    try {
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (IOException e) {
+      log.debug("Could not touch cached segment: {}", file);
+    }
+    return Optional.of(file);
+  }
+
+  /**
+   * Moves a rendered segment into the cache and pins it.
+   *
+   * @param key the segment key
+   * @param rendered the rendered segment file
+   * @return the cached segment file
+   * @throws IOException if the file cannot be moved
+   */
+  Path storeSegment(String key, Path rendered) throws IOException {
+    Path file = Files.createDirectories(segmentsDir()).resolve(key + ".mp4");
+    pin(file);
+    try {
+      move(rendered, file);
+    } catch (IOException e) {
+      unpin(List.of(file));
+      throw e;
+    }
+    return file;
+  }
+
+  /**
+   * Releases files pinned by a render.
+   *
+   * @param files the files to release
+   */
+  void unpin(Collection<Path> files) {
+    for (Path file : files) {
+      pinned.computeIfPresent(file, (path, count) -> count > 1 ? count - 1 : null);
+    }
+  }
+
+  /** Deletes least recently used files until the cache fits its size limit. */
+  void evict() {
+    long limit = config.getCacheMaxSize().toBytes();
+    List<Path> files = new ArrayList<>();
+    for (Path dir : List.of(sourcesDir(), segmentsDir())) {
+      if (Files.isDirectory(dir)) {
+        try (Stream<Path> entries = Files.list(dir)) {
+          entries.filter(path -> !isSidecar(path)).forEach(files::add);
+        } catch (IOException e) {
+          log.warn("Failed to list render cache directory: {}", dir, e);
+        }
+      }
+    }
+
+    long total = files.stream().mapToLong(RenderCache::size).sum();
+    if (total <= limit) {
+      return;
+    }
+
+    files.sort(Comparator.comparing(RenderCache::lastModified));
+    int evicted = 0;
+    for (Path file : files) {
+      if (total <= limit) {
+        break;
+      }
+      long size = size(file);
+      if (deleteUnpinned(file)) {
+        total -= size;
+        evicted++;
+      }
+    }
+    log.info("Evicted {} files from render cache, {} MB remaining", evicted, total >> 20);
+  }
+
+  private void pin(Path file) {
+    pinned.merge(file, 1, Integer::sum);
+  }
+
+  /** Deletes a file and its sidecars unless it is pinned, atomically with respect to pinning. */
+  private boolean deleteUnpinned(Path file) {
+    AtomicBoolean deleted = new AtomicBoolean();
+    pinned.compute(
+        file,
+        (path, count) -> {
+          if (count == null) {
+            try {
+              Files.deleteIfExists(path);
+              deleteSidecars(path);
+              deleted.set(true);
+            } catch (IOException e) {
+              log.warn("Failed to evict render cache file: {}", path);
+            }
+          }
+          return count;
+        });
+    return deleted.get();
+  }
+
+  private ReentrantLock lockSource(String key) {
+    while (true) {
+      ReentrantLock lock = sourceLocks.computeIfAbsent(key, k -> new ReentrantLock());
+      lock.lock();
+      // The lock may have been removed between lookup and locking; then take the current one
+      if (sourceLocks.get(key) == lock) {
+        return lock;
+      }
+      lock.unlock();
+    }
+  }
+
+  private void unlockSource(String key, ReentrantLock lock) {
+    // Unlocking inside compute keeps the removal atomic with respect to new lookups, so locks
+    // don't pile up for every source ever fetched
+    sourceLocks.compute(
+        key,
+        (k, current) -> {
+          lock.unlock();
+          return lock.hasQueuedThreads() ? current : null;
+        });
+  }
+
+  private Path sourcesDir() {
+    return Paths.get(config.getCacheDir(), "sources");
+  }
+
+  private Path segmentsDir() {
+    return Paths.get(config.getCacheDir(), "segments");
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private static boolean isSidecar(Path path) {
+    String name = path.getFileName().toString();
+    return name.endsWith(".etag") || name.endsWith(".sha256") || name.endsWith(".part");
+  }
+
+  private static void deleteSidecars(Path file) throws IOException {
+    String name = file.getFileName().toString();
+    int dot = name.indexOf('.');
+    String key = dot > 0 ? name.substring(0, dot) : name;
+    Files.deleteIfExists(file.resolveSibling(key + ".etag"));
+    Files.deleteIfExists(file.resolveSibling(key + ".sha256"));
+  }
+
+  private static long size(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+
+  private static String withoutQuery(String src) {
+    int query = src.indexOf('?');
+    return query > 0 ? src.substring(0, query) : src;
+  }
+}
@@ -0,0 +1,69 @@
+package ai.bluefields.ppt2video.service.video.provider.ffmpeg;
+
+import java.util.List;
+
+/**
+ * A timeline compiled for local rendering: the output format and the segments the timeline is cut
+ * into. Each segment lists the clips visible in it, in drawing order (bottom layer first), so it
+ * can be encoded independently of the others.
+ */
+record RenderPlan(
+    int width, int height, int fps, String background, double duration, List<Segment> segments) {
+
+  /** A time window of the timeline, rendered to its own file and concatenated afterwards. */
+  record Segment(int index, double start, double end, List<Clip> clips) {
+
+    double duration() {
+      return end - start;
+    }
+  }
+
+  enum ClipKind {
+    VIDEO,
+    IMAGE,
+    TEXT
+  }
+
+  /**
+   * One clip of the timeline with its transitions resolved to fade durations.
+   *
+   * @param track index of the track, 0 being the top layer
+   * @param src source URL for video and image clips
+   * @param fit Shotstack fit mode: crop, cover, contain or none
+   * @param position Shotstack anchor position, e.g. center or topLeft
+   * @param offsetX horizontal offset as a fraction of the frame width, positive to the right
+   * @param offsetY vertical offset as a fraction of the frame height, positive upwards
+   */
+  record Clip(
+      int track,
+      ClipKind kind,
+      String src,
+      double start,
+      double length,
+      double scale,
+      String fit,
+      String position,
+      double offsetX,
+      double offsetY,
+      double fadeIn,
+      double fadeOut,
+      double volume,
+      ChromaKey chromaKey,
+      TextOverlay text) {
+
+    double end() {
+      return start + length;
+    }
+
+    Clip withFadeOut(double fadeOut) {
+      return new Clip(
+          track, kind, src, start, length, scale, fit, position, offsetX, offsetY, fadeIn, fadeOut,
+          volume, chromaKey, text);
+    }
+  }
+
+  /** Chroma key in FFmpeg colorkey terms: color as 0xRRGGBB, similarity and blend from 0 to 1. */
+  record ChromaKey(String color, double similarity, double blend) {}
+
+  record TextOverlay(String text, String color, int fontSize) {}
+}
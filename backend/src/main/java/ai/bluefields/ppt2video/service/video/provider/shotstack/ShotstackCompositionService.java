@@ -7,9 +7,11 @@ import ai.bluefields.ppt2video.entity.AvatarVideo;
 import ai.bluefields.ppt2video.entity.IntroVideo;
 import ai.bluefields.ppt2video.entity.Presentation;
 import ai.bluefields.ppt2video.entity.Slide;
+import ai.bluefields.ppt2video.entity.SlideSpeech;
 import ai.bluefields.ppt2video.repository.AssetMetadataRepository;
 import ai.bluefields.ppt2video.repository.AvatarVideoRepository;
 import ai.bluefields.ppt2video.repository.SlideRepository;
+import ai.bluefields.ppt2video.repository.SlideSpeechRepository;
 import ai.bluefields.ppt2video.service.R2AssetService;
 import ai.bluefields.ppt2video.service.video.ShotstackAssetPublisher;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -20,6 +22,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,6 +38,8 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ShotstackCompositionService {
 
+  private static final int OUTPUT_FPS = 25;
+
   private final ShotstackConfig shotstackConfig;
   private final ObjectMapper objectMapper;
   private final R2AssetService r2AssetService;
@@ -42,6 +47,7 @@ public class ShotstackCompositionService {
   private final SlideRepository slideRepository;
   private final AvatarVideoRepository avatarVideoRepository;
   private final AssetMetadataRepository assetMetadataRepository;
+  private final SlideSpeechRepository slideSpeechRepository;
 
   @Value("${shotstack.assets.mode:r2-direct}")
   private String assetMode;
@@ -146,6 +152,8 @@ public class ShotstackCompositionService {
       return tracks;
     }
 
+    Map<UUID, Double> speechDurations = getProcessedSpeechDurations(presentation);
+
     // Calculate timing for each slide
     double currentTime = 8.0; // Start after intro (8 seconds)
 
@@ -172,8 +180,13 @@ public class ShotstackCompositionService {
           avatarVideo.getR2Asset() != null ? "present" : "null",
           avatarVideo.getR2Asset() != null ? avatarVideo.getR2Asset().getId() : "N/A");
 
-      // Check if we have duration data
-      if (avatarVideo.getDurationSeconds() == null || avatarVideo.getDurationSeconds() <= 0) {
+      // The avatar clip is what plays, so its duration wins; it is rendered from the processed
+      // speech, whose probed duration stands in when the provider reported none
+      Double durationSeconds = avatarVideo.getDurationSeconds();
+      if (durationSeconds == null || durationSeconds <= 0) {
+        durationSeconds = speechDurations.get(slide.getId());
+      }
+      if (durationSeconds == null) {
         log.error(
             "Avatar video {} has no duration data, skipping slide {}",
             avatarVideo.getId(),
@@ -198,7 +211,7 @@ public class ShotstackCompositionService {
       String slideImageUrl = getAssetUrl(slideImage);
 
       // Calculate timing for this slide
-      SlideTimingInfo timing = calculateSlideTiming(currentTime, avatarVideo.getDurationSeconds());
+      SlideTimingInfo timing = calculateSlideTiming(currentTime, durationSeconds);
 
       // Build avatar video track (on top)
       ObjectNode avatarTrack =
@@ -240,6 +253,30 @@ public class ShotstackCompositionService {
     return tracks;
   }
 
+  /**
+   * Get the durations probed by audio post-processing for the slides' active speeches. Speeches
+   * that were not post-processed are left out, as their stored duration is only an estimate.
+   */
+  private Map<UUID, Double> getProcessedSpeechDurations(Presentation presentation) {
+    Map<UUID, SlideSpeech> latest = new HashMap<>();
+    // Ordered newest first per slide; the newest speech is the one the avatar was rendered from
+    for (SlideSpeech speech :
+        slideSpeechRepository.findActiveWithSlideByPresentationId(presentation.getId())) {
+      latest.putIfAbsent(speech.getSlide().getId(), speech);
+    }
+
+    Map<UUID, Double> durations = new HashMap<>();
+    latest.forEach(
+        (slideId, speech) -> {
+          if (speech.getAudioProcessedAt() != null
+              && speech.getDurationSeconds() != null
+              && speech.getDurationSeconds() > 0) {
+            durations.put(slideId, speech.getDurationSeconds());
+          }
+        });
+    return durations;
+  }
+
   /** Helper class to hold slide timing information */
   private static class SlideTimingInfo {
     double slideStart; // When slide image appears
@@ -250,7 +287,11 @@ public class ShotstackCompositionService {
     double nextSlideStart; // When next slide should start
   }
 
-  /** Calculate precise timing for a slide */
+  /**
+   * Calculate precise timing for a slide. The avatar duration is rounded up to whole frames so
+   * every slide starts on a frame and later slides keep the same relative timing when one slide
+   * changes.
+   */
   private SlideTimingInfo calculateSlideTiming(double currentTime, double avatarDurationSeconds) {
     SlideTimingInfo timing = new SlideTimingInfo();
 
@@ -262,7 +303,7 @@ public class ShotstackCompositionService {
 
     // Avatar starts after a small delay
     timing.avatarStart = currentTime + 1.0;
-    timing.avatarDuration = avatarDurationSeconds;
+    timing.avatarDuration = Math.ceil(avatarDurationSeconds * OUTPUT_FPS - 1e-6) / OUTPUT_FPS;
 
     // Slide image extends beyond avatar for smooth transition
     timing.slideDuration = timing.avatarDuration + 4.0; // 1 second before + 3 seconds after
@@ -615,7 +656,7 @@ public class ShotstackCompositionService {
     ObjectNode output = objectMapper.createObjectNode();
     output.put("format", "mp4");
     output.put("resolution", "hd");
-    output.put("fps", 25);
+    output.put("fps", OUTPUT_FPS);
     output.put("quality", "medium");
 
     ObjectNode size = objectMapper.createObjectNode();
@@ -3,24 +3,33 @@ package ai.bluefields.ppt2video.service.video.provider.shotstack;
 import ai.bluefields.ppt2video.config.ShotstackConfig;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
 import java.util.function.BiConsumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.scheduling.TaskScheduler;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
 /**
  * Service for monitoring Shotstack Ingest API source status. Polls the Ingest API to track upload
  * progress and handles completion/failure scenarios using TaskScheduler pattern.
+ *
+ * <p>All monitored sources share one polling loop. Each tick checks every due source, in parallel
+ * on virtual threads, so monitoring a presentation's worth of uploads costs one scheduled task
+ * instead of one per source, and no thread waits for an ingestion to finish.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,7 +40,13 @@ public class ShotstackIngestMonitorService {
   private final RestClient.Builder restClientBuilder;
   private final ShotstackConfig shotstackConfig;
 
+  @Autowired
+  @Qualifier("virtualThreadExecutor")
+  private Executor virtualThreadExecutor;
+
   private final Map<String, MonitoringTask> monitoringTasks = new ConcurrentHashMap<>();
+  private final Object pollerLock = new Object();
+  private ScheduledFuture<?> poller;
   private RestClient ingestClient;
 
   @Value("${shotstack.ingest.monitor.initial-delay:2000}")
@@ -43,6 +58,9 @@ public class ShotstackIngestMonitorService {
   @Value("${shotstack.ingest.monitor.max-duration:300000}")
   private long maxDurationMs;
 
+  @Value("${shotstack.ingest.monitor.max-concurrent-polls:8}")
+  private int maxConcurrentPolls;
+
   /**
    * Start monitoring a source upload.
    *
@@ -50,30 +68,27 @@ public class ShotstackIngestMonitorService {
    * @param callback Callback for completion/failure (status, result/error)
    * @return CompletableFuture that completes when monitoring ends
    */
-  @Async
   public CompletableFuture<String> startMonitoring(
       String sourceId, BiConsumer<SourceStatus, String> callback) {
     log.info("Starting monitoring for Shotstack source: {}", sourceId);
 
-    CompletableFuture<String> future = new CompletableFuture<>();
-
-    // Create monitoring task
-    MonitoringTask task = new MonitoringTask(sourceId, callback, future);
-
-    // Schedule polling task
-    ScheduledFuture<?> scheduledFuture =
-        taskScheduler.scheduleWithFixedDelay(
-            () -> checkSourceStatus(task),
-            Instant.now().plusMillis(initialDelayMs),
-            Duration.ofMillis(pollIntervalMs));
-
-    task.setScheduledFuture(scheduledFuture);
-    monitoringTasks.put(sourceId, task);
-
-    // Schedule timeout task
-    taskScheduler.schedule(() -> handleTimeout(sourceId), Instant.now().plusMillis(maxDurationMs));
+    Instant now = Instant.now();
+    MonitoringTask task =
+        new MonitoringTask(
+            sourceId,
+            callback,
+            new CompletableFuture<>(),
+            now.plusMillis(initialDelayMs),
+            now.plusMillis(maxDurationMs));
+
+    MonitoringTask existing = monitoringTasks.putIfAbsent(sourceId, task);
+    if (existing != null) {
+      log.debug("Source {} is already monitored", sourceId);
+      return existing.getFuture();
+    }
 
-    return future;
+    ensurePolling();
+    return task.getFuture();
   }
 
   /**
@@ -83,12 +98,76 @@ public class ShotstackIngestMonitorService {
    */
   public void stopMonitoring(String sourceId) {
     MonitoringTask task = monitoringTasks.remove(sourceId);
-    if (task != null && task.getScheduledFuture() != null) {
-      task.getScheduledFuture().cancel(false);
+    if (task != null) {
       log.info("Stopped monitoring for source: {}", sourceId);
     }
   }
 
+  /** Schedule the shared polling loop unless it is already running. */
+  private void ensurePolling() {
+    synchronized (pollerLock) {
+      if (poller == null || poller.isDone()) {
+        poller =
+            taskScheduler.scheduleWithFixedDelay(
+                this::pollSources,
+                Instant.now().plusMillis(initialDelayMs),
+                Duration.ofMillis(pollIntervalMs));
+        log.debug("Started Shotstack ingest polling");
+      }
+    }
+  }
+
+  /**
+   * One polling tick: time out overdue sources and check all due ones in parallel. The tick waits
+   * for its checks, so ticks never overlap, and the loop stops once no sources are left.
+   */
+  private void pollSources() {
+    Instant now = Instant.now();
+    List<MonitoringTask> due = new ArrayList<>();
+    for (MonitoringTask task : monitoringTasks.values()) {
+      if (now.isAfter(task.getDeadline())) {
+        handleTimeout(task.getSourceId());
+      } else if (!now.isBefore(task.getFirstCheckAt())) {
+        due.add(task);
+      }
+    }
+
+    if (!due.isEmpty()) {
+      log.debug(
+          "Checking {} of {} monitored Shotstack sources", due.size(), monitoringTasks.size());
+      Semaphore permits = new Semaphore(Math.max(1, maxConcurrentPolls));
+      CompletableFuture<?>[] checks =
+          due.stream()
+              .map(
+                  task ->
+                      CompletableFuture.runAsync(
+                          () -> {
+                            try {
+                              permits.acquire();
+                            } catch (InterruptedException e) {
+                              Thread.currentThread().interrupt();
+                              return;
+                            }
+                            try {
+                              checkSourceStatus(task);
+                            } finally {
+                              permits.release();
+                            }
+                          },
+                          virtualThreadExecutor))
+              .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(checks).join();
+    }
+
+    synchronized (pollerLock) {
+      if (monitoringTasks.isEmpty() && poller != null) {
+        poller.cancel(false);
+        poller = null;
+        log.debug("Stopped Shotstack ingest polling, no sources left");
+      }
+    }
+  }
+
   /** Check the status of a source from Shotstack Ingest API. */
   private void checkSourceStatus(MonitoringTask task) {
     try {
@@ -220,7 +299,7 @@ public class ShotstackIngestMonitorService {
   }
 
   /** Get or create the Ingest API client. */
-  private RestClient getIngestClient() {
+  private synchronized RestClient getIngestClient() {
     if (ingestClient == null) {
       String apiUrl = "https://api.shotstack.io";
       if ("production".equalsIgnoreCase(shotstackConfig.getApi().getEnvironment())) {
@@ -261,15 +340,20 @@ public class ShotstackIngestMonitorService {
     private final String sourceId;
     private final BiConsumer<SourceStatus, String> callback;
     private final CompletableFuture<String> future;
-    private ScheduledFuture<?> scheduledFuture;
+    private final Instant firstCheckAt;
+    private final Instant deadline;
 
     public MonitoringTask(
         String sourceId,
         BiConsumer<SourceStatus, String> callback,
-        CompletableFuture<String> future) {
+        CompletableFuture<String> future,
+        Instant firstCheckAt,
+        Instant deadline) {
       this.sourceId = sourceId;
       this.callback = callback;
       this.future = future;
+      this.firstCheckAt = firstCheckAt;
+      this.deadline = deadline;
     }
 
     public String getSourceId() {
@@ -284,12 +368,12 @@ public class ShotstackIngestMonitorService {
       return future;
     }
 
-    public ScheduledFuture<?> getScheduledFuture() {
-      return scheduledFuture;
+    public Instant getFirstCheckAt() {
+      return firstCheckAt;
     }
 
-    public void setScheduledFuture(ScheduledFuture<?> scheduledFuture) {
-      this.scheduledFuture = scheduledFuture;
+    public Instant getDeadline() {
+      return deadline;
     }
   }
 }
@@ -0,0 +1,67 @@
+package ai.bluefields.ppt2video.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for SHA-256 content hashes, used as cache keys for generated media. Hashes are
+ * returned as lowercase hex strings.
+ */
+public final class ContentHash {
+
+  private ContentHash() {}
+
+  /**
+   * Hash a string, encoded as UTF-8.
+   *
+   * @param text The text to hash
+   * @return The hex encoded hash
+   */
+  public static String sha256(String text) {
+    return sha256(text.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Hash a byte array.
+   *
+   * @param data The data to hash
+   * @return The hex encoded hash
+   */
+  public static String sha256(byte[] data) {
+    return HexFormat.of().formatHex(digest().digest(data));
+  }
+
+  /**
+   * Hash the contents of a file without reading it into memory.
+   *
+   * @param file The file to hash
+   * @return The hex encoded hash
+   * @throws IOException if the file cannot be read
+   */
+  public static String sha256(Path file) throws IOException {
+    MessageDigest digest = digest();
+    byte[] buffer = new byte[64 * 1024];
+    try (InputStream in = Files.newInputStream(file)) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // Every JVM is required to support SHA-256
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -1,11 +1,12 @@
 package ai.bluefields.ppt2video.util;
 
-import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Utility class for calculating content metrics such as word count, reading time, and content
- * density. These metrics are used to determine appropriate narrative lengths for slides.
+ * density. These metrics are used to determine appropriate narrative lengths for slides. Text is
+ * analyzed with {@link TextStats}; callers that already hold the statistics for a text can pass
+ * them in to avoid analyzing it again.
  */
 @Slf4j
 public class ContentMetrics {
@@ -13,12 +14,6 @@ public class ContentMetrics {
   /** Average reading speed in words per minute for presentation narration */
   private static final int WORDS_PER_MINUTE = 150;
 
-  /** Pattern to match words (sequences of word characters) */
-  private static final Pattern WORD_PATTERN = Pattern.compile("\\b\\w+\\b");
-
-  /** Pattern to split text into sentences */
-  private static final Pattern SENTENCE_PATTERN = Pattern.compile("[.!?]+\\s+");
-
   /**
    * Calculate the word count from text content.
    *
@@ -30,11 +25,7 @@ public class ContentMetrics {
       return 0;
     }
 
-    var matcher = WORD_PATTERN.matcher(text);
-    int count = 0;
-    while (matcher.find()) {
-      count++;
-    }
+    int count = TextStats.of(text).getWordCount();
 
     log.debug("Calculated word count: {} for text length: {}", count, text.length());
     return count;
@@ -79,12 +70,25 @@ public class ContentMetrics {
    * @return Content density score between 0.0 (low) and 1.0 (high)
    */
   public static double calculateContentDensity(String text, boolean hasVisuals, boolean hasData) {
-    if (text == null || text.trim().isEmpty()) {
+    return calculateContentDensity(TextStats.of(text), hasVisuals, hasData);
+  }
+
+  /**
+   * Calculate content density score (0.0 to 1.0) from precomputed text statistics.
+   *
+   * @param stats The statistics of the text to analyze
+   * @param hasVisuals Whether the slide has visual elements
+   * @param hasData Whether the slide contains data/charts
+   * @return Content density score between 0.0 (low) and 1.0 (high)
+   */
+  public static double calculateContentDensity(
+      TextStats stats, boolean hasVisuals, boolean hasData) {
+    if (stats.getWordCount() == 0 && stats.getSentenceCount() == 0) {
       return hasVisuals || hasData ? 0.3 : 0.0;
     }
 
-    int wordCount = calculateWordCount(text);
-    int sentenceCount = countSentences(text);
+    int wordCount = stats.getWordCount();
+    int sentenceCount = stats.getSentenceCount();
 
     // Base density from word count (normalized to 0-1 scale)
     // Assuming 200+ words is very dense for a slide
@@ -120,29 +124,6 @@ public class ContentMetrics {
     return density;
   }
 
-  /**
-   * Count the number of sentences in text.
-   *
-   * @param text The text to analyze
-   * @return Number of sentences
-   */
-  private static int countSentences(String text) {
-    if (text == null || text.trim().isEmpty()) {
-      return 0;
-    }
-
-    // Split by sentence-ending punctuation
-    String[] sentences = SENTENCE_PATTERN.split(text.trim());
-    int count = sentences.length;
-
-    // Account for the last sentence if it doesn't end with punctuation
-    if (!text.trim().matches(".*[.!?]\\s*$") && !text.trim().isEmpty()) {
-      count = Math.max(1, count);
-    }
-
-    return count;
-  }
-
   /**
    * Estimate the number of words needed for a target duration.
    *
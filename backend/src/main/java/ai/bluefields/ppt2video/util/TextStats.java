@@ -0,0 +1,261 @@
+package ai.bluefields.ppt2video.util;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Text statistics computed in a single pass over a narrative or slide text: word count, sentence
+ * count and the bounds of the opening phrase. The opening phrase and its key concepts are derived
+ * on first use from the bounded opening only, so callers that need just the counts never pay for
+ * them.
+ *
+ * <p>Counts follow the rules of the former regex implementation: words are runs of ASCII letters,
+ * digits and underscores, and sentences are separated by runs of {@code .!?} followed by
+ * whitespace. Instances are immutable and safe to share between threads.
+ */
+public final class TextStats {
+
+  /** Statistics of empty or blank text */
+  public static final TextStats EMPTY = new TextStats("", 0, 0, 0);
+
+  /** Longest first sentence used as the opening phrase */
+  private static final int MAX_OPENING_SENTENCE = 250;
+
+  /** Length of the opening phrase when the first sentence is too short or too long */
+  private static final int OPENING_FALLBACK_LENGTH = 200;
+
+  /** Common connecting words that don't count as key concepts */
+  private static final Set<String> STOP_WORDS =
+      Set.of(
+          "the", "a", "an", "and", "or", "but", "in", "on", "at", "to", "for", "of", "with", "by",
+          "from", "about", "as", "into", "through", "during", "before", "after", "above", "below",
+          "between", "under", "let's", "we'll", "here's", "now", "next", "then", "first", "second",
+          "third", "finally");
+
+  /** Domain-specific terms that make a two-word phrase a concept of its own */
+  private static final String[] MEANINGFUL_PHRASES = {
+    "inflection point",
+    "focus areas",
+    "three areas",
+    "four steps",
+    "engagement model",
+    "workshop phase",
+    "workstreams",
+    "investment view",
+    "technical setup",
+    "team scaling",
+    "product development",
+    "strategic guidance",
+    "technology review",
+    "data collection"
+  };
+
+  private final String text;
+  private final int wordCount;
+  private final int sentenceCount;
+  private final int openingEnd;
+
+  // Derived lazily from the opening; racing threads compute identical values
+  private volatile String openingPhrase;
+  private volatile Set<String> keyConcepts;
+
+  private TextStats(String text, int wordCount, int sentenceCount, int openingEnd) {
+    this.text = text;
+    this.wordCount = wordCount;
+    this.sentenceCount = sentenceCount;
+    this.openingEnd = openingEnd;
+  }
+
+  /**
+   * Analyze a text in one pass.
+   *
+   * @param text The text to analyze, may be null
+   * @return The statistics, {@link #EMPTY} for null or blank text
+   */
+  public static TextStats of(String text) {
+    if (text == null || text.isBlank()) {
+      return EMPTY;
+    }
+
+    int length = text.length();
+    int words = 0;
+    int sentenceBreaks = 0;
+    boolean inWord = false;
+    boolean afterTerminator = false;
+    boolean pendingBreak = false;
+    int firstPeriod = -1;
+    int firstExclamation = -1;
+    int firstQuestion = -1;
+
+    for (int i = 0; i < length; i++) {
+      char c = text.charAt(i);
+
+      boolean wordChar =
+          (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+      if (wordChar && !inWord) {
+        words++;
+      }
+      inWord = wordChar;
+
+      if (c == '.' || c == '!' || c == '?') {
+        if (c == '.' && firstPeriod < 0) {
+          firstPeriod = i;
+        } else if (c == '!' && firstExclamation < 0) {
+          firstExclamation = i;
+        } else if (c == '?' && firstQuestion < 0) {
+          firstQuestion = i;
+        }
+        if (pendingBreak) {
+          sentenceBreaks++;
+          pendingBreak = false;
+        }
+        afterTerminator = true;
+      } else if (isRegexWhitespace(c)) {
+        pendingBreak = pendingBreak || afterTerminator;
+        afterTerminator = false;
+      } else {
+        // A separator only counts once text follows it, as trailing whitespace is trimmed
+        if (pendingBreak && c > ' ') {
+          sentenceBreaks++;
+          pendingBreak = false;
+        }
+        afterTerminator = false;
+      }
+    }
+
+    int sentenceEnd = minPositive(firstPeriod, firstExclamation, firstQuestion);
+    int openingEnd =
+        sentenceEnd > 20 && sentenceEnd < MAX_OPENING_SENTENCE
+            ? sentenceEnd
+            : Math.min(length, OPENING_FALLBACK_LENGTH);
+
+    return new TextStats(text, words, sentenceBreaks + 1, openingEnd);
+  }
+
+  /**
+   * Extract the key concepts of a text: lower-cased words of three or more characters that are not
+   * stop words, plus two-word phrases containing a known domain term.
+   *
+   * @param text The text to analyze, may be null
+   * @return The concepts (mutable)
+   */
+  public static Set<String> extractKeyConcepts(CharSequence text) {
+    Set<String> concepts = new HashSet<>();
+    if (text == null) {
+      return concepts;
+    }
+
+    StringBuilder token = new StringBuilder(16);
+    String previous = null;
+    int length = text.length();
+    for (int i = 0; i <= length; i++) {
+      char c = i < length ? Character.toLowerCase(text.charAt(i)) : ' ';
+      if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-') {
+        token.append(c);
+        continue;
+      }
+      if (token.isEmpty()) {
+        continue;
+      }
+
+      String word = token.toString();
+      token.setLength(0);
+      if (word.length() < 3 || STOP_WORDS.contains(word)) {
+        previous = null;
+        continue;
+      }
+
+      concepts.add(word);
+      if (previous != null) {
+        String phrase = previous + " " + word;
+        if (isMeaningfulPhrase(phrase)) {
+          concepts.add(phrase);
+        }
+      }
+      previous = word;
+    }
+    return concepts;
+  }
+
+  /**
+   * Get the number of words.
+   *
+   * @return The word count
+   */
+  public int getWordCount() {
+    return wordCount;
+  }
+
+  /**
+   * Get the number of sentences.
+   *
+   * @return The sentence count, 0 for blank text
+   */
+  public int getSentenceCount() {
+    return sentenceCount;
+  }
+
+  /**
+   * Get the opening phrase: the first sentence if it is between 21 and 249 characters long,
+   * otherwise the first 200 characters.
+   *
+   * @return The opening phrase
+   */
+  public String getOpeningPhrase() {
+    String opening = openingPhrase;
+    if (opening == null) {
+      opening = text.substring(0, openingEnd);
+      openingPhrase = opening;
+    }
+    return opening;
+  }
+
+  /**
+   * Get the key concepts of the opening phrase, as compared against transition phrases.
+   *
+   * @return The concepts (unmodifiable)
+   */
+  public Set<String> getKeyConcepts() {
+    Set<String> concepts = keyConcepts;
+    if (concepts == null) {
+      concepts = Collections.unmodifiableSet(extractKeyConcepts(getOpeningPhrase()));
+      keyConcepts = concepts;
+    }
+    return concepts;
+  }
+
+  /**
+   * Check whether these statistics were computed from the given text.
+   *
+   * @param candidate The text to compare
+   * @return true if the text is the same instance or equal
+   */
+  public boolean isFor(String candidate) {
+    return candidate == text || (candidate != null && candidate.equals(text));
+  }
+
+  private static boolean isMeaningfulPhrase(String phrase) {
+    for (String meaningful : MEANINGFUL_PHRASES) {
+      if (phrase.contains(meaningful)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Characters matched by the regex class {@code \s}. */
+  private static boolean isRegexWhitespace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  private static int minPositive(int... values) {
+    int min = -1;
+    for (int value : values) {
+      if (value > 0 && (min < 0 || value < min)) {
+        min = value;
+      }
+    }
+    return min;
+  }
+}
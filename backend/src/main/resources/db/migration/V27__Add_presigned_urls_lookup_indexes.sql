@@ -0,0 +1,23 @@
+-- Index presigned_urls for the active URL lookup and the expiry sweeper
+-- Every re-sign adds a row, so lookups must not degrade as history accumulates
+
+-- Covers findActiveUrl / getActiveUrl(assetId, urlType): only active rows, newest expiry first
+CREATE INDEX IF NOT EXISTS idx_presigned_urls_active_lookup
+ON presigned_urls(asset_metadata_id, url_type, expires_at DESC)
+WHERE is_active = TRUE;
+
+-- Lets the sweeper find active rows that have expired without scanning inactive history
+CREATE INDEX IF NOT EXISTS idx_presigned_urls_active_expires_at
+ON presigned_urls(expires_at)
+WHERE is_active = TRUE;
+
+-- Lets the sweeper find inactive rows to purge
+CREATE INDEX IF NOT EXISTS idx_presigned_urls_inactive_expires_at
+ON presigned_urls(expires_at)
+WHERE is_active = FALSE;
+
+-- The boolean index is superseded by the partial indexes above
+DROP INDEX IF EXISTS idx_presigned_urls_is_active;
+
+-- Add comment for documentation
+COMMENT ON INDEX idx_presigned_urls_active_lookup IS 'Partial index for active URL lookup by asset and type';
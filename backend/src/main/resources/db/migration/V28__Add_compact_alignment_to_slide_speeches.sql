@@ -0,0 +1,10 @@
+-- Add compact binary alignment storage to slide_speeches
+-- Replaces the per-character JSON array in timing_data for newly generated speeches.
+-- Format: version byte, varint counts, UTF-8 characters, then zig-zag varint millisecond deltas
+-- for each character's start (relative to previous end) and length.
+
+ALTER TABLE slide_speeches
+ADD COLUMN IF NOT EXISTS alignment_data BYTEA;
+
+-- Add comment for documentation
+COMMENT ON COLUMN slide_speeches.alignment_data IS 'Compact binary character alignment (see SpeechAlignment); timing_data is kept for legacy rows';
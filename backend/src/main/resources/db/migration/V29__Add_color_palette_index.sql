@@ -0,0 +1,14 @@
+-- Store color palettes computed at render time
+-- Each slide keeps the palette extracted while its rendered image was in memory; the presentation
+-- keeps the aggregated deck-level index (per-slide palettes, deck palette and brand colors) so
+-- intro video preparation does not need to read slide images.
+
+ALTER TABLE slides
+ADD COLUMN IF NOT EXISTS color_palette JSONB;
+
+ALTER TABLE presentations
+ADD COLUMN IF NOT EXISTS color_palette_index JSONB;
+
+-- Add comments for documentation
+COMMENT ON COLUMN slides.color_palette IS 'Color palette (ColorPaletteDto) extracted at render time';
+COMMENT ON COLUMN presentations.color_palette_index IS 'Deck-level color palette index (DeckPaletteIndexDto) aggregated from slide palettes';
@@ -0,0 +1,8 @@
+-- Allow render jobs rendered locally with FFmpeg
+
+ALTER TABLE render_jobs
+    DROP CONSTRAINT IF EXISTS render_jobs_provider_check;
+
+ALTER TABLE render_jobs
+    ADD CONSTRAINT render_jobs_provider_check
+    CHECK (provider IN ('SHOTSTACK', 'FFMPEG', 'REMOTION', 'CUSTOM'));
@@ -0,0 +1,15 @@
+-- Track audio post-processing (silence trim and loudness normalization) of slide speeches.
+-- audio_file_path points to the processed file once processed; the generated file is kept
+-- in original_audio_file_path so processing can be repeated with other settings.
+
+ALTER TABLE slide_speeches
+ADD COLUMN IF NOT EXISTS original_audio_file_path VARCHAR(500),
+ADD COLUMN IF NOT EXISTS audio_processed_at TIMESTAMP,
+ADD COLUMN IF NOT EXISTS trimmed_lead_seconds DOUBLE PRECISION,
+ADD COLUMN IF NOT EXISTS measured_loudness_lufs DOUBLE PRECISION;
+
+-- Add comments for documentation
+COMMENT ON COLUMN slide_speeches.original_audio_file_path IS 'Audio file as generated by the TTS provider, before post-processing';
+COMMENT ON COLUMN slide_speeches.audio_processed_at IS 'When the audio was trimmed, normalized and its duration probed';
+COMMENT ON COLUMN slide_speeches.trimmed_lead_seconds IS 'Leading silence removed; alignment times are shifted by this amount';
+COMMENT ON COLUMN slide_speeches.measured_loudness_lufs IS 'Integrated loudness of the generated audio before normalization';
@@ -0,0 +1,8 @@
+-- Remember which text a speech was generated from, so batch generation can skip slides whose
+-- narrative (including the spoken transition) has not changed since their active speech.
+
+ALTER TABLE slide_speeches
+ADD COLUMN IF NOT EXISTS text_hash VARCHAR(64);
+
+-- Add comments for documentation
+COMMENT ON COLUMN slide_speeches.text_hash IS 'SHA-256 of the text sent to the TTS provider';
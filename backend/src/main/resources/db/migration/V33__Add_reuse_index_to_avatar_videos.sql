@@ -0,0 +1,16 @@
+-- Index avatar videos by what they were rendered from, so a completed video can be linked to
+-- another slide with the same audio and avatar settings instead of being rendered again.
+
+ALTER TABLE avatar_videos
+ADD COLUMN IF NOT EXISTS audio_hash VARCHAR(64),
+ADD COLUMN IF NOT EXISTS reuse_key VARCHAR(64),
+ADD COLUMN IF NOT EXISTS reused_from_id UUID;
+
+CREATE INDEX IF NOT EXISTS idx_avatar_videos_reuse_key
+ON avatar_videos(reuse_key)
+WHERE reuse_key IS NOT NULL;
+
+-- Add comments for documentation
+COMMENT ON COLUMN avatar_videos.audio_hash IS 'SHA-256 of the slide audio the video was rendered from';
+COMMENT ON COLUMN avatar_videos.reuse_key IS 'SHA-256 of provider, audio hash, avatar ID, background and video settings';
+COMMENT ON COLUMN avatar_videos.reused_from_id IS 'Avatar video this one was copied from instead of being rendered';
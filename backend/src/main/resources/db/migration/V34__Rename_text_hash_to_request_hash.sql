@@ -0,0 +1,12 @@
+-- Hash the whole TTS request instead of only its text, so a speech is only kept while voice,
+-- model, voice settings and output format are unchanged too. Text-only hashes can't be compared
+-- with request hashes, so they are cleared and the affected slides regenerate (or hit the TTS cache)
+-- once.
+
+ALTER TABLE slide_speeches
+RENAME COLUMN text_hash TO request_hash;
+
+UPDATE slide_speeches SET request_hash = NULL;
+
+-- Add comments for documentation
+COMMENT ON COLUMN slide_speeches.request_hash IS 'TTS cache key of the request the speech was generated from';
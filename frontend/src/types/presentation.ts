@@ -223,7 +223,9 @@ export type AnalysisType =
   | 'DECK_ANALYSIS'
   | 'ALL_SLIDES_ANALYSIS' 
   | 'ALL_NARRATIVES_GENERATION'
-  | 'ALL_AVATAR_VIDEOS_GENERATION';
+  | 'ALL_AVATAR_VIDEOS_GENERATION'
+  | 'ALL_SPEECHES_GENERATION'
+  | 'SLIDE_PIPELINE';
 
 /**
  * Analysis state enumeration.